@@ -0,0 +1,79 @@
+package com.xk.base.domain.jpa.spec;
+
+import com.xk.base.exception.BusinessException;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * ===============================================================
+ * Value Object: KeysetCursor
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - Keyset（seek）分頁的游標：上一頁最後一筆（或第一筆）的「排序鍵 + id」
+ * <p>
+ * Design:
+ * - 對外是不透明字串（Base64URL），前端只需原樣帶回，不應解析
+ * - 值以字串保存，由 KeysetSort 依欄位實際型別還原（UUID / 時間 / 數字 / enum ...）
+ * - backward = true 代表「往前一頁」
+ * <p>
+ * Format（編碼前）:
+ *   v1.{N|P}.{base64(sortValue)}.{base64(id)}
+ * ===============================================================
+ */
+public record KeysetCursor(boolean backward, String sortValue, String idValue) {
+
+    private static final String VERSION = "v1";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static final String ERR_CURSOR_INVALID = "PAGE_CURSOR_INVALID";
+
+    public KeysetCursor {
+        if (sortValue == null || idValue == null) {
+            throw new IllegalArgumentException("keyset cursor requires non-null sort value and id");
+        }
+    }
+
+    /**
+     * 編碼為不透明字串（URL safe）
+     */
+    public String encode() {
+        String raw = VERSION + '.' + (backward ? 'P' : 'N') + '.' + b64(sortValue) + '.' + b64(idValue);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游標字串
+     * - null / 空白 → null（第一頁）
+     * - 格式錯誤 → BusinessException(PAGE_CURSOR_INVALID)
+     */
+    public static KeysetCursor decode(String token) {
+        if (!StringUtils.hasText(token)) return null;
+        try {
+            String raw = new String(DECODER.decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\.", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])
+                    || !(parts[1].equals("N") || parts[1].equals("P"))) {
+                throw invalid();
+            }
+            return new KeysetCursor(parts[1].equals("P"), unb64(parts[2]), unb64(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw invalid();
+        }
+    }
+
+    public static BusinessException invalid() {
+        return new BusinessException(ERR_CURSOR_INVALID, "分頁游標無效，請重新查詢第一頁");
+    }
+
+    private static String b64(String v) {
+        return ENCODER.encodeToString(v.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String unb64(String v) {
+        return new String(DECODER.decode(v), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,44 @@
+package com.xk.base.domain.jpa.spec;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ===============================================================
+ * Response: KeysetPage
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - Keyset 分頁結果（無 totalElements / totalPages：不跑 count）
+ * - nextCursor / prevCursor 為不透明字串，前端原樣帶回 cursor 參數即可
+ * ===============================================================
+ */
+@Schema(description = "Keyset（游標）分頁結果")
+public record KeysetPage<T>(
+        @Schema(description = "本頁資料")
+        List<T> content,
+        @Schema(description = "每頁筆數", example = "20")
+        int size,
+        @Schema(description = "是否有下一頁", example = "true")
+        boolean hasNext,
+        @Schema(description = "是否有上一頁", example = "false")
+        boolean hasPrevious,
+        @Schema(description = "下一頁游標（無下一頁為 null）")
+        String nextCursor,
+        @Schema(description = "上一頁游標（無上一頁為 null）")
+        String prevCursor
+) {
+
+    public KeysetPage {
+        content = content == null ? List.of() : List.copyOf(content);
+    }
+
+    /**
+     * 轉換內容（游標不變），常用於 Entity → DTO
+     */
+    public <R> KeysetPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new KeysetPage<>(mapped, size, hasNext, hasPrevious, nextCursor, prevCursor);
+    }
+}
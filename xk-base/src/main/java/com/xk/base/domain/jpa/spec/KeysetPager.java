@@ -0,0 +1,104 @@
+package com.xk.base.domain.jpa.spec;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * ===============================================================
+ * Spec Helper: KeysetPager
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 以 keyset（seek）方式查詢一頁：WHERE (sort, id) 越過游標 ORDER BY sort, id LIMIT size + 1
+ * - 成本與頁深無關（offset 分頁越後面越慢），且不跑 count
+ * <p>
+ * Design:
+ * - 篩選條件沿用既有 Specification（EnabledSpec / KeywordSpec ...），以 SpecUtils.and 與 seek 條件組合
+ * - 多抓 1 筆判斷是否還有下一頁（或上一頁）
+ * - 往前翻頁：反向排序查詢後再反轉，回傳順序與往後翻頁一致
+ * <p>
+ * Usage（Controller 以 cursor / size 參數個別開啟）:
+ *   KeysetPage<Vehicle> page = KeysetPager.find(repository, spec, SORT, cursor, size);
+ * <p>
+ * 自訂查詢（JPQL projection 等不走 Specification）：
+ *   自行以 size + 1 查詢後交給 toPage(rows, size, cursor, cursorOf) 組頁
+ * ===============================================================
+ */
+public final class KeysetPager {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 200;
+
+    private KeysetPager() {
+    }
+
+    /**
+     * 查詢一頁
+     *
+     * @param executor repository（需 extends JpaSpecificationExecutor）
+     * @param spec     篩選條件（可為 null）
+     * @param sort     keyset 排序定義
+     * @param cursor   上一次回傳的 nextCursor / prevCursor；null 或空白 = 第一頁
+     * @param size     每頁筆數（null / 小於 1 → DEFAULT_SIZE；上限 MAX_SIZE）
+     */
+    public static <T> KeysetPage<T> find(JpaSpecificationExecutor<T> executor,
+                                         Specification<T> spec,
+                                         KeysetSort<T> sort,
+                                         String cursor,
+                                         Integer size) {
+        final int pageSize = normalizeSize(size);
+        final KeysetCursor current = KeysetCursor.decode(cursor);
+        final boolean backward = current != null && current.backward();
+
+        Specification<T> where = SpecUtils.and(spec, sort.seek(current));
+        if (where == null) where = (root, query, cb) -> cb.conjunction();
+
+        List<T> rows = executor.findBy(where, q -> q
+                .sortBy(sort.toSort(backward))
+                .limit(pageSize + 1)
+                .all());
+
+        return toPage(rows, pageSize, current, sort::cursorOf);
+    }
+
+    /**
+     * 由查詢結果組出一頁
+     *
+     * @param rows     依查詢方向排序、最多 pageSize + 1 筆（往前翻頁為反向排序）
+     * @param current  本次查詢使用的游標（null = 第一頁）
+     * @param cursorOf (row, backward) → 游標
+     */
+    public static <T> KeysetPage<T> toPage(List<T> rows,
+                                           int pageSize,
+                                           KeysetCursor current,
+                                           BiFunction<T, Boolean, KeysetCursor> cursorOf) {
+        final boolean backward = current != null && current.backward();
+
+        boolean hasMore = rows.size() > pageSize;
+        List<T> content = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (backward) Collections.reverse(content);
+
+        // 往後：是否有下一頁看 hasMore；往前：能往前翻代表一定有下一頁
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : current != null;
+
+        String nextCursor = hasNext && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1), false).encode()
+                : null;
+        String prevCursor = hasPrevious && !content.isEmpty()
+                ? cursorOf.apply(content.get(0), true).encode()
+                : null;
+
+        return new KeysetPage<>(content, pageSize, hasNext && nextCursor != null,
+                hasPrevious && prevCursor != null, nextCursor, prevCursor);
+    }
+
+    public static int normalizeSize(Integer size) {
+        if (size == null || size < 1) return DEFAULT_SIZE;
+        return Math.min(size, MAX_SIZE);
+    }
+}
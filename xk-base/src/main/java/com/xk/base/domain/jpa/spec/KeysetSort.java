@@ -0,0 +1,149 @@
+package com.xk.base.domain.jpa.spec;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * ===============================================================
+ * Spec Helper: KeysetSort
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 描述一組 keyset 排序：排序欄位 + 唯一 id（tie-breaker）+ 方向
+ * - 依游標產生 seek 條件：(sort, id) 嚴格落在游標之後（或之前）
+ * <p>
+ * Design:
+ * - 欄位名給 Criteria 用，getter 給 KeysetPager 由結果列產生游標
+ * - 排序欄位必須 NOT NULL，且 (sort, id) 應有對應複合索引
+ *   例：tom_order (created_time, order_uuid) → idx_tom_order_created_time
+ * - 通常宣告成 service 內的 static final 常數重複使用
+ * <p>
+ * Usage:
+ *   static final KeysetSort<Vehicle> SORT =
+ *       KeysetSort.of("createdTime", Vehicle::getCreatedTime, "id", Vehicle::getId, Sort.Direction.DESC);
+ * ===============================================================
+ */
+public final class KeysetSort<T> {
+
+    private final String sortField;
+    private final Function<T, ?> sortGetter;
+    private final String idField;
+    private final Function<T, ?> idGetter;
+    private final Sort.Direction direction;
+
+    private KeysetSort(String sortField, Function<T, ?> sortGetter,
+                       String idField, Function<T, ?> idGetter,
+                       Sort.Direction direction) {
+        this.sortField = Objects.requireNonNull(sortField, "sortField");
+        this.sortGetter = Objects.requireNonNull(sortGetter, "sortGetter");
+        this.idField = Objects.requireNonNull(idField, "idField");
+        this.idGetter = Objects.requireNonNull(idGetter, "idGetter");
+        this.direction = direction == null ? Sort.Direction.ASC : direction;
+    }
+
+    public static <T> KeysetSort<T> of(String sortField, Function<T, ?> sortGetter,
+                                       String idField, Function<T, ?> idGetter,
+                                       Sort.Direction direction) {
+        return new KeysetSort<>(sortField, sortGetter, idField, idGetter, direction);
+    }
+
+    /**
+     * 查詢用排序（往前翻頁時整體反轉，結果再由 KeysetPager 反轉回來）
+     */
+    public Sort toSort(boolean backward) {
+        Sort.Direction d = backward ? flip(direction) : direction;
+        return Sort.by(new Sort.Order(d, sortField), new Sort.Order(d, idField));
+    }
+
+    /**
+     * seek 條件（cursor == null → null，代表第一頁，可直接丟給 SpecUtils.and）
+     * <p>
+     * ASC 往後： sort > v OR (sort = v AND id > id0)
+     * DESC 往後：sort < v OR (sort = v AND id < id0)
+     * 往前翻頁則比較方向相反
+     */
+    public Specification<T> seek(KeysetCursor cursor) {
+        if (cursor == null) return null;
+
+        final boolean greater = (direction == Sort.Direction.ASC) != cursor.backward();
+
+        return (root, query, cb) -> {
+            Path<Comparable<Object>> sortPath = root.get(sortField);
+            Path<Comparable<Object>> idPath = root.get(idField);
+
+            Comparable<Object> sortValue = parse(cursor.sortValue(), sortPath.getJavaType());
+            Comparable<Object> idValue = parse(cursor.idValue(), idPath.getJavaType());
+
+            Predicate beyondSort = compare(cb, sortPath, sortValue, greater);
+            Predicate tie = cb.and(cb.equal(sortPath, sortValue), compare(cb, idPath, idValue, greater));
+            return cb.or(beyondSort, tie);
+        };
+    }
+
+    /**
+     * 由結果列產生游標
+     */
+    KeysetCursor cursorOf(T row, boolean backward) {
+        Object sortValue = sortGetter.apply(row);
+        Object idValue = idGetter.apply(row);
+        if (sortValue == null || idValue == null) {
+            throw new IllegalStateException("keyset column is null: " + sortField + "/" + idField);
+        }
+        return new KeysetCursor(backward, format(sortValue), format(idValue));
+    }
+
+    // ------------------------------------------------------------
+    // Internal helpers
+    // ------------------------------------------------------------
+
+    private static Sort.Direction flip(Sort.Direction d) {
+        return d == Sort.Direction.ASC ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+
+    private static Predicate compare(CriteriaBuilder cb,
+                                     Expression<Comparable<Object>> path,
+                                     Comparable<Object> value,
+                                     boolean greater) {
+        return greater ? cb.greaterThan(path, value) : cb.lessThan(path, value);
+    }
+
+    private static String format(Object value) {
+        if (value instanceof Enum<?> e) return e.name();
+        return value.toString();
+    }
+
+    /**
+     * 游標字串 → 欄位型別（只支援 keyset 常見的型別；型別不符或格式錯誤視為無效游標）
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<Object> parse(String raw, Class<?> type) {
+        try {
+            Object value;
+            if (type == String.class) value = raw;
+            else if (type == UUID.class) value = UUID.fromString(raw);
+            else if (type == Long.class || type == long.class) value = Long.valueOf(raw);
+            else if (type == Integer.class || type == int.class) value = Integer.valueOf(raw);
+            else if (type == BigDecimal.class) value = new BigDecimal(raw);
+            else if (type == ZonedDateTime.class) value = ZonedDateTime.parse(raw);
+            else if (type == OffsetDateTime.class) value = OffsetDateTime.parse(raw);
+            else if (type == LocalDateTime.class) value = LocalDateTime.parse(raw);
+            else if (type == LocalDate.class) value = LocalDate.parse(raw);
+            else if (type == Instant.class) value = Instant.parse(raw);
+            else if (type.isEnum()) value = Enum.valueOf((Class<? extends Enum>) type, raw);
+            else throw new IllegalArgumentException("unsupported keyset type: " + type.getName());
+            return (Comparable<Object>) value;
+        } catch (DateTimeException | IllegalArgumentException e) {
+            throw KeysetCursor.invalid();
+        }
+    }
+}
@@ -1,37 +1,88 @@
 package com.xk.base.domain.jpa.spec;
 
+import com.xk.base.domain.model.KeywordSearchable;
+import com.xk.base.infra.search.KeywordSearchMode;
+import com.xk.base.infra.search.XkSearchFunctionContributor;
+
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.util.StringUtils;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+
 /**
  * ===============================================================
  * Spec Helper: KeywordSpec
  * ---------------------------------------------------------------
  * Purpose:
  * - 提供「關鍵字 keyword」的通用 Specification 組裝工具
- * - 常見用法：code/name/description LIKE %keyword%（不分大小寫）
+ * - 常見用法：code/name/description 含 keyword（不分大小寫）
  * <p>
  * Design:
  * - keyword 为空 → 回傳 null（方便 spec.and(...) 直接串）
  * - 欄位名由呼叫端傳入（避免 base 綁死特定 entity）
- * - 預設不分大小寫：lower(field) LIKE lower(%keyword%)
- * <p>
- * Notes:
- * - 若你希望支援 escape（避免 %/_ 被當 wildcard），可改用 escapeLike(...) 方法
- * 並在 cb.like(..., ..., '\\') 指定 escape char。
+ * - SQL 形式由 KeywordSearchMode 決定（啟動時由 KeywordSearchConfigurer 設定，呼叫端 API 不變）：
+ *   FULLTEXT → KeywordSearchable entity 以 MATCH(search_text) AGAINST 走 ngram index 縮小範圍；
+ *              只查部分欄位（例如 codeOrName）時再加上各欄位 contains 條件，不會命中其他欄位
+ *   PREFIX   → field LIKE 'kw%'（不分大小寫的 collation 不包 lower()，可走 index；否則 lower(field)）
+ *   LIKE     → lower(field) LIKE '%kw%'（舊行為）
+ * - 設定為單一不可變 Settings，整組替換；Spring context 關閉時還原預設，不殘留到下一個 context（含測試）
+ * - keyword 內的 %/_ 一律 escape，不會被當 wildcard
  * ===============================================================
  */
 public final class KeywordSpec {
 
+    public static final char LIKE_ESCAPE = '\\';
+
+    /**
+     * 尚未設定前維持舊行為（例如純單元測試、未啟動 Spring context）
+     */
+    private static final Settings DEFAULT = new Settings(KeywordSearchMode.LIKE, Set.of(), 2, false);
+
+    private static volatile Settings settings = DEFAULT;
+
     private KeywordSpec() {
     }
 
     /**
-     * 在多個欄位中以 OR 方式做 keyword LIKE（大小寫不敏感）
+     * 設定搜尋模式（由 KeywordSearchConfigurer 於啟動時呼叫）
+     *
+     * @param searchMode          實際模式（不可為 AUTO）
+     * @param fulltextEntities    已具備 FULLTEXT index 的 KeywordSearchable entity
+     * @param minFulltextLength   可走 FULLTEXT 的最短關鍵字（ngram token size）
+     * @param caseInsensitiveDb   欄位 collation 本身不分大小寫（MySQL *_ci）：PREFIX 不包 lower()，可走 index
+     */
+    public static void configure(KeywordSearchMode searchMode, Set<Class<?>> fulltextEntities,
+                                 int minFulltextLength, boolean caseInsensitiveDb) {
+        if (searchMode == null || searchMode == KeywordSearchMode.AUTO) {
+            throw new IllegalArgumentException("KeywordSpec mode must be resolved, got: " + searchMode);
+        }
+        settings = new Settings(searchMode,
+                fulltextEntities == null ? Set.of() : Set.copyOf(fulltextEntities),
+                Math.max(1, minFulltextLength),
+                caseInsensitiveDb);
+    }
+
+    /**
+     * 還原預設（LIKE）：KeywordSearchConfigurer 於 context 關閉時呼叫
+     */
+    public static void reset() {
+        settings = DEFAULT;
+    }
+
+    public static KeywordSearchMode mode() {
+        return settings.mode();
+    }
+
+    /**
+     * 在多個欄位中以 OR 方式做 keyword 比對（大小寫不敏感）
      * <p>
      * 例：
      * spec.and(KeywordSpec.likeAny(query.getKeyword(), "code", "name"))
@@ -41,59 +92,129 @@ public final class KeywordSpec {
             return null;
         }
 
-        final String kw = "%" + normalize(keyword) + "%";
+        final String kw = keyword.trim();
+        final Settings current = settings;
 
         return (root, query, cb) -> {
-            var predicates = new jakarta.persistence.criteria.Predicate[fields.length];
-
-            for (int i = 0; i < fields.length; i++) {
-                String field = fields[i];
-
-                // root.get(field) 可能是 String 或其他型別，這裡強制轉成 String expression 後 lower
-                Expression<String> expr = toLowerString(root, cb, field);
-
-                predicates[i] = cb.like(expr, kw);
+            if (current.mode() == KeywordSearchMode.FULLTEXT && current.useFulltext(root, kw)) {
+                Predicate match = matchAgainst(root, cb, kw);
+                return coversSearchText(fields) ? match : cb.and(match, containsAny(root, cb, kw, fields));
             }
-
-            return cb.or(predicates);
+            if (current.mode() == KeywordSearchMode.LIKE) {
+                return containsAny(root, cb, kw, fields);
+            }
+            return prefixAny(root, cb, kw, current.caseInsensitiveDb(), fields);
         };
     }
 
     /**
-     * 常見快捷：code OR name LIKE %keyword%（大小寫不敏感）
+     * 常見快捷：code OR name 含 keyword（大小寫不敏感）
      */
     public static <T> Specification<T> codeOrName(String keyword) {
         return likeAny(keyword, "code", "name");
     }
 
     /**
-     * 常見快捷：code OR name OR description LIKE %keyword%（大小寫不敏感）
+     * 常見快捷：code OR name OR description 含 keyword（大小寫不敏感）
      */
     public static <T> Specification<T> codeNameOrDescription(String keyword) {
-        return likeAny(keyword, "code", "name", "description");
+        return likeAny(keyword, KeywordSearchable.SEARCH_TEXT_SOURCES.toArray(String[]::new));
+    }
+
+    /**
+     * 給 JPQL 參數用的 LIKE pattern（需搭配 escape '\'）：
+     * LIKE 模式 → %kw%；其他模式 → kw%（呼叫端負責先把 keyword 正規化成欄位的儲存格式）
+     *
+     * @return keyword 為空時回傳 null（對應 JPQL 的 :param is null）
+     */
+    public static String likePattern(String keyword) {
+        if (!StringUtils.hasText(keyword)) return null;
+        String escaped = escapeLike(keyword.trim());
+        return settings.mode() == KeywordSearchMode.LIKE ? "%" + escaped + "%" : escaped + "%";
+    }
+
+    /**
+     * Escape LIKE wildcard（\, %, _），搭配 escape '\' 使用
+     */
+    public static String escapeLike(String s) {
+        return s.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
+    /**
+     * FULLTEXT boolean mode 片語：去除 boolean 運算子後以雙引號包住（整段視為一個 phrase）
+     */
+    static String toPhrase(String keyword) {
+        String cleaned = keyword.replaceAll("[\"+\\-<>()~*@]", " ")
+                .trim()
+                .replaceAll("\\s+", " ")
+                .toLowerCase(Locale.ROOT);
+        return cleaned.isEmpty() ? null : "\"" + cleaned + "\"";
     }
 
     // ------------------------------------------------------------
     // Internal helpers
     // ------------------------------------------------------------
 
-    private static String normalize(String s) {
-        return s.trim().toLowerCase();
+    /**
+     * 查詢欄位涵蓋 search_text 的所有來源欄位 → MATCH 結果即為答案，不需再逐欄過濾
+     */
+    static boolean coversSearchText(String... fields) {
+        return Arrays.asList(fields).containsAll(KeywordSearchable.SEARCH_TEXT_SOURCES);
     }
 
-    private static <T> Expression<String> toLowerString(Root<T> root, CriteriaBuilder cb, String field) {
-        // cb.lower 需要 Expression<String>，這裡把任意欄位轉成 String 後 lower
-        // 若欄位本來就是 String，as(String.class) 仍可正常運作
-        return cb.lower(root.get(field).as(String.class));
+    private static <T> Predicate matchAgainst(Root<T> root, CriteriaBuilder cb, String kw) {
+        Expression<Double> score = cb.function(
+                XkSearchFunctionContributor.MATCH_AGAINST, Double.class,
+                root.get(KeywordSearchable.SEARCH_TEXT_FIELD), cb.literal(toPhrase(kw)));
+        return cb.greaterThan(score, 0d);
     }
 
-    // ------------------------------------------------------------
-    // Optional: escape LIKE wildcards (if you need)
-    // ------------------------------------------------------------
-    // private static String escapeLike(String s) {
-    //     // Escape: \, %, _
-    //     return s.replace("\\", "\\\\")
-    //             .replace("%", "\\%")
-    //             .replace("_", "\\_");
-    // }
+    /**
+     * field LIKE 'kw%'
+     * - caseInsensitiveDb（MySQL *_ci collation）：欄位不套函式，比對本身不分大小寫，index 可用
+     * - 其他（例如 H2）：lower(field) LIKE lower('kw%')，以函式換取正確的大小寫不敏感
+     */
+    private static <T> Predicate prefixAny(Root<T> root, CriteriaBuilder cb, String kw,
+                                           boolean caseInsensitiveDb, String... fields) {
+        Predicate[] predicates = new Predicate[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Expression<String> expr = asString(root.get(fields[i]));
+            predicates[i] = caseInsensitiveDb
+                    ? cb.like(expr, escapeLike(kw) + "%", LIKE_ESCAPE)
+                    : cb.like(cb.lower(expr), escapeLike(kw.toLowerCase(Locale.ROOT)) + "%", LIKE_ESCAPE);
+        }
+        return cb.or(predicates);
+    }
+
+    private static <T> Predicate containsAny(Root<T> root, CriteriaBuilder cb, String kw, String... fields) {
+        final String pattern = "%" + escapeLike(kw.toLowerCase(Locale.ROOT)) + "%";
+        Predicate[] predicates = new Predicate[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            predicates[i] = cb.like(cb.lower(asString(root.get(fields[i]))), pattern, LIKE_ESCAPE);
+        }
+        return cb.or(predicates);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<String> asString(Path<?> path) {
+        // 原本就是 String 的欄位不 cast（cast 會讓 index 失效）
+        return String.class.equals(path.getJavaType())
+                ? (Expression<String>) path
+                : path.as(String.class);
+    }
+
+    /**
+     * 一次替換的設定快照（likeAny 建立 Specification 時取一次，執行期間不受重新設定影響）
+     */
+    private record Settings(KeywordSearchMode mode, Set<Class<?>> fulltextTypes,
+                            int minFulltextLength, boolean caseInsensitiveDb) {
+
+        boolean useFulltext(Root<?> root, String kw) {
+            return fulltextTypes.contains(root.getJavaType())
+                    && kw.length() >= minFulltextLength
+                    && toPhrase(kw) != null;
+        }
+    }
 }
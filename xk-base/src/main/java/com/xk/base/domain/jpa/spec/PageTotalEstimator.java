@@ -0,0 +1,104 @@
+package com.xk.base.domain.jpa.spec;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
+
+/**
+ * ===============================================================
+ * Component : PageTotalEstimator
+ * Layer     : Base / JPA
+ * Purpose   : PageMode.ESTIMATE 用的 total 快取（count 於背景執行緒非同步刷新）
+ * <p>
+ * Flow
+ * - 以「查詢範圍 + 篩選條件」組成 key（見 key(...)）
+ * - 讀取時永不阻塞：有快取回快取值，沒有就回呼叫端給的下限
+ * - 無快取或超過 REFRESH_AFTER → 背景執行 count；同一 key 同時只會有一個 count 在跑
+ * - EXPIRE_AFTER 未被讀取的 key 自動淘汰
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class PageTotalEstimator {
+
+    private static final Duration REFRESH_AFTER = Duration.ofSeconds(30);
+    private static final Duration EXPIRE_AFTER = Duration.ofMinutes(10);
+    private static final long MAX_KEYS = 1_000;
+
+    private final Cache<String, Estimate> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_KEYS)
+            .expireAfterAccess(EXPIRE_AFTER)
+            .build();
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService countExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "xk-page-count");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * 組 key：scope（通常為表名）+ 篩選條件值
+     */
+    public static String key(String scope, Object... filters) {
+        return scope + Arrays.deepToString(filters);
+    }
+
+    /**
+     * 取得估計 total（不阻塞）
+     *
+     * @param key        key(...) 組成的快取 key
+     * @param counter    精確 count（於背景執行）
+     * @param lowerBound 本次查詢已知的下限
+     */
+    public long estimate(String key, LongSupplier counter, long lowerBound) {
+        Estimate e = cache.getIfPresent(key);
+        if (e == null || e.isStale()) {
+            refreshAsync(key, counter);
+        }
+        return e == null ? lowerBound : Math.max(e.total(), lowerBound);
+    }
+
+    private void refreshAsync(String key, LongSupplier counter) {
+        if (!refreshing.add(key)) return;
+        try {
+            countExecutor.execute(() -> {
+                try {
+                    cache.put(key, new Estimate(counter.getAsLong(), System.nanoTime()));
+                } catch (RuntimeException ex) {
+                    log.warn("[PageTotalEstimator] count failed: key={}, {}", key, ex.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            refreshing.remove(key);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        countExecutor.shutdownNow();
+    }
+
+    private record Estimate(long total, long computedAt) {
+
+        boolean isStale() {
+            return System.nanoTime() - computedAt > REFRESH_AFTER.toNanos();
+        }
+    }
+}
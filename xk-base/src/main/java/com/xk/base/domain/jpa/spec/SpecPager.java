@@ -0,0 +1,118 @@
+package com.xk.base.domain.jpa.spec;
+
+import com.xk.base.web.PageMode;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * Component : SpecPager
+ * Layer     : Base / JPA
+ * Purpose   : 依 PageMode 執行 Specification 分頁（EXACT / SLICE / ESTIMATE）
+ * <p>
+ * Design
+ * - EXACT    → executor.findAll(spec, pageable)（原本行為：page + count）
+ * - SLICE    → 只查 size + 1 筆（offset 不變），不跑 count
+ * - ESTIMATE → 同 SLICE，total 由 PageTotalEstimator 提供（背景 count）
+ * - 一律回傳 Page，JSON 形狀與原本相同（見 toPage）
+ * <p>
+ * Usage
+ *   specPager.findAll(repository, Vehicle.class, spec, pageable, mode,
+ *           PageTotalEstimator.key("fms_vehicle"));
+ * ===============================================================
+ */
+@Component
+public class SpecPager {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final PageTotalEstimator totalEstimator;
+
+    public SpecPager(PageTotalEstimator totalEstimator) {
+        this.totalEstimator = totalEstimator;
+    }
+
+    /**
+     * 依模式分頁查詢
+     *
+     * @param totalKey ESTIMATE 模式的 total 快取 key（PageTotalEstimator.key(...)，需涵蓋所有篩選條件）
+     */
+    public <T> Page<T> findAll(JpaSpecificationExecutor<T> executor,
+                               Class<T> domainClass,
+                               Specification<T> spec,
+                               Pageable pageable,
+                               PageMode mode,
+                               String totalKey) {
+        if (mode == null || mode == PageMode.EXACT || pageable.isUnpaged()) {
+            return executor.findAll(spec, pageable);
+        }
+
+        Slice<T> slice = findSlice(domainClass, spec, pageable);
+        if (mode == PageMode.SLICE || !slice.hasNext()) {
+            return toPage(slice, 0);
+        }
+
+        long estimate = totalEstimator.estimate(totalKey, () -> executor.count(spec), lowerBound(slice));
+        return toPage(slice, estimate);
+    }
+
+    /**
+     * 不跑 count 的 Slice 查詢（多抓 1 筆判斷 hasNext）
+     */
+    public <T> Slice<T> findSlice(Class<T> domainClass, Specification<T> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+
+        if (spec != null) {
+            Predicate predicate = spec.toPredicate(root, query, cb);
+            if (predicate != null) query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        List<T> rows = entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(pageable.getOffset()))
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        List<T> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+    /**
+     * Slice → Page（JSON 形狀與 EXACT 一致）
+     * <p>
+     * - 無下一頁：total = offset + 本頁筆數（精確）
+     * - 有下一頁：total = max(estimate, 已知下限)，已知下限 = offset + 本頁筆數 + 1
+     */
+    public static <T> Page<T> toPage(Slice<T> slice, long estimate) {
+        long total = slice.hasNext()
+                ? Math.max(estimate, lowerBound(slice))
+                : slice.getPageable().getOffset() + slice.getNumberOfElements();
+        return new PageImpl<>(slice.getContent(), slice.getPageable(), total);
+    }
+
+    /**
+     * 本次查詢已知的 total 下限
+     */
+    public static long lowerBound(Slice<?> slice) {
+        return slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+    }
+}
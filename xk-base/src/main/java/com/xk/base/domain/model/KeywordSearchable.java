@@ -0,0 +1,61 @@
+package com.xk.base.domain.model;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * ===============================================================
+ * Interface: KeywordSearchable
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 標記「有關鍵字搜尋影子欄位（search_text）」的 Entity
+ * - search_text = 關鍵字欄位（code / name / description ...）正規化後以空白串接
+ * <p>
+ * Design:
+ * - 正規化：trim + lower(Locale.ROOT) + 連續空白收斂為一個
+ * - 由 Entity 的 @PrePersist / @PreUpdate 呼叫 refreshSearchText() 維護
+ *   （XkBeanUtils.copyNonNullProperties 之類的批次複製也不會漏）
+ * - MySQL：search_text 建 FULLTEXT ngram index（見 KeywordSearchConfigurer），KeywordSpec 走 MATCH ... AGAINST
+ * <p>
+ * Entity 範例:
+ *   @Column(name = KeywordSearchable.SEARCH_TEXT_COLUMN, length = 512)
+ *   private String searchText;
+ *
+ *   @PrePersist @PreUpdate
+ *   public void refreshSearchText() { searchText = KeywordSearchable.normalize(code, name, description); }
+ * ===============================================================
+ */
+public interface KeywordSearchable {
+
+    String SEARCH_TEXT_FIELD = "searchText";
+    String SEARCH_TEXT_COLUMN = "search_text";
+    int SEARCH_TEXT_LENGTH = 512;
+
+    /**
+     * 組成 search_text 的欄位（entity 欄位名；refreshSearchText 需以相同欄位呼叫 normalize）
+     * - KeywordSpec 只查其中部分欄位時，會在 MATCH 之外再逐欄過濾
+     */
+    List<String> SEARCH_TEXT_SOURCES = List.of("code", "name", "description");
+
+    /**
+     * 依目前欄位值重算 search_text
+     */
+    void refreshSearchText();
+
+    /**
+     * 正規化並串接（null / 空白略過；超過 SEARCH_TEXT_LENGTH 截斷）
+     */
+    static String normalize(String... values) {
+        StringJoiner joiner = new StringJoiner(" ");
+        if (values != null) {
+            for (String v : values) {
+                if (v == null) continue;
+                String n = v.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+                if (!n.isEmpty()) joiner.add(n);
+            }
+        }
+        String text = joiner.toString();
+        return text.length() > SEARCH_TEXT_LENGTH ? text.substring(0, SEARCH_TEXT_LENGTH) : text;
+    }
+}
@@ -0,0 +1,125 @@
+package com.xk.base.infra.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * ===============================================================
+ * Configuration : L2CacheConfig
+ * Layer         : Infra (Cache)
+ * Purpose       : Hibernate 二級快取 + query cache（JCache，Caffeine 實作）
+ * <p>
+ * Design
+ * - 以程式建立 JCache region（容量 / TTL 來自 L2CacheProps），交給 Hibernate（hibernate.javax.cache.cache_manager）
+ * - Entity 以 @Cacheable + @Cache(usage = READ_WRITE, region = ...) 個別開啟
+ * - Repository 查詢以 HibernateHints.HINT_CACHEABLE 開啟 query cache（例如 findByCode）
+ * <p>
+ * Invalidation
+ * - Entity save / delete：Hibernate 依 READ_WRITE 策略同步更新 region
+ * - JPQL bulk update / delete（@Modifying）：Hibernate 會清空該 entity 的 region，
+ *   並更新 update-timestamps，使相關 query cache 失效
+ * - 直接以 JdbcTemplate 寫入「有快取的表」時，需自行 evict（EntityManagerFactory.getCache().evict(...)）
+ * <p>
+ * Multi-node
+ * - Caffeine 為節點本機快取，沒有跨節點失效：A 節點的寫入只更新 A 的 region 與 update-timestamps，
+ *   B 節點在該 entry 的 TTL 到期前仍可能讀到舊 entity / 舊 query 結果
+ * - 因此 region TTL 就是多節點下的最大過期時間：授權（RBAC）/ 字典這類「改了要盡快生效」的 region
+ *   應設短 TTL，或改用有跨節點失效的 provider（例如 Hazelcast / Infinispan cluster）
+ * <p>
+ * Notes
+ * - JCache CacheManager 取自 provider 預設 URI（同一 JVM 共用）；region 已存在時沿用，不重建
+ * ===============================================================
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "l2cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class L2CacheConfig {
+
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Hibernate 使用的 JCache CacheManager（共用 provider 預設實例，不在 context 關閉時 close）
+     */
+    @Bean(destroyMethod = "")
+    public CacheManager l2JCacheManager(L2CacheProps props) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager();
+
+        Set<String> regions = new LinkedHashSet<>(props.getRegions().keySet());
+        regions.add(QUERY_RESULTS_REGION);
+        regions.add(UPDATE_TIMESTAMPS_REGION);
+
+        for (String region : regions) {
+            if (cacheManager.getCache(region) != null) continue;
+            cacheManager.createCache(region, regionConfig(props, region));
+            log.info("[L2Cache] region={}, maxSize={}, ttl={}", region,
+                    isUnbounded(props, region) ? "unbounded" : props.maxSizeOf(region),
+                    isUnbounded(props, region) ? "none" : props.ttlOf(region));
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer l2CacheHibernateProperties(CacheManager l2JCacheManager, L2CacheProps props) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.use_query_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", l2JCacheManager);
+            // 未列在 l2cache.regions 的 region 依 default 建立（見 L2CacheProps）
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            if (props.isMetrics()) {
+                properties.put("hibernate.generate_statistics", true);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "l2cache", name = "metrics", havingValue = "true", matchIfMissing = true)
+    public L2CacheMetrics l2CacheMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory, L2CacheProps props) {
+        return new L2CacheMetrics(entityManagerFactory, props.getRegions().keySet());
+    }
+
+    // ===============================================================
+    // Internal helpers
+    // ===============================================================
+
+    private static CaffeineConfiguration<Object, Object> regionConfig(L2CacheProps props, String region) {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStatisticsEnabled(true);
+        if (isUnbounded(props, region)) return config;
+
+        config.setMaximumSize(OptionalLong.of(props.maxSizeOf(region)));
+        Duration ttl = props.ttlOf(region);
+        if (ttl != null && !ttl.isZero() && !ttl.isNegative()) {
+            config.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return config;
+    }
+
+    /**
+     * update-timestamps region 不可被逐出（除非明確設定）
+     */
+    private static boolean isUnbounded(L2CacheProps props, String region) {
+        return UPDATE_TIMESTAMPS_REGION.equals(region) && !props.getRegions().containsKey(region);
+    }
+}
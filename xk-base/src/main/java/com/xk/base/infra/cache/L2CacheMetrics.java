@@ -0,0 +1,94 @@
+package com.xk.base.infra.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * ===============================================================
+ * MeterBinder : L2CacheMetrics
+ * Layer       : Infra (Cache)
+ * Purpose     : Hibernate 二級快取 region 層級指標
+ * <p>
+ * Metrics（tag: region）
+ * - xk.l2cache.hits / xk.l2cache.misses / xk.l2cache.puts
+ * - xk.l2cache.size（目前 region 內筆數）
+ * - xk.l2cache.query.hits / xk.l2cache.query.misses（query cache 全域）
+ * <p>
+ * Notes
+ * - 數值來自 Hibernate Statistics（需 hibernate.generate_statistics=true，L2CacheConfig 會一併開啟）
+ * - EntityManagerFactory 延遲取得，避免 MeterRegistry 初始化時提早建立 JPA
+ * ===============================================================
+ */
+public class L2CacheMetrics implements MeterBinder {
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final List<String> regions;
+
+    public L2CacheMetrics(ObjectProvider<EntityManagerFactory> entityManagerFactory, Set<String> regions) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.regions = List.copyOf(regions);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            regionCounter(registry, "xk.l2cache.hits", region, CacheRegionStatistics::getHitCount);
+            regionCounter(registry, "xk.l2cache.misses", region, CacheRegionStatistics::getMissCount);
+            regionCounter(registry, "xk.l2cache.puts", region, CacheRegionStatistics::getPutCount);
+            Gauge.builder("xk.l2cache.size", this, m -> m.regionValue(region, CacheRegionStatistics::getElementCountInMemory))
+                    .tag("region", region)
+                    .register(registry);
+        }
+
+        FunctionCounter.builder("xk.l2cache.query.hits", this, m -> m.statisticsValue(Statistics::getQueryCacheHitCount))
+                .register(registry);
+        FunctionCounter.builder("xk.l2cache.query.misses", this, m -> m.statisticsValue(Statistics::getQueryCacheMissCount))
+                .register(registry);
+    }
+
+    // ===============================================================
+    // Internal helpers
+    // ===============================================================
+
+    private void regionCounter(MeterRegistry registry, String name, String region,
+                               ToDoubleFunction<CacheRegionStatistics> value) {
+        FunctionCounter.builder(name, this, m -> m.regionValue(region, value))
+                .tag("region", region)
+                .register(registry);
+    }
+
+    private double regionValue(String region, ToDoubleFunction<CacheRegionStatistics> value) {
+        Statistics statistics = statistics();
+        if (statistics == null) return 0;
+        try {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            return regionStatistics == null ? 0 : value.applyAsDouble(regionStatistics);
+        } catch (IllegalArgumentException e) {
+            // region 尚未被任何 entity 使用
+            return 0;
+        }
+    }
+
+    private double statisticsValue(ToDoubleFunction<Statistics> value) {
+        Statistics statistics = statistics();
+        return statistics == null ? 0 : value.applyAsDouble(statistics);
+    }
+
+    private Statistics statistics() {
+        EntityManagerFactory emf = entityManagerFactory.getIfAvailable();
+        return emf == null ? null : emf.unwrap(SessionFactory.class).getStatistics();
+    }
+}
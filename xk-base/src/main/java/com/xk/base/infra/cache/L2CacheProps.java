@@ -0,0 +1,77 @@
+package com.xk.base.infra.cache;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ===============================================================
+ * Properties : L2CacheProps
+ * Prefix     : l2cache
+ * Purpose    : Hibernate 二級快取（JCache / Caffeine）各 region 的容量與 TTL
+ * <p>
+ * Example
+ * l2cache:
+ *   default-max-size: 1000
+ *   default-ttl: 30m
+ *   regions:
+ *     "[upms.role]": { max-size: 500, ttl: 1m }
+ *     "[adm.dictItem]": { max-size: 5000 }
+ * <p>
+ * Notes
+ * - region 名稱對應 Entity 上 @Cache(region = ...)，未列出的 region 套用 default
+ * - ttl 也是多節點間的最大過期時間（本機快取，見 L2CacheConfig「Multi-node」）
+ * - default-update-timestamps-region 不設上限 / TTL（被逐出會讓 query cache 讀到過期結果），除非明確設定
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "l2cache")
+public class L2CacheProps {
+
+    /**
+     * 是否啟用二級快取與 query cache
+     */
+    private boolean enabled = true;
+
+    /**
+     * region 預設最大筆數
+     */
+    private long defaultMaxSize = 1_000;
+
+    /**
+     * region 預設存活時間（寫入後計算；0 或 null 表示不過期）
+     */
+    private Duration defaultTtl = Duration.ofMinutes(30);
+
+    /**
+     * 是否輸出 region 層級指標（需開啟 hibernate.generate_statistics）
+     */
+    private boolean metrics = true;
+
+    /**
+     * 個別 region 設定（覆蓋 default）
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private Long maxSize;
+        private Duration ttl;
+    }
+
+    public long maxSizeOf(String region) {
+        Region r = regions.get(region);
+        return r != null && r.getMaxSize() != null ? r.getMaxSize() : defaultMaxSize;
+    }
+
+    public Duration ttlOf(String region) {
+        Region r = regions.get(region);
+        return r != null && r.getTtl() != null ? r.getTtl() : defaultTtl;
+    }
+}
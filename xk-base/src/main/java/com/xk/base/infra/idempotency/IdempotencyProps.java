@@ -0,0 +1,71 @@
+package com.xk.base.infra.idempotency;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ===============================================================
+ * Properties : IdempotencyProps
+ * Prefix     : idempotency
+ * Purpose    : Idempotency-Key（重送去重）設定
+ * <p>
+ * Example
+ * idempotency:
+ *   store: memory          # memory | jdbc（多節點共用 xk_idempotency_key）
+ *   ttl: 24h
+ *   memory-max-bytes: 33554432
+ * <p>
+ * Notes
+ * - 只處理帶 Idempotency-Key header 的非安全方法（POST / PUT / PATCH / DELETE）
+ * - 不帶 header 的請求行為完全不變
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "idempotency")
+public class IdempotencyProps {
+
+    public enum Store {
+        MEMORY, JDBC
+    }
+
+    private boolean enabled = true;
+
+    private String headerName = "Idempotency-Key";
+
+    /**
+     * 結果保存位置
+     */
+    private Store store = Store.MEMORY;
+
+    /**
+     * 結果保存時間（寫入後計算）
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * 記憶體保存上限（依 body 位元組數計重）
+     */
+    private long memoryMaxBytes = 32L * 1024 * 1024;
+
+    /**
+     * 單一回應超過此大小不保存（重送時會重新執行）
+     */
+    private int maxBodyBytes = 64 * 1024;
+
+    private int maxKeyLength = 128;
+
+    /**
+     * 併發重送等待前一次執行完成的上限；逾時回 409
+     */
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+
+    /**
+     * jdbc：過期資料清除間隔
+     */
+    private Duration purgeInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,22 @@
+package com.xk.base.infra.idempotency;
+
+/**
+ * ===============================================================
+ * Store : IdempotencyStore
+ * Layer : Infra (Idempotency)
+ * Purpose: Idempotency-Key → 已完成回應
+ * ===============================================================
+ * Notes:
+ * - key 為 IdempotencyFilter 計算的雜湊（principal + method + path + header 值）
+ * - StoredResponse.requestHash 需與回應一起保存（同 key 不同 body → 422）
+ * - 過期由實作處理；put 同 key 已存在時保留先寫入者
+ */
+public interface IdempotencyStore {
+
+    /**
+     * @return 未過期的回應；沒有則 null
+     */
+    StoredResponse find(String key);
+
+    void put(String key, StoredResponse response);
+}
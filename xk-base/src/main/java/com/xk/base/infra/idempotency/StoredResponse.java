@@ -0,0 +1,10 @@
+package com.xk.base.infra.idempotency;
+
+/**
+ * 已完成請求的回應（重送時原樣回放）
+ *
+ * @param body        序列化後的 ApiResult（原始位元組）
+ * @param requestHash 第一次請求 body 的 SHA-256（重送時比對；null 表示不比對）
+ */
+public record StoredResponse(int status, String contentType, byte[] body, String requestHash) {
+}
@@ -0,0 +1,49 @@
+package com.xk.base.infra.idempotency.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * xk_idempotency_key：多節點共用的 Idempotency-Key 結果（idempotency.store=jdbc）
+ * - 讀寫由 JdbcIdempotencyStore 以 JDBC 直接處理；此 Entity 只負責建表
+ * - 只在 store=jdbc 時納入 JPA（memory 時由 IdempotencyManagedTypesFilter 排除）
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "xk_idempotency_key",
+        indexes = @Index(name = "idx_xk_idempotency_key_expires_at", columnList = "expires_at")
+)
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "idem_key", length = 64, nullable = false)
+    private String idemKey;
+
+    @Column(name = "status", nullable = false)
+    private Integer status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Lob
+    @Column(name = "body")
+    private byte[] body;
+
+    /**
+     * 第一次請求 body 的 SHA-256（hex）
+     */
+    @Column(name = "request_hash", length = 64)
+    private String requestHash;
+
+    @Column(name = "created_time", nullable = false)
+    private Instant createdTime;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
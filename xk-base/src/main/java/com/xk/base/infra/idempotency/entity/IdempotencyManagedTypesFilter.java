@@ -0,0 +1,56 @@
+package com.xk.base.infra.idempotency.entity;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.util.List;
+
+/**
+ * ===============================================================
+ * Component : IdempotencyManagedTypesFilter
+ * Layer     : Infra (Idempotency)
+ * Purpose   : idempotency.store=memory（預設）時，把 IdempotencyKeyEntity 移出 JPA 管理的 entity 清單
+ * <p>
+ * Notes
+ * - entity 掃描涵蓋整個 com.xk；不排除的話 ddl-auto 會在用不到的環境也建出 xk_idempotency_key
+ *   （validate 也會要求該表存在）
+ * - store=jdbc 時本元件不註冊，entity 照常參與建表 / 驗證
+ * ===============================================================
+ */
+@Component
+@ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class IdempotencyManagedTypesFilter implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof PersistenceManagedTypes types)) return bean;
+        if (!types.getManagedClassNames().contains(IdempotencyKeyEntity.class.getName())) return bean;
+
+        List<String> classNames = types.getManagedClassNames().stream()
+                .filter(name -> !name.equals(IdempotencyKeyEntity.class.getName()))
+                .toList();
+        return new Filtered(classNames, types.getManagedPackages(), types.getPersistenceUnitRootUrl());
+    }
+
+    private record Filtered(List<String> managedClassNames, List<String> managedPackages, URL persistenceUnitRootUrl)
+            implements PersistenceManagedTypes {
+
+        @Override
+        public List<String> getManagedClassNames() {
+            return managedClassNames;
+        }
+
+        @Override
+        public List<String> getManagedPackages() {
+            return managedPackages;
+        }
+
+        @Override
+        public URL getPersistenceUnitRootUrl() {
+            return persistenceUnitRootUrl;
+        }
+    }
+}
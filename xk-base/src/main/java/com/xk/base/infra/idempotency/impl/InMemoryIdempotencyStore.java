@@ -0,0 +1,47 @@
+package com.xk.base.infra.idempotency.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xk.base.infra.idempotency.IdempotencyProps;
+import com.xk.base.infra.idempotency.IdempotencyStore;
+import com.xk.base.infra.idempotency.StoredResponse;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+/**
+ * ===============================================================
+ * Repository : InMemoryIdempotencyStore
+ * Layer      : Infra (Idempotency)
+ * Purpose    : 單節點預設：Caffeine 有界快取（依 body 大小計重 + TTL）
+ * ===============================================================
+ * Notes:
+ * - 超過 memoryMaxBytes 時依 W-TinyLFU 逐出；被逐出的 key 重送會重新執行
+ * - 多節點部署請改用 idempotency.store=jdbc
+ */
+@Repository
+@ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private static final int ENTRY_OVERHEAD = 128;
+
+    private final Cache<String, StoredResponse> cache;
+
+    public InMemoryIdempotencyStore(IdempotencyProps props) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(props.getMemoryMaxBytes())
+                .weigher((String key, StoredResponse r) -> ENTRY_OVERHEAD + key.length() + r.body().length)
+                .expireAfterWrite(props.getTtl())
+                .build();
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(String key, StoredResponse response) {
+        cache.asMap().putIfAbsent(key, response);
+    }
+}
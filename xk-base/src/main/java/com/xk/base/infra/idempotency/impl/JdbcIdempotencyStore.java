@@ -0,0 +1,115 @@
+package com.xk.base.infra.idempotency.impl;
+
+import com.xk.base.infra.idempotency.IdempotencyProps;
+import com.xk.base.infra.idempotency.IdempotencyStore;
+import com.xk.base.infra.idempotency.StoredResponse;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ===============================================================
+ * Repository : JdbcIdempotencyStore
+ * Layer      : Infra (Idempotency)
+ * Purpose    : 多節點共用：結果存於 xk_idempotency_key
+ * ===============================================================
+ * Notes:
+ * - 以主鍵 insert；同 key 已由其他節點寫入 → DuplicateKeyException 忽略（保留先寫入者）
+ * - 查詢只取未過期資料；過期資料由背景執行緒定期刪除
+ * - 併發合併（coalesce）只在單節點內；跨節點同時送達的重送仍可能各自執行一次
+ * ===============================================================
+ */
+@Slf4j
+@Repository
+@ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    private static final String SQL_FIND = """
+            SELECT status, content_type, body, request_hash FROM xk_idempotency_key
+            WHERE idem_key = ? AND expires_at > ?
+            """;
+
+    private static final String SQL_INSERT = """
+            INSERT INTO xk_idempotency_key (idem_key, status, content_type, body, request_hash, created_time, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String SQL_PURGE = "DELETE FROM xk_idempotency_key WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyProps props;
+
+    private final ScheduledExecutorService purger = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "xk-idempotency-purge");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public JdbcIdempotencyStore(JdbcTemplate jdbcTemplate, IdempotencyProps props) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.props = props;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        long interval = props.getPurgeInterval().toMillis();
+        if (interval > 0) {
+            purger.scheduleWithFixedDelay(this::purge, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        purger.shutdownNow();
+    }
+
+    @Override
+    public StoredResponse find(String key) {
+        List<StoredResponse> rows = jdbcTemplate.query(SQL_FIND,
+                (rs, i) -> new StoredResponse(rs.getInt(1), rs.getString(2), rs.getBytes(3), rs.getString(4)),
+                key, Timestamp.from(Instant.now()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void put(String key, StoredResponse response) {
+        Instant now = Instant.now();
+        try {
+            jdbcTemplate.update(SQL_INSERT,
+                    key,
+                    response.status(),
+                    response.contentType(),
+                    response.body(),
+                    response.requestHash(),
+                    Timestamp.from(now),
+                    Timestamp.from(now.plus(props.getTtl())));
+        } catch (DuplicateKeyException ignored) {
+            // 其他節點已寫入同一 key
+        }
+    }
+
+    void purge() {
+        try {
+            int deleted = jdbcTemplate.update(SQL_PURGE, Timestamp.from(Instant.now()));
+            if (deleted > 0) {
+                log.debug("[JdbcIdempotencyStore] purged {} expired keys", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[JdbcIdempotencyStore] purge failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.xk.base.infra.jdbc;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * ===============================================================
+ * Record: LinkDiff
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 覆蓋式指派的最小差集：toAdd = target - current，toRemove = current - target
+ * - 兩者皆空 = 不需寫入（不動 DB）
+ * <p>
+ * Notes:
+ * - toAdd 保留 target 的傳入順序（LinkedHashSet）
+ * ===============================================================
+ */
+public record LinkDiff<T>(Set<T> toAdd, Set<T> toRemove) {
+
+    public LinkDiff {
+        toAdd = Collections.unmodifiableSet(new LinkedHashSet<>(toAdd));
+        toRemove = Collections.unmodifiableSet(new LinkedHashSet<>(toRemove));
+    }
+
+    public static <T> LinkDiff<T> of(Collection<T> current, Collection<T> target) {
+        Set<T> cur = current == null ? Set.of() : new LinkedHashSet<>(current);
+        Set<T> tgt = target == null ? Set.of() : new LinkedHashSet<>(target);
+
+        Set<T> toAdd = new LinkedHashSet<>(tgt);
+        toAdd.removeAll(cur);
+
+        Set<T> toRemove = new LinkedHashSet<>(cur);
+        toRemove.removeAll(tgt);
+
+        return new LinkDiff<>(toAdd, toRemove);
+    }
+
+    public boolean isEmpty() {
+        return toAdd.isEmpty() && toRemove.isEmpty();
+    }
+}
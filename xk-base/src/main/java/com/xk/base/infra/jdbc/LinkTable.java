@@ -0,0 +1,43 @@
+package com.xk.base.infra.jdbc;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ===============================================================
+ * Record: LinkTable
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 描述一張「多對多關聯表」（owner ↔ target），供 LinkTableWriter 以 JDBC 批次寫入
+ * - 主鍵固定為 uuid（VARCHAR(36)），審計欄位沿用 BaseEntity（created_by / created_time / updated_by / updated_time）
+ * <p>
+ * Example:
+ *   LinkTable.of("upms_user_role", "user_uuid", "role_uuid")
+ *   LinkTable.of("upms_role_permission", "role_uuid", "permission_uuid").withConstant("enabled", true)
+ * ===============================================================
+ */
+public record LinkTable(
+        String table,
+        String ownerColumn,
+        String targetColumn,
+        Map<String, Object> constants
+) {
+
+    public LinkTable {
+        constants = constants == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(constants));
+    }
+
+    public static LinkTable of(String table, String ownerColumn, String targetColumn) {
+        return new LinkTable(table, ownerColumn, targetColumn, Map.of());
+    }
+
+    /**
+     * 新增時固定寫入的欄位值（例如 NOT NULL 的 enabled 旗標）
+     */
+    public LinkTable withConstant(String column, Object value) {
+        Map<String, Object> merged = new LinkedHashMap<>(constants);
+        merged.put(column, value);
+        return new LinkTable(table, ownerColumn, targetColumn, merged);
+    }
+}
@@ -0,0 +1,186 @@
+package com.xk.base.infra.jdbc;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Component : LinkTableWriter
+ * Layer     : Infra (JDBC)
+ * Purpose   : 關聯表（owner ↔ target）覆蓋式寫入的批次路徑
+ * <p>
+ * Flow
+ * - sync(...)：LinkDiff 算出最小差集 → 只刪多的、只補缺的；差集為空時不碰 DB
+ * - insert：JdbcTemplate.batchUpdate，每 batchSize 筆一個 JDBC batch
+ * - delete：owner = ? and target in (...)，每 batchSize 筆一個 statement
+ * <p>
+ * Notes
+ * - batchSize 取 spring.jpa.properties.hibernate.jdbc.batch_size（與 Hibernate 批次設定一致），未設定為 DEFAULT_BATCH_SIZE
+ * - MySQL 需 rewriteBatchedStatements=true，batch 才會合併成單一 round trip
+ * - 寫入前先 flush 目前的 persistence context（同 @Modifying(flushAutomatically = true)），
+ *   確保同交易內剛 persist 的 owner / target 已寫入，FK 不會失敗
+ * - 直接走 JDBC，不經 Entity：審計欄位（created_by / created_time ...）由這裡補上，
+ *   時間以 hibernate.jdbc.time_zone 寫入（與 Hibernate 行為一致）
+ * - 不經 Hibernate，二級快取 / query cache 不會得知異動：只用於未開快取的關聯表
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class LinkTableWriter {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+
+    static final String PROP_BATCH_SIZE = "spring.jpa.properties.hibernate.jdbc.batch_size";
+    static final String PROP_TIME_ZONE = "spring.jpa.properties.hibernate.jdbc.time_zone";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<AuditorAware<String>> auditorAware;
+    private final int batchSize;
+    private final TimeZone jdbcTimeZone;
+
+    public LinkTableWriter(JdbcTemplate jdbcTemplate,
+                           ObjectProvider<AuditorAware<String>> auditorAware,
+                           Environment environment) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.auditorAware = auditorAware;
+        this.batchSize = Math.max(1, environment.getProperty(PROP_BATCH_SIZE, Integer.class, DEFAULT_BATCH_SIZE));
+        String zone = environment.getProperty(PROP_TIME_ZONE);
+        this.jdbcTimeZone = StringUtils.hasText(zone) ? TimeZone.getTimeZone(zone) : TimeZone.getDefault();
+    }
+
+    /**
+     * 覆蓋式同步：最終 owner 的關聯 = target
+     *
+     * @param current 目前已存在的 target（由呼叫端以 projection 查出）
+     * @param target  目標 target 集合
+     * @return 實際寫入的差集
+     */
+    public LinkDiff<UUID> sync(LinkTable table, UUID owner, Collection<UUID> current, Collection<UUID> target) {
+        LinkDiff<UUID> diff = LinkDiff.of(current, target);
+        if (diff.isEmpty()) return diff;
+
+        flushPersistenceContext();
+        int removed = delete(table, owner, diff.toRemove());
+        int added = insert(table, owner, diff.toAdd());
+
+        log.debug("[LinkTableWriter] sync {}: owner={}, added={}, removed={}", table.table(), owner, added, removed);
+        return diff;
+    }
+
+    /**
+     * 批次新增關聯
+     *
+     * @return 新增筆數
+     */
+    public int insert(LinkTable table, UUID owner, Collection<UUID> targets) {
+        if (targets == null || targets.isEmpty()) return 0;
+
+        final List<String> constantColumns = new ArrayList<>(table.constants().keySet());
+        final String sql = insertSql(table, constantColumns);
+        final String auditor = currentAuditor();
+        final Timestamp now = Timestamp.from(Instant.now());
+        final Calendar calendar = Calendar.getInstance(jdbcTimeZone);
+
+        jdbcTemplate.batchUpdate(sql, targets, batchSize, (ps, target) -> {
+            int i = 1;
+            ps.setString(i++, UUID.randomUUID().toString());
+            ps.setString(i++, owner.toString());
+            ps.setString(i++, target.toString());
+            ps.setString(i++, auditor);
+            ps.setTimestamp(i++, now, calendar);
+            ps.setString(i++, auditor);
+            ps.setTimestamp(i++, now, calendar);
+            for (String column : constantColumns) {
+                setValue(ps, i++, table.constants().get(column));
+            }
+        });
+        return targets.size();
+    }
+
+    /**
+     * 刪除指定關聯（分段 IN，每段一個 statement）
+     *
+     * @return 刪除筆數
+     */
+    public int delete(LinkTable table, UUID owner, Collection<UUID> targets) {
+        if (targets == null || targets.isEmpty()) return 0;
+
+        List<UUID> all = new ArrayList<>(targets);
+        int removed = 0;
+        for (int from = 0; from < all.size(); from += batchSize) {
+            List<UUID> chunk = all.subList(from, Math.min(from + batchSize, all.size()));
+
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = owner.toString();
+            for (int i = 0; i < chunk.size(); i++) args[i + 1] = chunk.get(i).toString();
+
+            removed += jdbcTemplate.update(deleteSql(table, chunk.size()), args);
+        }
+        return removed;
+    }
+
+    // ===============================================================
+    // Internal helpers
+    // ===============================================================
+
+    static String insertSql(LinkTable table, List<String> constantColumns) {
+        List<String> columns = new ArrayList<>(List.of(
+                "uuid", table.ownerColumn(), table.targetColumn(),
+                "created_by", "created_time", "updated_by", "updated_time"));
+        columns.addAll(constantColumns);
+
+        return "INSERT INTO " + table.table()
+                + " (" + String.join(", ", columns) + ")"
+                + " VALUES (" + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")";
+    }
+
+    static String deleteSql(LinkTable table, int size) {
+        return "DELETE FROM " + table.table()
+                + " WHERE " + table.ownerColumn() + " = ?"
+                + " AND " + table.targetColumn() + " IN (" + String.join(", ", Collections.nCopies(size, "?")) + ")";
+    }
+
+    private void flushPersistenceContext() {
+        if (entityManager != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            entityManager.flush();
+        }
+    }
+
+    private String currentAuditor() {
+        AuditorAware<String> aware = auditorAware.getIfAvailable();
+        return aware == null ? null : aware.getCurrentAuditor().orElse(null);
+    }
+
+    private static void setValue(PreparedStatement ps, int index, Object value) throws SQLException {
+        if (value instanceof UUID uuid) {
+            ps.setString(index, uuid.toString());
+        } else {
+            ps.setObject(index, value);
+        }
+    }
+}
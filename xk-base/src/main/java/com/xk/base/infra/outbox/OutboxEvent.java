@@ -0,0 +1,23 @@
+package com.xk.base.infra.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 已寫入 outbox 的事件（relay 交給 OutboxListener）
+ *
+ * @param eventId  全域唯一；listener 以此去重（at-least-once 可能重送）
+ * @param payload  OutboxPayloadCodec 編碼後的內容
+ * @param attempts 含本次的投遞次數
+ */
+public record OutboxEvent(
+        long id,
+        UUID eventId,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String payload,
+        Instant createdTime,
+        int attempts
+) {
+}
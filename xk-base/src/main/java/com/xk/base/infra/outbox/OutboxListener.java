@@ -0,0 +1,19 @@
+package com.xk.base.infra.outbox;
+
+/**
+ * ===============================================================
+ * Interface : OutboxListener
+ * Layer     : Infra (Outbox)
+ * Purpose   : 行程內 outbox 事件接收者（Spring bean 即自動註冊）
+ * ===============================================================
+ * Notes:
+ * - at-least-once：同一事件可能重送（逾時、重啟、同事件其他 listener 失敗），handle 必須冪等
+ * - 不在 relay 的交易內執行；需要寫 DB 自行開交易
+ * - 丟出例外 → 該事件稍後重試（見 OutboxProps.retryBackoff）
+ */
+public interface OutboxListener {
+
+    boolean supports(String eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,15 @@
+package com.xk.base.infra.outbox;
+
+/**
+ * ===============================================================
+ * Interface : OutboxPayloadCodec
+ * Layer     : Infra (Outbox)
+ * Purpose   : 事件 payload 編碼 / 解碼（xk-base 不綁定 JSON 函式庫，由應用程式提供實作）
+ * ===============================================================
+ */
+public interface OutboxPayloadCodec {
+
+    String encode(Object payload);
+
+    <T> T decode(String payload, Class<T> type);
+}
@@ -0,0 +1,57 @@
+package com.xk.base.infra.outbox;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ===============================================================
+ * Properties : OutboxProps
+ * Prefix     : outbox
+ * Purpose    : Transactional outbox（xk_outbox_event）與 relay 設定
+ * <p>
+ * Example
+ * outbox:
+ *   poll-interval: 1s
+ *   batch-size: 100
+ *   lease: 30s
+ *   max-attempts: 10
+ * <p>
+ * Notes
+ * - relay-enabled=false：不啟動背景 relay（寫入照常；測試中直接呼叫 OutboxRelay.drain()）
+ * - lease：一批事件被認領後的保留時間；節點在此期間當掉 → 到期後由其他節點重新認領（at-least-once）
+ * - 失敗重試間隔 retry-backoff × 2^(attempts-1)，上限 max-backoff；達 max-attempts 轉 FAILED 不再重試
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProps {
+
+    private boolean relayEnabled = true;
+
+    /**
+     * 無 commit 喚醒時的輪詢間隔（其他節點寫入、重試到期）
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    private int batchSize = 100;
+
+    private Duration lease = Duration.ofSeconds(30);
+
+    private int maxAttempts = 10;
+
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    private Duration maxBackoff = Duration.ofMinutes(5);
+
+    /**
+     * 已處理事件保留時間（之後由 relay 定期刪除）
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,98 @@
+package com.xk.base.infra.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * ===============================================================
+ * Component : OutboxPublisher
+ * Layer     : Infra (Outbox)
+ * Purpose   : 於呼叫端交易內寫入 xk_outbox_event（與業務資料同時 commit / rollback）
+ * <p>
+ * Usage
+ *   outboxPublisher.publish("TomOrder", orderUuid.toString(), "tom.order.created", payload);
+ *   outboxPublisher.publishAll("TomOrder", "tom.order.created", payloads, p -> p.orderUuid().toString());
+ * <p>
+ * Notes
+ * - 必須在交易內呼叫（否則 IllegalStateException）：沒有交易就沒有「與業務資料一起 commit」的保證
+ * - 以 JdbcTemplate batch insert，立即送出（同一連線，不經 Hibernate flush）
+ * - commit 後喚醒本機 relay（不必等下一次輪詢）
+ * ===============================================================
+ */
+@Component
+public class OutboxPublisher {
+
+    private static final String SQL_INSERT = """
+            INSERT INTO xk_outbox_event
+                (event_id, aggregate_type, aggregate_id, event_type, payload, status, attempts, available_at, created_time)
+            VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxPayloadCodec codec;
+    private final OutboxRelay relay;
+    private final Counter published;
+
+    public OutboxPublisher(JdbcTemplate jdbcTemplate,
+                           OutboxPayloadCodec codec,
+                           OutboxRelay relay,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.codec = codec;
+        this.relay = relay;
+        this.published = Counter.builder("xk.outbox.published")
+                .description("events written to the outbox")
+                .register(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+    }
+
+    public void publish(String aggregateType, String aggregateId, String eventType, Object payload) {
+        publishAll(aggregateType, eventType, List.of(payload), p -> aggregateId);
+    }
+
+    /**
+     * 同一種事件多筆（批次建立）：一個 batch insert
+     */
+    public <T> void publishAll(String aggregateType, String eventType, List<T> payloads, Function<T, String> aggregateIdOf) {
+        if (payloads == null || payloads.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("outbox publish requires an active transaction: " + eventType);
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(payloads.size());
+        for (T payload : payloads) {
+            rows.add(new Object[]{
+                    UUID.randomUUID().toString(),
+                    aggregateType,
+                    aggregateIdOf.apply(payload),
+                    eventType,
+                    codec.encode(payload),
+                    now,
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(SQL_INSERT, rows);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                published.increment(rows.size());
+                relay.wakeUp();
+            }
+        });
+    }
+}
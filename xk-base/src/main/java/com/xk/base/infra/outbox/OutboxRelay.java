@@ -0,0 +1,402 @@
+package com.xk.base.infra.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ===============================================================
+ * Component : OutboxRelay
+ * Layer     : Infra (Outbox)
+ * Purpose   : 批次認領 xk_outbox_event 並投遞給行程內 OutboxListener（at-least-once）
+ * <p>
+ * Flow（每批一輪）
+ * 1) 認領（短交易）：選出到期的 PENDING（依 id），available_at 推到 now + lease、寫入本批 claim_token、attempts + 1
+ *    - MySQL：SELECT ... FOR UPDATE SKIP LOCKED，多節點互不等待
+ *    - 其他（H2）：不鎖定，UPDATE 時再檢查 status / available_at（樂觀認領，沒搶到的列不在本批）
+ * 2) 依 id 順序逐筆投遞給 supports(eventType) 的 listener（交易外）
+ * 3) 回寫結果（短交易，以 claim_token 比對：lease 到期被他人重新認領的列不覆寫）
+ *    - 成功 → PROCESSED；失敗 → 退避後重試；達 maxAttempts → FAILED（dead letter，人工處理）
+ * <p>
+ * Trigger
+ * - OutboxPublisher commit 後 wakeUp()（同節點寫入幾乎即時投遞）
+ * - pollInterval 輪詢（其他節點寫入、重試到期、lease 到期）
+ * - 一批滿 batchSize 即繼續下一批，直到積壓清空
+ * <p>
+ * Metrics
+ * - xk.outbox.dispatched（tag outcome=success|retry|dead）：吞吐量
+ * - xk.outbox.lag：事件寫入 → 成功投遞的延遲
+ * - xk.outbox.batch：每批處理時間
+ * - xk.outbox.pending / xk.outbox.oldest.age（秒）：積壓量與最舊未處理事件的年齡（scrape 時查詢）
+ * <p>
+ * Notes
+ * - 只保證「至少一次」；重試不保證與後續事件的相對順序
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String SQL_CANDIDATES = """
+            SELECT id FROM xk_outbox_event
+            WHERE status = 'PENDING' AND available_at <= ?
+            ORDER BY id
+            LIMIT ?
+            """;
+
+    private static final String SKIP_LOCKED = " FOR UPDATE SKIP LOCKED";
+
+    private static final String SQL_CLAIM = """
+            UPDATE xk_outbox_event
+            SET available_at = ?, claim_token = ?, attempts = attempts + 1
+            WHERE status = 'PENDING' AND available_at <= ? AND id IN (%s)
+            """;
+
+    private static final String SQL_LOAD = """
+            SELECT id, event_id, aggregate_type, aggregate_id, event_type, payload, created_time, attempts
+            FROM xk_outbox_event
+            WHERE claim_token = ? AND id IN (%s)
+            ORDER BY id
+            """;
+
+    private static final String SQL_DONE = """
+            UPDATE xk_outbox_event
+            SET status = 'PROCESSED', processed_time = ?, claim_token = NULL
+            WHERE id = ? AND claim_token = ?
+            """;
+
+    private static final String SQL_FAILED = """
+            UPDATE xk_outbox_event
+            SET status = ?, available_at = ?, last_error = ?, claim_token = NULL
+            WHERE id = ? AND claim_token = ?
+            """;
+
+    private static final String SQL_PURGE = "DELETE FROM xk_outbox_event WHERE status = 'PROCESSED' AND processed_time < ?";
+
+    private static final String SQL_PENDING = "SELECT COUNT(*) FROM xk_outbox_event WHERE status = 'PENDING'";
+
+    private static final String SQL_OLDEST = "SELECT MIN(created_time) FROM xk_outbox_event WHERE status = 'PENDING'";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNewTx;
+    private final OutboxProps props;
+    private final ObjectProvider<OutboxListener> listenerProvider;
+
+    private final Counter succeeded;
+    private final Counter retried;
+    private final Counter dead;
+    private final Timer lag;
+    private final Timer batch;
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private volatile boolean started;
+    private volatile Boolean skipLocked;
+    private volatile List<OutboxListener> listeners;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "xk-outbox-relay");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       OutboxProps props,
+                       ObjectProvider<OutboxListener> listenerProvider,
+                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.props = props;
+        this.listenerProvider = listenerProvider;
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.succeeded = dispatched(registry, "success");
+        this.retried = dispatched(registry, "retry");
+        this.dead = dispatched(registry, "dead");
+        this.lag = Timer.builder("xk.outbox.lag")
+                .description("outbox event created -> dispatched")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.batch = Timer.builder("xk.outbox.batch")
+                .description("outbox relay batch duration")
+                .register(registry);
+        Gauge.builder("xk.outbox.pending", this, OutboxRelay::pendingCount)
+                .register(registry);
+        Gauge.builder("xk.outbox.oldest.age", this, OutboxRelay::oldestPendingAgeSeconds)
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    // ===============================================================
+    // Lifecycle
+    // ===============================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        if (!props.isRelayEnabled()) return;
+
+        long poll = props.getPollInterval().toMillis();
+        long purge = props.getPurgeInterval().toMillis();
+        try {
+            if (poll > 0) {
+                executor.scheduleWithFixedDelay(this::drainQuietly, 0, poll, TimeUnit.MILLISECONDS);
+            }
+            if (purge > 0) {
+                executor.scheduleWithFixedDelay(this::purge, purge, purge, TimeUnit.MILLISECONDS);
+            }
+            started = true;
+        } catch (RejectedExecutionException ignored) {
+            // shutting down
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        started = false;
+        executor.shutdownNow();
+    }
+
+    /**
+     * 有新事件 commit：排一次 drain（已排隊則合併）
+     */
+    public void wakeUp() {
+        if (!started || !wakeUpPending.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                drainQuietly();
+            });
+        } catch (RejectedExecutionException ex) {
+            wakeUpPending.set(false);
+        }
+    }
+
+    // ===============================================================
+    // Relay
+    // ===============================================================
+
+    /**
+     * 連續處理直到沒有滿批的到期事件
+     *
+     * @return 本次投遞的事件數（含失敗）
+     */
+    public int drain() {
+        int total = 0;
+        int n;
+        do {
+            n = relayBatch();
+            total += n;
+        } while (n >= props.getBatchSize());
+        return total;
+    }
+
+    private void drainQuietly() {
+        try {
+            drain();
+        } catch (RuntimeException ex) {
+            log.warn("[OutboxRelay] drain failed: {}", ex.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        long startNanos = System.nanoTime();
+
+        String token = UUID.randomUUID().toString();
+        List<OutboxEvent> events = requiresNewTx.execute(status -> claim(token));
+        if (events == null || events.isEmpty()) return 0;
+
+        List<OutboxEvent> done = new ArrayList<>(events.size());
+        List<Object[]> failed = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            try {
+                dispatch(event);
+                done.add(event);
+            } catch (Exception ex) {
+                failed.add(failure(event, token, ex));
+            }
+        }
+
+        Instant now = Instant.now();
+        requiresNewTx.executeWithoutResult(status -> {
+            if (!done.isEmpty()) {
+                Timestamp ts = Timestamp.from(now);
+                jdbcTemplate.batchUpdate(SQL_DONE, done.stream()
+                        .map(e -> new Object[]{ts, e.id(), token})
+                        .toList());
+            }
+            if (!failed.isEmpty()) {
+                jdbcTemplate.batchUpdate(SQL_FAILED, failed);
+            }
+        });
+
+        succeeded.increment(done.size());
+        for (OutboxEvent e : done) {
+            lag.record(Duration.between(e.createdTime(), now));
+        }
+        batch.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        return events.size();
+    }
+
+    private List<OutboxEvent> claim(String token) {
+        Instant now = Instant.now();
+        Timestamp ts = Timestamp.from(now);
+
+        String select = isSkipLocked() ? SQL_CANDIDATES.strip() + SKIP_LOCKED : SQL_CANDIDATES;
+        List<Long> ids = jdbcTemplate.queryForList(select, Long.class, ts, props.getBatchSize());
+        if (ids.isEmpty()) return List.of();
+
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+
+        List<Object> args = new ArrayList<>(ids.size() + 3);
+        args.add(Timestamp.from(now.plus(props.getLease())));
+        args.add(token);
+        args.add(ts);
+        args.addAll(ids);
+        if (jdbcTemplate.update(SQL_CLAIM.formatted(in), args.toArray()) == 0) return List.of();
+
+        List<Object> loadArgs = new ArrayList<>(ids.size() + 1);
+        loadArgs.add(token);
+        loadArgs.addAll(ids);
+        return jdbcTemplate.query(SQL_LOAD.formatted(in), (rs, i) -> new OutboxEvent(
+                rs.getLong(1),
+                UUID.fromString(rs.getString(2)),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getString(6),
+                rs.getTimestamp(7).toInstant(),
+                rs.getInt(8)
+        ), loadArgs.toArray());
+    }
+
+    private void dispatch(OutboxEvent event) throws Exception {
+        for (OutboxListener listener : listeners()) {
+            if (listener.supports(event.eventType())) {
+                listener.handle(event);
+            }
+        }
+    }
+
+    private Object[] failure(OutboxEvent event, String token, Exception ex) {
+        boolean exhausted = event.attempts() >= props.getMaxAttempts();
+        Instant next = Instant.now().plus(backoff(event.attempts()));
+
+        if (exhausted) {
+            dead.increment();
+            log.error("[OutboxRelay] event dead-lettered: id={}, type={}, attempts={}, {}",
+                    event.id(), event.eventType(), event.attempts(), ex.toString());
+        } else {
+            retried.increment();
+            log.warn("[OutboxRelay] event failed, retry at {}: id={}, type={}, attempts={}, {}",
+                    next, event.id(), event.eventType(), event.attempts(), ex.toString());
+        }
+
+        String error = String.valueOf(ex);
+        if (error.length() > MAX_ERROR_LENGTH) error = error.substring(0, MAX_ERROR_LENGTH);
+
+        return new Object[]{exhausted ? "FAILED" : "PENDING", Timestamp.from(next), error, event.id(), token};
+    }
+
+    /**
+     * retryBackoff × 2^(attempts-1)，上限 maxBackoff
+     */
+    Duration backoff(int attempts) {
+        int shift = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration d = props.getRetryBackoff().multipliedBy(1L << shift);
+        return d.compareTo(props.getMaxBackoff()) > 0 ? props.getMaxBackoff() : d;
+    }
+
+    void purge() {
+        try {
+            int deleted = jdbcTemplate.update(SQL_PURGE, Timestamp.from(Instant.now().minus(props.getRetention())));
+            if (deleted > 0) {
+                log.debug("[OutboxRelay] purged {} processed events", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[OutboxRelay] purge failed: {}", ex.getMessage());
+        }
+    }
+
+    // ===============================================================
+    // Internal helpers
+    // ===============================================================
+
+    private List<OutboxListener> listeners() {
+        List<OutboxListener> l = listeners;
+        if (l == null) {
+            l = listenerProvider.orderedStream().toList();
+            listeners = l;
+        }
+        return l;
+    }
+
+    /**
+     * 只有 MySQL 使用 SKIP LOCKED（8.0+）；其他資料庫走樂觀認領
+     */
+    private boolean isSkipLocked() {
+        Boolean s = skipLocked;
+        if (s == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            s = product != null && product.toLowerCase().contains("mysql");
+            skipLocked = s;
+            log.info("[OutboxRelay] database={}, claim={}", product, s ? "SKIP LOCKED" : "optimistic");
+        }
+        return s;
+    }
+
+    private static Counter dispatched(MeterRegistry registry, String outcome) {
+        return Counter.builder("xk.outbox.dispatched")
+                .description("outbox events dispatched to listeners")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private double pendingCount() {
+        try {
+            Long n = jdbcTemplate.queryForObject(SQL_PENDING, Long.class);
+            return n == null ? 0 : n;
+        } catch (RuntimeException ex) {
+            return Double.NaN;
+        }
+    }
+
+    private double oldestPendingAgeSeconds() {
+        try {
+            Timestamp oldest = jdbcTemplate.queryForObject(SQL_OLDEST, Timestamp.class);
+            return oldest == null ? 0 : Duration.between(oldest.toInstant(), Instant.now()).toMillis() / 1000.0;
+        } catch (RuntimeException ex) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.xk.base.infra.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * xk_outbox_event：transactional outbox（與業務資料同一交易寫入，relay 非同步投遞）
+ * - 讀寫由 OutboxPublisher / OutboxRelay 以 JDBC 直接處理；此 Entity 只負責建表
+ * - id 遞增即寫入順序；認領依 (status, available_at, id)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+        name = "xk_outbox_event",
+        indexes = {
+                @Index(name = "idx_xk_outbox_event_claim", columnList = "status, available_at, id"),
+                @Index(name = "idx_xk_outbox_event_processed", columnList = "processed_time")
+        }
+)
+public class OutboxEventEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "event_id", length = 36, nullable = false, unique = true)
+    private String eventId;
+
+    @Column(name = "aggregate_type", length = 64, nullable = false)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", length = 64, nullable = false)
+    private String aggregateId;
+
+    @Column(name = "event_type", length = 100, nullable = false)
+    private String eventType;
+
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    /**
+     * PENDING / PROCESSED / FAILED
+     */
+    @Column(name = "status", length = 16, nullable = false)
+    private String status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    /**
+     * 可被認領的時間（認領時推到 now + lease；失敗時推到下次重試時間）
+     */
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "claim_token", length = 36)
+    private String claimToken;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_time", nullable = false)
+    private Instant createdTime;
+
+    @Column(name = "processed_time")
+    private Instant processedTime;
+}
@@ -0,0 +1,136 @@
+package com.xk.base.infra.search;
+
+import com.xk.base.domain.jpa.spec.KeywordSpec;
+import com.xk.base.domain.model.KeywordSearchable;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * ===============================================================
+ * Component : KeywordSearchConfigurer
+ * Layer     : Infra (Search)
+ * Purpose   : 啟動時解析 KeywordSearchMode 並設定 KeywordSpec（呼叫端維持 static API）
+ * <p>
+ * Flow
+ * 1) 找出所有實作 KeywordSearchable 的 entity
+ * 2) MySQL：檢查 search_text 是否已有 FULLTEXT index（information_schema）；
+ *    僅 create-fulltext-index=true（本機 / dev）時才補建缺少的 index
+ * 3) AUTO → 有 FULLTEXT 的表走 FULLTEXT，其餘（含 H2）走 PREFIX；LIKE / PREFIX 照設定
+ * 4) context 關閉時 KeywordSpec.reset()，設定不殘留到下一個 context
+ * <p>
+ * Notes
+ * - 預設啟動時不做任何 DDL / 資料回填（prod 為 ddl-auto: validate）：search_text 欄位、
+ *   FULLTEXT ngram index 與舊資料回填在 db/migration/V20261016_1__upms_search_text_fulltext.sql。
+ *   專案未導入 Flyway，部署前需手動依檔名順序執行（見 README「資料庫 migration」）
+ * - MySQL 視為不分大小寫的 collation（*_ci，見 README 建庫範例）：PREFIX 不包 lower()
+ * - 任何偵測失敗只記 log 並退回 PREFIX，不影響啟動
+ * ===============================================================
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeywordSearchConfigurer {
+
+    private static final String SQL_HAS_FULLTEXT = """
+            SELECT COUNT(*) FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ? AND index_type = 'FULLTEXT'
+            """;
+
+    private final KeywordSearchProps props;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void configure() {
+        KeywordSearchMode requested = props.getKeywordMode();
+        boolean mysql = isMysql(jdbcTemplate);
+        if (requested == KeywordSearchMode.LIKE || requested == KeywordSearchMode.PREFIX) {
+            log.info("[Search] keyword mode = {}", requested);
+            KeywordSpec.configure(requested, Set.of(), props.getNgramTokenSize(), mysql);
+            return;
+        }
+
+        Set<Class<?>> fulltext = new LinkedHashSet<>();
+        if (mysql) {
+            for (Class<?> entity : searchableEntities(entityManagerFactory)) {
+                if (ensureFulltextIndex(jdbcTemplate, entity, props.isCreateFulltextIndex())) fulltext.add(entity);
+            }
+        }
+
+        KeywordSearchMode resolved = fulltext.isEmpty() ? KeywordSearchMode.PREFIX : KeywordSearchMode.FULLTEXT;
+        log.info("[Search] keyword mode = {} (requested {}, fulltext entities = {})",
+                resolved, requested, fulltext.stream().map(Class::getSimpleName).toList());
+        KeywordSpec.configure(resolved, fulltext, props.getNgramTokenSize(), mysql);
+    }
+
+    @PreDestroy
+    void reset() {
+        KeywordSpec.reset();
+    }
+
+    // ===============================================================
+    // Internal helpers
+    // ===============================================================
+
+    private static List<Class<?>> searchableEntities(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.getMetamodel().getEntities().stream()
+                .map(EntityType::getJavaType)
+                .filter(KeywordSearchable.class::isAssignableFrom)
+                .<Class<?>>map(c -> c)
+                .toList();
+    }
+
+    private static boolean isMysql(JdbcTemplate jdbcTemplate) {
+        try {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            return product != null && product.toLowerCase(Locale.ROOT).contains("mysql");
+        } catch (Exception e) {
+            log.warn("[Search] cannot detect database product: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return search_text 是否已有（或在 create=true 時成功建立）FULLTEXT index
+     */
+    private static boolean ensureFulltextIndex(JdbcTemplate jdbcTemplate, Class<?> entity, boolean create) {
+        Table table = entity.getAnnotation(Table.class);
+        if (table == null || table.name().isBlank()) return false;
+        String tableName = table.name();
+
+        try {
+            Integer count = jdbcTemplate.queryForObject(SQL_HAS_FULLTEXT, Integer.class,
+                    tableName, KeywordSearchable.SEARCH_TEXT_COLUMN);
+            if (count != null && count > 0) return true;
+            if (create) {
+                jdbcTemplate.execute("ALTER TABLE " + tableName
+                        + " ADD FULLTEXT INDEX ft_" + tableName + "_search_text ("
+                        + KeywordSearchable.SEARCH_TEXT_COLUMN + ") WITH PARSER ngram");
+                log.info("[Search] created FULLTEXT ngram index on {}.{}", tableName, KeywordSearchable.SEARCH_TEXT_COLUMN);
+                return true;
+            }
+            log.warn("[Search] no FULLTEXT index on {}.{} (run the keyword search migration), fallback to PREFIX",
+                    tableName, KeywordSearchable.SEARCH_TEXT_COLUMN);
+            return false;
+        } catch (Exception e) {
+            log.warn("[Search] FULLTEXT unavailable for {}, fallback to PREFIX: {}", tableName, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.xk.base.infra.search;
+
+/**
+ * ===============================================================
+ * Enum: KeywordSearchMode
+ * ---------------------------------------------------------------
+ * KeywordSpec 產生的 SQL 形式：
+ * - AUTO     → 啟動時偵測：MySQL 且 search_text 有 FULLTEXT index → FULLTEXT，其餘 → PREFIX
+ * - FULLTEXT → KeywordSearchable entity：MATCH(search_text) AGAINST('"kw"' IN BOOLEAN MODE)（ngram parser）
+ *              其他 entity 與長度不足 ngram token 的關鍵字 → PREFIX
+ * - PREFIX   → field LIKE 'kw%'（不包 lower()/cast，可走 B-tree index）
+ * - LIKE     → 舊行為：lower(field) LIKE '%kw%'（全表掃描，僅供相容）
+ * ===============================================================
+ */
+public enum KeywordSearchMode {
+    AUTO,
+    FULLTEXT,
+    PREFIX,
+    LIKE
+}
@@ -0,0 +1,44 @@
+package com.xk.base.infra.search;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ===============================================================
+ * Properties : KeywordSearchProps
+ * Prefix     : search
+ * Purpose    : 關鍵字搜尋模式（見 KeywordSearchMode）
+ * <p>
+ * Example
+ * search:
+ *   keyword-mode: auto
+ *   create-fulltext-index: false
+ * <p>
+ * Notes
+ * - FULLTEXT index / search_text 回填由 db/migration script 建立（未導入 Flyway，部署前手動執行）；
+ *   預設只偵測既有 index，不在啟動時跑 DDL
+ * - create-fulltext-index=true 僅供本機 / dev（ddl-auto: update）補建 index，不會回填舊資料
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "search")
+public class KeywordSearchProps {
+
+    /**
+     * 搜尋模式（預設 AUTO）
+     */
+    private KeywordSearchMode keywordMode = KeywordSearchMode.AUTO;
+
+    /**
+     * MySQL 缺少 FULLTEXT ngram index 時，啟動時自動建立（預設關閉；正式環境走 migration）
+     */
+    private boolean createFulltextIndex = false;
+
+    /**
+     * ngram token 長度（需與 MySQL ngram_token_size 一致，預設 2）；較短的關鍵字改走 PREFIX
+     */
+    private int ngramTokenSize = 2;
+}
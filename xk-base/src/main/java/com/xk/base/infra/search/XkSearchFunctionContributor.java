@@ -0,0 +1,30 @@
+package com.xk.base.infra.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * ===============================================================
+ * FunctionContributor : XkSearchFunctionContributor
+ * Layer               : Infra (Search)
+ * Purpose             : 註冊 MySQL FULLTEXT 函式，供 Criteria / JPQL 使用
+ * <p>
+ * - xk_match_against(field, phrase) → match(field) against(phrase in boolean mode)
+ * - 以 ServiceLoader 註冊（META-INF/services/org.hibernate.boot.model.FunctionContributor）
+ * - 只在 KeywordSearchMode.FULLTEXT（MySQL）時被 KeywordSpec 使用；H2 僅註冊不呼叫
+ * ===============================================================
+ */
+public class XkSearchFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH_AGAINST = "xk_match_against";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                MATCH_AGAINST,
+                "match(?1) against(?2 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.DOUBLE));
+    }
+}
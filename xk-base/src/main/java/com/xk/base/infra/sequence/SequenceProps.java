@@ -0,0 +1,52 @@
+package com.xk.base.infra.sequence;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ===============================================================
+ * Properties : SequenceProps
+ * Prefix     : sequence
+ * Purpose    : 序號分段（hi/lo）配置
+ * <p>
+ * Example
+ * sequence:
+ *   segment-size: 100
+ *   prefetch-ratio: 0.8
+ *   segment-sizes:
+ *     TOM_ORDER_NO: 500
+ * <p>
+ * Notes
+ * - segment 越大，DB round trip 越少；但重啟時未用完的號碼會跳號（hi/lo 的既有取捨）
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sequence")
+public class SequenceProps {
+
+    /**
+     * 每次向 DB 預留的號碼數（預設值）
+     */
+    private int segmentSize = 100;
+
+    /**
+     * 目前 segment 使用到此比例時，背景預取下一段
+     */
+    private double prefetchRatio = 0.8;
+
+    /**
+     * 個別 key 的 segment 大小（覆蓋 segmentSize）
+     */
+    private Map<String, Integer> segmentSizes = new HashMap<>();
+
+    public int segmentSizeOf(String key) {
+        Integer size = segmentSizes.get(key);
+        return Math.max(1, size != null ? size : segmentSize);
+    }
+}
@@ -1,27 +1,135 @@
 package com.xk.base.infra.sequence.impl;
 
+import com.xk.base.infra.sequence.SequenceProps;
 import com.xk.base.infra.sequence.SequenceRepository;
-import lombok.RequiredArgsConstructor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * ===============================================================
+ * Repository : MysqlSequenceRepository
+ * Layer      : Infra (Sequence)
+ * Purpose    : 以「號段（hi/lo）」方式發號，降低 xk_sequence 熱點鎖
+ * <p>
+ * Flow
+ * - 每個 key 一次向 DB 預留 N 個號碼（單一 upsert，N = SequenceProps.segmentSizeOf(key)）
+ * - 號段內由記憶體無鎖發號（見 SequenceSegmentBuffer）
+ * - 使用達 80%（prefetchRatio）時由背景執行緒預取下一段
+ * <p>
+ * Notes
+ * - 取號一律在獨立交易（REQUIRES_NEW）內完成，row lock 不會被呼叫端的長交易拖住
+ * - next_val 語意不變：代表「已發出的最大號碼」，與舊版資料相容
+ * - 重啟時未用完的號段會跳號（序號只保證唯一、遞增，不保證連續）
+ * ===============================================================
+ */
 @Repository
-@RequiredArgsConstructor
 public class MysqlSequenceRepository implements SequenceRepository {
 
+    /**
+     * LAST_INSERT_ID(expr) 讓新值寫入連線的 insert id，MySQL 會隨 OK packet 一併回傳（generated keys），
+     * 因此一個 statement 即可取得本段 hi。
+     */
+    private static final String SQL_RESERVE_SEGMENT = """
+            INSERT INTO xk_sequence (seq_key, next_val)
+            VALUES (?, LAST_INSERT_ID(?))
+            ON DUPLICATE KEY UPDATE next_val = LAST_INSERT_ID(next_val + ?)
+            """;
+
     private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate requiresNewTx;
+    private final SequenceProps props;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, SequenceSegmentBuffer> buffers = new ConcurrentHashMap<>();
+    private final ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "xk-sequence-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public MysqlSequenceRepository(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   SequenceProps props,
+                                   ObjectProvider<MeterRegistry> meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.props = props;
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    // ===============================================================
+    // SequenceRepository
+    // ===============================================================
 
     @Override
-    @Transactional
     public long nextVal(String key) {
-        jdbcTemplate.update("""
-            INSERT INTO xk_sequence (seq_key, next_val)
-            VALUES (?, LAST_INSERT_ID(1))
-            ON DUPLICATE KEY UPDATE next_val = LAST_INSERT_ID(next_val + 1)
-        """, key);
+        return buffers.computeIfAbsent(key, this::newBuffer).next();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    // ===============================================================
+    // Segment allocation
+    // ===============================================================
+
+    private SequenceSegmentBuffer newBuffer(String key) {
+        return new SequenceSegmentBuffer(
+                key,
+                props.segmentSizeOf(key),
+                props.getPrefetchRatio(),
+                size -> reserveSegment(key, size),
+                prefetchExecutor,
+                meterRegistry
+        );
+    }
+
+    /**
+     * 預留一段號碼，回傳該段最後一個號碼（hi）
+     */
+    long reserveSegment(String key, long size) {
+        Long hi = requiresNewTx.execute(status -> jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(SQL_RESERVE_SEGMENT, Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, key);
+                ps.setLong(2, size);
+                ps.setLong(3, size);
+                ps.executeUpdate();
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    if (rs.next()) return rs.getLong(1);
+                }
+            }
+            // 保險：驅動未回傳 generated keys 時，於同一連線讀取 LAST_INSERT_ID()
+            try (Statement st = con.createStatement();
+                 ResultSet rs = st.executeQuery("SELECT LAST_INSERT_ID()")) {
+                return rs.next() ? rs.getLong(1) : null;
+            }
+        }));
 
-        Long v = jdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", Long.class);
-        return v == null ? 0L : v;
+        if (hi == null || hi <= 0) {
+            throw new DataRetrievalFailureException("無法取得序號號段：" + key);
+        }
+        return hi;
     }
 }
@@ -0,0 +1,160 @@
+package com.xk.base.infra.sequence.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * ===============================================================
+ * Helper Class : SequenceSegmentBuffer
+ * Layer        : Infra (package-private)
+ * Purpose      : 單一 sequence key 的雙緩衝號段
+ * <p>
+ * Flow
+ * - 快路徑：current.cursor.getAndIncrement()，落在 [start, max] 內直接回傳（無鎖）
+ * - 使用量達 prefetchRatio：只觸發一次背景預取下一段
+ * - 號段用盡：進入 synchronized 切換；優先使用預取結果，否則同步向 DB 取號
+ * <p>
+ * Metrics（tag: key）
+ * - xk.sequence.segment.refills{mode=prefetch|sync} : 號段補充次數
+ * - xk.sequence.segment.wait                        : 呼叫端因切換號段而等待的時間
+ * ===============================================================
+ */
+@Slf4j
+final class SequenceSegmentBuffer {
+
+    private final String key;
+    private final double prefetchRatio;
+    private final LongUnaryOperator allocator;   // segmentSize → hi（該段最後一個號碼）
+    private final int segmentSize;
+    private final Executor prefetchExecutor;
+
+    private final Counter prefetchRefills;
+    private final Counter syncRefills;
+    private final Timer waitTimer;
+
+    private volatile Segment current = Segment.EMPTY;
+    private volatile CompletableFuture<Segment> prefetched;
+
+    SequenceSegmentBuffer(String key,
+                          int segmentSize,
+                          double prefetchRatio,
+                          LongUnaryOperator allocator,
+                          Executor prefetchExecutor,
+                          MeterRegistry meterRegistry) {
+        this.key = key;
+        this.segmentSize = segmentSize;
+        this.prefetchRatio = prefetchRatio;
+        this.allocator = allocator;
+        this.prefetchExecutor = prefetchExecutor;
+
+        this.prefetchRefills = Counter.builder("xk.sequence.segment.refills")
+                .description("Sequence segment refills")
+                .tag("key", key).tag("mode", "prefetch")
+                .register(meterRegistry);
+        this.syncRefills = Counter.builder("xk.sequence.segment.refills")
+                .description("Sequence segment refills")
+                .tag("key", key).tag("mode", "sync")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("xk.sequence.segment.wait")
+                .description("Time callers waited for a sequence segment")
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    // ===============================================================
+    // Public
+    // ===============================================================
+
+    long next() {
+        while (true) {
+            Segment seg = current;
+            long v = seg.cursor.getAndIncrement();
+            if (v <= seg.max) {
+                if (v >= seg.threshold && seg.prefetchTriggered.compareAndSet(false, true)) {
+                    schedulePrefetch();
+                }
+                return v;
+            }
+            switchSegment(seg);
+        }
+    }
+
+    // ===============================================================
+    // Internal
+    // ===============================================================
+
+    private synchronized void switchSegment(Segment exhausted) {
+        if (current != exhausted) return;   // 其他執行緒已切換完成
+
+        long startNanos = System.nanoTime();
+        try {
+            Segment nextSeg = takePrefetched();
+            if (nextSeg == null) {
+                nextSeg = allocate();
+                syncRefills.increment();
+            }
+            current = nextSeg;
+        } finally {
+            waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Segment takePrefetched() {
+        CompletableFuture<Segment> f = prefetched;
+        prefetched = null;
+        if (f == null) return null;
+        try {
+            return f.join();
+        } catch (CompletionException | CancellationException ex) {
+            log.warn("⚠️ [Sequence] prefetch failed, fallback to sync allocate, key={}", key, ex);
+            return null;
+        }
+    }
+
+    private synchronized void schedulePrefetch() {
+        if (prefetched != null) return;
+        prefetched = CompletableFuture.supplyAsync(() -> {
+            Segment seg = allocate();
+            prefetchRefills.increment();
+            return seg;
+        }, prefetchExecutor);
+    }
+
+    private Segment allocate() {
+        long hi = allocator.applyAsLong(segmentSize);
+        long start = hi - segmentSize + 1;
+        long threshold = start + (long) Math.ceil(segmentSize * prefetchRatio) - 1;
+        log.debug("[Sequence] segment allocated, key={}, range=[{}, {}]", key, start, hi);
+        return new Segment(start, hi, Math.min(threshold, hi));
+    }
+
+    /**
+     * 號段：[start, max]，cursor 為下一個要發出的號碼
+     */
+    private static final class Segment {
+
+        static final Segment EMPTY = new Segment(1, 0, 0);
+
+        final long max;
+        final long threshold;
+        final AtomicLong cursor;
+        final AtomicBoolean prefetchTriggered = new AtomicBoolean(false);
+
+        Segment(long start, long max, long threshold) {
+            this.max = max;
+            this.threshold = threshold;
+            this.cursor = new AtomicLong(start);
+        }
+    }
+}
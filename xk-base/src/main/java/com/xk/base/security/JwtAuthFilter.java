@@ -21,15 +21,16 @@ import java.util.*;
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final SecurityProps props;
+    private final PermitAllMatcher permitAllMatcher;
+    private final JwtPermissionClaims permissionClaims;
 
     @Override
     protected void doFilterInternal(
             HttpServletRequest request, HttpServletResponse response, FilterChain chain
     ) throws ServletException, IOException {
 
-        String uri = request.getRequestURI();
-        if (props.getPermitAll().stream().anyMatch(uri::startsWith)) {
+        // 與 SecurityFilterChain 共用同一顆已編譯的 matcher（Ant 萬用字元一致）
+        if (permitAllMatcher.matches(request)) {
             chain.doFilter(request, response);
             return;
         }
@@ -43,13 +44,30 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         try {
             var claims = jwtService.parse(header.substring(7)).getPayload();
             String username = claims.getSubject();
-            List<String> roles = claims.get("roles", List.class);
+            List<String> roles = List.of(JwtUtils.normalizeRoles(claims.get("roles")));
 
-            var auth = new UsernamePasswordAuthenticationToken(
-                    username,
-                    null,
-                    roles.stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r)).toList()
-            );
+            // perms / pv claim → PermissionBits（記憶體內還原，不查 DB）
+            JwtPermissionClaims.Resolved resolved = permissionClaims.resolve(claims, roles);
+
+            UsernamePasswordAuthenticationToken auth;
+            if (resolved == null) {
+                auth = new UsernamePasswordAuthenticationToken(
+                        username,
+                        null,
+                        roles.stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r)).toList()
+                );
+            } else {
+                auth = new PermissionAuthenticationToken(
+                        username,
+                        resolved.authorities(),
+                        resolved.bits(),
+                        resolved.table().version()
+                );
+                if (resolved.stale()) {
+                    // 權限表已變動：本次以 roles 重算，提示前端呼叫 refreshToken 換新 token
+                    response.setHeader(JwtPermissionClaims.REFRESH_HEADER, "true");
+                }
+            }
 
             SecurityContextHolder.getContext().setAuthentication(auth);
 
@@ -0,0 +1,150 @@
+package com.xk.base.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ===============================================================
+ * Component : JwtPermissionClaims
+ * Layer     : Security (xk-base)
+ * Purpose   : JWT 精簡權限 claim（perms + pv）的簽發與還原
+ * <p>
+ * Claims
+ * - perms：使用者 PermissionBits.encode()（以 PermissionTable 的 dense id 為 bit index）
+ * - pv   ：簽發當下 PermissionTable.version（hex）
+ * <p>
+ * 還原規則（JwtAuthFilter，全程記憶體，不查 DB）
+ * - pv == 目前版本 → 直接 decode perms
+ * - pv 過期 / perms 損毀 → 以 token 內 roles 對目前權限表重算，並標記 stale（回應帶 X-Token-Refresh，
+ * 前端應呼叫 refreshToken 換新 token）
+ * - 沒有 PermissionCatalog → 回傳 null，維持只有 ROLE_ authorities 的舊行為
+ * - authorities 依（權限表版本, roles, bits）快取：同一組角色只建一次，不在每個 request 掃描權限表
+ * ===============================================================
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwtPermissionClaims {
+
+    public static final String CLAIM_PERMS = "perms";
+    public static final String CLAIM_PERMS_VERSION = "pv";
+    public static final String REFRESH_HEADER = "X-Token-Refresh";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    /**
+     * authorities 快取上限（角色組合數通常很少；超過即整批清空）
+     */
+    private static final int MAX_CACHED_AUTHORITIES = 1024;
+
+    private final SecurityProps props;
+    private final ObjectProvider<PermissionCatalog> catalogProvider;
+
+    private volatile AuthorityCache authorityCache = new AuthorityCache(PermissionTable.EMPTY.version());
+
+    // ===============================================================
+    // Issue
+    // ===============================================================
+
+    /**
+     * 簽發 token 用的額外 claims（停用或無 PermissionCatalog 時回傳空 Map）
+     */
+    public Map<String, Object> issue(Collection<String> roleCodes) {
+        if (!props.getJwt().isPermsClaim()) return Map.of();
+
+        PermissionCatalog catalog = catalogProvider.getIfAvailable();
+        if (catalog == null) return Map.of();
+
+        PermissionTable table = catalog.current();
+        return Map.of(
+                CLAIM_PERMS, table.bitsOfRoles(roleCodes).encode(),
+                CLAIM_PERMS_VERSION, Long.toHexString(table.version())
+        );
+    }
+
+    // ===============================================================
+    // Resolve
+    // ===============================================================
+
+    /**
+     * 由已驗證的 claims 還原使用者權限；無 PermissionCatalog 時回傳 null
+     */
+    public Resolved resolve(Claims claims, List<String> roles) {
+        PermissionCatalog catalog = catalogProvider.getIfAvailable();
+        if (catalog == null) return null;
+
+        PermissionTable table = catalog.current();
+        String perms = claims.get(CLAIM_PERMS, String.class);
+        String pv = claims.get(CLAIM_PERMS_VERSION, String.class);
+
+        PermissionBits bits = null;
+        if (perms != null && Long.toHexString(table.version()).equals(pv)) {
+            try {
+                bits = PermissionBits.decode(perms);
+            } catch (IllegalArgumentException e) {
+                log.debug("[JwtPermissionClaims] malformed perms claim: {}", e.getMessage());
+            }
+        }
+
+        boolean stale = perms != null && bits == null;
+        if (bits == null) {
+            bits = table.bitsOfRoles(roles);
+        }
+        return new Resolved(bits, table, stale, authorities(table, roles, bits));
+    }
+
+    // ===============================================================
+    // Authorities
+    // ===============================================================
+
+    /**
+     * ROLE_xxx + 權限碼（依權限表版本快取；換表時整批捨棄）
+     */
+    private List<GrantedAuthority> authorities(PermissionTable table, List<String> roles, PermissionBits bits) {
+        AuthorityCache cache = authorityCache;
+        if (cache.version() != table.version()) {
+            cache = new AuthorityCache(table.version());
+            authorityCache = cache;
+        }
+
+        AuthorityKey key = new AuthorityKey(roles == null ? List.of() : List.copyOf(roles), bits);
+        List<GrantedAuthority> cached = cache.byKey().get(key);
+        if (cached != null) return cached;
+
+        List<GrantedAuthority> out = new ArrayList<>();
+        for (String r : key.roles()) out.add(new SimpleGrantedAuthority(ROLE_PREFIX + r));
+        for (String code : table.codesOf(bits)) out.add(new SimpleGrantedAuthority(code));
+        List<GrantedAuthority> built = List.copyOf(out);
+
+        if (cache.byKey().size() >= MAX_CACHED_AUTHORITIES) cache.byKey().clear();
+        cache.byKey().putIfAbsent(key, built);
+        return built;
+    }
+
+    private record AuthorityKey(List<String> roles, PermissionBits bits) {
+    }
+
+    private record AuthorityCache(long version, Map<AuthorityKey, List<GrantedAuthority>> byKey) {
+
+        AuthorityCache(long version) {
+            this(version, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * @param stale       token 內的 perms 已不適用目前權限表（已改用 roles 重算）
+     * @param authorities ROLE_xxx + 權限碼（不可變、跨 request 共用）
+     */
+    public record Resolved(PermissionBits bits, PermissionTable table, boolean stale,
+                           List<GrantedAuthority> authorities) {
+    }
+}
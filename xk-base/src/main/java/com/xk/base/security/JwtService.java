@@ -1,34 +1,59 @@
 package com.xk.base.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.security.WeakKeyException;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.time.Clock;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class JwtService {
 
+    private static final Pattern BASE64 = Pattern.compile("^[A-Za-z0-9+/=]+$");
+
     private final SecurityProps props;
 
-    private SecretKey key() {
+    /**
+     * 金鑰 / Parser / 驗證快取：只在 secret 或快取設定變更時重建
+     */
+    private volatile KeyMaterial material;
+
+    // ===============================================================
+    // Key material（cached）
+    // ===============================================================
+
+    private KeyMaterial material() {
         String secret = props.getJwt().getSecret();
-        byte[] bytes = secret.matches("^[A-Za-z0-9+/=]+$") && secret.length() % 4 == 0
-                ? Decoders.BASE64.decode(secret)
-                : secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(bytes);
+        int cacheSize = props.getJwt().getVerifiedCacheSize();
+
+        KeyMaterial m = material;
+        if (m != null && m.matches(secret, cacheSize)) return m;
+
+        synchronized (this) {
+            m = material;
+            if (m == null || !m.matches(secret, cacheSize)) {
+                m = KeyMaterial.build(secret, cacheSize);
+                material = m;
+            }
+            return m;
+        }
     }
 
     /**
@@ -56,18 +81,78 @@ public class JwtService {
         if (extraClaims != null)
             extraClaims.forEach(builder::claim);
 
-        return builder.signWith(key(), Jwts.SIG.HS256).compact();
+        return builder.signWith(material().key(), Jwts.SIG.HS256).compact();
     }
 
+    /**
+     * 驗簽並解析 Token
+     * - 同一顆 Token（以 SHA-256 摘要比對）在 exp 前重複解析時，直接回傳已驗證結果
+     * - 未帶 exp 的 Token 不進快取
+     */
     public Jws<Claims> parse(String token) {
-        return Jwts.parser()
-                .clockSkewSeconds(60) // ✅ 建議保留 60s 時鐘容忍
-                .verifyWith(key())
-                .build()
-                .parseSignedClaims(token);
+        KeyMaterial m = material();
+        if (m.verified() == null) {
+            return m.parser().parseSignedClaims(token);
+        }
+
+        String digest = digest(token);
+        Jws<Claims> cached = m.verified().getIfPresent(digest);
+        if (cached != null) return cached;
+
+        Jws<Claims> jws = m.parser().parseSignedClaims(token);
+        if (jws.getPayload().getExpiration() != null) {
+            m.verified().put(digest, jws);
+        }
+        return jws;
     }
 
     public Claims parseClaims(String token) {
         return parse(token).getBody();
     }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record KeyMaterial(String secret,
+                               int cacheSize,
+                               SecretKey key,
+                               JwtParser parser,
+                               Cache<String, Jws<Claims>> verified) {
+
+        boolean matches(String secret, int cacheSize) {
+            return Objects.equals(this.secret, secret) && this.cacheSize == cacheSize;
+        }
+
+        static KeyMaterial build(String secret, int cacheSize) {
+            byte[] bytes = BASE64.matcher(secret).matches() && secret.length() % 4 == 0
+                    ? Decoders.BASE64.decode(secret)
+                    : secret.getBytes(StandardCharsets.UTF_8);
+            SecretKey key = Keys.hmacShaKeyFor(bytes);
+
+            JwtParser parser = Jwts.parser()
+                    .clockSkewSeconds(60) // ✅ 建議保留 60s 時鐘容忍
+                    .verifyWith(key)
+                    .build();
+
+            Cache<String, Jws<Claims>> verified = cacheSize <= 0 ? null : Caffeine.newBuilder()
+                    .maximumSize(cacheSize)
+                    .expireAfter(Expiry.creating((String digest, Jws<Claims> jws) -> {
+                        Duration left = Duration.between(Instant.now(), jws.getPayload().getExpiration().toInstant());
+                        return left.isNegative() ? Duration.ZERO : left;
+                    }))
+                    .build();
+
+            return new KeyMaterial(secret, cacheSize, key, parser, verified);
+        }
+    }
 }
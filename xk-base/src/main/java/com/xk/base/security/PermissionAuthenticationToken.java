@@ -0,0 +1,34 @@
+package com.xk.base.security;
+
+import lombok.Getter;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+/**
+ * ===============================================================
+ * Token : PermissionAuthenticationToken
+ * Layer : Security (xk-base)
+ * Purpose : 已驗證的 JWT 身分，額外攜帶 PermissionBits 與其對應的 PermissionTable 版本
+ * <p>
+ * - RoutePermissionAuthorizationManager 在版本一致時直接 bit test，不再由角色重算
+ * - authorities 仍包含 ROLE_xxx 與權限碼，@PreAuthorize / hasAuthority 照常可用
+ * ===============================================================
+ */
+@Getter
+public class PermissionAuthenticationToken extends UsernamePasswordAuthenticationToken {
+
+    private final PermissionBits permissions;
+    private final long permissionVersion;
+
+    public PermissionAuthenticationToken(String username,
+                                         Collection<? extends GrantedAuthority> authorities,
+                                         PermissionBits permissions,
+                                         long permissionVersion) {
+        super(username, null, authorities);
+        this.permissions = permissions;
+        this.permissionVersion = permissionVersion;
+    }
+}
@@ -0,0 +1,150 @@
+package com.xk.base.security;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * ===============================================================
+ * Value : PermissionBits
+ * Layer : Security (xk-base)
+ * Purpose : 以 dense int id 為 bit index 的不可變權限集合（long[] bitset）
+ * <p>
+ * Why
+ * - 權限檢查只需一次 bit test（has），不必每個 request 組 Set<String> 再比對字串
+ * - 使用者有效權限 = 其所有角色 bitset 的 OR（or），角色數通常個位數
+ * <p>
+ * Notes
+ * - id 由 PermissionTable 指派（0..n-1），跨版本不保證相同，請搭配 PermissionTable.version 使用
+ * - 實例不可變；or() 一律回傳新實例
+ * - encode()/decode()：little-endian bytes + Base64URL（無 padding），供 JWT perms claim 使用
+ * ===============================================================
+ */
+public final class PermissionBits {
+
+    public static final PermissionBits EMPTY = new PermissionBits(new long[0]);
+
+    private final long[] words;
+
+    private PermissionBits(long[] words) {
+        this.words = words;
+    }
+
+    public static PermissionBits of(int... ids) {
+        if (ids == null || ids.length == 0) return EMPTY;
+
+        int max = -1;
+        for (int id : ids) {
+            if (id < 0) throw new IllegalArgumentException("permission id must be >= 0: " + id);
+            max = Math.max(max, id);
+        }
+        long[] w = new long[(max >> 6) + 1];
+        for (int id : ids) {
+            w[id >> 6] |= 1L << id;
+        }
+        return new PermissionBits(w);
+    }
+
+    /**
+     * 由 long[] 建立（會複製並去除尾端 0 word）
+     */
+    public static PermissionBits fromWords(long[] words) {
+        if (words == null) return EMPTY;
+        int len = words.length;
+        while (len > 0 && words[len - 1] == 0L) len--;
+        return len == 0 ? EMPTY : new PermissionBits(Arrays.copyOf(words, len));
+    }
+
+    /**
+     * 解碼 encode() 的結果（格式錯誤丟 IllegalArgumentException）
+     */
+    public static PermissionBits decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) return EMPTY;
+
+        byte[] bytes = Base64.getUrlDecoder().decode(encoded);
+        long[] w = new long[(bytes.length + 7) >> 3];
+        for (int i = 0; i < bytes.length; i++) {
+            w[i >> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        return fromWords(w);
+    }
+
+    // ===============================================================
+    // Query
+    // ===============================================================
+
+    /**
+     * 是否擁有指定 id 的權限（O(1)）
+     */
+    public boolean has(int id) {
+        if (id < 0) return false;
+        int w = id >> 6;
+        return w < words.length && (words[w] & (1L << id)) != 0;
+    }
+
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    public int cardinality() {
+        int n = 0;
+        for (long w : words) n += Long.bitCount(w);
+        return n;
+    }
+
+    public long[] toWords() {
+        return words.clone();
+    }
+
+    /**
+     * little-endian bytes（去除尾端 0 byte）→ Base64URL；50 個權限約 10 字元
+     */
+    public String encode() {
+        int len = words.length << 3;
+        byte[] bytes = new byte[len];
+        for (int i = 0; i < len; i++) {
+            bytes[i] = (byte) (words[i >> 3] >>> ((i & 7) << 3));
+        }
+        while (len > 0 && bytes[len - 1] == 0) len--;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, len));
+    }
+
+    // ===============================================================
+    // Combine
+    // ===============================================================
+
+    public PermissionBits or(PermissionBits other) {
+        if (other == null || other.isEmpty() || other == this) return this;
+        if (isEmpty()) return other;
+
+        long[] big = words.length >= other.words.length ? words : other.words;
+        long[] small = big == words ? other.words : words;
+        long[] w = big.clone();
+        for (int i = 0; i < small.length; i++) {
+            w[i] |= small[i];
+        }
+        return new PermissionBits(w);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof PermissionBits that && Arrays.equals(words, that.words));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PermissionBits[");
+        boolean first = true;
+        for (int i = 0; i < words.length * 64; i++) {
+            if (!has(i)) continue;
+            if (!first) sb.append(',');
+            sb.append(i);
+            first = false;
+        }
+        return sb.append(']').toString();
+    }
+}
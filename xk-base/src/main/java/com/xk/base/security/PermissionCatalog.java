@@ -0,0 +1,17 @@
+package com.xk.base.security;
+
+/**
+ * ===============================================================
+ * SPI   : PermissionCatalog
+ * Layer : Security (xk-base)
+ * Purpose : 提供目前生效的 PermissionTable（由業務模組實作，例如 UPMS）
+ * <p>
+ * Contract
+ * - current() 位於每個 request 的授權熱路徑上，實作必須是記憶體讀取（不可每次查 DB）
+ * - 資料異動時換一張新表即可；呼叫端以 PermissionTable.version 判斷是否需要重算快取
+ * ===============================================================
+ */
+public interface PermissionCatalog {
+
+    PermissionTable current();
+}
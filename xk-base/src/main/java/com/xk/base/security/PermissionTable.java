@@ -0,0 +1,192 @@
+package com.xk.base.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * ===============================================================
+ * Value : PermissionTable
+ * Layer : Security (xk-base)
+ * Purpose : 某一時間點的「權限碼 ↔ dense int id」與「角色 → PermissionBits」對照表
+ * <p>
+ * 建表規則
+ * - id 由呼叫端提供（UPMS：upms_permission.bit_index，建立時指派、永不重排），
+ *   新增權限不會位移既有 id，已簽發 token 的 perms bit 仍指向同一個權限碼
+ * - build(Collection, Map) 為無持久化 id 時的便利版：權限碼排序後依序指派 0..n-1
+ * - 每個角色的權限預先 OR 成 PermissionBits，查詢時只剩 Map lookup + OR
+ * - version 為「角色 → (id, 權限碼)」授權內容的摘要（SHA-256 前 8 bytes）：
+ *   只新增權限（尚未授予任何角色）時 version 不變，JWT perms claim 繼續有效；
+ *   授權異動、權限停用 / 刪除 → version 改變，token 改以 roles 重算
+ * <p>
+ * Notes
+ * - 不可變；資料異動時由 PermissionCatalog 換一張新表
+ * ===============================================================
+ */
+public final class PermissionTable {
+
+    public static final PermissionTable EMPTY = build(List.of(), Map.of());
+
+    private final long version;
+    private final String[] codes;
+    private final Map<String, Integer> ids;
+    private final Map<String, PermissionBits> roleBits;
+
+    private PermissionTable(long version, String[] codes, Map<String, Integer> ids, Map<String, PermissionBits> roleBits) {
+        this.version = version;
+        this.codes = codes;
+        this.ids = ids;
+        this.roleBits = roleBits;
+    }
+
+    /**
+     * 無持久化 id 時使用：權限碼排序後依序指派 0..n-1（新增權限會位移 id）
+     *
+     * @param permissionCodes     所有有效權限碼
+     * @param rolePermissionCodes 角色碼 → 權限碼（不在 permissionCodes 內的權限碼會被忽略）
+     */
+    public static PermissionTable build(Collection<String> permissionCodes,
+                                        Map<String, ? extends Collection<String>> rolePermissionCodes) {
+        String[] sorted = permissionCodes.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+
+        Map<String, Integer> ids = new HashMap<>(sorted.length * 2);
+        for (int i = 0; i < sorted.length; i++) {
+            ids.put(sorted[i], i);
+        }
+        return build(ids, rolePermissionCodes);
+    }
+
+    /**
+     * @param permissionIds       所有有效權限碼 → 穩定 id（>= 0、不可重複；停用 / 刪除的 id 留空洞即可）
+     * @param rolePermissionCodes 角色碼 → 權限碼（不在 permissionIds 內的權限碼會被忽略）
+     */
+    public static PermissionTable build(Map<String, Integer> permissionIds,
+                                        Map<String, ? extends Collection<String>> rolePermissionCodes) {
+        int max = -1;
+        Map<String, Integer> ids = new HashMap<>(permissionIds.size() * 2);
+        for (Map.Entry<String, Integer> e : permissionIds.entrySet()) {
+            if (e.getKey() == null || e.getValue() == null) continue;
+            int id = e.getValue();
+            if (id < 0) throw new IllegalArgumentException("permission id must be >= 0: " + e.getKey() + "=" + id);
+            ids.put(e.getKey(), id);
+            max = Math.max(max, id);
+        }
+
+        String[] codes = new String[max + 1];
+        for (Map.Entry<String, Integer> e : ids.entrySet()) {
+            int id = e.getValue();
+            if (codes[id] != null) {
+                throw new IllegalArgumentException("duplicate permission id " + id + ": " + codes[id] + ", " + e.getKey());
+            }
+            codes[id] = e.getKey();
+        }
+
+        Map<String, PermissionBits> roleBits = new HashMap<>();
+        MessageDigest md = sha256();
+
+        for (String role : new TreeSet<>(rolePermissionCodes.keySet())) {
+            if (role == null) continue;
+            int[] roleIds = rolePermissionCodes.get(role).stream()
+                    .map(ids::get)
+                    .filter(Objects::nonNull)
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .sorted()
+                    .toArray();
+            roleBits.put(role, PermissionBits.of(roleIds));
+
+            update(md, "R:", role);
+            for (int id : roleIds) {
+                update(md, "#", id + "=" + codes[id]);
+            }
+        }
+
+        long version = 0;
+        byte[] hash = md.digest();
+        for (int i = 0; i < 8; i++) {
+            version = (version << 8) | (hash[i] & 0xFF);
+        }
+        return new PermissionTable(version, codes, Map.copyOf(ids), Map.copyOf(roleBits));
+    }
+
+    // ===============================================================
+    // Query
+    // ===============================================================
+
+    public long version() {
+        return version;
+    }
+
+    /**
+     * 有效權限數（id 可能不連續，不等於最大 id + 1）
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * 權限碼 → id（未知回傳 -1）
+     */
+    public int idOf(String code) {
+        if (code == null) return -1;
+        Integer id = ids.get(code);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * id → 權限碼（超出範圍回傳 null）
+     */
+    public String codeOf(int id) {
+        return id >= 0 && id < codes.length ? codes[id] : null;
+    }
+
+    public PermissionBits bitsOfRole(String roleCode) {
+        return roleCode == null ? PermissionBits.EMPTY : roleBits.getOrDefault(roleCode, PermissionBits.EMPTY);
+    }
+
+    /**
+     * 使用者有效權限 = 所有角色 bitset 的 OR
+     */
+    public PermissionBits bitsOfRoles(Collection<String> roleCodes) {
+        if (roleCodes == null || roleCodes.isEmpty()) return PermissionBits.EMPTY;
+        PermissionBits bits = PermissionBits.EMPTY;
+        for (String role : roleCodes) {
+            bits = bits.or(bitsOfRole(role));
+        }
+        return bits;
+    }
+
+    /**
+     * bits → 權限碼（除錯 / 回應顯示用；不在熱路徑使用）
+     */
+    public List<String> codesOf(PermissionBits bits) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] != null && bits.has(i)) out.add(codes[i]);
+        }
+        return out;
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void update(MessageDigest md, String tag, String value) {
+        md.update(tag.getBytes(StandardCharsets.UTF_8));
+        md.update(value.getBytes(StandardCharsets.UTF_8));
+        md.update((byte) '\n');
+    }
+}
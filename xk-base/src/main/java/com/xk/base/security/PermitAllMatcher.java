@@ -0,0 +1,191 @@
+package com.xk.base.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * ===============================================================
+ * Matcher : PermitAllMatcher
+ * Layer   : Security (xk-base)
+ * Purpose : 將 security.permit-all 於啟動時編譯成「路徑段 prefix trie」
+ * <p>
+ * Why
+ * - JwtAuthFilter 與 SecurityFilterChain 共用同一顆 matcher，兩層判斷永遠一致
+ * - 每個 request 只走一次 trie（僅 ** 需要回溯），不再逐條字串比對
+ * <p>
+ * Supported Ant syntax（以 "/" 分段）
+ * - 字面路徑：/auth/login、/swagger-ui.html
+ * - **      ：零到多個路徑段，例如 /swagger-ui/** 可匹配 /swagger-ui、/swagger-ui/index.html
+ * - *  / ?  ：單一路徑段內萬用字元，例如 /files/*.png、/v?/docs（* 不匹配空段）
+ * - {var}   ：單一路徑段變數（等同 *）
+ * <p>
+ * Notes
+ * - 比對的是「應用內路徑」（requestURI 去掉 contextPath），與 Spring MVC 的 request matcher 一致
+ * - 字面段大小寫敏感
+ * ===============================================================
+ */
+@Component
+public class PermitAllMatcher implements RequestMatcher {
+
+    private static final String DOUBLE_STAR = "**";
+
+    private final Node root = new Node();
+    private final List<String> patterns;
+
+    @Autowired
+    public PermitAllMatcher(SecurityProps props) {
+        this(props.getPermitAll());
+    }
+
+    /**
+     * 直接以 pattern 清單建立（路由權限規則、單元測試用；Spring 只走 SecurityProps 建構子）
+     */
+    public static PermitAllMatcher of(Collection<String> patterns) {
+        return new PermitAllMatcher(patterns);
+    }
+
+    private PermitAllMatcher(Collection<String> patterns) {
+        List<String> compiled = new ArrayList<>();
+        if (patterns != null) {
+            for (String p : patterns) {
+                if (p == null || p.isBlank()) continue;
+                insert(p.trim());
+                compiled.add(p.trim());
+            }
+        }
+        this.patterns = List.copyOf(compiled);
+    }
+
+    // ===============================================================
+    // Match
+    // ===============================================================
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)) {
+            uri = uri.substring(contextPath.length());
+        }
+        return matches(uri);
+    }
+
+    /**
+     * 以應用內路徑比對（例如 /swagger-ui/index.html）
+     */
+    public boolean matches(String path) {
+        if (path == null || path.isEmpty()) return false;
+        return match(root, split(path), 0);
+    }
+
+    public List<String> getPatterns() {
+        return patterns;
+    }
+
+    private static boolean match(Node node, String[] segs, int i) {
+        // ** 可吃掉 0..n 個路徑段
+        if (node.doubleStar != null) {
+            for (int k = i; k <= segs.length; k++) {
+                if (match(node.doubleStar, segs, k)) return true;
+            }
+        }
+
+        if (i == segs.length) return node.terminal;
+
+        String seg = segs[i];
+        Node literal = node.literals.get(seg);
+        if (literal != null && match(literal, segs, i + 1)) return true;
+
+        if (!seg.isEmpty()) {
+            for (WildcardEdge edge : node.wildcards) {
+                if (edge.pattern.matcher(seg).matches() && match(edge.child, segs, i + 1)) return true;
+            }
+        }
+        return false;
+    }
+
+    // ===============================================================
+    // Compile
+    // ===============================================================
+
+    private void insert(String pattern) {
+        Node node = root;
+        for (String seg : split(pattern)) {
+            if (DOUBLE_STAR.equals(seg)) {
+                if (node.doubleStar == null) node.doubleStar = new Node();
+                node = node.doubleStar;
+            } else if (isWildcard(seg)) {
+                node = node.wildcardChild(seg);
+            } else {
+                node = node.literals.computeIfAbsent(seg, k -> new Node());
+            }
+        }
+        node.terminal = true;
+    }
+
+    /**
+     * "/a/b/" → ["a", "b", ""]；保留尾端空段，讓 /a/** 可匹配 /a/，但 /a 不會匹配 /a/
+     */
+    private static String[] split(String path) {
+        String p = path.startsWith("/") ? path.substring(1) : path;
+        return p.isEmpty() ? new String[0] : p.split("/", -1);
+    }
+
+    private static boolean isWildcard(String seg) {
+        return seg.indexOf('*') >= 0 || seg.indexOf('?') >= 0 || seg.indexOf('{') >= 0;
+    }
+
+    private static Pattern toRegex(String seg) {
+        StringBuilder sb = new StringBuilder();
+        int i = 0;
+        while (i < seg.length()) {
+            char c = seg.charAt(i);
+            if (c == '*') {
+                sb.append(".*");
+            } else if (c == '?') {
+                sb.append('.');
+            } else if (c == '{') {
+                int end = seg.indexOf('}', i);
+                if (end < 0) {
+                    sb.append(Pattern.quote(seg.substring(i)));
+                    break;
+                }
+                sb.append(".+");
+                i = end;
+            } else {
+                sb.append(Pattern.quote(String.valueOf(c)));
+            }
+            i++;
+        }
+        return Pattern.compile(sb.toString());
+    }
+
+    // ===============================================================
+    // Trie node
+    // ===============================================================
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        final List<WildcardEdge> wildcards = new ArrayList<>();
+        Node doubleStar;
+        boolean terminal;
+
+        Node wildcardChild(String seg) {
+            for (WildcardEdge edge : wildcards) {
+                if (edge.source.equals(seg)) return edge.child;
+            }
+            WildcardEdge edge = new WildcardEdge(seg, toRegex(seg), new Node());
+            wildcards.add(edge);
+            return edge.child;
+        }
+    }
+
+    private record WildcardEdge(String source, Pattern pattern, Node child) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.xk.base.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * ===============================================================
+ * Manager : RoutePermissionAuthorizationManager
+ * Layer   : Security (xk-base)
+ * Purpose : 依 security.route-permissions 做「路由 → 權限碼」授權，單次 bit test 完成判斷
+ * <p>
+ * Flow（每個 request）
+ * 1) 未登入 → 拒絕
+ * 2) 依宣告順序找第一條符合的 rule（method + Ant 路徑）；都不符合 → 只需登入
+ * 3) rule 的權限碼 → dense id（每個 PermissionTable 版本只解析一次）
+ * 4) 使用者 bits（JWT perms claim 還原值，或角色 bitset OR）.has(id)
+ * <p>
+ * Fail closed
+ * - rule 符合但沒有 PermissionCatalog、或權限碼不在目前權限表 → 拒絕
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class RoutePermissionAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final ObjectProvider<PermissionCatalog> catalogProvider;
+    private final Rule[] rules;
+
+    /**
+     * rule index → permission id（隨 PermissionTable 版本重算）
+     */
+    private volatile Resolved resolved;
+
+    public RoutePermissionAuthorizationManager(SecurityProps props, ObjectProvider<PermissionCatalog> catalogProvider) {
+        this.catalogProvider = catalogProvider;
+        this.rules = compile(props.getRoutePermissions());
+        log.info("[RoutePermissionAuthorizationManager] {} route permission rule(s) loaded", rules.length);
+    }
+
+    // ===============================================================
+    // Authorize
+    // ===============================================================
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return DENIED;
+        }
+
+        int rule = ruleIndexOf(context.getRequest());
+        if (rule < 0) return GRANTED;
+
+        PermissionCatalog catalog = catalogProvider.getIfAvailable();
+        if (catalog == null) {
+            log.warn("[RoutePermissionAuthorizationManager] no PermissionCatalog, deny {}", rules[rule].permission);
+            return DENIED;
+        }
+
+        PermissionTable table = catalog.current();
+        int id = resolve(table)[rule];
+        if (id < 0) return DENIED;
+
+        return permissionsOf(auth, table).has(id) ? GRANTED : DENIED;
+    }
+
+    /**
+     * 使用者有效權限
+     * - JwtAuthFilter 已還原且版本一致 → 直接使用
+     * - 否則由 ROLE_ authorities 對應的角色 bitset OR 而成
+     */
+    private static PermissionBits permissionsOf(Authentication auth, PermissionTable table) {
+        if (auth instanceof PermissionAuthenticationToken p && p.getPermissionVersion() == table.version()) {
+            return p.getPermissions();
+        }
+
+        PermissionBits bits = PermissionBits.EMPTY;
+        for (GrantedAuthority ga : auth.getAuthorities()) {
+            String a = ga.getAuthority();
+            if (a != null && a.startsWith(ROLE_PREFIX)) {
+                bits = bits.or(table.bitsOfRole(a.substring(ROLE_PREFIX.length())));
+            }
+        }
+        return bits;
+    }
+
+    private int ruleIndexOf(HttpServletRequest request) {
+        if (rules.length == 0) return -1;
+
+        String path = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath != null && !contextPath.isEmpty() && path.startsWith(contextPath)) {
+            path = path.substring(contextPath.length());
+        }
+
+        String method = request.getMethod();
+        for (int i = 0; i < rules.length; i++) {
+            Rule r = rules[i];
+            if ((r.methods == null || r.methods.contains(method)) && r.matcher.matches(path)) return i;
+        }
+        return -1;
+    }
+
+    private int[] resolve(PermissionTable table) {
+        Resolved r = resolved;
+        if (r != null && r.table == table) return r.ids;
+
+        int[] ids = new int[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            ids[i] = table.idOf(rules[i].permission);
+            if (ids[i] < 0) {
+                log.warn("[RoutePermissionAuthorizationManager] unknown permission {} for {}", rules[i].permission, rules[i].matcher.getPatterns());
+            }
+        }
+        resolved = new Resolved(table, ids);
+        return ids;
+    }
+
+    // ===============================================================
+    // Compile
+    // ===============================================================
+
+    private static Rule[] compile(List<SecurityProps.RoutePermission> routes) {
+        if (routes == null) return new Rule[0];
+
+        List<Rule> out = new ArrayList<>();
+        for (SecurityProps.RoutePermission route : routes) {
+            if (route == null || route.getPattern() == null || route.getPattern().isBlank()) continue;
+            if (route.getPermission() == null || route.getPermission().isBlank()) {
+                throw new IllegalStateException("security.route-permissions: permission is required for " + route.getPattern());
+            }
+
+            Set<String> methods = null;
+            if (route.getMethods() != null && !route.getMethods().isEmpty()) {
+                methods = new HashSet<>();
+                for (String m : route.getMethods()) {
+                    methods.add(m.trim().toUpperCase(Locale.ROOT));
+                }
+            }
+            out.add(new Rule(methods, PermitAllMatcher.of(List.of(route.getPattern())), route.getPermission().trim()));
+        }
+        return out.toArray(Rule[]::new);
+    }
+
+    private record Rule(Set<String> methods, PermitAllMatcher matcher, String permission) {
+    }
+
+    private record Resolved(PermissionTable table, int[] ids) {
+    }
+}
@@ -20,8 +20,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 public class SecurityAutoConfig {
 
-    private final SecurityProps props;
+    private final PermitAllMatcher permitAllMatcher;
     private final JwtAuthFilter jwtAuthFilter;
+    private final RoutePermissionAuthorizationManager routePermissionAuthorizationManager;
 
     // somewhere in your security config (xk-truck 的 TruckAuthAdapter 或 xk-base 的 SecurityAutoConfig)
     // 建議只留一個地方定義，另一邊用 @ConditionalOnMissingBean
@@ -58,8 +59,9 @@ public class SecurityAutoConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers(props.getPermitAll().toArray(String[]::new)).permitAll()
-                        .anyRequest().authenticated()
+                        .requestMatchers(permitAllMatcher).permitAll()
+                        // 需登入；命中 security.route-permissions 的路由再做權限 bit test
+                        .anyRequest().access(routePermissionAuthorizationManager)
                 )
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -1,5 +1,6 @@
 package com.xk.base.security;
 
+import com.xk.base.web.IdempotencyFilter;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -31,6 +32,29 @@ public class SecurityProps {
             "/actuator/health"
     ));
 
+    /**
+     * 路由 → 必要權限碼（依宣告順序，第一條符合者生效；未列出的路徑只需登入）
+     */
+    private List<RoutePermission> routePermissions = new ArrayList<>();
+
+    @Data
+    public static class RoutePermission {
+        /**
+         * Ant 風格路徑（語法同 permit-all）
+         */
+        private String pattern;
+
+        /**
+         * HTTP methods（空 = 全部）
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * 必要權限碼，例如 TOM_ORDER_VIEW
+         */
+        private String permission;
+    }
+
     @Data
     public static class Jwt {
         /**
@@ -49,6 +73,19 @@ public class SecurityProps {
         @DurationUnit(ChronoUnit.MINUTES)
         private Duration expiry = Duration.ofMinutes(120);
 
+        /**
+         * 已驗證 Token 快取上限（以 Token 摘要為 key；0 = 停用）
+         * - 同一顆 Bearer Token 重複請求時可略過 HMAC 驗簽與 claims 反序列化
+         * - 快取到期時間不會超過 Token 的 exp
+         */
+        private int verifiedCacheSize = 10_000;
+
+        /**
+         * 登入 / refresh 時是否簽發精簡權限 claim（perms + pv）
+         * - 啟用後 JwtAuthFilter 直接由 token 還原權限，不需查 DB
+         */
+        private boolean permsClaim = true;
+
         // 若你仍想用分鐘數，也可保留 Long expiryMinutes，搭配 converter 在 service 轉成 Duration
     }
 
@@ -61,7 +98,7 @@ public class SecurityProps {
         private List<String> allowedOrigins = new ArrayList<>(List.of("*"));
         private List<String> allowedMethods = new ArrayList<>(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         private List<String> allowedHeaders = new ArrayList<>(List.of("*"));
-        private List<String> exposedHeaders = new ArrayList<>(List.of("Authorization"));
+        private List<String> exposedHeaders = new ArrayList<>(List.of("Authorization", JwtPermissionClaims.REFRESH_HEADER, IdempotencyFilter.REPLAYED_HEADER));
         // 可視需求再加：private Boolean allowCredentials = false;
     }
 }
@@ -0,0 +1,169 @@
+package com.xk.base.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ===============================================================
+ * Util : FractionalRank
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 分數排序鍵（fractional index）：任兩個鍵之間永遠可再產生一個鍵
+ * - 拖曳排序只需更新被移動的那一筆（不必重寫整個清單的 sortOrder）
+ * <p>
+ * Design:
+ * - 鍵為 base-36 小寫字串（0-9a-z），依字串大小排序
+ *   只用數字 + 小寫字母：MySQL 預設 case-insensitive collation 下排序仍與 Java compareTo 一致
+ * - 鍵不以 '0' 結尾（否則 "a" 與 "a0" 之間產生不出新鍵）
+ * - 反覆插在同一處鍵會變長 → 呼叫端於長度超過門檻時以 spread(n) 重新平均分配（rebalance）
+ * <p>
+ * Usage:
+ *   String first = FractionalRank.after(null);            // 清單為空
+ *   String tail  = FractionalRank.after(lastRank);        // 加到最後
+ *   String mid   = FractionalRank.between(prev, next);    // 移到 prev 與 next 之間
+ *   List<String> ranks = FractionalRank.spread(items.size());
+ * ===============================================================
+ */
+public final class FractionalRank {
+
+    public static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+
+    private static final int BASE = DIGITS.length();
+
+    private FractionalRank() {
+    }
+
+    /**
+     * a 與 b 之間的鍵
+     *
+     * @param a 下界（null = 最前）
+     * @param b 上界（null = 最後）
+     * @throws IllegalArgumentException a >= b 或鍵格式不合法
+     */
+    public static String between(String a, String b) {
+        String lo = a == null ? "" : a;
+        validate(lo);
+        if (b != null) {
+            validate(b);
+            if (lo.compareTo(b) >= 0) {
+                throw new IllegalArgumentException("rank out of order: " + a + " >= " + b);
+            }
+        }
+        return midpoint(lo, b);
+    }
+
+    /**
+     * a 之後的鍵（加到最後）
+     * - 盡量遞增既有位數而不是取中點，連續 append 時鍵長成長較慢
+     */
+    public static String after(String a) {
+        if (a == null || a.isEmpty()) return String.valueOf(DIGITS.charAt(BASE / 2));
+        validate(a);
+        for (int i = 0; i < a.length(); i++) {
+            int d = digit(a.charAt(i));
+            if (d < BASE - 1) {
+                return a.substring(0, i) + DIGITS.charAt(d + 1);
+            }
+        }
+        return a + DIGITS.charAt(1);
+    }
+
+    /**
+     * b 之前的鍵（插到最前）
+     */
+    public static String before(String b) {
+        return between(null, b);
+    }
+
+    /**
+     * n 個平均分布、等長的鍵（rebalance 用；回傳依序遞增）
+     * - 前後各留空間，之後插在頭尾也不會立刻變長
+     */
+    public static List<String> spread(int n) {
+        if (n < 0) throw new IllegalArgumentException("n < 0: " + n);
+        List<String> ranks = new ArrayList<>(n);
+        if (n == 0) return ranks;
+
+        // width 位數可表示 BASE^width 個值，至少保留 n + 1 個間隔
+        int width = 1;
+        long capacity = BASE;
+        while (capacity < (long) (n + 1) * 2) {
+            width++;
+            capacity *= BASE;
+        }
+
+        long step = capacity / (n + 1);
+        for (int i = 1; i <= n; i++) {
+            ranks.add(stripTrailingZeros(encode(step * i, width)));
+        }
+        return ranks;
+    }
+
+    /**
+     * 鍵長超過門檻時建議 rebalance
+     */
+    public static boolean needsRebalance(String rank, int maxLength) {
+        return rank != null && rank.length() > maxLength;
+    }
+
+    // ===============================================================
+    // Internals
+    // ===============================================================
+
+    /**
+     * a < b（b 為 null = 無上界），且兩者皆不以 '0' 結尾
+     */
+    private static String midpoint(String a, String b) {
+        if (b != null) {
+            // 去掉共同前綴（a 不足的位數視為 0）
+            int n = 0;
+            while (n < b.length() && charAt(a, n) == b.charAt(n)) n++;
+            if (n > 0) {
+                return b.substring(0, n) + midpoint(a.length() > n ? a.substring(n) : "", b.substring(n));
+            }
+        }
+
+        int da = a.isEmpty() ? 0 : digit(a.charAt(0));
+        int db = b == null ? BASE : digit(b.charAt(0));
+        if (db - da > 1) {
+            return String.valueOf(DIGITS.charAt((da + db + 1) / 2));
+        }
+        // 首位相鄰
+        if (b != null && b.length() > 1) {
+            return b.substring(0, 1);
+        }
+        return DIGITS.charAt(da) + midpoint(a.isEmpty() ? "" : a.substring(1), null);
+    }
+
+    private static char charAt(String s, int i) {
+        return i < s.length() ? s.charAt(i) : DIGITS.charAt(0);
+    }
+
+    private static int digit(char c) {
+        int d = DIGITS.indexOf(c);
+        if (d < 0) throw new IllegalArgumentException("invalid rank digit: " + c);
+        return d;
+    }
+
+    private static void validate(String rank) {
+        for (int i = 0; i < rank.length(); i++) digit(rank.charAt(i));
+        if (!rank.isEmpty() && rank.charAt(rank.length() - 1) == DIGITS.charAt(0)) {
+            throw new IllegalArgumentException("rank must not end with '0': " + rank);
+        }
+    }
+
+    private static String encode(long value, int width) {
+        char[] chars = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            chars[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    private static String stripTrailingZeros(String s) {
+        int end = s.length();
+        while (end > 1 && s.charAt(end - 1) == DIGITS.charAt(0)) end--;
+        return s.substring(0, end);
+    }
+}
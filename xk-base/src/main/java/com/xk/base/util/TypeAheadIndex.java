@@ -0,0 +1,337 @@
+package com.xk.base.util;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * ===============================================================
+ * Util : TypeAheadIndex
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 行程內的 type-ahead 索引：部分字串（前綴 / 中段 / 尾碼）即時搜尋
+ * - 取代 SQL LIKE '%kw%'（無法走索引）
+ * <p>
+ * Design:
+ * - 每筆資料的欄位正規化後（NFKC、大寫、非字母數字 → 空白）串成一段 text
+ * - 前綴 trie：每個 token 的前 MAX_PREFIX_DEPTH 個字元，節點保存經過此前綴的 doc id
+ * - trigram map：text 內每個 3 字元片段 → doc id（中段 / 尾碼查詢，例如訂單序號、櫃號末碼）
+ * - CJK bigram map：相鄰兩個 CJK 字 → doc id。中文地址 / 名稱沒有空白分詞，整段是一個 token，
+ *   兩字詞（例如「海運」「板橋」）只能靠中段命中，而 trigram 要求至少 3 字
+ * - doc id 依加入順序遞增，查詢由新到舊掃描；posting list 皆為遞增 int[]
+ * - 查詢只取 trie 節點與最短的 trigram posting 當候選，由新到舊逐筆以 text 複核，湊滿即停
+ * - 同 key 重複加入 → 舊 doc 標記刪除（tombstone），由呼叫端定期整份重建回收
+ * <p>
+ * Ranking:
+ * - 每個查詢詞都命中 token 前綴者優先，其次為中段命中；同級由新到舊
+ * <p>
+ * Thread-safety:
+ * - 讀寫鎖：查詢可併發，寫入互斥
+ * ===============================================================
+ */
+public final class TypeAheadIndex<T> {
+
+    public static final int MAX_PREFIX_DEPTH = 12;
+
+    private static final int GRAM = 3;
+
+    private final Function<T, Object> keyOf;
+    private final Function<T, List<String>> fieldsOf;
+
+    private final List<T> docs = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<Object, Integer> idByKey = new HashMap<>();
+
+    private final TrieNode root = new TrieNode();
+    private final Map<Long, IntList> grams = new HashMap<>();
+    private final Map<Integer, IntList> cjkBigrams = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int live;
+
+    /**
+     * @param keyOf    唯一鍵（重複加入時取代舊資料）
+     * @param fieldsOf 要索引的欄位（null 欄位略過）
+     */
+    public TypeAheadIndex(Function<T, Object> keyOf, Function<T, List<String>> fieldsOf) {
+        this.keyOf = Objects.requireNonNull(keyOf, "keyOf");
+        this.fieldsOf = Objects.requireNonNull(fieldsOf, "fieldsOf");
+    }
+
+    // ===============================================================
+    // Write
+    // ===============================================================
+
+    public void add(T item) {
+        StringBuilder sb = new StringBuilder(64).append(' ');
+        for (String field : fieldsOf.apply(item)) {
+            String n = normalize(field);
+            if (!n.isEmpty()) sb.append(n).append(' ');
+        }
+        String text = sb.toString();
+
+        lock.writeLock().lock();
+        try {
+            Integer old = idByKey.get(keyOf.apply(item));
+            if (old != null) {
+                docs.set(old, null);
+                texts.set(old, null);
+                live--;
+            }
+
+            int id = docs.size();
+            docs.add(item);
+            texts.add(text);
+            idByKey.put(keyOf.apply(item), id);
+            live++;
+
+            indexTokens(text, id);
+            indexGrams(text, id);
+            indexCjkBigrams(text, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===============================================================
+    // Search
+    // ===============================================================
+
+    /**
+     * @param query 多個詞以空白分隔，每個詞都要命中（AND）
+     * @param limit 最多回傳筆數
+     */
+    public List<T> search(String query, int limit) {
+        String[] terms = terms(query);
+        if (terms.length == 0 || limit < 1) return List.of();
+
+        lock.readLock().lock();
+        try {
+            // 以候選最少的詞驅動，其餘詞只在複核時比對
+            IntList[] source = null;
+            for (String term : terms) {
+                IntList[] c = candidates(term);
+                if (source == null || count(c) < count(source)) source = c;
+                if (count(source) == 0) return List.of();
+            }
+
+            List<T> prefixHits = new ArrayList<>(Math.min(limit, count(source)));
+            List<T> infixHits = new ArrayList<>();
+
+            // 兩個遞增 posting list 由尾端（最新）合併往前，前綴命中湊滿 limit 即停止
+            IntList a = source[0], b = source[1];
+            int i = a.size - 1, j = b.size - 1;
+            while ((i >= 0 || j >= 0) && prefixHits.size() < limit) {
+                int id;
+                if (j < 0 || (i >= 0 && a.values[i] > b.values[j])) id = a.values[i--];
+                else if (i < 0 || b.values[j] > a.values[i]) id = b.values[j--];
+                else { id = a.values[i--]; j--; }
+
+                String text = texts.get(id);
+                if (text == null) continue;
+
+                int match = match(text, terms);
+                if (match == PREFIX) {
+                    prefixHits.add(docs.get(id));
+                } else if (match == INFIX && infixHits.size() < limit) {
+                    infixHits.add(docs.get(id));
+                }
+            }
+
+            for (int k = 0; k < infixHits.size() && prefixHits.size() < limit; k++) {
+                prefixHits.add(infixHits.get(k));
+            }
+            return prefixHits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 正規化：NFKC（全形 → 半形）、大寫、非字母數字 → 單一空白
+     */
+    public static String normalize(String s) {
+        if (s == null || s.isEmpty()) return "";
+        String n = Normalizer.normalize(s, Normalizer.Form.NFKC).toUpperCase(Locale.ROOT);
+
+        StringBuilder sb = new StringBuilder(n.length());
+        boolean space = true;
+        for (int i = 0; i < n.length(); i++) {
+            char c = n.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+                space = false;
+            } else if (!space) {
+                sb.append(' ');
+                space = true;
+            }
+        }
+        int end = sb.length();
+        if (end > 0 && sb.charAt(end - 1) == ' ') sb.setLength(end - 1);
+        return sb.toString();
+    }
+
+    // ===============================================================
+    // Internals
+    // ===============================================================
+
+    private static final int NONE = 0;
+    private static final int INFIX = 1;
+    private static final int PREFIX = 2;
+
+    private static String[] terms(String query) {
+        String n = normalize(query);
+        return n.isEmpty() ? new String[0] : n.split(" ");
+    }
+
+    /**
+     * 全部詞都是 token 前綴 → PREFIX；全部命中但有中段命中 → INFIX；否則 NONE
+     */
+    private static int match(String text, String[] terms) {
+        int result = PREFIX;
+        for (String term : terms) {
+            int at = text.indexOf(term);
+            if (at < 0) return NONE;
+            if (text.indexOf(' ' + term) < 0) {
+                if (term.length() < GRAM && !isCjkBigram(term)) return NONE;   // 短詞只做前綴（CJK 兩字詞除外）
+                result = INFIX;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 單一詞的候選：{trie 前綴節點, 最短的 trigram posting（CJK 兩字詞為 bigram posting）}，
+     * 兩者聯集為超集合（由 match 複核）
+     */
+    private IntList[] candidates(String term) {
+        TrieNode node = root;
+        for (int i = 0; i < Math.min(term.length(), MAX_PREFIX_DEPTH) && node != null; i++) {
+            node = node.child(term.charAt(i));
+        }
+        IntList prefix = node == null ? IntList.EMPTY : node.postings;
+        if (isCjkBigram(term)) {
+            return new IntList[]{prefix, cjkBigrams.getOrDefault(bigramKey(term, 0), IntList.EMPTY)};
+        }
+        if (term.length() < GRAM) return new IntList[]{prefix, IntList.EMPTY};
+
+        IntList shortest = null;
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            IntList list = grams.get(gramKey(term, i));
+            if (list == null) {
+                // 任一 trigram 不存在 → 不可能有中段命中，只剩前綴（深度截斷時仍需複核）
+                shortest = IntList.EMPTY;
+                break;
+            }
+            if (shortest == null || list.size < shortest.size) shortest = list;
+        }
+        return new IntList[]{prefix, shortest};
+    }
+
+    private static int count(IntList[] source) {
+        return source[0].size + source[1].size;
+    }
+
+    private void indexTokens(String text, int id) {
+        int start = 1;
+        while (start < text.length()) {
+            int end = text.indexOf(' ', start);
+            TrieNode node = root;
+            for (int i = start; i < Math.min(end, start + MAX_PREFIX_DEPTH); i++) {
+                node = node.childOrCreate(text.charAt(i));
+                node.postings.addUnique(id);
+            }
+            start = end + 1;
+        }
+    }
+
+    private void indexGrams(String text, int id) {
+        for (int i = 1; i + GRAM <= text.length(); i++) {
+            if (text.indexOf(' ', i) < i + GRAM) continue;   // 不跨 token
+            grams.computeIfAbsent(gramKey(text, i), k -> new IntList()).addUnique(id);
+        }
+    }
+
+    private void indexCjkBigrams(String text, int id) {
+        for (int i = 1; i + 2 <= text.length(); i++) {
+            if (isCjk(text.charAt(i)) && isCjk(text.charAt(i + 1))) {
+                cjkBigrams.computeIfAbsent(bigramKey(text, i), k -> new IntList()).addUnique(id);
+            }
+        }
+    }
+
+    private static boolean isCjkBigram(String term) {
+        return term.length() == 2 && isCjk(term.charAt(0)) && isCjk(term.charAt(1));
+    }
+
+    /**
+     * 漢字 / 假名 / 諺文（BMP；normalize 後的 text 只剩字母數字與空白）
+     */
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static int bigramKey(String s, int i) {
+        return (s.charAt(i) << 16) | s.charAt(i + 1);
+    }
+
+    private static long gramKey(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    private static final class TrieNode {
+        private char[] keys = new char[0];
+        private TrieNode[] children = new TrieNode[0];
+        private final IntList postings = new IntList();
+
+        TrieNode child(char c) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == c) return children[i];
+            }
+            return null;
+        }
+
+        TrieNode childOrCreate(char c) {
+            TrieNode node = child(c);
+            if (node != null) return node;
+
+            node = new TrieNode();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = c;
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+
+    /**
+     * 遞增 int 清單（doc id 依序加入，重複 id 只留一次）
+     */
+    private static final class IntList {
+        static final IntList EMPTY = new IntList();
+
+        private int[] values = new int[2];
+        private int size;
+
+        void addUnique(int v) {
+            if (size > 0 && values[size - 1] == v) return;
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.xk.base.util;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.FatalBeanException;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * ===============================================================
+ * Helper Class : XkBeanCopyPlan
+ * Layer        : Util (package-private)
+ * Purpose      : XkBeanUtils 的「編譯後」拷貝計畫（per sourceClass → targetClass）
+ * <p>
+ * Design
+ * - 每組 (sourceClass, targetClass) 只在第一次拷貝時解析一次：
+ * 1) PropertySteps  : 對齊 Spring BeanUtils.copyProperties 的屬性比對規則（getter → setter，型別可指派）
+ * 2) ConvertSteps   : 對齊 copyPropertiesAutoConvert 的 declared field 同名比對，並預先綁定轉換器
+ * - 存取一律轉成 MethodHandle（已 setAccessible），執行期不再做反射查找
+ * - Plan 為不可變物件，放在 ConcurrentHashMap 內共享，thread-safe
+ * <p>
+ * Notes
+ * - 行為需與舊版 XkBeanUtils 完全一致（含 null/blank 略過、轉換失敗只略過該欄位）
+ * - 僅供 XkBeanUtils 使用，不對外公開
+ * ===============================================================
+ */
+final class XkBeanCopyPlan {
+
+    private static final Map<ClassPair, XkBeanCopyPlan> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 已支援的型別轉換（sourceType → targetType），與舊版 convertAndSet 相同的 8 種組合
+     */
+    private static final Map<ClassPair, Function<Object, Object>> CONVERTERS = Map.of(
+            new ClassPair(Long.class, String.class), Object::toString,
+            new ClassPair(String.class, Long.class), v -> Long.valueOf((String) v),
+            new ClassPair(Integer.class, String.class), Object::toString,
+            new ClassPair(String.class, Integer.class), v -> Integer.valueOf((String) v),
+            new ClassPair(Boolean.class, String.class), Object::toString,
+            new ClassPair(String.class, Boolean.class), v -> Boolean.parseBoolean((String) v),
+            new ClassPair(UUID.class, String.class), Object::toString,
+            new ClassPair(String.class, UUID.class), v -> UUID.fromString((String) v)
+    );
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final PropertyStep[] propertySteps;
+    private final ConvertStep[] convertSteps;
+
+    private XkBeanCopyPlan(PropertyStep[] propertySteps, ConvertStep[] convertSteps) {
+        this.propertySteps = propertySteps;
+        this.convertSteps = convertSteps;
+    }
+
+    static XkBeanCopyPlan of(Class<?> sourceClass, Class<?> targetClass) {
+        return CACHE.computeIfAbsent(new ClassPair(sourceClass, targetClass), XkBeanCopyPlan::build);
+    }
+
+    // ===============================================================
+    // Execute
+    // ===============================================================
+
+    /**
+     * 對齊 BeanUtils.copyProperties：同名且型別可指派的屬性全部拷貝（含 null）
+     * - 任一屬性失敗即中止並拋出 FatalBeanException（與 Spring 行為一致）
+     */
+    void copyProperties(Object source, Object target) {
+        for (PropertyStep step : propertySteps) {
+            step.copy(source, target, false);
+        }
+    }
+
+    /**
+     * 對齊舊版 copyNonNullProperties：來源值為 null 的屬性不覆蓋目標
+     */
+    void copyNonNullProperties(Object source, Object target) {
+        for (PropertyStep step : propertySteps) {
+            step.copy(source, target, true);
+        }
+    }
+
+    /**
+     * 對齊舊版 copyPropertiesAutoConvert：
+     * - 來源值為 null 或 blank 略過
+     * - 單一欄位轉換失敗只記錄並略過，不影響其他欄位
+     *
+     * @param excludes 額外排除的欄位（可為 null）
+     * @return 轉換失敗的欄位名稱與原因（無失敗時為空 Map），由呼叫端決定如何記錄
+     */
+    Map<String, String> convertProperties(Object source, Object target, Set<String> excludes) {
+        Map<String, String> failures = null;
+        for (ConvertStep step : convertSteps) {
+            if (excludes != null && excludes.contains(step.name)) continue;
+            try {
+                Object value = step.getter.invokeExact(source);
+                if (value == null || StringUtils.isBlank(String.valueOf(value))) continue;
+                step.setter.invokeExact(target, step.converter.apply(value));
+            } catch (Throwable ex) {
+                if (failures == null) failures = new LinkedHashMap<>();
+                failures.put(step.name, ex.getMessage());
+            }
+        }
+        return failures == null ? Map.of() : failures;
+    }
+
+    // ===============================================================
+    // Build
+    // ===============================================================
+
+    private static XkBeanCopyPlan build(ClassPair pair) {
+        return new XkBeanCopyPlan(
+                buildPropertySteps(pair.source(), pair.target()),
+                buildConvertSteps(pair.source(), pair.target())
+        );
+    }
+
+    /**
+     * 屬性比對規則與 Spring 6 BeanUtils.copyProperties(Object, Object, Class, String...) 相同
+     */
+    private static PropertyStep[] buildPropertySteps(Class<?> sourceClass, Class<?> targetClass) {
+        List<PropertyStep> steps = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (PropertyDescriptor targetPd : BeanUtils.getPropertyDescriptors(targetClass)) {
+            Method writeMethod = targetPd.getWriteMethod();
+            if (writeMethod == null) continue;
+
+            PropertyDescriptor sourcePd = BeanUtils.getPropertyDescriptor(sourceClass, targetPd.getName());
+            if (sourcePd == null) continue;
+
+            Method readMethod = sourcePd.getReadMethod();
+            if (readMethod == null) continue;
+
+            ResolvableType sourceType = ResolvableType.forMethodReturnType(readMethod);
+            ResolvableType targetType = ResolvableType.forMethodParameter(writeMethod, 0);
+            boolean assignable = (sourceType.hasUnresolvableGenerics() || targetType.hasUnresolvableGenerics())
+                    ? ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType())
+                    : targetType.isAssignableFrom(sourceType);
+            if (!assignable) continue;
+
+            try {
+                if (!Modifier.isPublic(readMethod.getDeclaringClass().getModifiers())) {
+                    readMethod.setAccessible(true);
+                }
+                if (!Modifier.isPublic(writeMethod.getDeclaringClass().getModifiers())) {
+                    writeMethod.setAccessible(true);
+                }
+                steps.add(new PropertyStep(
+                        targetPd.getName(),
+                        lookup.unreflect(readMethod).asType(GETTER_TYPE),
+                        lookup.unreflect(writeMethod).asType(SETTER_TYPE)
+                ));
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                throw new FatalBeanException(
+                        "Could not resolve property '" + targetPd.getName() + "' from source to target", ex);
+            }
+        }
+        return steps.toArray(PropertyStep[]::new);
+    }
+
+    /**
+     * 欄位比對規則與舊版 copyPropertiesAutoConvert 相同：只看雙方的 declared fields（不含父類別）
+     */
+    private static ConvertStep[] buildConvertSteps(Class<?> sourceClass, Class<?> targetClass) {
+        List<ConvertStep> steps = new ArrayList<>();
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        Map<String, Field> targetFields = new HashMap<>();
+        for (Field f : targetClass.getDeclaredFields()) {
+            targetFields.putIfAbsent(f.getName(), f);
+        }
+
+        for (Field sourceField : sourceClass.getDeclaredFields()) {
+            Field targetField = targetFields.get(sourceField.getName());
+            if (targetField == null) continue;
+            if (Modifier.isStatic(sourceField.getModifiers()) || Modifier.isStatic(targetField.getModifiers())) {
+                continue;
+            }
+
+            Function<Object, Object> converter =
+                    CONVERTERS.get(new ClassPair(sourceField.getType(), targetField.getType()));
+            if (converter == null) continue;
+
+            try {
+                sourceField.setAccessible(true);
+                targetField.setAccessible(true);
+                steps.add(new ConvertStep(
+                        sourceField.getName(),
+                        lookup.unreflectGetter(sourceField).asType(GETTER_TYPE),
+                        lookup.unreflectSetter(targetField).asType(SETTER_TYPE),
+                        converter
+                ));
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // final 欄位或模組存取限制：舊版同樣會在 set 時失敗並略過
+            }
+        }
+        return steps.toArray(ConvertStep[]::new);
+    }
+
+    // ===============================================================
+    // Steps
+    // ===============================================================
+
+    private record PropertyStep(String name, MethodHandle getter, MethodHandle setter) {
+
+        void copy(Object source, Object target, boolean skipNull) {
+            try {
+                Object value = getter.invokeExact(source);
+                if (skipNull && value == null) return;
+                setter.invokeExact(target, value);
+            } catch (Throwable ex) {
+                throw new FatalBeanException(
+                        "Could not copy property '" + name + "' from source to target", ex);
+            }
+        }
+    }
+
+    private record ConvertStep(String name, MethodHandle getter, MethodHandle setter,
+                               Function<Object, Object> converter) {
+    }
+
+    private record ClassPair(Class<?> source, Class<?> target) {
+    }
+}
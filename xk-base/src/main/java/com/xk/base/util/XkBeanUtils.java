@@ -1,11 +1,7 @@
 package com.xk.base.util;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.BeanUtils;
 
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
 import java.util.*;
 import java.util.function.Supplier;
 
@@ -43,14 +39,16 @@ public class XkBeanUtils {
 
     /**
      * 單個對象的屬性拷貝（含型別自動轉換）
+     * - 拷貝計畫依 (sourceClass, targetClass) 快取，見 {@link XkBeanCopyPlan}
      */
     public static <S, T> T copyProperties(S source, Supplier<T> targetSupplier) {
         if (source == null) return null;
         T target = targetSupplier.get();
 
         try {
-            BeanUtils.copyProperties(source, target);
-            copyPropertiesAutoConvert(source, target);
+            XkBeanCopyPlan plan = XkBeanCopyPlan.of(source.getClass(), target.getClass());
+            plan.copyProperties(source, target);
+            logConvertFailures(plan.convertProperties(source, target, null));
         } catch (Exception e) {
             log.error("❌ Bean copy failed: {} → {}", source.getClass().getSimpleName(),
                     target.getClass().getSimpleName(), e);
@@ -65,8 +63,7 @@ public class XkBeanUtils {
     public static void copyNonNullProperties(Object source, Object target) {
         if (source == null || target == null) return;
 
-        String[] nullProps = getNullPropertyNames(source);
-        BeanUtils.copyProperties(source, target, nullProps);
+        XkBeanCopyPlan.of(source.getClass(), target.getClass()).copyNonNullProperties(source, target);
     }
 
     // =========================
@@ -111,99 +108,28 @@ public class XkBeanUtils {
 
     /**
      * 自動型別轉換（String <-> Long / Integer / Boolean / UUID）
+     * - 來源值為 null / blank 的欄位不轉換
+     * - nullPropertyNames：額外排除的欄位
      */
     public static void copyPropertiesAutoConvert(Object source, Object target, String... nullPropertyNames) {
         if (source == null || target == null) return;
 
-        Field[] sourceFields = source.getClass().getDeclaredFields();
-        Field[] targetFields = target.getClass().getDeclaredFields();
-        String[] excludedProps = getNullPropertyNames(source, nullPropertyNames);
-
-        for (Field sourceField : sourceFields) {
-            sourceField.setAccessible(true);
-            try {
-                Object sourceValue = sourceField.get(source);
-                if (sourceValue == null || StringUtils.isBlank(String.valueOf(sourceValue))) continue;
-
-                for (Field targetField : targetFields) {
-                    targetField.setAccessible(true);
-                    if (sourceField.getName().equals(targetField.getName())
-                            && !isExcluded(sourceField.getName(), excludedProps)) {
-                        convertAndSet(target, sourceValue, targetField, sourceField);
-                        break;
-                    }
-                }
-            } catch (Exception e) {
-                log.warn("⚠️ Skip field {} due to error: {}", sourceField.getName(), e.getMessage());
-            }
-        }
-    }
+        Set<String> excludes = (nullPropertyNames == null || nullPropertyNames.length == 0)
+                ? null
+                : new HashSet<>(Arrays.asList(nullPropertyNames));
 
-    /**
-     * 屬性型別自動轉換（常見型別）
-     */
-    private static void convertAndSet(Object target, Object sourceValue, Field targetField, Field sourceField)
-            throws IllegalAccessException {
-        Class<?> t = targetField.getType();
-        Class<?> s = sourceField.getType();
-
-        if (t.equals(String.class) && s.equals(Long.class))
-            targetField.set(target, sourceValue.toString());
-        else if (t.equals(Long.class) && s.equals(String.class))
-            targetField.set(target, Long.valueOf((String) sourceValue));
-        else if (t.equals(String.class) && s.equals(Integer.class))
-            targetField.set(target, sourceValue.toString());
-        else if (t.equals(Integer.class) && s.equals(String.class))
-            targetField.set(target, Integer.valueOf((String) sourceValue));
-        else if (t.equals(String.class) && s.equals(Boolean.class))
-            targetField.set(target, sourceValue.toString());
-        else if (t.equals(Boolean.class) && s.equals(String.class))
-            targetField.set(target, Boolean.parseBoolean((String) sourceValue));
-        else if (t.equals(String.class) && s.equals(UUID.class))
-            targetField.set(target, sourceValue.toString());
-        else if (t.equals(UUID.class) && s.equals(String.class))
-            targetField.set(target, UUID.fromString((String) sourceValue));
+        logConvertFailures(
+                XkBeanCopyPlan.of(source.getClass(), target.getClass())
+                        .convertProperties(source, target, excludes)
+        );
     }
 
     // =========================
     // 🧰 私有輔助方法
     // =========================
 
-    private static boolean isExcluded(String fieldName, String[] excludedProperties) {
-        if (excludedProperties == null) return false;
-        for (String exclude : excludedProperties) {
-            if (fieldName.equals(exclude)) return true;
-        }
-        return false;
+    private static void logConvertFailures(Map<String, String> failures) {
+        failures.forEach((field, reason) ->
+                log.warn("⚠️ Skip field {} due to error: {}", field, reason));
     }
-
-    private static String[] getNullPropertyNames(Object source, String... additionalExcludes) {
-        Set<String> emptyNames = new HashSet<>();
-        for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(source.getClass())) {
-            try {
-                Field field = getFieldRecursively(source.getClass(), pd.getName());
-                if (field != null) {
-                    field.setAccessible(true);
-                    if (field.get(source) == null) emptyNames.add(pd.getName());
-                }
-            } catch (Exception ignored) {
-            }
-        }
-        if (additionalExcludes != null) emptyNames.addAll(Arrays.asList(additionalExcludes));
-        return emptyNames.toArray(new String[0]);
-    }
-
-    private static Field getFieldRecursively(Class<?> clazz, String fieldName) {
-        if (clazz == null) return null;
-        try {
-            return clazz.getDeclaredField(fieldName);
-        } catch (NoSuchFieldException e) {
-            return getFieldRecursively(clazz.getSuperclass(), fieldName);
-        }
-    }
-
-    private static String[] getNullPropertyNames(Object source) {
-        return getNullPropertyNames(source, (String[]) null);
-    }
-
 }
@@ -0,0 +1,335 @@
+package com.xk.base.web;
+
+import com.xk.base.infra.idempotency.IdempotencyProps;
+import com.xk.base.infra.idempotency.IdempotencyStore;
+import com.xk.base.infra.idempotency.StoredResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * ===============================================================
+ * Filter : IdempotencyFilter
+ * Layer  : Web
+ * Purpose: Idempotency-Key：重送的指令請求回放第一次的結果，不重複執行交易
+ * <p>
+ * Flow
+ * - 只處理帶 Idempotency-Key 的 POST / PUT / PATCH / DELETE（其他請求直接放行）
+ * - 未登入（anonymous）的請求直接放行：permit-all 端點（例如 /auth/login）的回應含個人資料 / token，
+ *   以共用的 anonymous 身分保存會被任何帶相同 key 的人回放
+ * - key = SHA-256(principal + method + path + header 值)：不同使用者 / 端點的相同 key 互不影響
+ * - requestHash = SHA-256(request body)，與結果一起保存：同 key 但 body 不同 → 422（不回放、不執行）
+ *   （form 以排序後的參數計算；multipart 不計算、不比對）
+ * - 已有結果 → 原樣回放（status / content-type / body），並帶 Idempotent-Replayed: true
+ * - 同 key 正在執行 → 等待同一次執行的結果（coalesce），逾時回 409
+ * - 完成後保存 status < 500 且 body 不超過 maxBodyBytes 的回應；5xx 不保存，重送會重新執行
+ * <p>
+ * Notes
+ * - 排在 Spring Security 之後：principal 已解析；受保護端點未通過驗證的請求不會到這裡
+ * - 保存位置見 IdempotencyStore（memory / jdbc）；coalesce 只在單節點內
+ * ===============================================================
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final IdempotencyProps props;
+    private final IdempotencyStore store;
+
+    /**
+     * 執行中的請求（key → 完成時的回應）
+     */
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyProps props, IdempotencyStore store) {
+        this.props = props;
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!props.isEnabled() || !METHODS.contains(request.getMethod())) return true;
+        String key = request.getHeader(props.getHeaderName());
+        return key == null || key.isBlank();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request, HttpServletResponse response, FilterChain chain
+    ) throws ServletException, IOException {
+
+        String principal = principal();
+        if (principal == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String headerValue = request.getHeader(props.getHeaderName()).strip();
+        if (headerValue.length() > props.getMaxKeyLength()) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    props.getHeaderName() + " 長度不可超過 " + props.getMaxKeyLength());
+            return;
+        }
+
+        String key = fingerprint(principal, request.getMethod(), request.getRequestURI(), headerValue);
+
+        HttpServletRequest target = request;
+        String requestHash;
+        if (isMultipart(request)) {
+            requestHash = null;
+        } else if (isForm(request)) {
+            requestHash = sha256(formParameters(request));
+        } else {
+            byte[] body = request.getInputStream().readAllBytes();
+            target = new CachedBodyRequest(request, body);
+            requestHash = sha256(body);
+        }
+
+        StoredResponse stored = store.find(key);
+        if (stored != null) {
+            replayIfSameRequest(response, stored, requestHash);
+            return;
+        }
+
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            if (!sameRequest(running.requestHash(), requestHash)) {
+                writeMismatch(response);
+                return;
+            }
+            awaitAndReplay(running.result(), response);
+            return;
+        }
+
+        try {
+            // 查詢與登記之間，前一次執行可能剛完成並移出 inFlight
+            stored = store.find(key);
+            if (stored != null) {
+                mine.result().complete(stored);
+                replayIfSameRequest(response, stored, requestHash);
+                return;
+            }
+
+            ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+            chain.doFilter(target, wrapper);
+
+            StoredResponse result = new StoredResponse(
+                    wrapper.getStatus(), wrapper.getContentType(), wrapper.getContentAsByteArray(), requestHash);
+            if (result.status() < 500 && result.body().length <= props.getMaxBodyBytes()) {
+                store.put(key, result);
+            }
+            mine.result().complete(result);
+            wrapper.copyBodyToResponse();
+
+        } catch (Exception ex) {
+            mine.result().completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // ===============================================================
+    // Internals
+    // ===============================================================
+
+    private void awaitAndReplay(CompletableFuture<StoredResponse> running, HttpServletResponse response)
+            throws IOException {
+        try {
+            StoredResponse result = running.get(props.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            replay(response, result);
+        } catch (TimeoutException ex) {
+            writeError(response, HttpStatus.CONFLICT, "相同 " + props.getHeaderName() + " 的請求處理中，請稍後再試");
+        } catch (ExecutionException ex) {
+            writeError(response, HttpStatus.CONFLICT, "相同 " + props.getHeaderName() + " 的前一次請求失敗，請重試");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            writeError(response, HttpStatus.CONFLICT, "相同 " + props.getHeaderName() + " 的請求處理中，請稍後再試");
+        }
+    }
+
+    private void replayIfSameRequest(HttpServletResponse response, StoredResponse stored, String requestHash)
+            throws IOException {
+        if (sameRequest(stored.requestHash(), requestHash)) {
+            replay(response, stored);
+        } else {
+            writeMismatch(response);
+        }
+    }
+
+    /**
+     * 任一方沒有 hash（multipart、升級前保存的結果）→ 不比對
+     */
+    private static boolean sameRequest(String storedHash, String requestHash) {
+        return storedHash == null || requestHash == null || storedHash.equals(requestHash);
+    }
+
+    private void writeMismatch(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                "相同 " + props.getHeaderName() + " 已用於不同的請求內容");
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * 與 ApiResult.failure 相同格式（xk-base 不依賴 Jackson，訊息皆為固定字串）
+     */
+    private static void writeError(HttpServletResponse response, HttpStatus status, String message)
+            throws IOException {
+        String json = "{\"code\":" + status.value()
+                + ",\"message\":\"" + message + "\""
+                + ",\"data\":null,\"errorDetails\":null"
+                + ",\"timestamp\":\"" + LocalDateTime.now() + "\"}";
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * @return 已驗證的使用者名稱；未登入（anonymous）時為 null
+     */
+    private static String principal() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken || auth.getName() == null) {
+            return null;
+        }
+        return auth.getName();
+    }
+
+    static String fingerprint(String principal, String method, String path, String key) {
+        String raw = principal + '\n' + method + '\n' + path + '\n' + key;
+        return sha256(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/");
+    }
+
+    private static boolean isForm(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase(Locale.ROOT)
+                .startsWith(MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    /**
+     * form 參數由容器解析（不可先讀 body）；排序後串接，順序不同視為同一內容
+     */
+    private static byte[] formParameters(HttpServletRequest request) {
+        StringBuilder sb = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) -> {
+            sb.append(name).append('=');
+            sb.append(String.join("\u0000", values)).append('\n');
+        });
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> result) {
+    }
+
+    /**
+     * 已讀出的 body 交給後續 filter / Controller 重新讀取
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.xk.base.web;
+
+import java.util.Locale;
+
+/**
+ * ===============================================================
+ * Enum: PageMode
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 列表分頁的 total 計算方式（由 request 參數 pageMode 指定）
+ * <p>
+ * Modes:
+ * - EXACT    : 傳統 Page（page 查詢 + COUNT(*)），預設值
+ * - SLICE    : 只查 size + 1 筆判斷是否有下一頁，不跑 count
+ *              totalElements = 已知下限（有下一頁時 +1），前端只應依 last / hasNext 翻頁
+ * - ESTIMATE : 同 SLICE 不跑同步 count；totalElements 取快取中的 count（背景非同步刷新）
+ * <p>
+ * Notes:
+ * - 三種模式回傳的 JSON 形狀一致（同一個 Page 結構），前端可逐頁面切換
+ * - 到最後一頁（無下一頁）時，SLICE / ESTIMATE 的 totalElements 即為精確值
+ * ===============================================================
+ */
+public enum PageMode {
+
+    EXACT,
+    SLICE,
+    ESTIMATE;
+
+    public static final String PARAM = "pageMode";
+
+    /**
+     * 寬鬆解析：null / 空白 / 不認得的值 → EXACT（舊前端不帶參數時行為不變）
+     */
+    public static PageMode from(String value) {
+        if (value == null || value.isBlank()) return EXACT;
+        try {
+            return PageMode.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return EXACT;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.xk.base.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * ===============================================================
+ * Response: PreSerializedBody
+ * ---------------------------------------------------------------
+ * Purpose:
+ * - 預先序列化好的 JSON 回應 + strong ETag（SHA-256 of content）
+ * - 讀多寫少的資料（字典、參數）於快照建立時序列化一次，之後每個 request 直接寫出 bytes
+ * <p>
+ * Design:
+ * - If-None-Match 命中 → 304（不序列化、不查 DB）
+ * - Cache-Control: no-cache → client 每次都帶 If-None-Match 回來驗證
+ * - body() 回傳內部陣列（不複製），呼叫端不可修改
+ * - content 可與 body 不同：例如 body 為 ApiResult 包裝（含 timestamp），content 只取 data，
+ *   搭配 reuse(previous) 讓「資料沒變」時沿用舊 body，ETag 與 bytes 一併保持不變
+ * <p>
+ * Usage:
+ *   PreSerializedBody body = PreSerializedBody.of(
+ *           objectMapper.writeValueAsBytes(ApiResult.success(data)),
+ *           objectMapper.writeValueAsBytes(data)).reuse(previous);
+ *   return body.toResponse(ifNoneMatch);
+ * ===============================================================
+ */
+public final class PreSerializedBody {
+
+    private final byte[] body;
+    private final String etag;
+
+    private PreSerializedBody(byte[] body, String etag) {
+        this.body = body;
+        this.etag = etag;
+    }
+
+    public static PreSerializedBody of(byte[] json) {
+        return of(json, json);
+    }
+
+    /**
+     * @param json    實際寫出的 bytes
+     * @param content 決定 ETag 的內容（不含每次都不同的欄位，例如 timestamp）
+     */
+    public static PreSerializedBody of(byte[] json, byte[] content) {
+        return new PreSerializedBody(json, "\"" + sha256(content) + "\"");
+    }
+
+    public byte[] body() {
+        return body;
+    }
+
+    /**
+     * Strong ETag（含雙引號）
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * 與上一版內容相同時沿用舊實例（ETag 與 bytes 都不變，client 快取持續有效）
+     */
+    public PreSerializedBody reuse(PreSerializedBody previous) {
+        return previous != null && previous.etag.equals(etag) ? previous : this;
+    }
+
+    /**
+     * If-None-Match 是否命中（支援多值與 *；依 RFC 9110 以 weak comparison 比對）
+     */
+    public boolean matches(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) return true;
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 200（帶 bytes）或 304（If-None-Match 命中）
+     */
+    public ResponseEntity<byte[]> toResponse(String ifNoneMatch) {
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PreSerializedBody[" + etag + ", " + body.length + " bytes]";
+    }
+}
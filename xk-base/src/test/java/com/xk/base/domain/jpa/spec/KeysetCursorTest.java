@@ -0,0 +1,61 @@
+package com.xk.base.domain.jpa.spec;
+
+import com.xk.base.exception.BusinessException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    private record Row(ZonedDateTime createdTime, UUID id) {
+    }
+
+    private static final KeysetSort<Row> SORT = KeysetSort.of(
+            "createdTime", Row::createdTime, "id", Row::id, Sort.Direction.DESC);
+
+    @Test
+    @DisplayName("encode / decode 來回一致，且為 URL safe 字串")
+    void roundTrip() {
+        Row row = new Row(ZonedDateTime.parse("2025-01-01T10:00:00.123456+08:00[Asia/Taipei]"), UUID.randomUUID());
+
+        KeysetCursor cursor = SORT.cursorOf(row, false);
+        String token = cursor.encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(KeysetCursor.decode(token)).isEqualTo(cursor);
+        assertThat(ZonedDateTime.parse(cursor.sortValue())).isEqualTo(row.createdTime());
+        assertThat(UUID.fromString(cursor.idValue())).isEqualTo(row.id());
+    }
+
+    @Test
+    @DisplayName("值含分隔字元仍可還原；backward 旗標保留")
+    void separatorsInValue() {
+        KeysetCursor cursor = new KeysetCursor(true, "a.b.c", "x.y");
+
+        assertThat(KeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    @DisplayName("空白游標 = 第一頁")
+    void blankIsFirstPage() {
+        assertThat(KeysetCursor.decode(null)).isNull();
+        assertThat(KeysetCursor.decode("  ")).isNull();
+    }
+
+    @Test
+    @DisplayName("格式錯誤 → PAGE_CURSOR_INVALID")
+    void invalid() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(BusinessException.class)
+                .extracting("code").isEqualTo(KeysetCursor.ERR_CURSOR_INVALID);
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%"))
+                .isInstanceOf(BusinessException.class);
+    }
+}
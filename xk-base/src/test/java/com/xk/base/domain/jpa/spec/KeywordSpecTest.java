@@ -0,0 +1,72 @@
+package com.xk.base.domain.jpa.spec;
+
+import com.xk.base.domain.model.KeywordSearchable;
+import com.xk.base.infra.search.KeywordSearchMode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordSpecTest {
+
+    @AfterEach
+    void reset() {
+        KeywordSpec.reset();
+    }
+
+    @Test
+    @DisplayName("search_text：trim + 小寫 + 空白收斂，null / 空白略過")
+    void normalize() {
+        assertThat(KeywordSearchable.normalize(" SYS_ADMIN ", null, "系統  管理員", "  "))
+                .isEqualTo("sys_admin 系統 管理員");
+        assertThat(KeywordSearchable.normalize()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("LIKE wildcard 一律 escape")
+    void escapeLike() {
+        assertThat(KeywordSpec.escapeLike("a%b_c\\d")).isEqualTo("a\\%b\\_c\\\\d");
+    }
+
+    @Test
+    @DisplayName("likePattern：LIKE 模式 %kw%，其他模式 kw%")
+    void likePattern() {
+        assertThat(KeywordSpec.likePattern(" ")).isNull();
+        assertThat(KeywordSpec.likePattern("ad_")).isEqualTo("%ad\\_%");
+
+        KeywordSpec.configure(KeywordSearchMode.PREFIX, Set.of(), 2, false);
+        assertThat(KeywordSpec.likePattern(" admin ")).isEqualTo("admin%");
+
+        // reset 後回到預設（LIKE），不殘留到下一個 context
+        KeywordSpec.reset();
+        assertThat(KeywordSpec.mode()).isEqualTo(KeywordSearchMode.LIKE);
+        assertThat(KeywordSpec.likePattern("admin")).isEqualTo("%admin%");
+    }
+
+    @Test
+    @DisplayName("FULLTEXT：查詢欄位涵蓋 search_text 全部來源才只用 MATCH，否則再逐欄過濾")
+    void coversSearchText() {
+        assertThat(KeywordSpec.coversSearchText("code", "name", "description")).isTrue();
+        assertThat(KeywordSpec.coversSearchText("description", "name", "code", "name")).isTrue();
+        assertThat(KeywordSpec.coversSearchText("code", "name")).isFalse();
+    }
+
+    @Test
+    @DisplayName("FULLTEXT 片語：去除 boolean 運算子")
+    void toPhrase() {
+        assertThat(KeywordSpec.toPhrase("+Order -x*")).isEqualTo("\"order x\"");
+        assertThat(KeywordSpec.toPhrase("\"()\"")).isNull();
+    }
+
+    @Test
+    @DisplayName("不接受 AUTO（需先解析成實際模式）")
+    void rejectsAuto() {
+        assertThatThrownBy(() -> KeywordSpec.configure(KeywordSearchMode.AUTO, Set.of(), 2, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
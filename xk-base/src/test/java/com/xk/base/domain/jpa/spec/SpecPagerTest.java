@@ -0,0 +1,63 @@
+package com.xk.base.domain.jpa.spec;
+
+import com.xk.base.web.PageMode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpecPagerTest {
+
+    @Test
+    @DisplayName("PageMode：未帶或無法辨識 → EXACT")
+    void pageModeFrom() {
+        assertThat(PageMode.from(null)).isEqualTo(PageMode.EXACT);
+        assertThat(PageMode.from(" ")).isEqualTo(PageMode.EXACT);
+        assertThat(PageMode.from("slice")).isEqualTo(PageMode.SLICE);
+        assertThat(PageMode.from("Estimate")).isEqualTo(PageMode.ESTIMATE);
+        assertThat(PageMode.from("bogus")).isEqualTo(PageMode.EXACT);
+    }
+
+    @Test
+    @DisplayName("有下一頁：total 至少為已知下限，保證前端看得到下一頁")
+    void toPage_hasNext() {
+        var slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(3, 2), true);
+
+        Page<String> noEstimate = SpecPager.toPage(slice, 0);
+        assertThat(noEstimate.getTotalElements()).isEqualTo(9);
+        assertThat(noEstimate.hasNext()).isTrue();
+
+        Page<String> estimated = SpecPager.toPage(slice, 1_000);
+        assertThat(estimated.getTotalElements()).isEqualTo(1_000);
+        assertThat(estimated.getTotalPages()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("最後一頁：total 為精確值（忽略過期的估計值）")
+    void toPage_lastPage() {
+        var slice = new SliceImpl<>(List.of("a"), PageRequest.of(3, 2), false);
+
+        Page<String> page = SpecPager.toPage(slice, 1_000);
+
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(page.isLast()).isTrue();
+    }
+
+    @Test
+    @DisplayName("estimate：無快取時回下限，不阻塞")
+    void estimator_returnsLowerBoundOnMiss() {
+        PageTotalEstimator estimator = new PageTotalEstimator();
+        try {
+            long v = estimator.estimate(PageTotalEstimator.key("t", "kw", null), () -> 42L, 9);
+            assertThat(v).isEqualTo(9);
+        } finally {
+            estimator.shutdown();
+        }
+    }
+}
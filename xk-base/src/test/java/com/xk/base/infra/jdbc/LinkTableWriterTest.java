@@ -0,0 +1,228 @@
+package com.xk.base.infra.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.env.MockEnvironment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkTableWriterTest {
+
+    private static final LinkTable LINK = LinkTable.of("upms_role_permission", "role_uuid", "permission_uuid")
+            .withConstant("enabled", true);
+
+    /**
+     * 包住 H2 連線，記錄實際送到 driver 的 statement 執行次數（executeBatch / executeUpdate / execute）
+     */
+    private static class CountingDataSource extends DelegatingDataSource {
+        final AtomicInteger executeBatch = new AtomicInteger();
+        final AtomicInteger executeUpdate = new AtomicInteger();
+        final List<String> sqls = new ArrayList<>();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        int roundTrips() {
+            return executeBatch.get() + executeUpdate.get();
+        }
+
+        void reset() {
+            executeBatch.set(0);
+            executeUpdate.set(0);
+            sqls.clear();
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection target = super.getConnection();
+            return proxy(Connection.class, target, (method, args) -> {
+                Object result = method.invoke(target, args);
+                if (result instanceof PreparedStatement ps && "prepareStatement".equals(method.getName())) {
+                    sqls.add((String) args[0]);
+                    return proxy(PreparedStatement.class, ps, (m, a) -> {
+                        switch (m.getName()) {
+                            case "executeBatch" -> executeBatch.incrementAndGet();
+                            case "executeUpdate", "execute", "executeLargeUpdate" -> executeUpdate.incrementAndGet();
+                            default -> {
+                            }
+                        }
+                        return m.invoke(ps, a);
+                    });
+                }
+                return result;
+            });
+        }
+
+        private interface Call {
+            Object invoke(Method method, Object[] args) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Call call) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                try {
+                    return call.invoke(method, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            }));
+        }
+    }
+
+    private CountingDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private LinkTableWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:link_" + UUID.randomUUID().toString().replace("-", "") + ";DB_CLOSE_DELAY=-1", "sa", "");
+        new JdbcTemplate(h2).execute("""
+                CREATE TABLE upms_role_permission (
+                    uuid            VARCHAR(36) PRIMARY KEY,
+                    role_uuid       VARCHAR(36) NOT NULL,
+                    permission_uuid VARCHAR(36) NOT NULL,
+                    created_by      VARCHAR(64),
+                    created_time    TIMESTAMP,
+                    updated_by      VARCHAR(64),
+                    updated_time    TIMESTAMP,
+                    enabled         BOOLEAN NOT NULL,
+                    CONSTRAINT uq_role_permission UNIQUE (role_uuid, permission_uuid)
+                )
+                """);
+
+        dataSource = new CountingDataSource(h2);
+        jdbc = new JdbcTemplate(dataSource);
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("auditorAware", (AuditorAware<String>) () -> Optional.of("tester"));
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ObjectProvider<AuditorAware<String>> auditor = (ObjectProvider) beans.getBeanProvider(AuditorAware.class);
+
+        MockEnvironment env = new MockEnvironment().withProperty(LinkTableWriter.PROP_BATCH_SIZE, "100");
+        writer = new LinkTableWriter(jdbc, auditor, env);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("SHUTDOWN");
+    }
+
+    private int rows(UUID owner) {
+        Integer n = jdbc.queryForObject("SELECT COUNT(*) FROM upms_role_permission WHERE role_uuid = ?",
+                Integer.class, owner.toString());
+        return n == null ? 0 : n;
+    }
+
+    private void seed(UUID owner, Collection<UUID> targets) {
+        writer.insert(LINK, owner, targets);
+        dataSource.reset();
+    }
+
+    @Test
+    @DisplayName("400 筆權限首次指派：4 個 batch round trip，而不是 400 次 insert")
+    void insertIsBatched() {
+        Set<UUID> target = uuids(400);
+
+        UUID owner = UUID.randomUUID();
+
+        LinkDiff<UUID> diff = writer.sync(LINK, owner, Set.of(), target);
+
+        assertThat(diff.toAdd()).hasSize(400);
+        assertThat(diff.toRemove()).isEmpty();
+        assertThat(dataSource.executeBatch).hasValue(4);
+        assertThat(dataSource.executeUpdate).hasValue(0);
+        assertThat(dataSource.sqls).singleElement().asString()
+                .startsWith("INSERT INTO upms_role_permission (uuid, role_uuid, permission_uuid, created_by")
+                .contains("enabled");
+        assertThat(rows(owner)).isEqualTo(400);
+        assertThat(jdbc.queryForList("SELECT DISTINCT created_by FROM upms_role_permission", String.class))
+                .containsExactly("tester");
+    }
+
+    @Test
+    @DisplayName("重存相同權限：差集為空，不碰 DB")
+    void unchangedIsNoop() {
+        Set<UUID> same = uuids(400);
+        UUID owner = UUID.randomUUID();
+        seed(owner, same);
+
+        LinkDiff<UUID> diff = writer.sync(LINK, owner, same, same);
+
+        assertThat(diff.isEmpty()).isTrue();
+        assertThat(dataSource.roundTrips()).isZero();
+        assertThat(dataSource.sqls).isEmpty();
+        assertThat(rows(owner)).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("換掉一個權限：一次 delete + 一次 insert")
+    void minimalDiff() {
+        List<UUID> current = new ArrayList<>(uuids(400));
+        List<UUID> target = new ArrayList<>(current);
+        UUID removed = target.remove(0);
+        UUID added = UUID.randomUUID();
+        target.add(added);
+        UUID owner = UUID.randomUUID();
+        seed(owner, current);
+
+        LinkDiff<UUID> diff = writer.sync(LINK, owner, current, target);
+
+        assertThat(diff.toAdd()).containsExactly(added);
+        assertThat(diff.toRemove()).containsExactly(removed);
+        assertThat(dataSource.executeUpdate).hasValue(1);
+        assertThat(dataSource.executeBatch).hasValue(1);
+        assertThat(rows(owner)).isEqualTo(400);
+        assertThat(jdbc.queryForList("SELECT permission_uuid FROM upms_role_permission WHERE role_uuid = ?",
+                String.class, owner.toString()))
+                .contains(added.toString())
+                .doesNotContain(removed.toString());
+    }
+
+    @Test
+    @DisplayName("刪除依 batch size 分段 IN")
+    void deleteIsChunked() {
+        Set<UUID> targets = uuids(250);
+        UUID owner = UUID.randomUUID();
+        seed(owner, targets);
+
+        int removed = writer.delete(LINK, owner, targets);
+
+        assertThat(removed).isEqualTo(250);
+        assertThat(dataSource.executeUpdate).hasValue(3);
+        assertThat(dataSource.executeBatch).hasValue(0);
+        assertThat(rows(owner)).isZero();
+        assertThat(dataSource.sqls.get(0)).startsWith("DELETE FROM upms_role_permission WHERE role_uuid = ? AND permission_uuid IN (");
+    }
+
+    private static Set<UUID> uuids(int n) {
+        return IntStream.range(0, n).mapToObj(i -> UUID.randomUUID())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,146 @@
+package com.xk.base.infra.sequence.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SequenceSegmentBufferTest {
+
+    private static final String KEY = "test.seq";
+
+    /**
+     * 模擬 DB 取號：hi 單調遞增；記錄同時進行中的呼叫數（最大值）
+     */
+    private static class CountingAllocator implements LongUnaryOperator {
+        final AtomicLong hi = new AtomicLong();
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        final long delayMillis;
+
+        CountingAllocator(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public long applyAsLong(long segmentSize) {
+            calls.incrementAndGet();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (delayMillis > 0) Thread.sleep(delayMillis);
+                return hi.addAndGet(segmentSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService prefetchExecutor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        prefetchExecutor.shutdownNow();
+    }
+
+    private double refills(String mode) {
+        return registry.get("xk.sequence.segment.refills").tag("key", KEY).tag("mode", mode).counter().count();
+    }
+
+    @Test
+    @DisplayName("單執行緒：號碼連續；號段用盡前已預取，第二段起走 prefetch")
+    void sequentialUsesPrefetch() throws Exception {
+        CountingAllocator allocator = new CountingAllocator(0);
+        SequenceSegmentBuffer buffer = new SequenceSegmentBuffer(KEY, 10, 0.5, allocator, prefetchExecutor, registry);
+
+        for (long expected = 1; expected <= 35; expected++) {
+            assertThat(buffer.next()).isEqualTo(expected);
+            // 讓預取在下一次切換前完成（prefetch 計數才穩定）
+            if (expected % 10 == 5) Thread.sleep(20);
+        }
+
+        assertThat(refills("sync")).isEqualTo(1.0);       // 第一段
+        assertThat(refills("prefetch")).isGreaterThanOrEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("預取失敗：改同步取號，號碼不中斷")
+    void prefetchFailureFallsBackToSync() {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicLong hi = new AtomicLong();
+        LongUnaryOperator flaky = size -> {
+            if (calls.incrementAndGet() == 2) throw new IllegalStateException("db down");
+            return hi.addAndGet(size);
+        };
+        SequenceSegmentBuffer buffer = new SequenceSegmentBuffer(KEY, 10, 0.5, flaky, Runnable::run, registry);
+
+        for (long expected = 1; expected <= 20; expected++) {
+            assertThat(buffer.next()).isEqualTo(expected);
+        }
+        assertThat(refills("sync")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("多執行緒跨號段：號碼不重複、不跳號；同時最多一個預取")
+    void concurrentAcrossSegmentBoundaries() throws Exception {
+        int threads = 8;
+        int perThread = 5_000;
+        int segmentSize = 100;
+
+        CountingAllocator allocator = new CountingAllocator(1);
+        SequenceSegmentBuffer buffer = new SequenceSegmentBuffer(KEY, segmentSize, 0.2, allocator, prefetchExecutor, registry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(callers.submit(() -> {
+                    long[] ids = new long[perThread];
+                    start.await();
+                    for (int i = 0; i < perThread; i++) ids[i] = buffer.next();
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            int total = threads * perThread;
+            boolean[] seen = new boolean[total + 1];
+            for (Future<long[]> f : futures) {
+                for (long id : f.get(30, TimeUnit.SECONDS)) {
+                    assertThat(id).isBetween(1L, (long) total);
+                    assertThat(seen[(int) id]).as("duplicate id %d", id).isFalse();
+                    seen[(int) id] = true;
+                }
+            }
+            // total 個號碼全部落在 [1, total] 且不重複 → 沒有跳號
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(allocator.maxInFlight.get()).isEqualTo(1);
+        // 已發出 total / segmentSize 段，最多再多一段預取中的號段
+        assertThat(allocator.calls.get()).isBetween(threads * perThread / segmentSize,
+                threads * perThread / segmentSize + 1);
+        assertThat(refills("prefetch")).isPositive();
+    }
+}
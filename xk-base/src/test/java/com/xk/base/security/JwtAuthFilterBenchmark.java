@@ -0,0 +1,149 @@
+package com.xk.base.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ===============================================================
+ * Benchmark : JwtAuthFilterBenchmark
+ * Purpose   : 比較 JwtAuthFilter 在「每次重建 key/parser」與「快取 key/parser + 驗證快取」下的吞吐量
+ * <p>
+ * Scenarios
+ * - legacy       : 舊版 JwtService.parse（每次 regex + Base64 + new parser + 驗簽）
+ * - cachedParser : 快取 key/parser，但關閉驗證快取（每次仍驗簽）
+ * - cachedToken  : 快取 key/parser + 驗證快取（同一顆 Token 重複請求）
+ * <p>
+ * Run
+ * - IDE 直接執行 main()
+ * ===============================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "qJ9H5K7K0lY4kT0xJ1w+0yPq2Qv6x5rG3mJ7oX2tB8c=";
+    private static final FilterChain NOOP_CHAIN = (req, res) -> { };
+
+    private JwtAuthFilter legacyFilter;
+    private JwtAuthFilter cachedParserFilter;
+    private JwtAuthFilter cachedTokenFilter;
+    private String bearer;
+
+    @Setup
+    public void setup() {
+        SecurityProps noCacheProps = props(0);
+        SecurityProps cacheProps = props(10_000);
+
+        legacyFilter = filter(new LegacyJwtService(noCacheProps), noCacheProps);
+        cachedParserFilter = filter(new JwtService(noCacheProps), noCacheProps);
+        cachedTokenFilter = filter(new JwtService(cacheProps), cacheProps);
+
+        bearer = "Bearer " + new JwtService(cacheProps)
+                .generate("admin", new String[]{"ADMIN", "DISPATCH"}, null, Duration.ofHours(2));
+    }
+
+    // ===============================================================
+    // Benchmarks
+    // ===============================================================
+
+    @Benchmark
+    public Object legacy() throws Exception {
+        return run(legacyFilter);
+    }
+
+    @Benchmark
+    public Object cachedParser() throws Exception {
+        return run(cachedParserFilter);
+    }
+
+    @Benchmark
+    public Object cachedToken() throws Exception {
+        return run(cachedTokenFilter);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(JwtAuthFilterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private Object run(JwtAuthFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/fms/vehicles");
+        request.addHeader("Authorization", bearer);
+        filter.doFilter(request, new MockHttpServletResponse(), NOOP_CHAIN);
+
+        Object auth = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return auth;
+    }
+
+    private static JwtAuthFilter filter(JwtService jwtService, SecurityProps props) {
+        var noCatalog = new StaticListableBeanFactory().getBeanProvider(PermissionCatalog.class);
+        return new JwtAuthFilter(jwtService, new PermitAllMatcher(props), new JwtPermissionClaims(props, noCatalog));
+    }
+
+    private static SecurityProps props(int verifiedCacheSize) {
+        SecurityProps props = new SecurityProps();
+        props.getJwt().setSecret(SECRET);
+        props.getJwt().setVerifiedCacheSize(verifiedCacheSize);
+        return props;
+    }
+
+    /**
+     * 舊版 JwtService.parse 的實作（逐字保留，作為對照組）
+     */
+    static final class LegacyJwtService extends JwtService {
+
+        private final SecurityProps props;
+
+        LegacyJwtService(SecurityProps props) {
+            super(props);
+            this.props = props;
+        }
+
+        private SecretKey key() {
+            String secret = props.getJwt().getSecret();
+            byte[] bytes = secret.matches("^[A-Za-z0-9+/=]+$") && secret.length() % 4 == 0
+                    ? Decoders.BASE64.decode(secret)
+                    : secret.getBytes(StandardCharsets.UTF_8);
+            return Keys.hmacShaKeyFor(bytes);
+        }
+
+        @Override
+        public Jws<Claims> parse(String token) {
+            return Jwts.parser()
+                    .clockSkewSeconds(60)
+                    .verifyWith(key())
+                    .build()
+                    .parseSignedClaims(token);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.xk.base.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtPermissionClaimsTest {
+
+    private static final String SECRET = "qJ9H5K7K0lY4kT0xJ1w+0yPq2Qv6x5rG3mJ7oX2tB8c=";
+
+    private final SecurityProps props = props();
+    private final AtomicReference<PermissionTable> current = new AtomicReference<>(PermissionTable.build(
+            List.of("TOM_ORDER_VIEW", "TOM_ORDER_CREATE", "FMS_TRUCK_VIEW"),
+            Map.of("DISPATCH", List.of("TOM_ORDER_VIEW", "TOM_ORDER_CREATE"))));
+
+    private final JwtService jwtService = new JwtService(props);
+    private final JwtPermissionClaims permissionClaims = new JwtPermissionClaims(props,
+            new StaticListableBeanFactory(Map.of("catalog", (PermissionCatalog) current::get))
+                    .getBeanProvider(PermissionCatalog.class));
+    private final JwtAuthFilter filter = new JwtAuthFilter(jwtService, new PermitAllMatcher(props), permissionClaims);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("PermissionBits：encode / decode 來回一致")
+    void encodeDecode() {
+        PermissionBits bits = PermissionBits.of(0, 7, 8, 63, 64, 200);
+        assertThat(PermissionBits.decode(bits.encode())).isEqualTo(bits);
+        assertThat(PermissionBits.decode(PermissionBits.EMPTY.encode())).isEqualTo(PermissionBits.EMPTY);
+        assertThat(PermissionBits.of(0, 1, 2).encode()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("版本一致：直接由 perms claim 還原權限，不需提示 refresh")
+    void resolvesFromClaim() throws Exception {
+        String token = token("DISPATCH");
+
+        MockHttpServletResponse response = filter(token);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(auth).isInstanceOf(PermissionAuthenticationToken.class);
+        assertThat(authorities(auth)).containsExactlyInAnyOrder("ROLE_DISPATCH", "TOM_ORDER_VIEW", "TOM_ORDER_CREATE");
+        assertThat(((PermissionAuthenticationToken) auth).getPermissionVersion()).isEqualTo(current.get().version());
+        assertThat(response.getHeader(JwtPermissionClaims.REFRESH_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("權限表已變動：以 roles 對新表重算，並提示 refresh")
+    void staleVersionFallsBackToRoles() throws Exception {
+        String token = token("DISPATCH");
+
+        // DISPATCH 改為只有 TOM_ORDER_VIEW，且多一個權限使 id 位移
+        current.set(PermissionTable.build(
+                List.of("ADM_PARAM_VIEW", "TOM_ORDER_VIEW", "TOM_ORDER_CREATE", "FMS_TRUCK_VIEW"),
+                Map.of("DISPATCH", List.of("TOM_ORDER_VIEW"))));
+
+        MockHttpServletResponse response = filter(token);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authorities(auth)).containsExactlyInAnyOrder("ROLE_DISPATCH", "TOM_ORDER_VIEW");
+        assertThat(response.getHeader(JwtPermissionClaims.REFRESH_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    @DisplayName("持久化 id：新增權限（尚未授予角色）不位移既有 bit，perms claim 仍有效")
+    void addedPermissionKeepsClaim() throws Exception {
+        current.set(PermissionTable.build(
+                Map.of("TOM_ORDER_VIEW", 0, "TOM_ORDER_CREATE", 1, "FMS_TRUCK_VIEW", 2),
+                Map.of("DISPATCH", List.of("TOM_ORDER_VIEW", "TOM_ORDER_CREATE"))));
+        String token = token("DISPATCH");
+
+        // 排序在最前面的新權限拿到 bit 3（以排序指派時會讓所有 id 位移）
+        current.set(PermissionTable.build(
+                Map.of("ADM_PARAM_VIEW", 3, "TOM_ORDER_VIEW", 0, "TOM_ORDER_CREATE", 1, "FMS_TRUCK_VIEW", 2),
+                Map.of("DISPATCH", List.of("TOM_ORDER_VIEW", "TOM_ORDER_CREATE"))));
+
+        MockHttpServletResponse response = filter(token);
+
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(((PermissionAuthenticationToken) auth).getPermissionVersion()).isEqualTo(current.get().version());
+        assertThat(authorities(auth)).containsExactlyInAnyOrder("ROLE_DISPATCH", "TOM_ORDER_VIEW", "TOM_ORDER_CREATE");
+        assertThat(response.getHeader(JwtPermissionClaims.REFRESH_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("authorities：同一組角色共用同一份清單；換表後重建")
+    void authoritiesCachedPerTableVersion() {
+        var claims = jwtService.parse(token("DISPATCH")).getPayload();
+
+        List<GrantedAuthority> first = permissionClaims.resolve(claims, List.of("DISPATCH")).authorities();
+        List<GrantedAuthority> second = permissionClaims.resolve(claims, List.of("DISPATCH")).authorities();
+        assertThat(second).isSameAs(first);
+
+        current.set(PermissionTable.build(
+                List.of("TOM_ORDER_VIEW", "TOM_ORDER_CREATE", "FMS_TRUCK_VIEW"),
+                Map.of("DISPATCH", List.of("TOM_ORDER_VIEW"))));
+
+        List<GrantedAuthority> rebuilt = permissionClaims.resolve(claims, List.of("DISPATCH")).authorities();
+        assertThat(rebuilt).isNotSameAs(first);
+        assertThat(rebuilt).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_DISPATCH", "TOM_ORDER_VIEW");
+    }
+
+    @Test
+    @DisplayName("停用 perms claim：不簽發，filter 以 roles 計算且不提示 refresh")
+    void disabled() throws Exception {
+        props.getJwt().setPermsClaim(false);
+        assertThat(permissionClaims.issue(List.of("DISPATCH"))).isEmpty();
+
+        MockHttpServletResponse response = filter(token("DISPATCH"));
+
+        assertThat(authorities(SecurityContextHolder.getContext().getAuthentication()))
+                .containsExactlyInAnyOrder("ROLE_DISPATCH", "TOM_ORDER_VIEW", "TOM_ORDER_CREATE");
+        assertThat(response.getHeader(JwtPermissionClaims.REFRESH_HEADER)).isNull();
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private String token(String... roles) {
+        return jwtService.generate("u", roles, permissionClaims.issue(List.of(roles)), Duration.ofMinutes(5));
+    }
+
+    private MockHttpServletResponse filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tom/orders");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> { });
+        return response;
+    }
+
+    private static List<String> authorities(Authentication auth) {
+        return auth.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    private static SecurityProps props() {
+        SecurityProps props = new SecurityProps();
+        props.getJwt().setSecret(SECRET);
+        return props;
+    }
+}
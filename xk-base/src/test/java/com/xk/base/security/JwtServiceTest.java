@@ -0,0 +1,119 @@
+package com.xk.base.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * JwtService 驗證快取：命中回傳同一份結果；exp 到期即失效；竄改 / 換金鑰後不會因先前命中而放行
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "qJ9H5K7K0lY4kT0xJ1w+0yPq2Qv6x5rG3mJ7oX2tB8c=";
+    private static final String OTHER_SECRET = "c8Bt2Xo7Jm3Gr5x6vQ2qPy0+w1Jx0Tk4Yl0K7K5H9Jq=";
+
+    private final SecurityProps props = props();
+    private final JwtService jwtService = new JwtService(props);
+
+    @Test
+    @DisplayName("命中：同一顆 Token 第二次解析直接回傳快取結果")
+    void hit() {
+        String token = token(Duration.ofMinutes(5));
+
+        Jws<Claims> first = jwtService.parse(token);
+        Jws<Claims> second = jwtService.parse(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getPayload().getSubject()).isEqualTo("u");
+    }
+
+    @Test
+    @DisplayName("停用快取（verified-cache-size = 0）：每次都重新驗簽")
+    void disabled() {
+        props.getJwt().setVerifiedCacheSize(0);
+        String token = token(Duration.ofMinutes(5));
+
+        assertThat(jwtService.parse(token)).isNotSameAs(jwtService.parse(token));
+    }
+
+    @Test
+    @DisplayName("到期：exp 過後快取項目失效，重新驗簽（仍在 60 秒時鐘容忍內）")
+    void expiryEvicts() throws InterruptedException {
+        String token = token(Duration.ofSeconds(1));
+
+        Jws<Claims> cached = jwtService.parse(token);
+        assertThat(jwtService.parse(token)).isSameAs(cached);
+
+        Thread.sleep(1_100);
+
+        assertThat(jwtService.parse(token)).isNotSameAs(cached);
+    }
+
+    @Test
+    @DisplayName("已過 exp（時鐘容忍內）的 Token 不進快取")
+    void expiredNotCached() {
+        String token = token(Duration.ofSeconds(-10));
+
+        assertThat(jwtService.parse(token)).isNotSameAs(jwtService.parse(token));
+    }
+
+    @Test
+    @DisplayName("竄改：原 Token 已命中快取，改動 payload 或簽章後仍被拒絕")
+    void tamperedRejectedAfterHit() {
+        String token = token(Duration.ofMinutes(5));
+        jwtService.parse(token);
+        jwtService.parse(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("\"sub\":\"u\"", "\"sub\":\"admin\"").getBytes());
+        String tamperedPayload = parts[0] + "." + forgedPayload + "." + parts[2];
+        String tamperedSignature = parts[0] + "." + parts[1] + "." + flipFirst(parts[2]);
+
+        assertThatThrownBy(() -> jwtService.parse(tamperedPayload)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtService.parse(tamperedSignature)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    @DisplayName("換金鑰：舊金鑰簽發、先前已命中的 Token 立即失效")
+    void secretRotationDropsCache() {
+        String token = token(Duration.ofMinutes(5));
+        jwtService.parse(token);
+
+        props.getJwt().setSecret(OTHER_SECRET);
+
+        assertThatThrownBy(() -> jwtService.parse(token)).isInstanceOf(JwtException.class);
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private String token(Duration ttl) {
+        return jwtService.generate("u", new String[]{"DISPATCH"}, Map.of(), ttl);
+    }
+
+    /**
+     * 改動簽章第一個字元（最後一個字元的低位元可能只是 Base64 padding bit，改了不一定影響解碼結果）
+     */
+    private static String flipFirst(String signature) {
+        char c = signature.charAt(0);
+        return (c == 'A' ? 'B' : 'A') + signature.substring(1);
+    }
+
+    private static SecurityProps props() {
+        SecurityProps props = new SecurityProps();
+        props.getJwt().setSecret(SECRET);
+        return props;
+    }
+}
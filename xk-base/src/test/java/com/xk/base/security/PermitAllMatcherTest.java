@@ -0,0 +1,104 @@
+package com.xk.base.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PermitAllMatcherTest {
+
+    /**
+     * 對齊 application.yml 的 security.permit-all
+     */
+    private final PermitAllMatcher matcher = PermitAllMatcher.of(List.of(
+            "/auth/login",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/v3/api-docs/**",
+            "/actuator/health"
+    ));
+
+    @Test
+    @DisplayName("字面路徑：只匹配完整路徑")
+    void literalPaths() {
+        assertThat(matcher.matches("/auth/login")).isTrue();
+        assertThat(matcher.matches("/swagger-ui.html")).isTrue();
+        assertThat(matcher.matches("/actuator/health")).isTrue();
+
+        assertThat(matcher.matches("/auth/login/")).isFalse();
+        assertThat(matcher.matches("/auth/loginx")).isFalse();
+        assertThat(matcher.matches("/auth/me")).isFalse();
+        assertThat(matcher.matches("/actuator/health/db")).isFalse();
+        assertThat(matcher.matches("/actuator/metrics")).isFalse();
+    }
+
+    @Test
+    @DisplayName("/** 萬用字元：匹配前綴本身與其下所有路徑")
+    void doubleStarPaths() {
+        assertThat(matcher.matches("/swagger-ui")).isTrue();
+        assertThat(matcher.matches("/swagger-ui/")).isTrue();
+        assertThat(matcher.matches("/swagger-ui/index.html")).isTrue();
+        assertThat(matcher.matches("/swagger-ui/assets/swagger-ui.css")).isTrue();
+        assertThat(matcher.matches("/v3/api-docs")).isTrue();
+        assertThat(matcher.matches("/v3/api-docs/swagger-config")).isTrue();
+
+        // 舊版 startsWith 的誤判：不應因字串前綴相同而放行
+        assertThat(matcher.matches("/swagger-uix/index.html")).isFalse();
+        assertThat(matcher.matches("/v3/api-docsx")).isFalse();
+        assertThat(matcher.matches("/api/swagger-ui/index.html")).isFalse();
+    }
+
+    @Test
+    @DisplayName("受保護的 API 不放行")
+    void protectedPaths() {
+        assertThat(matcher.matches("/")).isFalse();
+        assertThat(matcher.matches("/api/fms/vehicles")).isFalse();
+        assertThat(matcher.matches("/api/upms/users/1")).isFalse();
+        assertThat(matcher.matches("")).isFalse();
+        assertThat(matcher.matches((String) null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("段內萬用字元：* / ? / {var}")
+    void segmentWildcards() {
+        PermitAllMatcher m = PermitAllMatcher.of(List.of("/files/*.png", "/v?/docs", "/public/{id}/avatar", "/**/favicon.ico"));
+
+        assertThat(m.matches("/files/logo.png")).isTrue();
+        assertThat(m.matches("/files/logo.jpg")).isFalse();
+        assertThat(m.matches("/files/a/logo.png")).isFalse();
+
+        assertThat(m.matches("/v1/docs")).isTrue();
+        assertThat(m.matches("/v10/docs")).isFalse();
+
+        assertThat(m.matches("/public/42/avatar")).isTrue();
+        assertThat(m.matches("/public//avatar")).isFalse();
+
+        assertThat(m.matches("/favicon.ico")).isTrue();
+        assertThat(m.matches("/static/img/favicon.ico")).isTrue();
+    }
+
+    @Test
+    @DisplayName("HttpServletRequest：去除 contextPath 後比對")
+    void requestWithContextPath() {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/truck/swagger-ui/index.html");
+        req.setContextPath("/truck");
+        assertThat(matcher.matches(req)).isTrue();
+
+        MockHttpServletRequest api = new MockHttpServletRequest("GET", "/truck/api/fms/vehicles");
+        api.setContextPath("/truck");
+        assertThat(matcher.matches(api)).isFalse();
+    }
+
+    @Test
+    @DisplayName("由 SecurityProps 預設值建立")
+    void fromDefaultProps() {
+        PermitAllMatcher m = new PermitAllMatcher(new SecurityProps());
+
+        assertThat(m.getPatterns()).containsExactly("/auth/login", "/swagger-ui/**", "/v3/api-docs/**", "/actuator/health");
+        assertThat(m.matches("/v3/api-docs/public")).isTrue();
+        assertThat(m.matches("/api/tom/orders")).isFalse();
+    }
+}
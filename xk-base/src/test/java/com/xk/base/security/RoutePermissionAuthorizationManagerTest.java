@@ -0,0 +1,156 @@
+package com.xk.base.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoutePermissionAuthorizationManagerTest {
+
+    private final PermissionTable table = PermissionTable.build(
+            List.of("TOM_ORDER_VIEW", "TOM_ORDER_CREATE", "FMS_TRUCK_VIEW"),
+            Map.of(
+                    "DISPATCH", List.of("TOM_ORDER_VIEW", "TOM_ORDER_CREATE"),
+                    "VIEWER", List.of("TOM_ORDER_VIEW", "FMS_TRUCK_VIEW", "NOT_EXISTS")
+            ));
+
+    private final RoutePermissionAuthorizationManager manager = new RoutePermissionAuthorizationManager(
+            props(
+                    rule("/api/tom/orders/**", "GET", "TOM_ORDER_VIEW"),
+                    rule("/api/tom/orders/**", "POST", "TOM_ORDER_CREATE"),
+                    rule("/api/fms/vehicles/**", null, "FMS_TRUCK_VIEW"),
+                    rule("/api/adm/**", null, "ADM_UNKNOWN")
+            ),
+            catalog(() -> table));
+
+    @Test
+    @DisplayName("PermissionTable：權限碼排序後指派 dense id，角色 bitset 為其權限的 OR")
+    void denseIdsAndRoleBits() {
+        assertThat(table.idOf("FMS_TRUCK_VIEW")).isZero();
+        assertThat(table.idOf("TOM_ORDER_CREATE")).isEqualTo(1);
+        assertThat(table.idOf("TOM_ORDER_VIEW")).isEqualTo(2);
+        assertThat(table.idOf("NOT_EXISTS")).isEqualTo(-1);
+
+        PermissionBits bits = table.bitsOfRoles(List.of("DISPATCH", "VIEWER"));
+        assertThat(bits.cardinality()).isEqualTo(3);
+        assertThat(table.codesOf(table.bitsOfRole("VIEWER"))).containsExactly("FMS_TRUCK_VIEW", "TOM_ORDER_VIEW");
+
+        PermissionTable same = PermissionTable.build(
+                List.of("FMS_TRUCK_VIEW", "TOM_ORDER_VIEW", "TOM_ORDER_CREATE"),
+                Map.of("VIEWER", List.of("FMS_TRUCK_VIEW", "TOM_ORDER_VIEW"),
+                        "DISPATCH", List.of("TOM_ORDER_CREATE", "TOM_ORDER_VIEW")));
+        assertThat(same.version()).isEqualTo(table.version());
+    }
+
+    @Test
+    @DisplayName("PermissionTable：持久化 id 可不連續；重複 id 拒絕建表")
+    void persistedIds() {
+        PermissionTable sparse = PermissionTable.build(
+                Map.of("TOM_ORDER_VIEW", 5, "FMS_TRUCK_VIEW", 2),
+                Map.of("VIEWER", List.of("FMS_TRUCK_VIEW", "TOM_ORDER_VIEW", "GONE")));
+
+        assertThat(sparse.size()).isEqualTo(2);
+        assertThat(sparse.idOf("TOM_ORDER_VIEW")).isEqualTo(5);
+        assertThat(sparse.codeOf(3)).isNull();
+        assertThat(sparse.codesOf(PermissionBits.of(2, 3, 5))).containsExactly("FMS_TRUCK_VIEW", "TOM_ORDER_VIEW");
+        assertThat(sparse.codesOf(sparse.bitsOfRole("VIEWER"))).containsExactly("FMS_TRUCK_VIEW", "TOM_ORDER_VIEW");
+
+        assertThatThrownBy(() -> PermissionTable.build(Map.of("A", 1, "B", 1), Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("PermissionBits：跨 word 的 bit test 與 OR")
+    void bitsAcrossWords() {
+        PermissionBits a = PermissionBits.of(1, 64);
+        PermissionBits b = PermissionBits.of(130);
+
+        PermissionBits ab = a.or(b);
+        assertThat(ab.has(1)).isTrue();
+        assertThat(ab.has(64)).isTrue();
+        assertThat(ab.has(130)).isTrue();
+        assertThat(ab.has(63)).isFalse();
+        assertThat(ab.has(500)).isFalse();
+        assertThat(PermissionBits.fromWords(ab.toWords())).isEqualTo(ab);
+    }
+
+    @Test
+    @DisplayName("依 method + 路徑找到 rule，再以角色 bitset 判斷")
+    void routeRules() {
+        Authentication dispatch = user("DISPATCH");
+        Authentication viewer = user("VIEWER");
+
+        assertThat(granted(dispatch, "POST", "/api/tom/orders")).isTrue();
+        assertThat(granted(viewer, "POST", "/api/tom/orders")).isFalse();
+        assertThat(granted(viewer, "GET", "/api/tom/orders/123")).isTrue();
+
+        assertThat(granted(dispatch, "GET", "/api/fms/vehicles")).isFalse();
+        assertThat(granted(viewer, "DELETE", "/api/fms/vehicles/1")).isTrue();
+    }
+
+    @Test
+    @DisplayName("未列出的路由只需登入；匿名一律拒絕；未知權限碼拒絕")
+    void defaultsAndFailClosed() {
+        assertThat(granted(user("DISPATCH"), "GET", "/api/upms/users")).isTrue();
+        assertThat(granted(user(), "GET", "/api/upms/users")).isTrue();
+
+        Authentication anonymous = new AnonymousAuthenticationToken(
+                "key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+        assertThat(granted(anonymous, "GET", "/api/upms/users")).isFalse();
+
+        assertThat(granted(user("DISPATCH", "VIEWER"), "GET", "/api/adm/params")).isFalse();
+
+        RoutePermissionAuthorizationManager noCatalog = new RoutePermissionAuthorizationManager(
+                props(rule("/api/tom/**", null, "TOM_ORDER_VIEW")), new StaticListableBeanFactory().getBeanProvider(PermissionCatalog.class));
+        assertThat(noCatalog.check(() -> user("VIEWER"), context("GET", "/api/tom/orders")).isGranted()).isFalse();
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private boolean granted(Authentication auth, String method, String path) {
+        return manager.check(() -> auth, context(method, path)).isGranted();
+    }
+
+    private static RequestAuthorizationContext context(String method, String path) {
+        return new RequestAuthorizationContext(new MockHttpServletRequest(method, path));
+    }
+
+    private static Authentication user(String... roles) {
+        String[] authorities = new String[roles.length];
+        for (int i = 0; i < roles.length; i++) authorities[i] = "ROLE_" + roles[i];
+        return UsernamePasswordAuthenticationToken.authenticated("u", null, AuthorityUtils.createAuthorityList(authorities));
+    }
+
+    private static SecurityProps.RoutePermission rule(String pattern, String method, String permission) {
+        SecurityProps.RoutePermission r = new SecurityProps.RoutePermission();
+        r.setPattern(pattern);
+        if (method != null) r.setMethods(List.of(method));
+        r.setPermission(permission);
+        return r;
+    }
+
+    private static SecurityProps props(SecurityProps.RoutePermission... rules) {
+        SecurityProps props = new SecurityProps();
+        props.setRoutePermissions(List.of(rules));
+        return props;
+    }
+
+    private static ObjectProvider<PermissionCatalog> catalog(PermissionCatalog catalog) {
+        StaticListableBeanFactory bf = new StaticListableBeanFactory(Map.of("permissionCatalog", catalog));
+        return bf.getBeanProvider(PermissionCatalog.class);
+    }
+}
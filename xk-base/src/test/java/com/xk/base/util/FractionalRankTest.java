@@ -0,0 +1,73 @@
+package com.xk.base.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FractionalRankTest {
+
+    @Test
+    @DisplayName("between：結果嚴格介於兩者之間，且不以 0 結尾")
+    void between() {
+        assertThat(FractionalRank.between("a", "c")).isEqualTo("b");
+        assertThat(FractionalRank.between("a", "b")).isGreaterThan("a").isLessThan("b");
+        assertThat(FractionalRank.between("a", "a1")).isGreaterThan("a").isLessThan("a1").doesNotEndWith("0");
+        assertThat(FractionalRank.between(null, "1")).isLessThan("1").doesNotEndWith("0");
+        assertThat(FractionalRank.between("z", null)).isGreaterThan("z");
+    }
+
+    @Test
+    @DisplayName("between：順序錯誤或格式不合法 → IllegalArgumentException")
+    void between_invalid() {
+        assertThatThrownBy(() -> FractionalRank.between("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FractionalRank.between("a", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FractionalRank.between("A", null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> FractionalRank.between("a0", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("隨機插入：順序永遠正確，鍵長維持在小範圍")
+    void randomInserts() {
+        Random random = new Random(42);
+        List<String> ranks = new ArrayList<>(FractionalRank.spread(10));
+
+        for (int n = 0; n < 5_000; n++) {
+            int i = random.nextInt(ranks.size() + 1);
+            String lo = i == 0 ? null : ranks.get(i - 1);
+            String hi = i == ranks.size() ? null : ranks.get(i);
+            ranks.add(i, FractionalRank.between(lo, hi));
+        }
+
+        assertThat(ranks).isSorted().doesNotHaveDuplicates();
+        assertThat(ranks).allSatisfy(r -> assertThat(r.length()).isLessThanOrEqualTo(10));
+    }
+
+    @Test
+    @DisplayName("after：連續 append 遞增且鍵長成長緩慢")
+    void after() {
+        String rank = null;
+        for (int i = 0; i < 100; i++) {
+            String next = FractionalRank.after(rank);
+            if (rank != null) assertThat(next).isGreaterThan(rank);
+            rank = next;
+        }
+        assertThat(rank.length()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("spread：遞增、等距、頭尾保留空間")
+    void spread() {
+        List<String> ranks = FractionalRank.spread(1_000);
+
+        assertThat(ranks).hasSize(1_000).isSorted().doesNotHaveDuplicates();
+        assertThat(ranks).allSatisfy(r -> assertThat(r).doesNotEndWith("0"));
+        assertThat(FractionalRank.before(ranks.get(0))).isLessThan(ranks.get(0));
+        assertThat(FractionalRank.spread(0)).isEmpty();
+    }
+}
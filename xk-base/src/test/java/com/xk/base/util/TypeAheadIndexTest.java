@@ -0,0 +1,144 @@
+package com.xk.base.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeAheadIndexTest {
+
+    record Doc(String key, String no, String name, String address) {
+    }
+
+    private static TypeAheadIndex<Doc> index(Doc... docs) {
+        TypeAheadIndex<Doc> index = new TypeAheadIndex<>(Doc::key, d -> Arrays.asList(d.no(), d.name(), d.address()));
+        for (Doc d : docs) index.add(d);
+        return index;
+    }
+
+    private static List<String> keys(List<Doc> docs) {
+        return docs.stream().map(Doc::key).toList();
+    }
+
+    @Test
+    @DisplayName("normalize：全形轉半形、大寫、符號視為分隔")
+    void normalize() {
+        assertThat(TypeAheadIndex.normalize("ｔｏｍ-2026/01  06")).isEqualTo("TOM 2026 01 06");
+        assertThat(TypeAheadIndex.normalize("  --看板客戶-- ")).isEqualTo("看板客戶");
+        assertThat(TypeAheadIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("前綴：任一 token 開頭；短詞（< 3 字，CJK 兩字詞除外）只做前綴")
+    void prefix() {
+        TypeAheadIndex<Doc> index = index(
+                new Doc("a", "TOM-20260106-01-00000001", "Acme Logistics", "Keelung Port"),
+                new Doc("b", "TOM-20260106-01-00000002", "Blue Ocean", "Taipei Harbor"));
+
+        assertThat(keys(index.search("ac", 10))).containsExactly("a");
+        assertThat(keys(index.search("taip", 10))).containsExactly("b");
+        assertThat(keys(index.search("cm", 10))).isEmpty();
+        assertThat(keys(index.search("看板", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("中段 / 尾碼：trigram 命中（訂單序號末碼、櫃號末碼）")
+    void infix() {
+        TypeAheadIndex<Doc> index = index(
+                new Doc("a", "TOM-20260106-01-00000123", "看板客戶", "MSKU1234565"),
+                new Doc("b", "TOM-20260106-01-00000456", "其他客戶", "TGHU9876543"));
+
+        assertThat(keys(index.search("123", 10))).containsExactly("a");
+        assertThat(keys(index.search("4565", 10))).containsExactly("a");
+        assertThat(keys(index.search("板客戶", 10))).containsExactly("a");
+        assertThat(keys(index.search("戶", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("CJK 兩字詞：bigram 中段命中（中文地址 / 名稱無空白分詞）")
+    void cjkBigram() {
+        TypeAheadIndex<Doc> index = index(
+                new Doc("a", "N1", "長榮海運股份有限公司", "新北市板橋區文化路"),
+                new Doc("b", "N2", "陽明海運", "基隆市仁愛區"),
+                new Doc("c", "N3", "海運通", "台北市信義區"),
+                new Doc("d", "N4", "空運快遞", "新北市三重區"));
+
+        assertThat(keys(index.search("海運", 10))).containsExactly("c", "b", "a");
+        assertThat(keys(index.search("板橋", 10))).containsExactly("a");
+        assertThat(keys(index.search("新北 海運", 10))).containsExactly("a");
+        assertThat(keys(index.search("運", 10))).isEmpty();
+        assertThat(keys(index.search("海運 板橋", 10))).containsExactly("a");
+        assertThat(keys(index.search("北市", 10))).containsExactly("d", "c", "a");
+        assertThat(keys(index.search("高雄", 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("多詞 AND；前綴命中排在中段命中之前，同級由新到舊")
+    void ranking() {
+        TypeAheadIndex<Doc> index = index(
+                new Doc("old", "N1", "Port Express", "Keelung"),
+                new Doc("infix", "N2", "Export Co", "Keelung"),
+                new Doc("new", "N3", "Port Star", "Keelung"),
+                new Doc("other", "N4", "Port Star", "Kaohsiung"));
+
+        assertThat(keys(index.search("port", 10))).containsExactly("other", "new", "old", "infix");
+        assertThat(keys(index.search("port keel", 10))).containsExactly("new", "old", "infix");
+        assertThat(keys(index.search("port", 2))).containsExactly("other", "new");
+    }
+
+    @Test
+    @DisplayName("超過 trie 深度的長詞仍正確（以 text 複核）")
+    void longTerm() {
+        TypeAheadIndex<Doc> index = index(
+                new Doc("a", "ABCDEFGHIJKLMNOPQR", null, null),
+                new Doc("b", "ABCDEFGHIJKLMNOXYZ", null, null));
+
+        assertThat(keys(index.search("abcdefghijklmnopq", 10))).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("同 key 重複加入：取代舊資料")
+    void replace() {
+        TypeAheadIndex<Doc> index = index(new Doc("a", "N1", "Acme", null));
+        index.add(new Doc("a", "N1", "Zenith", null));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("acme", 10)).isEmpty();
+        assertThat(keys(index.search("zen", 10))).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("與線性掃描結果一致（隨機資料）")
+    void matchesLinearScan() {
+        java.util.Random random = new java.util.Random(7);
+        List<Doc> docs = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            docs.add(new Doc("k" + i, "TOM-20260106-01-%08d".formatted(random.nextInt(100_000)),
+                    randomWord(random) + " " + randomWord(random), randomWord(random)));
+        }
+        TypeAheadIndex<Doc> index = index(docs.toArray(Doc[]::new));
+
+        for (int n = 0; n < 200; n++) {
+            Doc probe = docs.get(random.nextInt(docs.size()));
+            String text = " " + TypeAheadIndex.normalize(probe.no() + " " + probe.name() + " " + probe.address()) + " ";
+            int start = random.nextInt(text.length() - 4);
+            String term = text.substring(start, start + 3 + random.nextInt(2)).trim();
+            if (term.length() < 3 || term.contains(" ")) continue;
+
+            long expected = docs.stream()
+                    .filter(d -> TypeAheadIndex.normalize(d.no() + " " + d.name() + " " + d.address()).contains(term))
+                    .count();
+            assertThat(index.search(term, Integer.MAX_VALUE)).as(term).hasSize((int) expected);
+        }
+    }
+
+    private static String randomWord(java.util.Random random) {
+        char[] chars = new char[3 + random.nextInt(6)];
+        for (int i = 0; i < chars.length; i++) chars[i] = (char) ('a' + random.nextInt(6));
+        return new String(chars);
+    }
+}
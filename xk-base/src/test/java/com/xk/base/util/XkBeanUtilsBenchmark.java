@@ -0,0 +1,235 @@
+package com.xk.base.util;
+
+import lombok.Data;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ===============================================================
+ * Benchmark : XkBeanUtilsBenchmark
+ * Purpose   : 比較 XkBeanUtils「快取拷貝計畫」與舊版「每次反射」的拷貝成本
+ * <p>
+ * Scenarios
+ * - single : 單筆 Entity → Resp（含 String ↔ Long/UUID 轉換欄位）
+ * - page   : 一頁 50 筆（對應 VehicleService.list / UpmsUserService.pageForList 的 map）
+ * <p>
+ * Run
+ * - IDE 直接執行 main()
+ * - 或：mvn -pl xk-base test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.xk.base.util.XkBeanUtilsBenchmark
+ * ===============================================================
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XkBeanUtilsBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private SampleEntity entity;
+    private List<SampleEntity> page;
+
+    @Setup
+    public void setup() {
+        entity = sample(0);
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(sample(i));
+        }
+    }
+
+    // ===============================================================
+    // Benchmarks
+    // ===============================================================
+
+    @Benchmark
+    public SampleResp singleLegacy() {
+        return LegacyBeanCopy.copyProperties(entity, new SampleResp());
+    }
+
+    @Benchmark
+    public SampleResp singleCached() {
+        return XkBeanUtils.copyProperties(entity, SampleResp::new);
+    }
+
+    @Benchmark
+    public List<SampleResp> pageLegacy() {
+        List<SampleResp> result = new ArrayList<>(page.size());
+        for (SampleEntity e : page) {
+            result.add(LegacyBeanCopy.copyProperties(e, new SampleResp()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<SampleResp> pageCached() {
+        return XkBeanUtils.copyListProperties(page, SampleResp::new);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(XkBeanUtilsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    // ===============================================================
+    // Fixtures
+    // ===============================================================
+
+    private static SampleEntity sample(int i) {
+        SampleEntity e = new SampleEntity();
+        e.setId(UUID.randomUUID());
+        e.setPlateNo("ABC-" + (1000 + i));
+        e.setType("TRAILER");
+        e.setStatus("AVAILABLE");
+        e.setBrand("Volvo");
+        e.setModel("FH16");
+        e.setCapacityTon(35.5);
+        e.setDriverRef("42" + i);
+        e.setCreatedTime(ZonedDateTime.now());
+        e.setRemark(i % 2 == 0 ? null : "remark-" + i);
+        return e;
+    }
+
+    @Data
+    public static class SampleEntity {
+        private UUID id;
+        private String plateNo;
+        private String type;
+        private String status;
+        private String brand;
+        private String model;
+        private Double capacityTon;
+        private String driverRef;       // String → Long（轉換欄位）
+        private ZonedDateTime createdTime;
+        private String remark;
+    }
+
+    @Data
+    public static class SampleResp {
+        private String id;              // UUID → String（轉換欄位）
+        private String plateNo;
+        private String type;
+        private String status;
+        private String brand;
+        private String model;
+        private Double capacityTon;
+        private Long driverRef;
+        private ZonedDateTime createdTime;
+        private String remark;
+    }
+
+    // ===============================================================
+    // Legacy：舊版 XkBeanUtils.copyProperties 的實作（逐字保留，作為對照組）
+    // ===============================================================
+
+    static final class LegacyBeanCopy {
+
+        static <T> T copyProperties(Object source, T target) {
+            BeanUtils.copyProperties(source, target);
+            copyPropertiesAutoConvert(source, target);
+            return target;
+        }
+
+        static void copyNonNullProperties(Object source, Object target) {
+            String[] nullProps = getNullPropertyNames(source);
+            BeanUtils.copyProperties(source, target, nullProps);
+        }
+
+        static void copyPropertiesAutoConvert(Object source, Object target, String... nullPropertyNames) {
+            Field[] sourceFields = source.getClass().getDeclaredFields();
+            Field[] targetFields = target.getClass().getDeclaredFields();
+            String[] excludedProps = getNullPropertyNames(source, nullPropertyNames);
+
+            for (Field sourceField : sourceFields) {
+                sourceField.setAccessible(true);
+                try {
+                    Object sourceValue = sourceField.get(source);
+                    if (sourceValue == null || StringUtils.isBlank(String.valueOf(sourceValue))) continue;
+
+                    for (Field targetField : targetFields) {
+                        targetField.setAccessible(true);
+                        if (sourceField.getName().equals(targetField.getName())
+                                && !isExcluded(sourceField.getName(), excludedProps)) {
+                            convertAndSet(target, sourceValue, targetField, sourceField);
+                            break;
+                        }
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+        }
+
+        private static void convertAndSet(Object target, Object sourceValue, Field targetField, Field sourceField)
+                throws IllegalAccessException {
+            Class<?> t = targetField.getType();
+            Class<?> s = sourceField.getType();
+
+            if (t.equals(String.class) && s.equals(Long.class))
+                targetField.set(target, sourceValue.toString());
+            else if (t.equals(Long.class) && s.equals(String.class))
+                targetField.set(target, Long.valueOf((String) sourceValue));
+            else if (t.equals(String.class) && s.equals(Integer.class))
+                targetField.set(target, sourceValue.toString());
+            else if (t.equals(Integer.class) && s.equals(String.class))
+                targetField.set(target, Integer.valueOf((String) sourceValue));
+            else if (t.equals(String.class) && s.equals(Boolean.class))
+                targetField.set(target, sourceValue.toString());
+            else if (t.equals(Boolean.class) && s.equals(String.class))
+                targetField.set(target, Boolean.parseBoolean((String) sourceValue));
+            else if (t.equals(String.class) && s.equals(UUID.class))
+                targetField.set(target, sourceValue.toString());
+            else if (t.equals(UUID.class) && s.equals(String.class))
+                targetField.set(target, UUID.fromString((String) sourceValue));
+        }
+
+        private static boolean isExcluded(String fieldName, String[] excludedProperties) {
+            if (excludedProperties == null) return false;
+            for (String exclude : excludedProperties) {
+                if (fieldName.equals(exclude)) return true;
+            }
+            return false;
+        }
+
+        private static String[] getNullPropertyNames(Object source, String... additionalExcludes) {
+            Set<String> emptyNames = new HashSet<>();
+            for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(source.getClass())) {
+                try {
+                    Field field = getFieldRecursively(source.getClass(), pd.getName());
+                    if (field != null) {
+                        field.setAccessible(true);
+                        if (field.get(source) == null) emptyNames.add(pd.getName());
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+            if (additionalExcludes != null) emptyNames.addAll(Arrays.asList(additionalExcludes));
+            return emptyNames.toArray(new String[0]);
+        }
+
+        private static Field getFieldRecursively(Class<?> clazz, String fieldName) {
+            if (clazz == null) return null;
+            try {
+                return clazz.getDeclaredField(fieldName);
+            } catch (NoSuchFieldException e) {
+                return getFieldRecursively(clazz.getSuperclass(), fieldName);
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.xk.base.util;
+
+import com.xk.base.util.XkBeanUtilsBenchmark.LegacyBeanCopy;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * XkBeanUtils：快取拷貝計畫與舊版「每次反射」實作（XkBeanUtilsBenchmark.LegacyBeanCopy）結果一致
+ */
+class XkBeanUtilsTest {
+
+    @Test
+    @DisplayName("copyNonNullProperties：來源為 null 的欄位不覆蓋目標")
+    void nonNull_skipsNull() {
+        Source source = source();
+        source.setName(null);
+        source.setRemark(null);
+
+        Target target = target();
+        XkBeanUtils.copyNonNullProperties(source, target);
+
+        assertThat(target.getName()).isEqualTo("old-name");
+        assertThat(target.getRemark()).isEqualTo("old-remark");
+        assertThat(target.getId()).isEqualTo(source.getId());
+        assertThat(target).isEqualTo(legacyNonNull(source));
+    }
+
+    @Test
+    @DisplayName("copyNonNullProperties：型別不可指派（Long → String、List<String> → List<Integer>）不拷貝、不拋錯")
+    void nonNull_typeMismatch() {
+        Source source = source();
+
+        Target target = target();
+        XkBeanUtils.copyNonNullProperties(source, target);
+
+        assertThat(target.getCount()).isEqualTo("old-count");
+        assertThat(target.getTags()).containsExactly(1);
+        assertThat(target).isEqualTo(legacyNonNull(source));
+    }
+
+    @Test
+    @DisplayName("copyNonNullProperties：父類別欄位同樣拷貝，null 同樣略過")
+    void nonNull_inherited() {
+        Source source = source();
+        source.setCreatedBy(null);
+
+        Target target = target();
+        XkBeanUtils.copyNonNullProperties(source, target);
+
+        assertThat(target.getRemark()).isEqualTo("new-remark");
+        assertThat(target.getCreatedBy()).isEqualTo("old-creator");
+        assertThat(target).isEqualTo(legacyNonNull(source));
+    }
+
+    @Test
+    @DisplayName("copyNonNullProperties：全部為 null → 目標完全不變")
+    void nonNull_allNull() {
+        Target target = target();
+        XkBeanUtils.copyNonNullProperties(new Source(), target);
+
+        assertThat(target).isEqualTo(target()).isEqualTo(legacyNonNull(new Source()));
+    }
+
+    @Test
+    @DisplayName("copyProperties：含 String ↔ Long / UUID 轉換，與舊版結果一致")
+    void copyProperties_parity() {
+        Source source = source();
+        source.setRemark(null);
+
+        Target copied = XkBeanUtils.copyProperties(source, Target::new);
+
+        assertThat(copied.getCount()).isEqualTo("42");
+        assertThat(copied.getRemark()).isNull();
+        assertThat(copied).isEqualTo(LegacyBeanCopy.copyProperties(source, new Target()));
+    }
+
+    // ===============================================================
+    // Fixtures
+    // ===============================================================
+
+    private static Target legacyNonNull(Source source) {
+        Target target = target();
+        LegacyBeanCopy.copyNonNullProperties(source, target);
+        return target;
+    }
+
+    private static Source source() {
+        Source s = new Source();
+        s.setId(UUID.randomUUID());
+        s.setName("new-name");
+        s.setCount(42L);
+        s.setTags(List.of("a", "b"));
+        s.setCreatedBy("new-creator");
+        s.setRemark("new-remark");
+        return s;
+    }
+
+    private static Target target() {
+        Target t = new Target();
+        t.setId(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        t.setName("old-name");
+        t.setCount("old-count");
+        t.setTags(List.of(1));
+        t.setCreatedBy("old-creator");
+        t.setRemark("old-remark");
+        return t;
+    }
+
+    @Data
+    public static class Audited {
+        private String createdBy;
+        private String remark;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Source extends Audited {
+        private UUID id;
+        private String name;
+        private Long count;
+        private List<String> tags;
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class Target extends Audited {
+        private UUID id;
+        private String name;
+        private String count;           // Long → String：只有 copyProperties 的轉換步驟會處理
+        private List<Integer> tags;
+    }
+}
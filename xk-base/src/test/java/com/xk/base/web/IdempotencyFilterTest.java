@@ -0,0 +1,204 @@
+package com.xk.base.web;
+
+import com.xk.base.infra.idempotency.IdempotencyProps;
+import com.xk.base.infra.idempotency.impl.InMemoryIdempotencyStore;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest {
+
+    private IdempotencyProps props;
+    private IdempotencyFilter filter;
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private volatile int status = 201;
+
+    /**
+     * 模擬 Controller：每次執行回傳不同 body（可看出是否被回放）
+     */
+    private final FilterChain chain = (req, res) -> {
+        int n = executions.incrementAndGet();
+        HttpServletResponse http = (HttpServletResponse) res;
+        http.setStatus(status);
+        http.setContentType("application/json");
+        http.getOutputStream().write(("{\"code\":" + status + ",\"data\":" + n + "}").getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        props = new IdempotencyProps();
+        filter = new IdempotencyFilter(props, new InMemoryIdempotencyStore(props));
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("driver01", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest post(String path, String key) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        if (key != null) request.addHeader(props.getHeaderName(), key);
+        return request;
+    }
+
+    private static MockHttpServletRequest json(MockHttpServletRequest request, String body) {
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse call(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("相同 key 重送：回放第一次的結果，不再執行")
+    void replay() throws Exception {
+        MockHttpServletResponse first = call(post("/api/tom/orders", "k-1"));
+        MockHttpServletResponse second = call(post("/api/tom/orders", "k-1"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(201);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(first.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("相同 key、不同 body：422，不回放也不執行")
+    void bodyMismatch() throws Exception {
+        call(json(post("/api/tom/orders", "k-body"), "{\"qty\":1}"));
+        MockHttpServletResponse same = call(json(post("/api/tom/orders", "k-body"), "{\"qty\":1}"));
+        MockHttpServletResponse changed = call(json(post("/api/tom/orders", "k-body"), "{\"qty\":2}"));
+
+        assertThat(executions).hasValue(1);
+        assertThat(same.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(changed.getStatus()).isEqualTo(422);
+        assertThat(changed.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("body 先讀出計算 hash 後，Controller 仍可完整讀取")
+    void bodyStillReadable() throws Exception {
+        FilterChain echo = (req, res) -> res.getOutputStream().write(req.getInputStream().readAllBytes());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(json(post("/api/tom/orders", "k-echo"), "{\"name\":\"海運\"}"), response, echo);
+
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("{\"name\":\"海運\"}");
+    }
+
+    @Test
+    @DisplayName("不同使用者 / 不同端點 / 無 header：各自執行")
+    void scope() throws Exception {
+        call(post("/api/tom/orders", "k-1"));
+        call(post("/api/fms/dispatch/1/start", "k-1"));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("driver02", null));
+        call(post("/api/tom/orders", "k-1"));
+
+        call(post("/api/tom/orders", null));
+        call(post("/api/tom/orders", null));
+
+        assertThat(executions).hasValue(5);
+    }
+
+    @Test
+    @DisplayName("未登入（permit-all，例如 /auth/login）：不保存、不回放，每次都執行")
+    void anonymousNotStored() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletResponse first = call(post("/auth/login", "k-login"));
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken(
+                "anon", "anonymousUser", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        MockHttpServletResponse second = call(post("/auth/login", "k-login"));
+
+        assertThat(executions).hasValue(2);
+        assertThat(second.getContentAsString()).isNotEqualTo(first.getContentAsString());
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    @DisplayName("5xx 不保存：重送會重新執行")
+    void serverErrorNotStored() throws Exception {
+        status = 500;
+        call(post("/api/tom/orders", "k-err"));
+
+        status = 201;
+        MockHttpServletResponse retry = call(post("/api/tom/orders", "k-err"));
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(201);
+    }
+
+    @Test
+    @DisplayName("key 過長：400")
+    void keyTooLong() throws Exception {
+        MockHttpServletResponse response = call(post("/api/tom/orders", "x".repeat(props.getMaxKeyLength() + 1)));
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(executions).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("併發重送：合併到執行中的那一次")
+    void coalesce() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        FilterChain slow = (req, res) -> {
+            entered.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            chain.doFilter(req, res);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            var auth = SecurityContextHolder.getContext().getAuthentication();
+            Callable<MockHttpServletResponse> task = () -> {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(post("/api/fms/dispatch/9/sign", "k-sign"), response, slow);
+                return response;
+            };
+
+            Future<MockHttpServletResponse> first = pool.submit(task);
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<MockHttpServletResponse> second = pool.submit(task);
+
+            Thread.sleep(100);
+            release.countDown();
+
+            assertThat(second.get(5, TimeUnit.SECONDS).getContentAsString())
+                    .isEqualTo(first.get(5, TimeUnit.SECONDS).getContentAsString());
+            assertThat(executions).hasValue(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.xk.base.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreSerializedBodyTest {
+
+    private static byte[] json(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("ETag：相同內容相同 tag，且為 strong（雙引號、無 W/）")
+    void etag() {
+        PreSerializedBody a = PreSerializedBody.of(json("{\"a\":1}"));
+        PreSerializedBody b = PreSerializedBody.of(json("{\"a\":1}"));
+        PreSerializedBody c = PreSerializedBody.of(json("{\"a\":2}"));
+
+        assertThat(a.etag()).startsWith("\"").endsWith("\"").isEqualTo(b.etag());
+        assertThat(a.etag()).isNotEqualTo(c.etag());
+    }
+
+    @Test
+    @DisplayName("If-None-Match：多值 / * / W/ 前綴皆可命中")
+    void matches() {
+        PreSerializedBody body = PreSerializedBody.of(json("{}"));
+
+        assertThat(body.matches(null)).isFalse();
+        assertThat(body.matches("\"other\"")).isFalse();
+        assertThat(body.matches(body.etag())).isTrue();
+        assertThat(body.matches("\"other\", " + body.etag())).isTrue();
+        assertThat(body.matches("W/" + body.etag())).isTrue();
+        assertThat(body.matches("*")).isTrue();
+    }
+
+    @Test
+    @DisplayName("toResponse：命中 → 304 無 body；未命中 → 200 帶 bytes")
+    void toResponse() {
+        PreSerializedBody body = PreSerializedBody.of(json("{\"a\":1}"));
+
+        ResponseEntity<byte[]> ok = body.toResponse(null);
+        assertThat(ok.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ok.getHeaders().getETag()).isEqualTo(body.etag());
+        assertThat(ok.getBody()).isSameAs(body.body());
+
+        ResponseEntity<byte[]> notModified = body.toResponse(body.etag());
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getHeaders().getETag()).isEqualTo(body.etag());
+        assertThat(notModified.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("reuse：content 相同沿用舊實例（body 內其他欄位不同也一樣）")
+    void reuse() {
+        PreSerializedBody previous = PreSerializedBody.of(json("{\"ts\":1,\"data\":[]}"), json("[]"));
+        PreSerializedBody same = PreSerializedBody.of(json("{\"ts\":2,\"data\":[]}"), json("[]"));
+        PreSerializedBody changed = PreSerializedBody.of(json("{\"ts\":2,\"data\":[1]}"), json("[1]"));
+
+        assertThat(same.reuse(previous)).isSameAs(previous);
+        assertThat(changed.reuse(previous)).isSameAs(changed);
+        assertThat(changed.reuse(null)).isSameAs(changed);
+    }
+}
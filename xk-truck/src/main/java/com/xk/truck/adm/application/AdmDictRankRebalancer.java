@@ -0,0 +1,186 @@
+package com.xk.truck.adm.application;
+
+import com.xk.base.util.FractionalRank;
+import com.xk.truck.adm.domain.model.AdmDictItem;
+import com.xk.truck.adm.domain.repository.AdmDictCategoryRepository;
+import com.xk.truck.adm.domain.repository.AdmDictItemRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * ===============================================================
+ * Component : AdmDictRankRebalancer
+ * Layer     : Application (ADM)
+ * Purpose   : 字典項目 sortRank 重新平均分配（rebalance）
+ * <p>
+ * When
+ * - 產生的排序鍵長度超過 MAX_RANK_LENGTH → requestRebalance：commit 後於背景執行
+ * - 兩個鄰居排序鍵相同（併發新增）→ 由 Service 於同一交易內 rebalanceNow
+ * - 啟動完成時：回填尚無 sortRank 的舊資料（依舊 sortOrder, itemCode）
+ * <p>
+ * Notes
+ * - 只改排序鍵不改順序；同時把舊 sortOrder 欄位同步為位置
+ * - 先鎖分類列（AdmDictCategoryRepository.lockById）再讀項目：與 AdmDictItemServiceImpl 的排序異動
+ *   依序執行，不會與併發的新增 / 移動交錯而以舊順序覆寫（背景交易為 READ_COMMITTED，鎖後讀到最新資料）
+ * - 經 JPA dirty checking 寫回（jdbc.batch_size 合併），二級快取 adm.dictItem 由 Hibernate 維護
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class AdmDictRankRebalancer {
+
+    /**
+     * 排序鍵超過此長度即排程 rebalance
+     */
+    public static final int MAX_RANK_LENGTH = 16;
+
+    /**
+     * 顯示順序：sortRank（未回填者在前）→ 舊 sortOrder → itemCode
+     */
+    public static final Comparator<AdmDictItem> DISPLAY_ORDER = Comparator
+            .comparing(AdmDictItem::getSortRank, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(AdmDictItem::getSortOrder, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+            .thenComparing(AdmDictItem::getItemCode, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
+    private final AdmDictCategoryRepository categoryRepository;
+    private final AdmDictItemRepository itemRepository;
+    private final AdmDictSnapshotCache snapshotCache;
+    private final TransactionTemplate requiresNewTx;
+
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "xk-dict-rebalance");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public AdmDictRankRebalancer(AdmDictCategoryRepository categoryRepository,
+                                 AdmDictItemRepository itemRepository,
+                                 AdmDictSnapshotCache snapshotCache,
+                                 PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.itemRepository = itemRepository;
+        this.snapshotCache = snapshotCache;
+        this.requiresNewTx = new TransactionTemplate(transactionManager);
+        this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.requiresNewTx.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    // ===============================================================
+    // Lifecycle
+    // ===============================================================
+
+    /**
+     * 回填舊資料的 sortRank（每個分類各自一個交易）
+     * - 失敗只記 log、不中斷啟動：未回填的項目排在最前（DISPLAY_ORDER），下次啟動再補
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void backfill() {
+        List<UUID> categories;
+        try {
+            categories = itemRepository.findCategoryUuidsWithoutRank();
+        } catch (RuntimeException ex) {
+            log.warn("[AdmDictRankRebalancer] backfill skipped: {}", ex.getMessage());
+            return;
+        }
+
+        int done = 0;
+        for (UUID categoryUuid : categories) {
+            try {
+                requiresNewTx.executeWithoutResult(status -> rebalanceNow(categoryUuid));
+                done++;
+            } catch (RuntimeException ex) {
+                log.warn("[AdmDictRankRebalancer] backfill failed: categoryUuid={}, {}", categoryUuid, ex.getMessage());
+            }
+        }
+        if (done > 0) {
+            snapshotCache.invalidate();
+            log.info("[AdmDictRankRebalancer] backfilled sortRank, categories={}/{}", done, categories.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ===============================================================
+    // Rebalance
+    // ===============================================================
+
+    /**
+     * 於目前交易內重新分配整個分類的排序鍵（先鎖分類列；同一交易內重複呼叫不會自我阻塞）
+     *
+     * @return 依新順序排列的項目（managed entity）
+     */
+    public List<AdmDictItem> rebalanceNow(UUID categoryUuid) {
+        categoryRepository.lockById(categoryUuid);
+        List<AdmDictItem> items = itemRepository.findAllForRebalance(categoryUuid)
+                .stream()
+                .sorted(DISPLAY_ORDER)
+                .toList();
+
+        List<String> ranks = FractionalRank.spread(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            AdmDictItem item = items.get(i);
+            item.setSortRank(ranks.get(i));
+            item.setSortOrder(i + 1);
+        }
+
+        log.debug("[AdmDictRankRebalancer] rebalanced, categoryUuid={}, count={}", categoryUuid, items.size());
+        return items;
+    }
+
+    /**
+     * 排程背景 rebalance（交易內 → commit 後；同一分類排隊中不重複排程）
+     */
+    public void requestRebalance(UUID categoryUuid) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(categoryUuid);
+                }
+            });
+        } else {
+            submit(categoryUuid);
+        }
+    }
+
+    private void submit(UUID categoryUuid) {
+        if (!pending.add(categoryUuid)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    pending.remove(categoryUuid);
+                    requiresNewTx.executeWithoutResult(status -> rebalanceNow(categoryUuid));
+                    snapshotCache.invalidate();
+                } catch (RuntimeException ex) {
+                    log.warn("[AdmDictRankRebalancer] rebalance failed: categoryUuid={}, {}", categoryUuid, ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pending.remove(categoryUuid);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.xk.truck.adm.application;
+
+import com.xk.base.web.PreSerializedBody;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Snapshot : AdmDictSnapshot
+ * Layer    : Application (ADM)
+ * Purpose  : 某一版本的全部字典（已序列化為 ApiResult JSON + ETag），建立後不可變
+ * <p>
+ * Fields
+ * - version        : 建立時的異動版本（AdmDictSnapshotCache.invalidate() 遞增）
+ * - categories     : GET /api/adm/dictionaries
+ * - all            : GET /api/adm/dictionaries/all
+ * - byCode         : GET /api/adm/dictionaries/by-code/{code}
+ * - itemsByCategory: GET /api/adm/dictionaries/{categoryId}/items
+ * ===============================================================
+ */
+public record AdmDictSnapshot(
+        long version,
+        Instant builtAt,
+        PreSerializedBody categories,
+        PreSerializedBody all,
+        Map<String, PreSerializedBody> byCode,
+        Map<UUID, PreSerializedBody> itemsByCategory
+) {
+
+    public AdmDictSnapshot {
+        byCode = Map.copyOf(byCode);
+        itemsByCategory = Map.copyOf(itemsByCategory);
+    }
+}
@@ -0,0 +1,286 @@
+package com.xk.truck.adm.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xk.base.exception.BusinessException;
+import com.xk.base.web.ApiResult;
+import com.xk.base.web.PreSerializedBody;
+import com.xk.truck.adm.application.mapper.AdmDictCategoryMapper;
+import com.xk.truck.adm.application.mapper.AdmDictItemMapper;
+import com.xk.truck.adm.controller.api.dto.DictBundleResp;
+import com.xk.truck.adm.controller.api.dto.DictCategoryResp;
+import com.xk.truck.adm.controller.api.dto.DictItemResp;
+import com.xk.truck.adm.domain.model.AdmDictCategory;
+import com.xk.truck.adm.domain.model.AdmDictItem;
+import com.xk.truck.adm.domain.repository.AdmDictCategoryRepository;
+import com.xk.truck.adm.domain.repository.AdmDictItemRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ===============================================================
+ * Component : AdmDictSnapshotCache
+ * Layer     : Application (ADM)
+ * Purpose   : 字典讀取 API 的不可變記憶體快照（預先序列化 + strong ETag）
+ * <p>
+ * Design
+ * - 一次查詢載入全部分類與項目，依各讀取端點預先序列化成 PreSerializedBody
+ * - 以 volatile 參考整份替換（copy-on-write），讀取端不加鎖
+ * - If-None-Match 一律對「目前持有的快照」比對 ETag：不經 JPA、不序列化，也不等待重建
+ * - 重建時資料未變的端點沿用上一版 body（ETag 不變，client 304 持續有效）
+ * <p>
+ * 失效策略（stale-while-revalidate）
+ * - AdmDictCategoryService / AdmDictItemService 寫入 → invalidate()：commit 後版本 +1
+ * - 讀取發現版本不符或超過 MAX_AGE → 照樣回傳目前快照，並排程背景重建（同時最多一個）；
+ *   新資料在重建完成後（通常數十 ms 內）生效
+ * - 重建失敗 → 沿用舊快照並記錄 warn，RETRY_BACKOFF 後再試；DB 錯誤不會傳到呼叫端
+ * - 只有「尚未載入過」才會在呼叫端同步載入（此時沒有舊快照可用，失敗照常拋出）
+ * - MAX_AGE 作為多節點部署時的最終一致保險（其他節點的寫入不會觸發本機 invalidate）
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class AdmDictSnapshotCache {
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    private static final Duration RETRY_BACKOFF = Duration.ofSeconds(10);
+
+    private static final Sort ITEM_SORT = Sort.by(
+            Sort.Order.asc("categoryUuid"),
+            Sort.Order.asc("sortRank"),
+            Sort.Order.asc("sortOrder"),
+            Sort.Order.asc("itemCode")
+    );
+
+    private final AdmDictCategoryRepository categoryRepository;
+    private final AdmDictItemRepository itemRepository;
+    private final AdmDictCategoryMapper categoryMapper;
+    private final AdmDictItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTx;
+
+    /**
+     * 字典異動版本（commit 後遞增）
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile AdmDictSnapshot current;
+
+    /**
+     * 重建失敗後，此時間之前不再排程（避免 DB 故障時每個請求都觸發重建）
+     */
+    private volatile Instant retryAfter = Instant.MIN;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "xk-dict-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public AdmDictSnapshotCache(AdmDictCategoryRepository categoryRepository,
+                                AdmDictItemRepository itemRepository,
+                                AdmDictCategoryMapper categoryMapper,
+                                AdmDictItemMapper itemMapper,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.categoryRepository = categoryRepository;
+        this.itemRepository = itemRepository;
+        this.categoryMapper = categoryMapper;
+        this.itemMapper = itemMapper;
+        this.objectMapper = objectMapper;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ===============================================================
+    // Read
+    // ===============================================================
+
+    public PreSerializedBody categories() {
+        return snapshot().categories();
+    }
+
+    public PreSerializedBody all() {
+        return snapshot().all();
+    }
+
+    public PreSerializedBody byCode(String code) {
+        PreSerializedBody body = code == null ? null : snapshot().byCode().get(code);
+        if (body == null) {
+            throw new BusinessException("查無字典分類：" + code);
+        }
+        return body;
+    }
+
+    public PreSerializedBody itemsByCategory(UUID categoryId) {
+        PreSerializedBody body = categoryId == null ? null : snapshot().itemsByCategory().get(categoryId);
+        if (body == null) {
+            throw new BusinessException("查無字典分類 id：" + categoryId);
+        }
+        return body;
+    }
+
+    /**
+     * 目前快照（過期或版本不符時仍回傳，並排程背景重建；僅首次載入同步執行）
+     */
+    public AdmDictSnapshot snapshot() {
+        AdmDictSnapshot snap = current;
+        if (snap == null) return loadFirst();
+        if (!isFresh(snap)) scheduleRebuild();
+        return snap;
+    }
+
+    // ===============================================================
+    // Invalidation
+    // ===============================================================
+
+    /**
+     * 字典異動：commit 後版本 +1（rollback 不影響快照）
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump();
+                }
+            });
+        } else {
+            bump();
+        }
+    }
+
+    private void bump() {
+        long v = version.incrementAndGet();
+        log.debug("[AdmDictSnapshotCache] version -> {}", v);
+    }
+
+    // ===============================================================
+    // Build
+    // ===============================================================
+
+    private boolean isFresh(AdmDictSnapshot snap) {
+        return snap != null
+                && snap.version() == version.get()
+                && snap.builtAt().plus(MAX_AGE).isAfter(Instant.now());
+    }
+
+    private synchronized AdmDictSnapshot loadFirst() {
+        AdmDictSnapshot snap = current;
+        return snap != null ? snap : rebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (Instant.now().isBefore(retryAfter)) return;
+        if (!rebuilding.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    retryAfter = Instant.now().plus(RETRY_BACKOFF);
+                    log.warn("[AdmDictSnapshotCache] rebuild failed, keep version={}: {}",
+                            current == null ? null : current.version(), e.getMessage());
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuilding.set(false);
+        }
+    }
+
+    private synchronized AdmDictSnapshot rebuild() {
+        AdmDictSnapshot previous = current;
+        if (isFresh(previous)) return previous;
+
+        // 先取版本再載入：載入期間若有新的 commit，版本不符 → 下次讀取再排程
+        long v = version.get();
+        AdmDictSnapshot built = readOnlyTx.execute(status -> build(v, previous));
+        current = built;
+
+        log.info("[AdmDictSnapshotCache] rebuilt, version={}, categories={}", v, built.byCode().size());
+        return built;
+    }
+
+    private AdmDictSnapshot build(long v, AdmDictSnapshot previous) {
+        List<AdmDictCategory> categories = categoryRepository.findAllOrderByCode();
+        List<AdmDictItem> items = itemRepository.findAll(ITEM_SORT);
+
+        Map<UUID, List<AdmDictItem>> itemsByCategoryUuid = new HashMap<>();
+        for (AdmDictItem item : items) {
+            itemsByCategoryUuid.computeIfAbsent(item.getCategoryUuid(), k -> new ArrayList<>()).add(item);
+        }
+
+        Map<String, PreSerializedBody> byCode = new HashMap<>();
+        Map<UUID, PreSerializedBody> itemsByCategory = new HashMap<>();
+        List<DictCategoryResp> categoryResps = new ArrayList<>(categories.size());
+        List<DictBundleResp> bundles = new ArrayList<>(categories.size());
+
+        for (AdmDictCategory category : categories) {
+            DictCategoryResp categoryResp = categoryMapper.toResp(category);
+            List<DictItemResp> itemResps = itemMapper.toRankedListResp(
+                    itemsByCategoryUuid.getOrDefault(category.getUuid(), List.of()));
+
+            byCode.put(category.getCode(), serialize(categoryResp,
+                    previous == null ? null : previous.byCode().get(category.getCode())));
+            itemsByCategory.put(category.getUuid(), serialize(itemResps,
+                    previous == null ? null : previous.itemsByCategory().get(category.getUuid())));
+
+            DictBundleResp bundle = new DictBundleResp();
+            bundle.setCategory(categoryResp);
+            bundle.setItems(itemResps);
+
+            categoryResps.add(categoryResp);
+            bundles.add(bundle);
+        }
+
+        return new AdmDictSnapshot(
+                v,
+                Instant.now(),
+                serialize(categoryResps, previous == null ? null : previous.categories()),
+                serialize(bundles, previous == null ? null : previous.all()),
+                byCode,
+                itemsByCategory
+        );
+    }
+
+    /**
+     * ETag 只依 data 計算（ApiResult.timestamp 每次不同）；data 未變沿用上一版 body
+     */
+    private PreSerializedBody serialize(Object data, PreSerializedBody previous) {
+        try {
+            return PreSerializedBody.of(
+                    objectMapper.writeValueAsBytes(ApiResult.success(data)),
+                    objectMapper.writeValueAsBytes(data)
+            ).reuse(previous);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("字典快照序列化失敗", e);
+        }
+    }
+}
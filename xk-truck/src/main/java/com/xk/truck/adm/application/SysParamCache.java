@@ -0,0 +1,284 @@
+package com.xk.truck.adm.application;
+
+import com.xk.truck.adm.domain.repository.SysParamRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ===============================================================
+ * Component : SysParamCache
+ * Layer     : Application (ADM)
+ * Purpose   : sys_param 全表的不可變記憶體快照 + 型別化讀取（熱路徑不查 DB）
+ * <p>
+ * Design
+ * - 啟動完成（ApplicationReadyEvent）時整份載入；之後以 volatile 參考整份替換
+ * - 背景執行緒每 poll-interval 查一次變更標記（count + max(updated_time)），有變才重載
+ * - 本機經 SysParamService 寫入 → commit 後立即重載（不等輪詢）
+ * - 型別化 getter（int / long / boolean / Duration / enum）：每個值每種型別只解析一次，
+ *   結果快取在該值上；之後讀取只有 map 查找，不配置物件
+ * - 解析失敗回傳呼叫端預設值（只 warn 一次）
+ * <p>
+ * Usage
+ *   Duration timeout = sysParamCache.getDuration("dispatch.accept-timeout", Duration.ofMinutes(5));
+ *   boolean enabled  = sysParamCache.getBoolean("auth.captcha.enabled", false);
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class SysParamCache {
+
+    /**
+     * 解析失敗的標記（避免每次讀取都重新解析）
+     */
+    private static final Object INVALID = new Object();
+
+    private final SysParamRepository repository;
+    private final SysParamCacheProps props;
+    private final TransactionTemplate readOnlyTx;
+
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "xk-sys-param-poll");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Snapshot current;
+
+    public SysParamCache(SysParamRepository repository,
+                         SysParamCacheProps props,
+                         PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.props = props;
+        // afterCommit 階段原交易資源仍綁定在執行緒上 → 一律開新交易讀取
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // ===============================================================
+    // Lifecycle
+    // ===============================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        reload();
+
+        Duration interval = props.getPollInterval();
+        if (interval != null && interval.isPositive()) {
+            poller.scheduleWithFixedDelay(this::poll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        poller.shutdownNow();
+    }
+
+    // ===============================================================
+    // Typed Read
+    // ===============================================================
+
+    public String getString(String key, String def) {
+        Entry e = entry(key);
+        return e == null ? def : e.raw;
+    }
+
+    public int getInt(String key, int def) {
+        return value(key, Integer.class) instanceof Integer v ? v : def;
+    }
+
+    public long getLong(String key, long def) {
+        return value(key, Long.class) instanceof Long v ? v : def;
+    }
+
+    public boolean getBoolean(String key, boolean def) {
+        return value(key, Boolean.class) instanceof Boolean v ? v : def;
+    }
+
+    /**
+     * Duration：支援 ISO-8601（PT30S）與簡寫（30s / 5m / 2h / 500ms）
+     */
+    public Duration getDuration(String key, Duration def) {
+        return value(key, Duration.class) instanceof Duration v ? v : def;
+    }
+
+    /**
+     * Enum：不分大小寫比對常數名稱
+     */
+    public <E extends Enum<E>> E getEnum(String key, Class<E> type, E def) {
+        Object v = value(key, type);
+        return type.isInstance(v) ? type.cast(v) : def;
+    }
+
+    public boolean contains(String key) {
+        return entry(key) != null;
+    }
+
+    // ===============================================================
+    // Reload
+    // ===============================================================
+
+    /**
+     * 寫入後重載（交易內 → commit 後；無交易 → 立即）
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadQuietly();
+                }
+            });
+        } else {
+            reloadQuietly();
+        }
+    }
+
+    /**
+     * 整份重載（先取變更標記再取資料：載入期間若有異動，下一次輪詢會再重載）
+     */
+    public synchronized void reload() {
+        Snapshot loaded = readOnlyTx.execute(status -> {
+            SysParamRepository.ChangeMarker marker = repository.findChangeMarker();
+            Map<String, Entry> entries = new HashMap<>();
+            for (SysParamRepository.KeyValueRow row : repository.findAllKeyValues()) {
+                entries.put(row.getKey(), reuse(row.getKey(), row.getValue()));
+            }
+            return new Snapshot(Map.copyOf(entries), marker.getCount(), marker.getLastUpdated(), System.nanoTime());
+        });
+        current = loaded;
+        log.info("[SysParamCache] loaded, params={}, lastUpdated={}", loaded.entries().size(), loaded.lastUpdated());
+    }
+
+    void poll() {
+        try {
+            Snapshot snap = current;
+            if (snap == null || snap.isOlderThan(props.getMaxAge())) {
+                reload();
+                return;
+            }
+            SysParamRepository.ChangeMarker marker = readOnlyTx.execute(status -> repository.findChangeMarker());
+            if (!Objects.equals(marker.getCount(), snap.count())
+                    || !sameInstant(marker.getLastUpdated(), snap.lastUpdated())) {
+                reload();
+            }
+        } catch (RuntimeException ex) {
+            log.warn("[SysParamCache] poll failed: {}", ex.getMessage());
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            // 保留舊快照；下一次輪詢會再試
+            log.warn("[SysParamCache] reload failed: {}", ex.getMessage());
+        }
+    }
+
+    // ===============================================================
+    // Internals
+    // ===============================================================
+
+    private Entry entry(String key) {
+        Snapshot snap = current;
+        if (snap == null) {
+            // 啟動完成前就被讀取：同步載入一次
+            synchronized (this) {
+                if (current == null) reload();
+                snap = current;
+            }
+        }
+        return key == null ? null : snap.entries().get(key);
+    }
+
+    private Object value(String key, Class<?> type) {
+        Entry e = entry(key);
+        if (e == null) return null;
+
+        Object v = e.parsed.get(type);
+        if (v == null) {
+            v = parse(key, e.raw, type);
+            Object prev = e.parsed.putIfAbsent(type, v);
+            if (prev != null) v = prev;
+        }
+        return v;
+    }
+
+    /**
+     * 值未變的 key 沿用舊 Entry（已解析的型別值一併保留）
+     */
+    private Entry reuse(String key, String raw) {
+        Snapshot snap = current;
+        Entry old = snap == null ? null : snap.entries().get(key);
+        return old != null && Objects.equals(old.raw, raw) ? old : new Entry(raw);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(String key, String raw, Class<?> type) {
+        String s = raw == null ? "" : raw.trim();
+        try {
+            if (type == Integer.class) return Integer.valueOf(s);
+            if (type == Long.class) return Long.valueOf(s);
+            if (type == Duration.class) return DurationStyle.detectAndParse(s);
+            if (type == Boolean.class) {
+                return switch (s.toLowerCase(Locale.ROOT)) {
+                    case "true", "1", "yes", "y", "on" -> Boolean.TRUE;
+                    case "false", "0", "no", "n", "off" -> Boolean.FALSE;
+                    default -> throw new IllegalArgumentException("not a boolean: " + s);
+                };
+            }
+            if (type.isEnum()) return Enum.valueOf((Class) type, s.toUpperCase(Locale.ROOT));
+        } catch (RuntimeException ex) {
+            log.warn("[SysParamCache] invalid value, key={}, type={}, value={}", key, type.getSimpleName(), raw);
+        }
+        return INVALID;
+    }
+
+    private static boolean sameInstant(ZonedDateTime a, ZonedDateTime b) {
+        return a == null ? b == null : b != null && a.toInstant().equals(b.toInstant());
+    }
+
+    private static final class Entry {
+
+        private final String raw;
+
+        /**
+         * 型別 → 解析結果（或 INVALID）
+         */
+        private final Map<Class<?>, Object> parsed = new ConcurrentHashMap<>(4);
+
+        private Entry(String raw) {
+            this.raw = raw;
+        }
+    }
+
+    private record Snapshot(Map<String, Entry> entries, Long count, ZonedDateTime lastUpdated, long loadedAt) {
+
+        boolean isOlderThan(Duration maxAge) {
+            return maxAge != null && maxAge.isPositive() && System.nanoTime() - loadedAt > maxAge.toNanos();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.xk.truck.adm.application;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ===============================================================
+ * Properties : SysParamCacheProps
+ * Prefix     : sys-param.cache
+ * Purpose    : SysParamCache 輪詢設定
+ * <p>
+ * Example
+ * sys-param:
+ *   cache:
+ *     poll-interval: 30s
+ *     max-age: 10m
+ * <p>
+ * Notes
+ * - poll-interval：輪詢變更標記（count + max(updated_time)）的間隔；0 或負值 = 不輪詢
+ * - max-age：不論標記是否變動，超過此時間即整份重載（各節點時鐘不同步時的保險）
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sys-param.cache")
+public class SysParamCacheProps {
+
+    private Duration pollInterval = Duration.ofSeconds(30);
+
+    private Duration maxAge = Duration.ofMinutes(10);
+}
@@ -58,4 +58,15 @@ public class AdmDictItemMapper {
 
         return list;
     }
+
+    /**
+     * entities 已依顯示順序（sortRank）排列；sortOrder 回傳 1-based 位置（舊 API 相容）
+     */
+    public List<DictItemResp> toRankedListResp(List<AdmDictItem> entities) {
+        List<DictItemResp> list = toListResp(entities);
+        for (int i = 0; i < list.size(); i++) {
+            list.get(i).setSortOrder(i + 1);
+        }
+        return list;
+    }
 }
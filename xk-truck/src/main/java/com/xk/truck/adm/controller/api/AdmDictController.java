@@ -1,6 +1,7 @@
 package com.xk.truck.adm.controller.api;
 
 import com.xk.base.web.ApiResult;
+import com.xk.truck.adm.application.AdmDictSnapshotCache;
 import com.xk.truck.adm.controller.api.dto.*;
 import com.xk.truck.adm.domain.service.AdmDictCategoryService;
 import com.xk.truck.adm.domain.service.AdmDictItemService;
@@ -13,10 +14,11 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -42,6 +44,11 @@ import java.util.UUID;
  * - GET /by-code/{code}：避免與 PATCH/DELETE /{id} 的路徑衝突
  * （Spring MVC 只看 path pattern，不看參數型別）
  * <p>
+ * Read Path（AdmDictSnapshotCache）
+ * - GET 端點直接寫出快照內預先序列化的 JSON（格式仍為 ApiResult）
+ * - 帶 strong ETag；If-None-Match 對目前快照比對，命中回 304，不查 DB、不等待重建
+ * - 寫入端點由 Service 於 commit 後讓快照失效；快照於背景重建，期間回傳上一版
+ * <p>
  * MVP Scope
  * - Category：findAll 直接回 List（供 Master-Detail 左側快速載入）
  * - Item：findAllByCategoryId 回 List（供右側 table 顯示）
@@ -58,6 +65,7 @@ public class AdmDictController {
 
     private final AdmDictCategoryService categoryService;
     private final AdmDictItemService itemService;
+    private final AdmDictSnapshotCache snapshotCache;
 
     // ===============================================================
     // Category（字典分類）
@@ -92,10 +100,11 @@ public class AdmDictController {
             description = "依 code 查詢指定字典分類。採 /by-code 避免與 /{id} 衝突。"
     )
     @GetMapping("/by-code/{code}")
-    public ApiResult<DictCategoryResp> findByCode(
-            @PathVariable("code") String code
+    public ResponseEntity<byte[]> findByCode(
+            @PathVariable("code") String code,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return ApiResult.success(categoryService.findByCode(code));
+        return snapshotCache.byCode(code).toResponse(ifNoneMatch);
     }
 
     /**
@@ -107,8 +116,27 @@ public class AdmDictController {
      */
     @Operation(summary = "查詢字典分類列表（MVP：一次取回全部）")
     @GetMapping
-    public ApiResult<List<DictCategoryResp>> findAllCategories() {
-        return ApiResult.success(categoryService.findAll());
+    public ResponseEntity<byte[]> findAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return snapshotCache.categories().toResponse(ifNoneMatch);
+    }
+
+    /**
+     * 一次取回全部字典（分類 + 項目）
+     * GET /api/adm/dictionaries/all
+     * <p>
+     * - 前端啟動時載入一次，之後以 If-None-Match 驗證（未變動回 304）
+     */
+    @Operation(
+            summary = "取得全部字典（分類 + 項目）",
+            description = "回傳 ApiResult<List<DictBundleResp>>；支援 ETag / If-None-Match（304）"
+    )
+    @GetMapping("/all")
+    public ResponseEntity<byte[]> findAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return snapshotCache.all().toResponse(ifNoneMatch);
     }
 
     /* -------------------------------------------------------------
@@ -200,10 +228,11 @@ public class AdmDictController {
      */
     @Operation(summary = "取得字典項目列表（依字典分類 UUID）")
     @GetMapping("/{categoryId}/items")
-    public ApiResult<List<DictItemResp>> findAllItemsByCategoryId(
-            @PathVariable("categoryId") UUID categoryId
+    public ResponseEntity<byte[]> findAllItemsByCategoryId(
+            @PathVariable("categoryId") UUID categoryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        return ApiResult.success(itemService.findAllByCategoryId(categoryId));
+        return snapshotCache.itemsByCategory(categoryId).toResponse(ifNoneMatch);
     }
 
     /* -------------------------------------------------------------
@@ -254,6 +283,29 @@ public class AdmDictController {
         return ApiResult.success();
     }
 
+    /* -------------------------------------------------------------
+     * Move
+     * ------------------------------------------------------------- */
+
+    /**
+     * 移動單一字典項目（拖曳排序）
+     * PATCH /api/adm/dictionaries/items/{itemId}/move
+     * <p>
+     * body example:
+     * { "afterId": "..." }   // null = 移到最前
+     */
+    @Operation(
+            summary = "移動字典項目",
+            description = "移到 afterId 之後（null = 最前）；只更新被移動的那一筆"
+    )
+    @PatchMapping("/items/{itemId}/move")
+    public ApiResult<DictItemResp> moveItem(
+            @PathVariable("itemId") UUID itemId,
+            @RequestBody MoveDictItemReq req
+    ) {
+        return ApiResult.success(itemService.move(itemId, req));
+    }
+
     /* -------------------------------------------------------------
      * Sort (Batch Patch)
      * ------------------------------------------------------------- */
@@ -16,7 +16,7 @@ import lombok.Data;
  * - 隸屬於某一 Dictionary Category（categoryId 由 PathVariable 傳入）
  * - itemCode 在同一個 category 底下必須唯一
  * - enabled 預設為 true（由 Service / Entity 控制）
- * - sortOrder 若未給，Service 可自動補 max + 1
+ * - sortOrder 若未給，加到最後（不需 max 查詢）；有給則插入該位置（1-based）
  * ===============================================================
  */
 @Data
@@ -53,11 +53,11 @@ public class CreateDictItemReq {
     private String itemLabel;
 
     /**
-     * 排序值（越小越前）
+     * 插入位置（1-based；舊 API 相容）
      */
     @Schema(
-            description = "排序值（越小越前；未填由系統自動補 max + 1）",
-            example = "10"
+            description = "插入位置（1-based；未填加到最後）",
+            example = "1"
     )
     private Integer sortOrder;
 
@@ -0,0 +1,30 @@
+package com.xk.truck.adm.controller.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * DTO          : DictBundleResp
+ * Layer        : Service → Controller → Frontend
+ * Purpose      : 字典分類 + 其全部項目（前端啟動時一次載入全部字典）
+ *
+ * Design Notes
+ * - items 依 sortOrder, itemCode 排序（與 /{categoryId}/items 一致）
+ * ===============================================================
+ */
+@Data
+@Schema(
+        name = "DictBundleResp",
+        description = "字典分類與其項目（一次載入全部字典用）"
+)
+public class DictBundleResp {
+
+    @Schema(description = "字典分類")
+    private DictCategoryResp category;
+
+    @Schema(description = "字典項目（依 sortOrder, itemCode 排序）")
+    private List<DictItemResp> items;
+}
@@ -49,8 +49,8 @@ public class DictItemResp {
     private String itemLabel;
 
     @Schema(
-            description = "排序值（越小越前）",
-            example = "20"
+            description = "排序位置（1-based，依 sortRank 即時換算）",
+            example = "2"
     )
     private Integer sortOrder;
 
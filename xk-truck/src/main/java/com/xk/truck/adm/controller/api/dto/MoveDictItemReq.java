@@ -0,0 +1,37 @@
+package com.xk.truck.adm.controller.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * DTO          : MoveDictItemReq
+ * Layer        : Controller → Service (Request DTO)
+ * Purpose      : 移動單一字典項目（拖曳排序）
+ *
+ * API
+ * - PATCH /api/adm/dictionaries/items/{itemId}/move
+ *
+ * Body Example
+ * { "afterId": "...." }     // 移到 afterId 之後
+ * { "afterId": null }       // 移到最前
+ *
+ * Design Notes
+ * - 只更新被移動的那一筆 sortRank（不重寫其他項目）
+ * ===============================================================
+ */
+@Data
+@Schema(
+        name = "MoveDictItemReq",
+        description = "移動字典項目的請求資料（拖曳排序用）"
+)
+public class MoveDictItemReq {
+
+    @Schema(
+            description = "移到此項目之後（同一分類；null = 移到最前）",
+            example = "3fa85f64-5717-4562-b3fc-2c963f66afa6"
+    )
+    private UUID afterId;
+}
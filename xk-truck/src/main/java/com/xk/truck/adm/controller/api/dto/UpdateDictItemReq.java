@@ -47,8 +47,8 @@ public class UpdateDictItemReq {
     private String itemLabel;
 
     @Schema(
-            description = "排序值（越小越前）",
-            example = "20"
+            description = "移動到此位置（1-based；舊 API 相容，建議改用 /items/{itemId}/move）",
+            example = "2"
     )
     private Integer sortOrder;
 
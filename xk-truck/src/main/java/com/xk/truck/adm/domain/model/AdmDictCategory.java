@@ -6,6 +6,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
@@ -19,11 +21,18 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AdmDictCategory.CACHE_REGION)
 @Table(name = "adm_dict_category",
         uniqueConstraints = @UniqueConstraint(name = "uk_dict_cat_code", columnNames = "code"))
 @Schema(description = "字典分類")
 public class AdmDictCategory extends BaseEntity {
 
+    /**
+     * Hibernate 二級快取 region（容量 / TTL 見 l2cache.regions）
+     */
+    public static final String CACHE_REGION = "adm.dictCategory";
+
     // ===============================================================
     // Primary Key
     // ===============================================================
@@ -6,6 +6,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
@@ -15,11 +17,19 @@ import java.util.UUID;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AdmDictItem.CACHE_REGION)
 @Table(name = "adm_dict_item",
-        uniqueConstraints = @UniqueConstraint(name = "uk_dict_item_cat_code", columnNames = {"category_id", "code"}))
+        uniqueConstraints = @UniqueConstraint(name = "uk_dict_item_cat_code", columnNames = {"category_uuid", "item_code"}),
+        indexes = @Index(name = "idx_dict_item_cat_rank", columnList = "category_uuid, sort_rank"))
 @Schema(description = "字典項目")
 public class AdmDictItem extends BaseEntity {
 
+    /**
+     * Hibernate 二級快取 region（容量 / TTL 見 l2cache.regions）
+     */
+    public static final String CACHE_REGION = "adm.dictItem";
+
     // ===============================================================
     // Primary Key
     // ===============================================================
@@ -43,10 +53,21 @@ public class AdmDictItem extends BaseEntity {
     @Comment("顯示名稱")
     private String itemLabel;    // 例：半掛拖車、車頭、小貨車
 
+    /**
+     * 舊排序欄位：僅於 rebalance 時同步為位置（1-based）
+     * - API 回傳的 sortOrder 一律由 sortRank 即時換算為位置，不讀此欄位
+     */
     @Column(nullable = false)
-    @Comment("排序")
+    @Comment("排序（舊欄位，rebalance 時同步）")
     private Integer sortOrder = 0;
 
+    /**
+     * 分數排序鍵（FractionalRank）：實際排序依據，移動項目只需更新本欄位
+     */
+    @Column(name = "sort_rank", length = 64)
+    @Comment("排序鍵（fractional rank）")
+    private String sortRank;
+
     @Column(nullable = false)
     @Comment("是否啟用")
     private Boolean enabled = true;
@@ -5,16 +5,25 @@ import com.xk.base.domain.model.BaseEntity;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 
 import java.util.UUID;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SysParam.CACHE_REGION)
 @Table(name = "sys_param"
         , uniqueConstraints = @UniqueConstraint(name = "uk_param_key", columnNames = "param_key"))
 public class SysParam extends BaseEntity {
 
+    /**
+     * Hibernate 二級快取 region（容量 / TTL 見 l2cache.regions）
+     */
+    public static final String CACHE_REGION = "sys.param";
+
     @Id
     @GeneratedValue
     @Column(columnDefinition = "BINARY(16)")
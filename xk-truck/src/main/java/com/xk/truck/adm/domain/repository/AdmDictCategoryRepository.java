@@ -1,8 +1,16 @@
 package com.xk.truck.adm.domain.repository;
 
 import com.xk.truck.adm.domain.model.AdmDictCategory;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,7 +38,11 @@ public interface AdmDictCategoryRepository extends JpaRepository<AdmDictCategory
     /**
      * 依 code 查詢單一 字典分類
      * - code 為業務唯一鍵
+     * - query cache + 二級快取（分類異動後由 Hibernate 自動失效）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     Optional<AdmDictCategory> findByCode(String code);
 
     /**
@@ -53,4 +65,16 @@ public interface AdmDictCategoryRepository extends JpaRepository<AdmDictCategory
      */
     @Query("select c from AdmDictCategory c order by c.code asc")
     List<AdmDictCategory> findAllOrderByCode();
+
+    /* ==========================================================
+     * Lock
+     * ========================================================== */
+
+    /**
+     * 鎖定分類列（SELECT ... FOR UPDATE，不經二級快取）
+     * - 同一分類的排序異動（新增 / 移動 / 批次排序 / rebalance）以此依序執行
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from AdmDictCategory c where c.uuid = :uuid")
+    Optional<AdmDictCategory> lockById(@Param("uuid") UUID uuid);
 }
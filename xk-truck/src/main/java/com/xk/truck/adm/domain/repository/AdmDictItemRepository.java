@@ -1,12 +1,18 @@
 package com.xk.truck.adm.domain.repository;
 
 import com.xk.truck.adm.domain.model.AdmDictItem;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -31,20 +37,68 @@ public interface AdmDictItemRepository extends JpaRepository<AdmDictItem, UUID>
      * Query
      * ---------------------------------------------------------- */
 
+    /**
+     * 分類下全部項目（query cache + 二級快取；字典讀多寫少）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     List<AdmDictItem> findAllByCategoryUuid(UUID categoryUuid, Sort sort);
 
     /* ----------------------------------------------------------
-     * Sort helper
+     * Rank（fractional rank 排序）
      * ---------------------------------------------------------- */
 
     /**
-     * 取得下一個 sortOrder：max(sortOrder) + 1
-     * 若該分類尚無 item，回傳 1
+     * 分類內最後一筆的排序鍵（idx_dict_item_cat_rank 反向取 1 筆，不掃描整個分類）
+     * - 用途：新增項目加到最後
+     */
+    Optional<RankRow> findFirstByCategoryUuidOrderBySortRankDesc(UUID categoryUuid);
+
+    /**
+     * 分類內第一筆的排序鍵（移到最前時取得下一個鄰居）
+     */
+    Optional<RankRow> findFirstByCategoryUuidOrderBySortRankAsc(UUID categoryUuid);
+
+    /**
+     * 某排序鍵之後的第一筆（移動到 X 之後時取得下一個鄰居）
+     */
+    Optional<RankRow> findFirstByCategoryUuidAndSortRankGreaterThanOrderBySortRankAsc(UUID categoryUuid, String sortRank);
+
+    /**
+     * 分類內全部項目的排序鍵（依顯示順序；尚未回填 sortRank 的舊資料排最前，依舊 sortOrder）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
-                select coalesce(max(i.sortOrder), 0) + 1
+                select i.uuid as uuid, i.sortRank as sortRank
                 from AdmDictItem i
                 where i.categoryUuid = :categoryUuid
+                order by i.sortRank asc, i.sortOrder asc, i.itemCode asc
             """)
-    Integer findNextSortOrder(@Param("categoryUuid") UUID categoryUuid);
+    List<RankRow> findRankRowsByCategoryUuid(@Param("categoryUuid") UUID categoryUuid);
+
+    /**
+     * 分類下全部項目（直接查 DB，不經 query cache；rebalance 於分類鎖內讀取最新資料）
+     */
+    @Query("select i from AdmDictItem i where i.categoryUuid = :categoryUuid")
+    List<AdmDictItem> findAllForRebalance(@Param("categoryUuid") UUID categoryUuid);
+
+    /**
+     * 排在 sortRank 之前的筆數（單筆回應換算 sortOrder 位置用）
+     */
+    long countByCategoryUuidAndSortRankLessThan(UUID categoryUuid, String sortRank);
+
+    /**
+     * 尚有未回填 sortRank 的分類（啟動時 rebalance）
+     */
+    @Query("select distinct i.categoryUuid from AdmDictItem i where i.sortRank is null")
+    List<UUID> findCategoryUuidsWithoutRank();
+
+    interface RankRow {
+        UUID getUuid();
+
+        String getSortRank();
+    }
 }
@@ -1,10 +1,49 @@
 package com.xk.truck.adm.domain.repository;
 
 import com.xk.truck.adm.domain.model.SysParam;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface SysParamRepository extends JpaRepository<SysParam, UUID> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     Optional<SysParam> findByKey(String key);
+
+    /**
+     * 全部參數（key / value 投影，供 SysParamCache 載入）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p.key as key, p.value as value from SysParam p")
+    List<KeyValueRow> findAllKeyValues();
+
+    interface KeyValueRow {
+        String getKey();
+
+        String getValue();
+    }
+
+    /**
+     * 變更標記：筆數 + 最後修改時間（SysParamCache 輪詢用；筆數用來偵測刪除）
+     */
+    @Query("select count(p) as count, max(p.updatedTime) as lastUpdated from SysParam p")
+    ChangeMarker findChangeMarker();
+
+    interface ChangeMarker {
+        Long getCount();
+
+        ZonedDateTime getLastUpdated();
+    }
 }
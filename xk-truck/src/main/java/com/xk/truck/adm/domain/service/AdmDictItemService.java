@@ -2,6 +2,7 @@ package com.xk.truck.adm.domain.service;
 
 import com.xk.truck.adm.controller.api.dto.CreateDictItemReq;
 import com.xk.truck.adm.controller.api.dto.DictItemResp;
+import com.xk.truck.adm.controller.api.dto.MoveDictItemReq;
 import com.xk.truck.adm.controller.api.dto.SortPatchDictItemReq;
 import com.xk.truck.adm.controller.api.dto.UpdateDictItemReq;
 
@@ -37,7 +38,7 @@ public interface AdmDictItemService {
      * - categoryId 必須存在
      * - itemCode 在同一 category 底下唯一
      * - enabled 預設 true（若 req 未帶）
-     * - sortOrder 未帶可自動補 max+1（可選）
+     * - sortOrder 未帶加到最後；有帶則插入該位置（1-based）
      */
     DictItemResp create(UUID categoryId, @Valid CreateDictItemReq req);
 
@@ -74,14 +75,22 @@ public interface AdmDictItemService {
     void delete(UUID itemId);
 
     /* ==========================================================
-     * Sort (Batch Patch)
+     * Sort
      * ========================================================== */
 
+    /**
+     * 移動單一項目到 afterId 之後（afterId 為 null = 最前）
+     * - 只更新被移動那一筆的排序鍵
+     * - afterId 必須與 itemId 同分類
+     */
+    DictItemResp move(UUID itemId, MoveDictItemReq req);
+
     /**
      * 批次更新排序（拖曳排序 / 批次調整）
      * 規則（由 Service 實作）：
      * - orders 不可空
      * - orders 中所有 itemId 必須都屬於 req.categoryId（避免跨分類亂改）
+     * - sortOrder 視為位置；已在正確相對順序的項目不會被改寫
      */
     void updateItemSort(@Valid SortPatchDictItemReq req);
 }
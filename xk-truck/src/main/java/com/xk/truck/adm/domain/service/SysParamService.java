@@ -1,5 +1,6 @@
 package com.xk.truck.adm.domain.service;
 
+import com.xk.truck.adm.application.SysParamCache;
 import com.xk.truck.adm.domain.model.SysParam;
 import com.xk.truck.adm.domain.repository.SysParamRepository;
 
@@ -12,16 +13,22 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class SysParamService {
     private final SysParamRepository repo;
+    private final SysParamCache cache;
 
     @Transactional public SysParam upsert(SysParam req) {
-        return repo.findByKey(req.getKey()).map(e -> {
+        SysParam saved = repo.findByKey(req.getKey()).map(e -> {
             e.setValue(req.getValue());
             e.setDescription(req.getDescription());
             return repo.save(e);
         }).orElseGet(() -> repo.save(req));
+        cache.reloadAfterCommit();
+        return saved;
     }
 
+    /**
+     * 讀取走 SysParamCache（不查 DB）
+     */
     public String getValue(String key, String def) {
-        return repo.findByKey(key).map(SysParam::getValue).orElse(def);
+        return cache.getString(key, def);
     }
 }
@@ -2,6 +2,7 @@ package com.xk.truck.adm.domain.service.impl;
 
 import com.xk.base.exception.BusinessException;
 import com.xk.base.util.XkBeanUtils;
+import com.xk.truck.adm.application.AdmDictSnapshotCache;
 import com.xk.truck.adm.application.mapper.AdmDictCategoryMapper;
 import com.xk.truck.adm.controller.api.dto.CreateDictCategoryReq;
 import com.xk.truck.adm.controller.api.dto.DictCategoryResp;
@@ -51,6 +52,7 @@ public class AdmDictCategoryServiceImpl implements AdmDictCategoryService {
 
     private final AdmDictCategoryRepository categoryRepository;
     private final AdmDictCategoryMapper mapper;
+    private final AdmDictSnapshotCache snapshotCache;
 
     /* ==========================================================
      * Create
@@ -70,6 +72,7 @@ public class AdmDictCategoryServiceImpl implements AdmDictCategoryService {
 
         AdmDictCategory entity = mapper.toEntity(req);
         AdmDictCategory saved = categoryRepository.save(entity);
+        snapshotCache.invalidate();
 
         // 你專案 entity 似乎用 uuid 欄位（saved.getUuid()），保留你的命名
         log.info(
@@ -166,6 +169,7 @@ public class AdmDictCategoryServiceImpl implements AdmDictCategoryService {
         XkBeanUtils.copyNonNullProperties(req, entity);
 
         AdmDictCategory saved = categoryRepository.save(entity);
+        snapshotCache.invalidate();
 
         log.info(
                 "[AdmDictCategoryService] Update category success, id={}, code={}",
@@ -198,6 +202,7 @@ public class AdmDictCategoryServiceImpl implements AdmDictCategoryService {
 
         // MVP：硬刪（正式環境建議：改停用或檢查是否有 items / 是否被引用）
         categoryRepository.deleteById(id);
+        snapshotCache.invalidate();
 
         log.info("[AdmDictCategoryService] Delete category success, id={}", id);
     }
@@ -1,10 +1,14 @@
 package com.xk.truck.adm.domain.service.impl;
 
 import com.xk.base.exception.BusinessException;
+import com.xk.base.util.FractionalRank;
 import com.xk.base.util.XkBeanUtils;
+import com.xk.truck.adm.application.AdmDictRankRebalancer;
+import com.xk.truck.adm.application.AdmDictSnapshotCache;
 import com.xk.truck.adm.application.mapper.AdmDictItemMapper;
 import com.xk.truck.adm.controller.api.dto.CreateDictItemReq;
 import com.xk.truck.adm.controller.api.dto.DictItemResp;
+import com.xk.truck.adm.controller.api.dto.MoveDictItemReq;
 import com.xk.truck.adm.controller.api.dto.SortPatchDictItemReq;
 import com.xk.truck.adm.controller.api.dto.UpdateDictItemReq;
 import com.xk.truck.adm.domain.model.AdmDictItem;
@@ -19,12 +23,31 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * ===============================================================
+ * Service Class : AdmDictItemServiceImpl
+ * Layer         : Application / Domain Service
+ * Purpose       : 字典項目 CRUD + 排序
+ * <p>
+ * 排序（fractional rank）
+ * - 實際排序依 sortRank（FractionalRank）；API 的 sortOrder 為相容用的 1-based 位置
+ * - 新增到最後：取最後一筆 sortRank（索引反向取 1 筆）→ after(last)，不需 max 掃描
+ * - 移動（move / 指定位置）：只更新被移動那一筆的 sortRank
+ * - 批次排序（updateItemSort）：保留「最長遞增子序列」的項目不動，只重排其餘項目
+ * - 排序鍵過長 → AdmDictRankRebalancer 於 commit 後背景重新分配
+ * - 舊 sortOrder 欄位：新增 / 移動時寫入當下位置，rebalance 時整批同步
+ * <p>
+ * 併發
+ * - 排序異動（新增 / 指定位置 / 移動 / 批次排序）先鎖分類列，與 rebalance 依序執行
+ * - 交易為 READ_COMMITTED：取得鎖之後的讀取一定看到前一個交易 commit 的排序鍵
+ * ===============================================================
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -34,20 +57,23 @@ public class AdmDictItemServiceImpl implements AdmDictItemService {
     private final AdmDictCategoryRepository categoryRepository;
     private final AdmDictItemRepository itemRepository;
     private final AdmDictItemMapper mapper;
+    private final AdmDictSnapshotCache snapshotCache;
+    private final AdmDictRankRebalancer rankRebalancer;
 
     /* ==========================================================
      * Create
      * ========================================================== */
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public DictItemResp create(UUID categoryId, @Valid CreateDictItemReq req) {
         final String itemCode = safeTrim(req.getItemCode());
 
         log.info("[AdmDictItemService] Create item start, categoryUuid={}, itemCode={}",
                 categoryId, itemCode);
 
-        // 1️⃣ category 必須存在
-        if (!categoryRepository.existsById(categoryId)) {
+        // 1️⃣ category 必須存在（同時鎖定分類，排序異動依序執行）
+        if (categoryRepository.lockById(categoryId).isEmpty()) {
             log.warn("[AdmDictItemService] Category not found, categoryUuid={}", categoryId);
             throw new BusinessException("查無字典分類 id：" + categoryId);
         }
@@ -66,18 +92,20 @@ public class AdmDictItemServiceImpl implements AdmDictItemService {
         // 預設值
         if (entity.getEnabled() == null) entity.setEnabled(true);
 
-        // sortOrder：自動補
-        if (entity.getSortOrder() == null) {
-            Integer next = itemRepository.findNextSortOrder(categoryId);
-            entity.setSortOrder(next);
-        }
+        // sortRank：未給位置 → 加到最後；有給 → 插入該位置
+        entity.setSortRank(req.getSortOrder() == null
+                ? rankAfterLast(categoryId)
+                : rankAtPosition(categoryId, null, req.getSortOrder()));
+        entity.setSortOrder(positionOf(categoryId, entity.getSortRank()));
 
         AdmDictItem saved = itemRepository.save(entity);
+        snapshotCache.invalidate();
+        checkRankLength(saved);
 
         log.info("[AdmDictItemService] Create item success, itemUuid={}, categoryUuid={}, itemCode={}",
                 saved.getUuid(), categoryId, saved.getItemCode());
 
-        return mapper.toResp(saved);
+        return toResp(saved);
     }
 
     /* ==========================================================
@@ -93,10 +121,11 @@ public class AdmDictItemServiceImpl implements AdmDictItemService {
             throw new BusinessException("查無字典分類 id：" + categoryId);
         }
 
-        return mapper.toListResp(
+        return mapper.toRankedListResp(
                 itemRepository.findAllByCategoryUuid(
                         categoryId,
                         Sort.by(
+                                Sort.Order.asc("sortRank"),
                                 Sort.Order.asc("sortOrder"),
                                 Sort.Order.asc("itemCode")
                         )
@@ -109,6 +138,7 @@ public class AdmDictItemServiceImpl implements AdmDictItemService {
      * ========================================================== */
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public DictItemResp update(UUID itemId, @Valid UpdateDictItemReq req) {
         log.info("[AdmDictItemService] Update item start, itemUuid={}", itemId);
 
@@ -129,14 +159,24 @@ public class AdmDictItemServiceImpl implements AdmDictItemService {
             entity.setItemCode(newCode);
         }
 
-        // Patch semantics
+        // Patch semantics（sortOrder 為位置，不直接寫入舊欄位）
+        Integer legacySortOrder = entity.getSortOrder();
         XkBeanUtils.copyNonNullProperties(req, entity);
+        entity.setSortOrder(legacySortOrder);
+
+        if (req.getSortOrder() != null) {
+            categoryRepository.lockById(categoryUuid);
+            entity.setSortRank(rankAtPosition(categoryUuid, itemId, req.getSortOrder()));
+            entity.setSortOrder(positionOf(categoryUuid, entity.getSortRank()));
+            checkRankLength(entity);
+        }
 
         AdmDictItem saved = itemRepository.save(entity);
+        snapshotCache.invalidate();
 
         log.info("[AdmDictItemService] Update item success, itemUuid={}", saved.getUuid());
 
-        return mapper.toResp(saved);
+        return toResp(saved);
     }
 
     /* ==========================================================
@@ -153,21 +193,83 @@ public class AdmDictItemServiceImpl implements AdmDictItemService {
 
         // MVP：硬刪
         itemRepository.deleteById(itemId);
+        snapshotCache.invalidate();
 
         log.info("[AdmDictItemService] Delete item success, itemUuid={}", itemId);
     }
 
     /* ==========================================================
-     * Sort
+     * Move / Sort
      * ========================================================== */
 
     @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public DictItemResp move(UUID itemId, MoveDictItemReq req) {
+        final UUID afterId = req.getAfterId();
+
+        log.info("[AdmDictItemService] Move item start, itemUuid={}, afterUuid={}", itemId, afterId);
+
+        AdmDictItem item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new BusinessException("查無字典項目 id：" + itemId));
+        UUID categoryUuid = item.getCategoryUuid();
+
+        if (itemId.equals(afterId)) {
+            throw new BusinessException("不可移到自己之後");
+        }
+        categoryRepository.lockById(categoryUuid);
+
+        // 鄰居：prev = afterId 的排序鍵（null = 最前）；next = prev 之後的第一筆
+        String prev = null;
+        if (afterId != null) {
+            AdmDictItem after = itemRepository.findById(afterId)
+                    .orElseThrow(() -> new BusinessException("查無字典項目 id：" + afterId));
+            if (!categoryUuid.equals(after.getCategoryUuid())) {
+                throw new BusinessException("禁止跨分類更新排序");
+            }
+            prev = after.getSortRank();
+        }
+
+        Optional<AdmDictItemRepository.RankRow> next = afterId == null
+                ? itemRepository.findFirstByCategoryUuidOrderBySortRankAsc(categoryUuid)
+                : prev == null ? Optional.empty()
+                : itemRepository.findFirstByCategoryUuidAndSortRankGreaterThanOrderBySortRankAsc(categoryUuid, prev);
+
+        if (next.isPresent() && itemId.equals(next.get().getUuid())) {
+            log.info("[AdmDictItemService] Move item skipped (already in place), itemUuid={}", itemId);
+            return toResp(item);
+        }
+
+        boolean legacyRank = (afterId != null && prev == null)
+                || next.map(r -> r.getSortRank() == null).orElse(false);
+        if (legacyRank) {
+            // 尚未回填 sortRank：先整個分類 rebalance，再依位置計算
+            List<AdmDictItem> ordered = rankRebalancer.rebalanceNow(categoryUuid);
+            item.setSortRank(rankAfterInList(ordered, itemId, afterId));
+        } else {
+            item.setSortRank(FractionalRank.between(prev, next.map(AdmDictItemRepository.RankRow::getSortRank).orElse(null)));
+        }
+        item.setSortOrder(positionOf(categoryUuid, item.getSortRank()));
+
+        snapshotCache.invalidate();
+        checkRankLength(item);
+
+        log.info("[AdmDictItemService] Move item success, itemUuid={}, sortRank={}", itemId, item.getSortRank());
+
+        return toResp(item);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public void updateItemSort(@Valid SortPatchDictItemReq req) {
         UUID categoryUuid = req.getCategoryId();
 
         log.info("[AdmDictItemService] Batch sort start, categoryUuid={}, size={}",
                 categoryUuid, req.getOrders().size());
 
+        if (categoryRepository.lockById(categoryUuid).isEmpty()) {
+            throw new BusinessException("查無字典分類 id：" + categoryUuid);
+        }
+
         List<UUID> ids = req.getOrders().stream()
                 .map(SortPatchDictItemReq.OrderPatch::getId)
                 .toList();
@@ -191,14 +293,176 @@ public class AdmDictItemServiceImpl implements AdmDictItemService {
                         SortPatchDictItemReq.OrderPatch::getSortOrder
                 ));
 
-        for (AdmDictItem item : items) {
-            item.setSortOrder(orderMap.get(item.getUuid()));
+        // 目前順序（排序鍵缺漏或重複 → 先 rebalance）
+        List<AdmDictItem> current = currentOrder(categoryUuid);
+
+        // 目標順序：request 內的項目用新 sortOrder，其餘用目前位置；同值時 request 內的項目在前
+        List<AdmDictItem> target = new ArrayList<>(current);
+        Map<UUID, Integer> position = new HashMap<>();
+        for (int i = 0; i < current.size(); i++) position.put(current.get(i).getUuid(), i);
+        target.sort(Comparator
+                .comparingInt((AdmDictItem i) -> orderMap.getOrDefault(i.getUuid(), position.get(i.getUuid()) + 1))
+                .thenComparing(i -> !orderMap.containsKey(i.getUuid()))
+                .thenComparingInt(i -> position.get(i.getUuid())));
+
+        int changed = rerank(target);
+        if (changed > 0) snapshotCache.invalidate();
+
+        log.info("[AdmDictItemService] Batch sort success, categoryUuid={}, count={}, changed={}",
+                categoryUuid, items.size(), changed);
+    }
+
+    /* ==========================================================
+     * Rank helpers
+     * ========================================================== */
+
+    /**
+     * 加到最後：最後一筆的排序鍵之後
+     */
+    private String rankAfterLast(UUID categoryUuid) {
+        return FractionalRank.after(itemRepository.findFirstByCategoryUuidOrderBySortRankDesc(categoryUuid)
+                .map(AdmDictItemRepository.RankRow::getSortRank)
+                .orElse(null));
+    }
+
+    /**
+     * 插入 1-based 位置（selfId 不計入；超出範圍視為頭 / 尾）
+     */
+    private String rankAtPosition(UUID categoryUuid, UUID selfId, int position) {
+        List<String> ranks = itemRepository.findRankRowsByCategoryUuid(categoryUuid).stream()
+                .filter(r -> !r.getUuid().equals(selfId))
+                .map(AdmDictItemRepository.RankRow::getSortRank)
+                .toList();
+
+        if (!isStrictlyIncreasing(ranks)) {
+            ranks = rankRebalancer.rebalanceNow(categoryUuid).stream()
+                    .filter(i -> !i.getUuid().equals(selfId))
+                    .map(AdmDictItem::getSortRank)
+                    .toList();
+        }
+
+        int index = Math.max(0, Math.min(position - 1, ranks.size()));
+        return FractionalRank.between(
+                index > 0 ? ranks.get(index - 1) : null,
+                index < ranks.size() ? ranks.get(index) : null);
+    }
+
+    /**
+     * ordered（已 rebalance）中 afterId 之後的排序鍵（selfId 不計入）
+     */
+    private static String rankAfterInList(List<AdmDictItem> ordered, UUID selfId, UUID afterId) {
+        List<AdmDictItem> others = ordered.stream().filter(i -> !i.getUuid().equals(selfId)).toList();
+        int index = 0;
+        for (int i = 0; i < others.size(); i++) {
+            if (others.get(i).getUuid().equals(afterId)) index = i + 1;
+        }
+        return FractionalRank.between(
+                index > 0 ? others.get(index - 1).getSortRank() : null,
+                index < others.size() ? others.get(index).getSortRank() : null);
+    }
+
+    /**
+     * 分類目前的顯示順序（managed entity）；排序鍵缺漏或重複時先 rebalance
+     */
+    private List<AdmDictItem> currentOrder(UUID categoryUuid) {
+        List<AdmDictItem> items = itemRepository.findAllByCategoryUuid(categoryUuid, Sort.unsorted())
+                .stream()
+                .sorted(AdmDictRankRebalancer.DISPLAY_ORDER)
+                .toList();
+        if (isStrictlyIncreasing(items.stream().map(AdmDictItem::getSortRank).toList())) {
+            return items;
+        }
+        return rankRebalancer.rebalanceNow(categoryUuid);
+    }
+
+    /**
+     * 依 target 順序重給排序鍵：最長遞增子序列（LIS）內的項目保留原鍵，其餘插入鄰居之間
+     *
+     * @return 實際更新的筆數
+     */
+    private int rerank(List<AdmDictItem> target) {
+        int n = target.size();
+        boolean[] keep = longestIncreasingRanks(target);
+
+        // nextKept[i]：i 右側（含）第一個保留項目的排序鍵
+        String[] nextKept = new String[n + 1];
+        for (int i = n - 1; i >= 0; i--) {
+            nextKept[i] = keep[i] ? target.get(i).getSortRank() : nextKept[i + 1];
+        }
+
+        int changed = 0;
+        String prev = null;
+        for (int i = 0; i < n; i++) {
+            AdmDictItem item = target.get(i);
+            if (!keep[i]) {
+                item.setSortRank(FractionalRank.between(prev, nextKept[i + 1]));
+                checkRankLength(item);
+                changed++;
+            }
+            prev = item.getSortRank();
+        }
+        return changed;
+    }
+
+    /**
+     * 排序鍵嚴格遞增的最長子序列（O(n log n)）
+     */
+    private static boolean[] longestIncreasingRanks(List<AdmDictItem> target) {
+        int n = target.size();
+        int[] tails = new int[n];
+        int[] parent = new int[n];
+        int length = 0;
+
+        for (int i = 0; i < n; i++) {
+            String rank = target.get(i).getSortRank();
+            int lo = 0, hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (target.get(tails[mid]).getSortRank().compareTo(rank) < 0) lo = mid + 1;
+                else hi = mid;
+            }
+            parent[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) length++;
+        }
+
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = parent[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+
+    private static boolean isStrictlyIncreasing(List<String> ranks) {
+        for (int i = 0; i < ranks.size(); i++) {
+            if (ranks.get(i) == null) return false;
+            if (i > 0 && ranks.get(i - 1).compareTo(ranks.get(i)) >= 0) return false;
+        }
+        return true;
+    }
+
+    private void checkRankLength(AdmDictItem item) {
+        if (FractionalRank.needsRebalance(item.getSortRank(), AdmDictRankRebalancer.MAX_RANK_LENGTH)) {
+            rankRebalancer.requestRebalance(item.getCategoryUuid());
         }
+    }
 
-        itemRepository.saveAll(items);
+    /**
+     * 排序鍵在分類內的位置（1-based；自己不計入）
+     */
+    private int positionOf(UUID categoryUuid, String sortRank) {
+        return Math.toIntExact(itemRepository.countByCategoryUuidAndSortRankLessThan(categoryUuid, sortRank) + 1);
+    }
 
-        log.info("[AdmDictItemService] Batch sort success, categoryUuid={}, count={}",
-                categoryUuid, items.size());
+    /**
+     * 單筆回應：sortOrder 換算為目前位置（1-based）
+     */
+    private DictItemResp toResp(AdmDictItem entity) {
+        DictItemResp resp = mapper.toResp(entity);
+        if (entity.getSortRank() != null) {
+            resp.setSortOrder(positionOf(entity.getCategoryUuid(), entity.getSortRank()));
+        }
+        return resp;
     }
 
     private static String safeTrim(String s) {
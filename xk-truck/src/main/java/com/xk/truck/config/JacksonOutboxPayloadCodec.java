@@ -0,0 +1,37 @@
+package com.xk.truck.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xk.base.infra.outbox.OutboxPayloadCodec;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Outbox 事件 payload 以 JSON 保存（Spring 管理的 ObjectMapper，已註冊 JavaTimeModule）
+ */
+@Component
+@RequiredArgsConstructor
+public class JacksonOutboxPayloadCodec implements OutboxPayloadCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public String encode(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("outbox payload 序列化失敗：" + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("outbox payload 反序列化失敗：" + type.getSimpleName(), e);
+        }
+    }
+}
@@ -22,7 +22,10 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * ===============================================================
@@ -35,6 +38,7 @@ import java.util.List;
  * - 初始化預設權限 → 初始化角色 → 初始化使用者
  * - 僅在 application.yml 中設定 upms.seed.enabled=true 時執行
  * - 避免重複建立（會檢查是否存在）
+ * - 角色權限 / 使用者角色只在該角色 / 使用者本次新建時綁定，重啟不覆蓋管理者調整
  * <p>
  * application.yml 設定範例：
  * upms:
@@ -78,6 +82,11 @@ public class UpmsSeedConfig {
             seedPermission("FMS", "TRUCK", "UPDATE", "車輛-修改", "");
             seedPermission("FMS", "TRUCK", "DELETE", "車輛-刪除", "");
 
+            seedPermission("FMS", "DRIVER", "VIEW",   "司機-查詢", "");
+            seedPermission("FMS", "DRIVER", "CREATE", "司機-新增", "");
+            seedPermission("FMS", "DRIVER", "UPDATE", "司機-修改", "");
+            seedPermission("FMS", "DRIVER", "DELETE", "司機-刪除", "");
+
             seedPermission("TOM", "ORDER", "VIEW",   "訂單-查詢", "");
             seedPermission("TOM", "ORDER", "CREATE", "訂單-新增", "");
             seedPermission("TOM", "ORDER", "UPDATE", "訂單-修改", "");
@@ -85,39 +94,85 @@ public class UpmsSeedConfig {
             seedPermission("TOM", "ORDER", "ASSIGN", "訂單-派遣", "");
             seedPermission("TOM", "ORDER", "STATUS", "訂單-狀態異動", "");
 
-            // 2) Roles
-            seedRole("SYS_ADMIN", "系統管理員", "全開、最高權限");
-            seedRole("COMPANY_ADMIN", "公司管理員", "UPMS + FMS + TOM（管理公司自己資料）");
-            seedRole("DISPATCH", "OP 調度員", "FMS");
-            seedRole("DRIVER", "司機", "FMS（僅可操作自己的工作）");
-            seedRole("CUSTOMER", "顧客 / 託運客戶", "");
-            seedRole("BACK_OFFICE", "內勤人員", "單據、對帳、報表");
-            seedRole("STAFF", "行政人員", "人員、車輛基本資料維護");
-            seedRole("USER", "一般使用者", "");
+            // 2) Roles（只記錄本次新建者，下面第 4 步只對它們綁定）
+            Set<String> createdRoles = new HashSet<>();
+            Set<String> createdUsers = new HashSet<>();
+            seedRole(createdRoles, "SYS_ADMIN", "系統管理員", "全開、最高權限");
+            seedRole(createdRoles, "COMPANY_ADMIN", "公司管理員", "UPMS + FMS + TOM（管理公司自己資料）");
+            seedRole(createdRoles, "DISPATCH", "OP 調度員", "FMS");
+            seedRole(createdRoles, "DRIVER", "司機", "FMS（僅可操作自己的工作）");
+            seedRole(createdRoles, "CUSTOMER", "顧客 / 託運客戶", "");
+            seedRole(createdRoles, "BACK_OFFICE", "內勤人員", "單據、對帳、報表");
+            seedRole(createdRoles, "STAFF", "行政人員", "人員、車輛基本資料維護");
+            seedRole(createdRoles, "USER", "一般使用者", "");
 
             // 3) Users (with BCrypt)
-            seedUser("admin");
-            seedUser("sys001");
-            seedUser("sys002");
-            seedUser("sys003");
-            seedUser("ca001");
-            seedUser("ca002");
-            seedUser("ca003");
-            seedUser("op001");
-            seedUser("op002");
-            seedUser("op003");
-            seedUser("dd001");
-            seedUser("dd002");
-            seedUser("dd003");
-            seedUser("userA");
-            seedUser("userB");
-            seedUser("userC");
+            seedUser(createdUsers, "admin");
+            seedUser(createdUsers, "sys001");
+            seedUser(createdUsers, "sys002");
+            seedUser(createdUsers, "sys003");
+            seedUser(createdUsers, "ca001");
+            seedUser(createdUsers, "ca002");
+            seedUser(createdUsers, "ca003");
+            seedUser(createdUsers, "op001");
+            seedUser(createdUsers, "op002");
+            seedUser(createdUsers, "op003");
+            seedUser(createdUsers, "dd001");
+            seedUser(createdUsers, "dd002");
+            seedUser(createdUsers, "dd003");
+            seedUser(createdUsers, "userA");
+            seedUser(createdUsers, "userB");
+            seedUser(createdUsers, "userC");
 
             initAdmin();
+
+            // 4) 非管理員角色的權限 + 使用者角色（route-permissions 生效後，無權限的角色一律 403）
+            //    只綁本次新建的角色 / 使用者：既有資料視為管理者維護過，重啟不把撤掉的授權加回來
+            ROLE_PERMISSIONS.forEach((roleCode, permCodes) -> {
+                if (createdRoles.contains(roleCode)) seedRolePermissions(roleCode, permCodes);
+            });
+            USER_ROLES.forEach((username, roleCode) -> {
+                if (createdUsers.contains(username)) seedUserRole(username, roleCode);
+            });
             log.info("[UPMS] 種子資料初始化完成！");
         };
     }
 
+    /**
+     * 角色 → 權限碼（對應 security.route-permissions；SYS_ADMIN 由 initAdmin 全開）
+     * - DISPATCH：訂單全流程 + 派單 / 派工狀態 + 車輛 / 司機查詢
+     * - DRIVER  ：派工狀態流轉（start / sign / complete）
+     * - CUSTOMER / USER：不給任何受保護路由
+     */
+    static final Map<String, List<String>> ROLE_PERMISSIONS = Map.of(
+            "COMPANY_ADMIN", List.of(
+                    "UPMS_USER_VIEW", "UPMS_USER_CREATE", "UPMS_USER_UPDATE", "UPMS_USER_RESET_PWD", "UPMS_USER_ENABLE",
+                    "UPMS_ROLE_VIEW",
+                    "FMS_TRUCK_VIEW", "FMS_TRUCK_CREATE", "FMS_TRUCK_UPDATE", "FMS_TRUCK_DELETE",
+                    "FMS_DRIVER_VIEW", "FMS_DRIVER_CREATE", "FMS_DRIVER_UPDATE", "FMS_DRIVER_DELETE",
+                    "TOM_ORDER_VIEW", "TOM_ORDER_CREATE", "TOM_ORDER_UPDATE", "TOM_ORDER_DELETE",
+                    "TOM_ORDER_ASSIGN", "TOM_ORDER_STATUS"),
+            "DISPATCH", List.of(
+                    "TOM_ORDER_VIEW", "TOM_ORDER_CREATE", "TOM_ORDER_UPDATE", "TOM_ORDER_ASSIGN", "TOM_ORDER_STATUS",
+                    "FMS_TRUCK_VIEW", "FMS_DRIVER_VIEW"),
+            "DRIVER", List.of("TOM_ORDER_STATUS"),
+            "BACK_OFFICE", List.of("TOM_ORDER_VIEW"),
+            "STAFF", List.of(
+                    "FMS_TRUCK_VIEW", "FMS_TRUCK_CREATE", "FMS_TRUCK_UPDATE",
+                    "FMS_DRIVER_VIEW", "FMS_DRIVER_CREATE", "FMS_DRIVER_UPDATE")
+    );
+
+    /**
+     * 種子使用者 → 角色（admin 由 initAdmin 處理）
+     */
+    static final Map<String, String> USER_ROLES = Map.ofEntries(
+            Map.entry("sys001", "SYS_ADMIN"), Map.entry("sys002", "SYS_ADMIN"), Map.entry("sys003", "SYS_ADMIN"),
+            Map.entry("ca001", "COMPANY_ADMIN"), Map.entry("ca002", "COMPANY_ADMIN"), Map.entry("ca003", "COMPANY_ADMIN"),
+            Map.entry("op001", "DISPATCH"), Map.entry("op002", "DISPATCH"), Map.entry("op003", "DISPATCH"),
+            Map.entry("dd001", "DRIVER"), Map.entry("dd002", "DRIVER"), Map.entry("dd003", "DRIVER"),
+            Map.entry("userA", "USER"), Map.entry("userB", "USER"), Map.entry("userC", "USER")
+    );
+
     private void seedPermission(
             String systemCode, String resourceCode, String actionCode, String name, String desc) {
         // code 由 entity 組合
@@ -140,7 +195,7 @@ public class UpmsSeedConfig {
     }
 
 
-    private void seedRole(String code, String name, String desc) {
+    private void seedRole(Set<String> created, String code, String name, String desc) {
         if (roleService.existsByCode(code)) {
             log.info("角色已存在：{}", code);
             return;
@@ -150,10 +205,11 @@ public class UpmsSeedConfig {
         req.setName(name);
         req.setDescription(desc);
         roleService.create(req);
+        created.add(code);
         log.info("建立 Role：{}", code);
     }
 
-    private void seedUser(String username) {
+    private void seedUser(Set<String> created, String username) {
         if (userService.existsByUsername(username)) {
             log.info("使用者已存在：{}", username);
             return;
@@ -162,9 +218,27 @@ public class UpmsSeedConfig {
         req.setUsername(username);
         req.setPassword("truck123456");
         userService.create(req);
+        created.add(username);
         log.info("建立使用者：{}", username);
     }
 
+    /**
+     * 僅對本次新建的角色呼叫（管理者之後清空 / 調整的權限，重啟不會被補回）
+     */
+    private void seedRolePermissions(String roleCode, List<String> permCodes) {
+        UpmsRoleResp role = roleService.findByCode(roleCode);
+        roleService.replacePermissions(role.getUuid(), permCodes);
+        log.info("綁定角色權限：{} → {}", roleCode, permCodes.size());
+    }
+
+    /**
+     * 僅對本次新建的使用者呼叫（管理者之後移除的角色，重啟不會被加回）
+     */
+    private void seedUserRole(String username, String roleCode) {
+        UpmsUserResp user = userService.findByUsername(username);
+        userRoleService.assignRole(user.getUuid(), roleCode);
+    }
+
     private void initAdmin() {
         // 0) 固定代碼（避免魔法字串散落）
         final String ADMIN_USERNAME = "admin";
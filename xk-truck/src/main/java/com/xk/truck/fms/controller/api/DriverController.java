@@ -1,6 +1,8 @@
 package com.xk.truck.fms.controller.api;
 
+import com.xk.base.domain.jpa.spec.KeysetPage;
 import com.xk.base.web.ApiResult;
+import com.xk.base.web.PageMode;
 import com.xk.truck.fms.controller.api.dto.*;
 import com.xk.truck.fms.domain.service.DriverService;
 
@@ -42,8 +44,17 @@ public class DriverController {
     @Operation(summary = "司機分頁查詢")
     @GetMapping
     public ApiResult<Page<DriverResp>> list(
-            @PageableDefault(sort = "createdTime", direction = Sort.Direction.DESC) Pageable pageable) {
-        return ApiResult.success(service.list(pageable));
+            @PageableDefault(sort = "createdTime", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(name = PageMode.PARAM, required = false) String pageMode) {
+        return ApiResult.success(service.list(pageable, PageMode.from(pageMode)));
+    }
+
+    @Operation(summary = "司機游標分頁查詢（keyset，依 createdTime DESC）")
+    @GetMapping("/cursor")
+    public ApiResult<KeysetPage<DriverResp>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ApiResult.success(service.listByCursor(cursor, size));
     }
 
     @Operation(summary = "更新司機（全量更新可變更欄位）")
@@ -1,6 +1,8 @@
 package com.xk.truck.fms.controller.api;
 
+import com.xk.base.domain.jpa.spec.KeysetPage;
 import com.xk.base.web.ApiResult;
+import com.xk.base.web.PageMode;
 import com.xk.truck.fms.controller.api.dto.UpdateStatusReq;
 import com.xk.truck.fms.controller.api.dto.VehicleCreateReq;
 import com.xk.truck.fms.controller.api.dto.VehicleResp;
@@ -47,8 +49,17 @@ public class VehicleController {
     @Operation(summary = "車輛分頁查詢")
     @GetMapping
     public ApiResult<Page<VehicleResp>> list(
-            @PageableDefault(sort = "createdTime", direction = Sort.Direction.DESC) Pageable pageable) {
-        return ApiResult.success(service.list(pageable));
+            @PageableDefault(sort = "createdTime", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(name = PageMode.PARAM, required = false) String pageMode) {
+        return ApiResult.success(service.list(pageable, PageMode.from(pageMode)));
+    }
+
+    @Operation(summary = "車輛游標分頁查詢（keyset，依 createdTime DESC）")
+    @GetMapping("/cursor")
+    public ApiResult<KeysetPage<VehicleResp>> listByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ApiResult.success(service.listByCursor(cursor, size));
     }
 
     @Operation(summary = "更新車輛（全量更新可變更欄位）")
@@ -0,0 +1,34 @@
+package com.xk.truck.fms.domain.event;
+
+import com.xk.truck.fms.domain.model.DispatchTask;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * 派工狀態變更（ASSIGNED / IN_PROGRESS / SIGNED / COMPLETED / CANCELLED），經 outbox 投遞
+ * - payload 為 JSON；欄位只增不改
+ */
+public record DispatchTaskStatusChangedEvent(
+        UUID taskId,
+        UUID orderId,
+        UUID vehicleId,
+        UUID driverId,
+        String status,
+        ZonedDateTime occurredAt
+) {
+
+    public static final String AGGREGATE_TYPE = "DispatchTask";
+    public static final String TYPE = "fms.dispatch.status-changed";
+
+    public static DispatchTaskStatusChangedEvent of(DispatchTask task, ZonedDateTime occurredAt) {
+        return new DispatchTaskStatusChangedEvent(
+                task.getId(),
+                task.getOrderId(),
+                task.getVehicleId(),
+                task.getDriverId(),
+                task.getStatus() == null ? null : task.getStatus().name(),
+                occurredAt
+        );
+    }
+}
@@ -24,6 +24,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "fms_driver", uniqueConstraints = {
         @UniqueConstraint(name = "uq_fms_driver_phone", columnNames = "phone")
+}, indexes = {
+        // 列表 keyset 分頁的排序 + seek 索引（created_time, id）
+        @Index(name = "idx_fms_driver_created_time", columnList = "created_time, id")
 })
 public class Driver extends BaseEntity {
 
@@ -18,6 +18,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "fms_vehicle", uniqueConstraints = {
         @UniqueConstraint(name = "uq_fms_vehicle_plate", columnNames = "plate_no")
+}, indexes = {
+        // 列表 keyset 分頁的排序 + seek 索引（created_time, id）
+        @Index(name = "idx_fms_vehicle_created_time", columnList = "created_time, id")
 })
 public class Vehicle extends BaseEntity {
 
@@ -6,6 +6,7 @@ import com.xk.truck.fms.domain.model.DriverStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -22,7 +23,7 @@ import java.util.UUID;
  * ===============================================================
  */
 @Repository
-public interface DriverRepository extends JpaRepository<Driver, UUID> {
+public interface DriverRepository extends JpaRepository<Driver, UUID>, JpaSpecificationExecutor<Driver> {
 
     Optional<Driver> findByPhone(String phone);
 
@@ -1,5 +1,7 @@
 package com.xk.truck.fms.domain.service;
 
+import com.xk.base.infra.outbox.OutboxPublisher;
+import com.xk.truck.fms.domain.event.DispatchTaskStatusChangedEvent;
 import com.xk.truck.fms.domain.model.DispatchStatus;
 import com.xk.truck.fms.domain.model.DispatchTask;
 import com.xk.truck.fms.domain.repository.DispatchTaskRepository;
@@ -19,47 +21,64 @@ import java.util.UUID;
 public class DispatchService {
 
     private final DispatchTaskRepository repo;
+    private final OutboxPublisher outboxPublisher;
 
     public DispatchTask assign(UUID orderId, UUID vehicleId, UUID driverId) {
+        ZonedDateTime now = ZonedDateTime.now();
         DispatchTask task = DispatchTask.builder()
                 .orderId(orderId)
                 .vehicleId(vehicleId)
                 .driverId(driverId)
                 .status(DispatchStatus.ASSIGNED)
-                .assignedTime(ZonedDateTime.now())
+                .assignedTime(now)
                 .build();
-        return repo.save(task);
+        return published(repo.save(task), now);
     }
 
     public DispatchTask start(UUID taskId) {
         DispatchTask task = find(taskId);
+        ZonedDateTime now = ZonedDateTime.now();
         task.setStatus(DispatchStatus.IN_PROGRESS);
-        task.setStartedTime(ZonedDateTime.now());
-        return task;
+        task.setStartedTime(now);
+        return published(task, now);
     }
 
     public DispatchTask sign(UUID taskId) {
         DispatchTask task = find(taskId);
+        ZonedDateTime now = ZonedDateTime.now();
         task.setStatus(DispatchStatus.SIGNED);
-        task.setSignedTime(ZonedDateTime.now());
-        return task;
+        task.setSignedTime(now);
+        return published(task, now);
     }
 
     public DispatchTask complete(UUID taskId) {
         DispatchTask task = find(taskId);
+        ZonedDateTime now = ZonedDateTime.now();
         task.setStatus(DispatchStatus.COMPLETED);
-        task.setCompletedTime(ZonedDateTime.now());
-        return task;
+        task.setCompletedTime(now);
+        return published(task, now);
     }
 
     public DispatchTask cancel(UUID taskId) {
         DispatchTask task = find(taskId);
         task.setStatus(DispatchStatus.CANCELLED);
-        return task;
+        return published(task, ZonedDateTime.now());
     }
 
     public DispatchTask find(UUID id) {
         return repo.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("DispatchTask not found: " + id));
     }
+
+    /**
+     * 狀態變更事件寫入 outbox（同一交易；id 由 save 產生後才發布）
+     */
+    private DispatchTask published(DispatchTask task, ZonedDateTime occurredAt) {
+        outboxPublisher.publish(
+                DispatchTaskStatusChangedEvent.AGGREGATE_TYPE,
+                task.getId().toString(),
+                DispatchTaskStatusChangedEvent.TYPE,
+                DispatchTaskStatusChangedEvent.of(task, occurredAt));
+        return task;
+    }
 }
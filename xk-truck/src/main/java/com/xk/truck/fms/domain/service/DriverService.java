@@ -1,6 +1,12 @@
 package com.xk.truck.fms.domain.service;
 
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.domain.jpa.spec.KeysetPager;
+import com.xk.base.domain.jpa.spec.KeysetSort;
+import com.xk.base.domain.jpa.spec.PageTotalEstimator;
+import com.xk.base.domain.jpa.spec.SpecPager;
 import com.xk.base.util.XkBeanUtils;
+import com.xk.base.web.PageMode;
 import com.xk.truck.fms.controller.api.dto.DriverCreateReq;
 import com.xk.truck.fms.controller.api.dto.DriverResp;
 import com.xk.truck.fms.domain.model.Driver;
@@ -12,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,7 +35,14 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class DriverService {
 
+    /**
+     * Keyset 排序：createdTime DESC, id DESC（與列表預設排序一致）
+     */
+    private static final KeysetSort<Driver> KEYSET_SORT = KeysetSort.of(
+            "createdTime", Driver::getCreatedTime, "id", Driver::getId, Sort.Direction.DESC);
+
     private final DriverRepository repository;
+    private final SpecPager specPager;
 
     @Transactional
     public DriverResp create(DriverCreateReq req) {
@@ -48,7 +62,23 @@ public class DriverService {
     }
 
     public Page<DriverResp> list(Pageable pageable) {
-        return repository.findAll(pageable).map(e -> XkBeanUtils.copyProperties(e, DriverResp::new));
+        return list(pageable, PageMode.EXACT);
+    }
+
+    /**
+     * 分頁查詢（指定 total 計算方式：EXACT / SLICE / ESTIMATE）
+     */
+    public Page<DriverResp> list(Pageable pageable, PageMode mode) {
+        return specPager.findAll(repository, Driver.class, null, pageable, mode, PageTotalEstimator.key("fms_driver"))
+                .map(e -> XkBeanUtils.copyProperties(e, DriverResp::new));
+    }
+
+    /**
+     * Keyset（游標）分頁：深頁不變慢、不跑 count
+     */
+    public KeysetPage<DriverResp> listByCursor(String cursor, Integer size) {
+        return KeysetPager.find(repository, null, KEYSET_SORT, cursor, size)
+                .map(e -> XkBeanUtils.copyProperties(e, DriverResp::new));
     }
 
     @Transactional
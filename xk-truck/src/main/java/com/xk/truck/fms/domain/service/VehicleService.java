@@ -1,6 +1,12 @@
 package com.xk.truck.fms.domain.service;
 
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.domain.jpa.spec.KeysetPager;
+import com.xk.base.domain.jpa.spec.KeysetSort;
+import com.xk.base.domain.jpa.spec.PageTotalEstimator;
+import com.xk.base.domain.jpa.spec.SpecPager;
 import com.xk.base.util.XkBeanUtils;
+import com.xk.base.web.PageMode;
 import com.xk.truck.fms.controller.api.dto.VehicleCreateReq;
 import com.xk.truck.fms.controller.api.dto.VehicleResp;
 import com.xk.truck.fms.domain.model.Vehicle;
@@ -12,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,7 +29,14 @@ import java.util.UUID;
 @Transactional(readOnly = true) // 預設所有方法為唯讀；需要寫入的在方法上覆蓋
 public class VehicleService {
 
+    /**
+     * Keyset 排序：createdTime DESC, id DESC（與列表預設排序一致）
+     */
+    private static final KeysetSort<Vehicle> KEYSET_SORT = KeysetSort.of(
+            "createdTime", Vehicle::getCreatedTime, "id", Vehicle::getId, Sort.Direction.DESC);
+
     private final VehicleRepository repository;
+    private final SpecPager specPager;
 
     /**
      * 建立車輛
@@ -54,10 +68,27 @@ public class VehicleService {
      * 分頁查詢（可直接加上 pageable 的 sort）
      */
     public Page<VehicleResp> list(Pageable pageable) {
-        Page<Vehicle> entities = repository.findAll(pageable);
+        return list(pageable, PageMode.EXACT);
+    }
+
+    /**
+     * 分頁查詢（指定 total 計算方式：EXACT / SLICE / ESTIMATE）
+     */
+    public Page<VehicleResp> list(Pageable pageable, PageMode mode) {
+        Page<Vehicle> entities = specPager.findAll(repository, Vehicle.class, null, pageable, mode,
+                PageTotalEstimator.key("fms_vehicle"));
         return entities.map(e -> XkBeanUtils.copyProperties(e, VehicleResp::new));
     }
 
+    /**
+     * Keyset（游標）分頁：深頁不變慢、不跑 count
+     * - cursor 為上一次回傳的 nextCursor / prevCursor；null = 第一頁
+     */
+    public KeysetPage<VehicleResp> listByCursor(String cursor, Integer size) {
+        return KeysetPager.find(repository, null, KEYSET_SORT, cursor, size)
+                .map(e -> XkBeanUtils.copyProperties(e, VehicleResp::new));
+    }
+
     /**
      * 全量更新
      * ⚠️ 原本寫法「new Entity + setId + save」屬於 upsert/覆蓋式更新，容易覆蓋掉未在請求中的欄位（如 auditing 欄位）
@@ -1,5 +1,6 @@
 package com.xk.truck.ordercore.application.dto;
 
+import com.xk.truck.ordercore.domain.model.OrderCore;
 import com.xk.truck.ordercore.domain.model.OrderCoreStatus;
 
 import lombok.Data;
@@ -39,4 +40,12 @@ public class OrderCoreResult {
      * 訂單命運層狀態（OPEN / CANCELLED / CLOSED）
      */
     OrderCoreStatus orderCoreStatus;
+
+    public static OrderCoreResult from(OrderCore aggregate) {
+        OrderCoreResult result = new OrderCoreResult();
+        result.setOrderUuid(aggregate.getOrderUuid());
+        result.setOrderNo(aggregate.getOrderNo());
+        result.setOrderCoreStatus(aggregate.getOrderCoreStatus());
+        return result;
+    }
 }
@@ -1,7 +1,5 @@
 package com.xk.truck.ordercore.application.service;
 
-import com.xk.base.exception.BusinessException;
-import com.xk.base.util.XkBeanUtils;
 import com.xk.truck.ordercore.application.dto.OrderCoreResult;
 import com.xk.truck.ordercore.application.dto.cmd.CreateOrderCoreCommand;
 import com.xk.truck.ordercore.application.port.in.CreateOrderCoreUseCase;
@@ -30,6 +28,7 @@ import org.springframework.transaction.annotation.Transactional;
  * Design Notes:
  * - 本 UseCase 以 Domain Aggregate 為核心，不直接操作 JPA Entity
  * - DB unique constraint 為 orderNo 唯一性的最終保證
+ * - 不做 existsByOrderNo 預查：編號由產生器保證不撞號，預查只多一次 round trip
  * - 技術性例外（如撞號）交由呼叫端（如 TOM Orchestrator）處理
  * <p>
  * Non-Responsibilities:
@@ -48,19 +47,13 @@ public class CreateOrderCoreService implements CreateOrderCoreUseCase {
     @Override
     @Transactional
     public OrderCoreResult execute(CreateOrderCoreCommand cmd) {
-
-        // Fast-fail 檢查（非一致性保證，僅提升錯誤可讀性）
-        if (orderCoreRepository.existsByOrderNo(cmd.getOrderNo())) {
-            throw new BusinessException("ORDER_NO_EXISTS", "訂單編號已存在");
-        }
-
         try {
             // 建立 Domain Aggregate（命運層）
             OrderCore aggregate = OrderCore.create(cmd.getOrderNo());
             OrderCore saved = orderCoreRepository.save(aggregate);
 
             // 回傳 Application Result
-            return XkBeanUtils.copyProperties(saved, OrderCoreResult::new);
+            return OrderCoreResult.from(saved);
 
         } catch (DataIntegrityViolationException ex) {
             // 刻意不包裝，讓上層（如 TOM）決定是否 retry
@@ -1,6 +1,5 @@
 package com.xk.truck.ordercore.infra.persistence.mapper;
 
-import com.xk.base.util.XkBeanUtils;
 import com.xk.truck.ordercore.domain.model.OrderCore;
 import com.xk.truck.ordercore.infra.persistence.entity.OrderCoreEntity;
 
@@ -14,7 +13,8 @@ import com.xk.truck.ordercore.infra.persistence.entity.OrderCoreEntity;
  * Design Notes:
  * - 僅供 infra adapter 使用
  * - 明確屬於 Persistence 層，而非 Domain
- * - 使用 XkBeanUtils 作為技術性 mapping 工具
+ * - 逐欄位明確 mapping（建立訂單熱路徑，不走反射 copyProperties）
+ * - createdAt 不寫入：created_time 由 BaseEntity @CreationTimestamp 產生
  * <p>
  * Important:
  * - 不可被 Domain / Application 層依賴
@@ -24,7 +24,13 @@ import com.xk.truck.ordercore.infra.persistence.entity.OrderCoreEntity;
 public final class OrderCorePersistenceMapper {
 
     public static OrderCoreEntity toEntity(OrderCore aggregate) {
-        return XkBeanUtils.copyProperties(aggregate, OrderCoreEntity::new);
+        return OrderCoreEntity.builder()
+                .orderUuid(aggregate.getOrderUuid())
+                .orderNo(aggregate.getOrderNo())
+                .orderCoreStatus(aggregate.getOrderCoreStatus())
+                .cancelledAt(aggregate.getCancelledAt())
+                .closedAt(aggregate.getClosedAt())
+                .build();
     }
 
     public static OrderCore toDomain(OrderCoreEntity entity) {
@@ -0,0 +1,45 @@
+package com.xk.truck.tom.application.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ===============================================================
+ * Use Case Result: BulkCreateTomOrderResult
+ * Layer          : Application (Use Case Output)
+ * Purpose        : 批次建立 TOM 訂單的逐筆結果
+ * ===============================================================
+ * <p>
+ * Notes:
+ * - rows 與輸入順序一致（index 為輸入的 0-based 位置）
+ * - 單筆失敗不影響其他筆：success=false 時帶 errorCode / message / details
+ */
+@Data
+public class BulkCreateTomOrderResult {
+
+    int total;
+    int succeeded;
+    int failed;
+
+    List<Row> rows = new ArrayList<>();
+
+    @Data
+    public static class Row {
+
+        int index;
+        boolean success;
+
+        TomOrderResult order;
+
+        String errorCode;
+        String message;
+
+        /**
+         * 欄位驗證錯誤（field → message）
+         */
+        Map<String, String> details;
+    }
+}
@@ -0,0 +1,47 @@
+package com.xk.truck.tom.application.dto;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Use Case Result: TomOrderBoardItem
+ * Layer          : Application (Use Case Output)
+ * Purpose        : 調度看板一列（訂單 + 命運層狀態 + 目前派工 / 車牌 / 司機）
+ * ===============================================================
+ * Notes:
+ * - 來自非同步維護的讀取模型：與寫入端最終一致（通常在 commit 後一秒內）
+ */
+@Data
+public class TomOrderBoardItem {
+
+    UUID orderUuid;
+    String orderNo;
+    String orderType;
+    String tomStatus;
+    String orderCoreStatus;
+
+    UUID customerUuid;
+    String customerName;
+    String customerRefNo;
+
+    String pickupAddress;
+    String deliveryAddress;
+    ZonedDateTime scheduledAt;
+
+    ZonedDateTime createdTime;
+
+    UUID dispatchTaskId;
+    String dispatchStatus;
+    ZonedDateTime dispatchAssignedTime;
+
+    UUID vehicleId;
+    String vehiclePlateNo;
+
+    UUID driverId;
+    String driverName;
+
+    ZonedDateTime projectedTime;
+}
@@ -0,0 +1,34 @@
+package com.xk.truck.tom.application.dto;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Use Case Result: TomOrderListItem
+ * Layer          : Application (Use Case Output)
+ * Purpose        : 訂單列表 / 調度看板的一列（TOM 流程狀態 + order-core 命運層狀態）
+ * ===============================================================
+ */
+@Data
+public class TomOrderListItem {
+
+    UUID orderUuid;
+    String orderNo;
+    String orderType;
+    String tomStatus;
+    String orderCoreStatus;
+
+    UUID customerUuid;
+    String customerName;
+
+    String pickupAddress;
+    String deliveryAddress;
+
+    ZonedDateTime scheduledAt;
+    String customerRefNo;
+
+    ZonedDateTime createdTime;
+}
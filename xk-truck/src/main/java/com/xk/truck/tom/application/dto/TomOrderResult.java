@@ -1,5 +1,7 @@
 package com.xk.truck.tom.application.dto;
 
+import com.xk.truck.tom.domain.model.TomOrder;
+
 import lombok.Data;
 
 import java.time.ZonedDateTime;
@@ -25,4 +27,20 @@ public class TomOrderResult {
     String remark;
 
     List<String> availableActions;
+
+    public static TomOrderResult from(TomOrder tom) {
+        TomOrderResult result = new TomOrderResult();
+        result.setOrderUuid(tom.getOrderUuid());
+        result.setOrderNo(tom.getOrderNo());
+        result.setOrderType(tom.getOrderType() == null ? null : tom.getOrderType().name());
+        result.setTomStatus(tom.getTomStatus() == null ? null : tom.getTomStatus().name());
+        result.setCustomerUuid(tom.getCustomerUuid());
+        result.setCustomerName(tom.getCustomerName());
+        result.setPickupAddress(tom.getPickupAddress());
+        result.setDeliveryAddress(tom.getDeliveryAddress());
+        result.setScheduledAt(tom.getScheduledAt());
+        result.setCustomerRefNo(tom.getCustomerRefNo());
+        result.setRemark(tom.getRemark());
+        return result;
+    }
 }
@@ -0,0 +1,34 @@
+package com.xk.truck.tom.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Use Case Result: TomOrderSearchHit
+ * Layer          : Application (Use Case Output)
+ * Purpose        : 訂單 type-ahead 搜尋的一筆命中（只含可搜尋欄位，明細另以 findById 取得）
+ * ===============================================================
+ * Notes:
+ * - 來自記憶體索引：不含會變動的狀態欄位（tomStatus / orderCoreStatus），避免顯示過期狀態
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TomOrderSearchHit {
+
+    UUID orderUuid;
+    String orderNo;
+
+    String customerName;
+    String customerRefNo;
+
+    String pickupAddress;
+    String deliveryAddress;
+
+    ZonedDateTime createdTime;
+}
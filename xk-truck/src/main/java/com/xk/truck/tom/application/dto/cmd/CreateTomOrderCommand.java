@@ -2,6 +2,9 @@ package com.xk.truck.tom.application.dto.cmd;
 
 import com.xk.truck.tom.domain.model.TomOrderType;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 import java.time.ZonedDateTime;
@@ -10,19 +13,34 @@ import java.util.UUID;
 /**
  * Application Command
  * - 系統內部語言（不含 HTTP / JSON 語意）
+ * - 驗證註解保護 Use Case 不變式（批次建立逐筆驗證用；與 CreateTomOrderReq 一致）
  */
 @Data
 public class CreateTomOrderCommand {
 
+    @NotNull
     TomOrderType orderType;
 
+    @NotNull
     UUID customerUuid;
+
+    @NotBlank
+    @Size(max = 200)
     String customerName;
 
+    @NotBlank
+    @Size(max = 255)
     String pickupAddress;
+
+    @NotBlank
+    @Size(max = 255)
     String deliveryAddress;
 
     ZonedDateTime scheduledAt;
+
+    @Size(max = 64)
     String customerRefNo;
+
+    @Size(max = 500)
     String remark;
 }
@@ -0,0 +1,47 @@
+package com.xk.truck.tom.application.dto.event;
+
+import com.xk.truck.tom.domain.model.TomOrder;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Event  : TomOrderCreatedEvent
+ * Layer  : Application (Integration Event，經 outbox 投遞)
+ * Purpose: TOM 訂單已建立（order-core + tom_order 已 commit）
+ * ===============================================================
+ * Notes:
+ * - payload 為 JSON；欄位只增不改（舊事件仍在 outbox 內時也要能解碼）
+ */
+public record TomOrderCreatedEvent(
+        UUID orderUuid,
+        String orderNo,
+        String orderType,
+        String tomStatus,
+        UUID customerUuid,
+        String customerName,
+        String customerRefNo,
+        String pickupAddress,
+        String deliveryAddress,
+        ZonedDateTime scheduledAt
+) {
+
+    public static final String AGGREGATE_TYPE = "TomOrder";
+    public static final String TYPE = "tom.order.created";
+
+    public static TomOrderCreatedEvent from(TomOrder o) {
+        return new TomOrderCreatedEvent(
+                o.getOrderUuid(),
+                o.getOrderNo(),
+                o.getOrderType() == null ? null : o.getOrderType().name(),
+                o.getTomStatus() == null ? null : o.getTomStatus().name(),
+                o.getCustomerUuid(),
+                o.getCustomerName(),
+                o.getCustomerRefNo(),
+                o.getPickupAddress(),
+                o.getDeliveryAddress(),
+                o.getScheduledAt()
+        );
+    }
+}
@@ -0,0 +1,29 @@
+package com.xk.truck.tom.application.dto.qry;
+
+import com.xk.truck.fms.domain.model.DispatchStatus;
+import com.xk.truck.ordercore.domain.model.OrderCoreStatus;
+import com.xk.truck.tom.domain.model.TomOrderStatus;
+
+import lombok.*;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FindTomOrderBoardQry {
+
+    private UUID customerUuid;
+
+    private TomOrderStatus tomStatus;
+    private OrderCoreStatus orderCoreStatus;
+    private DispatchStatus dispatchStatus;
+
+    private String vehiclePlateNo;
+
+    private ZonedDateTime createdFrom;
+    private ZonedDateTime createdTo;
+}
@@ -0,0 +1,27 @@
+package com.xk.truck.tom.application.port.in;
+
+import com.xk.truck.tom.application.dto.BulkCreateTomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * Inbound Port: CreateTomOrdersUseCase
+ * Layer       : Application (Use Case)
+ * Purpose     : 批次建立 TOM 運輸訂單（客戶每日進出口清單）
+ * ===============================================================
+ * <p>
+ * Responsibilities:
+ * - 一次接收 N 筆建立指令，逐筆回報結果
+ * - 驗證失敗的列只影響自己，不中斷整批
+ * <p>
+ * Non-Responsibilities:
+ * - 不處理 HTTP DTO mapping（Controller/ApiMapper）
+ * - 不保證整批原子性（分段交易）
+ * ===============================================================
+ */
+public interface CreateTomOrdersUseCase {
+
+    BulkCreateTomOrderResult execute(List<CreateTomOrderCommand> cmds);
+}
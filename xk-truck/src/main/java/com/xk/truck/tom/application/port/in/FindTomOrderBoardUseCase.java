@@ -0,0 +1,21 @@
+package com.xk.truck.tom.application.port.in;
+
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.truck.tom.application.dto.TomOrderBoardItem;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderBoardQry;
+
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * UseCase Class : FindTomOrderBoardUseCase
+ * Layer         : Application (Use Case)
+ * Purpose       : 調度看板查詢（列表 / 單筆），只讀讀取模型單表
+ * ===============================================================
+ */
+public interface FindTomOrderBoardUseCase {
+
+    TomOrderBoardItem findById(UUID orderUuid);
+
+    KeysetPage<TomOrderBoardItem> page(FindTomOrderBoardQry qry, String cursor, Integer size);
+}
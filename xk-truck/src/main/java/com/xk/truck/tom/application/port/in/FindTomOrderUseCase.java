@@ -1,23 +1,24 @@
 package com.xk.truck.tom.application.port.in;
 
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.truck.tom.application.dto.TomOrderListItem;
+import com.xk.truck.tom.application.dto.TomOrderResult;
 import com.xk.truck.tom.application.dto.qry.FindTomOrderQry;
-import com.xk.truck.tom.controller.api.dto.resp.TomOrderResp;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 
 import java.util.UUID;
 
 /**
  * ===============================================================
  * UseCase Class : FindTomOrderUseCase
- * Layer         :
- * Purpose       :
+ * Layer         : Application (Use Case)
+ * Purpose       : TOM 訂單查詢（明細 / 列表）
  * Notes         :
+ * - 列表為 keyset（游標）分頁：createdTime DESC，不跑 count，成本與頁深無關
  * ===============================================================
  */
 public interface FindTomOrderUseCase {
 
-    TomOrderResp findById(UUID id);
+    TomOrderResult findById(UUID id);
 
-    Page<TomOrderResp> pageForList(FindTomOrderQry qry, Pageable pageable);
+    KeysetPage<TomOrderListItem> pageForList(FindTomOrderQry qry, String cursor, Integer size);
 }
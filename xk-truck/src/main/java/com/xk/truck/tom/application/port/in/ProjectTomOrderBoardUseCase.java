@@ -0,0 +1,24 @@
+package com.xk.truck.tom.application.port.in;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * UseCase Class : ProjectTomOrderBoardUseCase
+ * Layer         : Application (Use Case)
+ * Purpose       : 維護調度看板讀取模型
+ * Notes         :
+ * - refresh：outbox 事件觸發（訂單建立、派工狀態變更），重組受影響的訂單
+ * - rebuild：全部訂單分段重新投影（首次上線、補漏、車牌 / 司機資料修正後）
+ * ===============================================================
+ */
+public interface ProjectTomOrderBoardUseCase {
+
+    void refresh(Collection<UUID> orderUuids);
+
+    /**
+     * @return 投影的訂單數
+     */
+    int rebuild();
+}
@@ -0,0 +1,19 @@
+package com.xk.truck.tom.application.port.in;
+
+import com.xk.truck.tom.application.dto.TomOrderSearchHit;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * UseCase Class : SearchTomOrderUseCase
+ * Layer         : Application (Use Case)
+ * Purpose       : 調度員 type-ahead 搜尋（部分訂單編號、客戶參考號、客戶名稱、地址）
+ * Notes         :
+ * - 由記憶體索引回答，不查 DB；結果依「前綴命中 → 中段命中」、再由新到舊排序
+ * ===============================================================
+ */
+public interface SearchTomOrderUseCase {
+
+    List<TomOrderSearchHit> search(String keyword, Integer limit);
+}
@@ -1,9 +1,16 @@
 package com.xk.truck.tom.application.port.out;
 
+import java.util.List;
+
 /**
  *
  */
 public interface OrderNoGeneratorPort {
 
     String nextTomOrderNo();
+
+    /**
+     * 一次取得連續 count 個編號（批次建立用；一次取號，不逐筆同步）
+     */
+    List<String> nextTomOrderNos(int count);
 }
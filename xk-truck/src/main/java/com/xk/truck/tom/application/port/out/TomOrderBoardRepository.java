@@ -0,0 +1,41 @@
+package com.xk.truck.tom.application.port.out;
+
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.truck.tom.application.dto.TomOrderBoardItem;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderBoardQry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Outbound Port: TomOrderBoardRepository
+ * Layer        : Application (Port Out)
+ * Purpose      : 調度看板讀取模型（CQRS read side）：查詢 + 由來源資料重新投影
+ * ===============================================================
+ * Notes:
+ * - 查詢只讀讀取模型單表；refresh 由來源表（訂單 / 命運層 / 派工 / 車輛 / 司機）重組整列
+ */
+public interface TomOrderBoardRepository {
+
+    Optional<TomOrderBoardItem> findByOrderUuid(UUID orderUuid);
+
+    /**
+     * keyset 分頁（createdTime DESC, orderUuid DESC）
+     */
+    KeysetPage<TomOrderBoardItem> page(FindTomOrderBoardQry qry, String cursor, Integer size);
+
+    /**
+     * 重新投影指定訂單（一個交易）；來源已不存在的訂單自讀取模型移除
+     *
+     * @return 寫入（新增或更新）的筆數
+     */
+    int refresh(Collection<UUID> orderUuids);
+
+    /**
+     * 重建用：orderUuid 大於 after 的下一段訂單（after 為 null = 從頭）
+     */
+    List<UUID> nextOrderUuids(UUID after, int limit);
+}
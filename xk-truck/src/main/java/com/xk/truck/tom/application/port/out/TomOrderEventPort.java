@@ -0,0 +1,19 @@
+package com.xk.truck.tom.application.port.out;
+
+import com.xk.truck.tom.domain.model.TomOrder;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * Outbound Port: TomOrderEventPort
+ * Layer        : Application (Port Out)
+ * Purpose      : 發布 TOM 訂單整合事件（與業務資料同一交易寫入，commit 後非同步投遞）
+ * ===============================================================
+ * Notes:
+ * - 必須在寫入 TomOrder 的交易內呼叫
+ */
+public interface TomOrderEventPort {
+
+    void created(List<TomOrder> orders);
+}
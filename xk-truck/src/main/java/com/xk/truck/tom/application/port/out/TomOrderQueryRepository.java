@@ -0,0 +1,25 @@
+package com.xk.truck.tom.application.port.out;
+
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.truck.tom.application.dto.TomOrderListItem;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderQry;
+
+/**
+ * ===============================================================
+ * Outbound Port: TomOrderQueryRepository
+ * Layer        : Application (Port Out)
+ * Purpose      : TOM 訂單讀取模型（列表 / 看板），與 Aggregate 持久化（TomOrderRepository）分開
+ * ===============================================================
+ * Notes:
+ * - 實作以 projection 查詢，不還原 TomOrder Aggregate
+ */
+public interface TomOrderQueryRepository {
+
+    /**
+     * keyset 分頁（createdTime DESC, orderUuid DESC）
+     *
+     * @param cursor 上一次回傳的 nextCursor / prevCursor；null = 第一頁
+     * @param size   每頁筆數（見 KeysetPager.normalizeSize）
+     */
+    KeysetPage<TomOrderListItem> pageForList(FindTomOrderQry qry, String cursor, Integer size);
+}
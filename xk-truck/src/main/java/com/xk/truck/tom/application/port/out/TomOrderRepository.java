@@ -2,6 +2,7 @@ package com.xk.truck.tom.application.port.out;
 
 import com.xk.truck.tom.domain.model.TomOrder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +15,16 @@ import java.util.UUID;
  */
 public interface TomOrderRepository {
 
+    /**
+     * 新建（共享主鍵已由 order-core 指定）：只 INSERT，不先查詢是否存在
+     */
+    TomOrder insert(TomOrder aggregate);
+
+    /**
+     * 批次新建：同 insert，交由 JDBC batch 合併
+     */
+    List<TomOrder> insertAll(List<TomOrder> aggregates);
+
     TomOrder save(TomOrder aggregate);
 
     Optional<TomOrder> findByOrderUuid(UUID orderUuid);
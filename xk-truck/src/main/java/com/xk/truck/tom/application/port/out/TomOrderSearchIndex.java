@@ -0,0 +1,30 @@
+package com.xk.truck.tom.application.port.out;
+
+import com.xk.truck.tom.application.dto.TomOrderSearchHit;
+import com.xk.truck.tom.domain.model.TomOrder;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * Outbound Port: TomOrderSearchIndex
+ * Layer        : Application (Port Out)
+ * Purpose      : 訂單 type-ahead 搜尋索引（部分訂單編號 / 客戶參考號 / 客戶名稱 / 地址）
+ * ===============================================================
+ * Notes:
+ * - 寫入端於交易內呼叫 indexAfterCommit：commit 後才進索引（rollback 不留殘影）
+ * - 只涵蓋最近一段時間的訂單（見實作設定）
+ */
+public interface TomOrderSearchIndex {
+
+    /**
+     * 新建立的訂單加入索引（交易內 → commit 後；無交易 → 立即）
+     */
+    void indexAfterCommit(List<TomOrder> orders);
+
+    /**
+     * @param keyword 空白分隔多個詞（AND）；每個詞比對任一欄位的前綴或中段
+     * @param limit   最多回傳筆數
+     */
+    List<TomOrderSearchHit> search(String keyword, int limit);
+}
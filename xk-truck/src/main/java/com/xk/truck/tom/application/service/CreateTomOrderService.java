@@ -1,7 +1,5 @@
 package com.xk.truck.tom.application.service;
 
-import com.xk.base.exception.BusinessException;
-import com.xk.base.util.XkBeanUtils;
 import com.xk.truck.ordercore.application.dto.OrderCoreResult;
 import com.xk.truck.ordercore.application.dto.cmd.CreateOrderCoreCommand;
 import com.xk.truck.ordercore.application.port.in.CreateOrderCoreUseCase;
@@ -11,15 +9,16 @@ import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
 import com.xk.truck.tom.application.port.out.OrderNoGeneratorPort;
 import com.xk.truck.tom.domain.model.TomOrder;
 import com.xk.truck.tom.application.port.out.TomOrderRepository;
+import com.xk.truck.tom.application.port.out.TomOrderEventPort;
+import com.xk.truck.tom.application.port.out.TomOrderSearchIndex;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Map;
+import java.util.List;
 
 /**
  * ===============================================================
@@ -33,10 +32,12 @@ import java.util.Map;
  * - 呼叫 order-core 建立核心訂單（CreateOrderUseCase）
  * - 建立 TOM Aggregate（TomOrder.create）
  * - Persist TOM（TomOrderRepository）
- * - 處理技術性可靠度策略（例如：訂單號撞 unique 時重試）
+ * - 同一交易寫入 TomOrderCreatedEvent（outbox），commit 後加入 type-ahead 搜尋索引
  * <p>
  * Notes:
  * - 假設 order-core 與 TOM 同 DB / 同 transaction manager，才能用單一 @Transactional
+ * - 建立一筆訂單只有兩個 INSERT（order_core + tom_order）：無預查、無 merge SELECT
+ *   （另加一筆 xk_outbox_event，由 JdbcTemplate 寫入）
  * ===============================================================
  */
 @Slf4j
@@ -44,10 +45,10 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class CreateTomOrderService implements CreateTomOrderUseCase {
 
-    private static final int MAX_RETRY = 3;
-
     private final TomOrderRepository tomOrderRepository;
     private final OrderNoGeneratorPort orderNoGenerator;
+    private final TomOrderSearchIndex searchIndex;
+    private final TomOrderEventPort tomOrderEventPort;
 
     // 把 order-core 當服務（inbound port）
     private final CreateOrderCoreUseCase createOrderCoreUseCase;
@@ -56,29 +57,7 @@ public class CreateTomOrderService implements CreateTomOrderUseCase {
     @Transactional
     public TomOrderResult execute(CreateTomOrderCommand cmd) {
 
-        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
-            try {
-                return doCreate(cmd);
-            } catch (DataIntegrityViolationException ex) {
-                // 目前先保守：假設撞 unique（orderNo）才重試
-                // 企業級可再精準判斷 constraint name / SQL state
-                if (attempt >= MAX_RETRY) {
-                    throw new BusinessException(
-                            "ORDER_NO_GENERATE_FAILED",
-                            "訂單編號產生失敗，請稍後再試",
-                            Map.of("retry", attempt)
-                    );
-                }
-                log.warn("[TOM][CREATE] possible orderNo collision, retry {}/{}", attempt, MAX_RETRY, ex);
-            }
-        }
-
-        throw new BusinessException("ORDER_CREATE_FAILED", "建立訂單失敗");
-    }
-
-    private TomOrderResult doCreate(CreateTomOrderCommand cmd) {
-
-        // 1) 產生訂單編號（可能撞號）
+        // 1) 產生訂單編號（nodeId + 每日計數器，由建構保證不撞號，不需重試）
         final String orderNo = orderNoGenerator.nextTomOrderNo();
 
         // 2) 建立 order-core（命運層）
@@ -98,11 +77,12 @@ public class CreateTomOrderService implements CreateTomOrderUseCase {
                 cmd.getRemark()
         );
 
-        // 4) Persist TOM
-        tom = tomOrderRepository.save(tom);
+        // 4) Persist TOM（共享主鍵已指定 → insert，不走 merge）
+        tom = tomOrderRepository.insert(tom);
+        tomOrderEventPort.created(List.of(tom));
+        searchIndex.indexAfterCommit(List.of(tom));
 
-        // 5) 回傳結果（建議由 Result.from 統一輸出）
-//        return TomOrderResult.from(tom, List.of("ACCEPT", "CANCEL"));
-        return XkBeanUtils.copyProperties(tom, TomOrderResult::new);
+        // 5) 回傳結果
+        return TomOrderResult.from(tom);
     }
 }
@@ -0,0 +1,235 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.base.exception.BusinessException;
+import com.xk.truck.ordercore.application.dto.OrderCoreResult;
+import com.xk.truck.ordercore.application.dto.cmd.CreateOrderCoreCommand;
+import com.xk.truck.ordercore.application.port.in.CreateOrderCoreUseCase;
+import com.xk.truck.tom.application.dto.BulkCreateTomOrderResult;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.port.in.CreateTomOrdersUseCase;
+import com.xk.truck.tom.application.port.out.OrderNoGeneratorPort;
+import com.xk.truck.tom.application.port.out.TomOrderRepository;
+import com.xk.truck.tom.application.port.out.TomOrderEventPort;
+import com.xk.truck.tom.application.port.out.TomOrderSearchIndex;
+import com.xk.truck.tom.domain.model.TomOrder;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * ===============================================================
+ * UseCase Impl: CreateTomOrdersService
+ * Layer       : Application (Use Case)
+ * Role        : Transaction Script / Orchestration（批次）
+ * ===============================================================
+ * <p>
+ * Flow:
+ * 1) 逐筆驗證（CreateTomOrderCommand 的驗證註解）：失敗列直接回報，不進入交易
+ * 2) 一次取號：nextTomOrderNos(有效筆數)，不逐筆進出產生器
+ * 3) 每 CHUNK_SIZE 筆一個交易：建立 order-core + TomOrder，commit 時由 JDBC batch 合併 INSERT
+ *    （整段 TomOrderCreatedEvent 一個 batch 寫入 outbox；commit 後整段加入 type-ahead 搜尋索引）
+ * 4) 某段交易失敗 → 該段逐筆重試（各自交易、沿用已配的編號），只有問題列失敗
+ * <p>
+ * Notes:
+ * - 不保證整批原子性；已 commit 的段不會因後段失敗而回滾
+ * - 失敗列的編號不回收（跳號，與單筆建立一致）
+ * - CHUNK_SIZE 與 hibernate.jdbc.batch_size 一致：一段 = order_core / tom_order 各一個 batch
+ * ===============================================================
+ */
+@Slf4j
+@Service
+public class CreateTomOrdersService implements CreateTomOrdersUseCase {
+
+    /**
+     * 單次請求上限
+     */
+    public static final int MAX_ROWS = 1000;
+
+    static final int CHUNK_SIZE = 100;
+
+    private final TomOrderRepository tomOrderRepository;
+    private final OrderNoGeneratorPort orderNoGenerator;
+    private final CreateOrderCoreUseCase createOrderCoreUseCase;
+    private final TomOrderEventPort tomOrderEventPort;
+    private final TomOrderSearchIndex searchIndex;
+    private final Validator validator;
+    private final TransactionTemplate tx;
+
+    public CreateTomOrdersService(TomOrderRepository tomOrderRepository,
+                                  OrderNoGeneratorPort orderNoGenerator,
+                                  CreateOrderCoreUseCase createOrderCoreUseCase,
+                                  TomOrderEventPort tomOrderEventPort,
+                                  TomOrderSearchIndex searchIndex,
+                                  Validator validator,
+                                  PlatformTransactionManager transactionManager) {
+        this.tomOrderRepository = tomOrderRepository;
+        this.orderNoGenerator = orderNoGenerator;
+        this.createOrderCoreUseCase = createOrderCoreUseCase;
+        this.tomOrderEventPort = tomOrderEventPort;
+        this.searchIndex = searchIndex;
+        this.validator = validator;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public BulkCreateTomOrderResult execute(List<CreateTomOrderCommand> cmds) {
+        if (cmds == null || cmds.isEmpty()) {
+            throw new BusinessException("BULK_EMPTY", "批次建立至少需要一筆訂單");
+        }
+        if (cmds.size() > MAX_ROWS) {
+            throw new BusinessException("BULK_TOO_LARGE", "批次建立上限 " + MAX_ROWS + " 筆");
+        }
+
+        BulkCreateTomOrderResult.Row[] rows = new BulkCreateTomOrderResult.Row[cmds.size()];
+
+        // 1) 逐筆驗證
+        List<Integer> valid = new ArrayList<>(cmds.size());
+        for (int i = 0; i < cmds.size(); i++) {
+            CreateTomOrderCommand cmd = cmds.get(i);
+            if (cmd == null) {
+                rows[i] = failure(i, "VALIDATION_FAILED", "訂單資料不可為空", null);
+                continue;
+            }
+            Map<String, String> errors = validate(cmd);
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                rows[i] = failure(i, "VALIDATION_FAILED", "參數驗證失敗", errors);
+            }
+        }
+
+        // 2) 一次取號
+        List<String> orderNos = orderNoGenerator.nextTomOrderNos(valid.size());
+
+        List<Pending> pending = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            int index = valid.get(i);
+            pending.add(new Pending(index, cmds.get(index), orderNos.get(i)));
+        }
+
+        // 3) 分段交易
+        for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+            persistChunk(pending.subList(from, Math.min(from + CHUNK_SIZE, pending.size())), rows);
+        }
+
+        BulkCreateTomOrderResult result = new BulkCreateTomOrderResult();
+        result.setRows(new ArrayList<>(Arrays.asList(rows)));
+        result.setTotal(rows.length);
+        for (BulkCreateTomOrderResult.Row row : rows) {
+            if (row.isSuccess()) {
+                result.setSucceeded(result.getSucceeded() + 1);
+            } else {
+                result.setFailed(result.getFailed() + 1);
+            }
+        }
+
+        log.info("[TOM][BULK-CREATE] total={}, succeeded={}, failed={}",
+                result.getTotal(), result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    // ===============================================================
+    // Persist
+    // ===============================================================
+
+    private void persistChunk(List<Pending> chunk, BulkCreateTomOrderResult.Row[] rows) {
+        try {
+            List<TomOrder> toms = tx.execute(status -> persist(chunk));
+            for (int i = 0; i < chunk.size(); i++) {
+                int index = chunk.get(i).index();
+                rows[index] = success(index, TomOrderResult.from(toms.get(i)));
+            }
+        } catch (RuntimeException ex) {
+            if (chunk.size() == 1) {
+                int index = chunk.get(0).index();
+                log.warn("[TOM][BULK-CREATE] row failed: index={}, {}", index, ex.getMessage());
+                rows[index] = failure(index, ex);
+                return;
+            }
+            // 4) 整段回滾：逐筆重試找出問題列（編號未被使用，沿用即可）
+            log.warn("[TOM][BULK-CREATE] chunk failed, retry row by row: size={}, {}", chunk.size(), ex.getMessage());
+            for (Pending p : chunk) {
+                persistChunk(List.of(p), rows);
+            }
+        }
+    }
+
+    private List<TomOrder> persist(List<Pending> chunk) {
+        List<TomOrder> toms = new ArrayList<>(chunk.size());
+        for (Pending p : chunk) {
+            CreateTomOrderCommand cmd = p.cmd();
+            OrderCoreResult core = createOrderCoreUseCase.execute(new CreateOrderCoreCommand(p.orderNo()));
+
+            toms.add(TomOrder.create(
+                    core.getOrderUuid(),
+                    core.getOrderNo(),
+                    cmd.getOrderType(),
+                    cmd.getCustomerUuid(),
+                    cmd.getCustomerName(),
+                    cmd.getPickupAddress(),
+                    cmd.getDeliveryAddress(),
+                    cmd.getScheduledAt(),
+                    cmd.getCustomerRefNo(),
+                    cmd.getRemark()
+            ));
+        }
+        List<TomOrder> inserted = tomOrderRepository.insertAll(toms);
+        tomOrderEventPort.created(inserted);
+        searchIndex.indexAfterCommit(inserted);
+        return inserted;
+    }
+
+    // ===============================================================
+    // Internals
+    // ===============================================================
+
+    private Map<String, String> validate(CreateTomOrderCommand cmd) {
+        Set<ConstraintViolation<CreateTomOrderCommand>> violations = validator.validate(cmd);
+        if (violations.isEmpty()) return Map.of();
+
+        Map<String, String> errors = new TreeMap<>();
+        for (ConstraintViolation<CreateTomOrderCommand> v : violations) {
+            errors.putIfAbsent(v.getPropertyPath().toString(), v.getMessage());
+        }
+        return errors;
+    }
+
+    private static BulkCreateTomOrderResult.Row success(int index, TomOrderResult order) {
+        BulkCreateTomOrderResult.Row row = new BulkCreateTomOrderResult.Row();
+        row.setIndex(index);
+        row.setSuccess(true);
+        row.setOrder(order);
+        return row;
+    }
+
+    private static BulkCreateTomOrderResult.Row failure(int index, RuntimeException ex) {
+        if (ex instanceof BusinessException be) {
+            return failure(index, be.getCode(), be.getMessage(), null);
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return failure(index, "VALIDATION_FAILED", ex.getMessage(), null);
+        }
+        return failure(index, "PERSIST_FAILED", "訂單寫入失敗", null);
+    }
+
+    private static BulkCreateTomOrderResult.Row failure(int index, String code, String message, Map<String, String> details) {
+        BulkCreateTomOrderResult.Row row = new BulkCreateTomOrderResult.Row();
+        row.setIndex(index);
+        row.setSuccess(false);
+        row.setErrorCode(code);
+        row.setMessage(message);
+        row.setDetails(details);
+        return row;
+    }
+
+    private record Pending(int index, CreateTomOrderCommand cmd, String orderNo) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.exception.BusinessException;
+import com.xk.truck.tom.application.dto.TomOrderBoardItem;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderBoardQry;
+import com.xk.truck.tom.application.port.in.FindTomOrderBoardUseCase;
+import com.xk.truck.tom.application.port.out.TomOrderBoardRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * UseCase Impl: FindTomOrderBoardService
+ * Layer       : Application (Use Case)
+ * Role        : Query
+ * ===============================================================
+ * <p>
+ * Notes:
+ * - 只讀讀取模型（TomOrderBoardRepository），不 join 來源表、不還原 Aggregate
+ * - 剛建立的訂單可能尚未投影 → TOM_ORDER_BOARD_NOT_FOUND（呼叫端可改查 /api/tom/orders/{id}）
+ * ===============================================================
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FindTomOrderBoardService implements FindTomOrderBoardUseCase {
+
+    private final TomOrderBoardRepository boardRepository;
+
+    @Override
+    public TomOrderBoardItem findById(UUID orderUuid) {
+        return boardRepository.findByOrderUuid(orderUuid)
+                .orElseThrow(() -> new BusinessException("TOM_ORDER_BOARD_NOT_FOUND", "看板查無訂單：" + orderUuid));
+    }
+
+    @Override
+    public KeysetPage<TomOrderBoardItem> page(FindTomOrderBoardQry qry, String cursor, Integer size) {
+        FindTomOrderBoardQry q = qry == null ? new FindTomOrderBoardQry() : qry;
+
+        if (q.getCreatedFrom() != null && q.getCreatedTo() != null
+                && !q.getCreatedFrom().isBefore(q.getCreatedTo())) {
+            throw new BusinessException("INVALID_RANGE", "createdFrom 必須早於 createdTo");
+        }
+        q.setVehiclePlateNo(StringUtils.hasText(q.getVehiclePlateNo())
+                ? q.getVehiclePlateNo().trim()
+                : null);
+
+        return boardRepository.page(q, cursor, size);
+    }
+}
@@ -0,0 +1,62 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.exception.BusinessException;
+import com.xk.truck.tom.application.dto.TomOrderListItem;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderQry;
+import com.xk.truck.tom.application.port.in.FindTomOrderUseCase;
+import com.xk.truck.tom.application.port.out.TomOrderQueryRepository;
+import com.xk.truck.tom.application.port.out.TomOrderRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * UseCase Impl: FindTomOrderService
+ * Layer       : Application (Use Case)
+ * Role        : Query
+ * ===============================================================
+ * <p>
+ * Notes:
+ * - 明細：還原 Aggregate（TomOrderRepository）
+ * - 列表：讀取模型（TomOrderQueryRepository，projection + keyset），不還原 Aggregate
+ * - containerNoLike：tom_order 尚未保存貨櫃號碼，帶此條件時明確拒絕（不默默忽略）
+ * ===============================================================
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FindTomOrderService implements FindTomOrderUseCase {
+
+    private final TomOrderRepository tomOrderRepository;
+    private final TomOrderQueryRepository tomOrderQueryRepository;
+
+    @Override
+    public TomOrderResult findById(UUID id) {
+        return tomOrderRepository.findByOrderUuid(id)
+                .map(TomOrderResult::from)
+                .orElseThrow(() -> new BusinessException("TOM_ORDER_NOT_FOUND", "查無訂單：" + id));
+    }
+
+    @Override
+    public KeysetPage<TomOrderListItem> pageForList(FindTomOrderQry qry, String cursor, Integer size) {
+        FindTomOrderQry q = qry == null ? new FindTomOrderQry() : qry;
+
+        if (StringUtils.hasText(q.getContainerNoLike())) {
+            throw new BusinessException("FILTER_NOT_SUPPORTED", "尚不支援依貨櫃號碼查詢");
+        }
+        if (q.getCreatedFrom() != null && q.getCreatedTo() != null
+                && !q.getCreatedFrom().isBefore(q.getCreatedTo())) {
+            throw new BusinessException("INVALID_RANGE", "createdFrom 必須早於 createdTo");
+        }
+
+        return tomOrderQueryRepository.pageForList(q, cursor, size);
+    }
+}
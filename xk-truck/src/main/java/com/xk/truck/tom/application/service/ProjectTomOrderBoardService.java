@@ -0,0 +1,59 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.truck.tom.application.port.in.ProjectTomOrderBoardUseCase;
+import com.xk.truck.tom.application.port.out.TomOrderBoardRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * UseCase Impl: ProjectTomOrderBoardService
+ * Layer       : Application (Use Case)
+ * Role        : Projection
+ * ===============================================================
+ * <p>
+ * Notes:
+ * - 不包交易：refresh 每次呼叫一個交易（見 TomOrderBoardRepository.refresh）
+ * - rebuild 每 REBUILD_CHUNK 筆一個交易，不持有長交易；重建期間看板照常可查、事件照常投影
+ * ===============================================================
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectTomOrderBoardService implements ProjectTomOrderBoardUseCase {
+
+    static final int REBUILD_CHUNK = 500;
+
+    private final TomOrderBoardRepository boardRepository;
+
+    @Override
+    public void refresh(Collection<UUID> orderUuids) {
+        if (orderUuids == null || orderUuids.isEmpty()) return;
+        boardRepository.refresh(orderUuids);
+    }
+
+    @Override
+    public int rebuild() {
+        int total = 0;
+        UUID after = null;
+        List<UUID> chunk;
+        do {
+            chunk = boardRepository.nextOrderUuids(after, REBUILD_CHUNK);
+            if (chunk.isEmpty()) break;
+
+            boardRepository.refresh(chunk);
+            total += chunk.size();
+            after = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == REBUILD_CHUNK);
+
+        log.info("[TOM][BOARD] rebuilt, orders={}", total);
+        return total;
+    }
+}
@@ -0,0 +1,42 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.truck.tom.application.dto.TomOrderSearchHit;
+import com.xk.truck.tom.application.port.in.SearchTomOrderUseCase;
+import com.xk.truck.tom.application.port.out.TomOrderSearchIndex;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * UseCase Impl: SearchTomOrderService
+ * Layer       : Application (Use Case)
+ * Role        : Query
+ * ===============================================================
+ * <p>
+ * Notes:
+ * - 無交易：只讀記憶體索引（TomOrderSearchIndex）
+ * - 空白關鍵字回傳空清單（type-ahead 輸入框清空時不報錯）
+ * ===============================================================
+ */
+@Service
+@RequiredArgsConstructor
+public class SearchTomOrderService implements SearchTomOrderUseCase {
+
+    static final int DEFAULT_LIMIT = 10;
+    static final int MAX_LIMIT = 50;
+
+    private final TomOrderSearchIndex searchIndex;
+
+    @Override
+    public List<TomOrderSearchHit> search(String keyword, Integer limit) {
+        if (!StringUtils.hasText(keyword)) return List.of();
+
+        int n = limit == null || limit < 1 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return searchIndex.search(keyword, n);
+    }
+}
@@ -0,0 +1,84 @@
+package com.xk.truck.tom.controller.api;
+
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.web.ApiResult;
+
+import com.xk.truck.tom.application.dto.TomOrderBoardItem;
+import com.xk.truck.tom.application.port.in.FindTomOrderBoardUseCase;
+import com.xk.truck.tom.application.port.in.ProjectTomOrderBoardUseCase;
+import com.xk.truck.tom.controller.api.dto.req.TomOrderBoardQuery;
+import com.xk.truck.tom.controller.api.mapper.TomOrderApiMapper;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Controller Class : TomOrderBoardController
+ * Layer            : Interface Adapters (RestController) 處理 HTTP 請求
+ * Purpose          : 調度看板 API（讀取 tom_order_board 讀模型）
+ * ===============================================================
+ * Notes            :
+ * - 讀模型由 outbox 事件非同步更新：寫入後短暫時間內可能尚未反映（最終一致）
+ * - 列表 / 明細皆為單表查詢，不 join 訂單、派工、車輛、司機
+ * - 讀模型與來源不一致（漏事件、手動修資料）時以 POST /rebuild 整批重建
+ * ===============================================================
+ */
+@Tag(name = "TOM - Order Board API", description = "調度看板（訂單 + 命運層 + 目前派工 + 車牌 / 司機）")
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/tom/board")
+public class TomOrderBoardController {
+
+    private final TomOrderApiMapper mapper;
+
+    private final FindTomOrderBoardUseCase findTomOrderBoardUseCase;
+    private final ProjectTomOrderBoardUseCase projectTomOrderBoardUseCase;
+
+    // ===============================================================
+    // Read
+    // ===============================================================
+
+    /**
+     * 看板列表（keyset 游標分頁，訂單 createdTime DESC）
+     * GET /api/tom/board?dispatchStatus=IN_PROGRESS&vehiclePlateNo=KLA-1234&size=50&cursor=...
+     */
+    @Operation(summary = "調度看板列表（keyset 游標分頁，讀模型單表查詢）")
+    @GetMapping
+    public ApiResult<KeysetPage<TomOrderBoardItem>> page(
+            @ParameterObject @ModelAttribute TomOrderBoardQuery query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ApiResult.success(findTomOrderBoardUseCase.page(mapper.toBoardQry(query), cursor, size));
+    }
+
+    @Operation(summary = "調度看板明細（依訂單 UUID）")
+    @GetMapping("/{id}")
+    public ApiResult<TomOrderBoardItem> findById(@PathVariable("id") UUID id) {
+        return ApiResult.success(findTomOrderBoardUseCase.findById(id));
+    }
+
+    // ===============================================================
+    // Maintenance
+    // ===============================================================
+
+    /**
+     * 由來源表整批重建讀模型（分段交易；可重複執行）
+     * POST /api/tom/board/rebuild
+     */
+    @Operation(summary = "重建調度看板讀模型")
+    @PostMapping("/rebuild")
+    public ApiResult<Integer> rebuild() {
+        log.info("[API] rebuild order board");
+        return ApiResult.success(projectTomOrderBoardUseCase.rebuild(), "重建完成");
+    }
+}
@@ -1,14 +1,20 @@
 package com.xk.truck.tom.controller.api;
 
+import com.xk.base.domain.jpa.spec.KeysetPage;
 import com.xk.base.web.ApiResult;
 
 import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
+import com.xk.truck.tom.application.port.in.CreateTomOrdersUseCase;
 import com.xk.truck.tom.controller.api.mapper.TomOrderApiMapper;
 import com.xk.truck.tom.application.port.in.FindTomOrderUseCase;
+import com.xk.truck.tom.application.port.in.SearchTomOrderUseCase;
+import com.xk.truck.tom.application.dto.TomOrderSearchHit;
 
 import com.xk.truck.tom.controller.api.dto.req.CreateTomOrderReq;
 
 import com.xk.truck.tom.controller.api.dto.req.TomOrderQuery;
+import com.xk.truck.tom.controller.api.dto.resp.BulkCreateTomOrderResp;
+import com.xk.truck.tom.controller.api.dto.resp.TomOrderListResp;
 import com.xk.truck.tom.controller.api.dto.resp.TomOrderResp;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -18,10 +24,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springdoc.core.annotations.ParameterObject;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -55,6 +60,9 @@ public class TomOrderController {
     private final TomOrderApiMapper mapper;
 
     private final CreateTomOrderUseCase createTomOrderUseCase;
+    private final CreateTomOrdersUseCase createTomOrdersUseCase;
+    private final FindTomOrderUseCase findTomOrderUseCase;
+    private final SearchTomOrderUseCase searchTomOrderUseCase;
 
     // ===============================================================
     // Create
@@ -69,36 +77,67 @@ public class TomOrderController {
         return ApiResult.success(mapper.toResp(result), "建立進口訂單成功");
     }
 
+    /**
+     * 批次建立（客戶每日進出口清單）
+     * POST /api/tom/orders/bulk
+     * <p>
+     * - 不在此 @Valid：逐筆驗證由 UseCase 處理，單筆錯誤不擋整批
+     * - 回傳逐筆結果（index 對應請求陣列位置）
+     */
+    @Operation(summary = "批次建立訂單（逐筆回報結果）")
+    @PostMapping("/bulk")
+    public ApiResult<BulkCreateTomOrderResp> createBulk(@RequestBody List<CreateTomOrderReq> reqs) {
+        log.info("[API] bulk create size={}", reqs == null ? 0 : reqs.size());
+        var cmds = mapper.toCreateCmds(reqs == null ? List.of() : reqs);
+        var result = createTomOrdersUseCase.execute(cmds);
+        return ApiResult.success(mapper.toBulkResp(result), "批次建立完成");
+    }
+
     // ===============================================================
     // Read
     // ===============================================================
 
-//    @Operation(summary = "取得訂單明細（依 UUID）")
-//    @GetMapping("/{id}")
-//    public ApiResult<TomOrderResp> findById(@PathVariable("id") UUID id) {
-//        log.info("[API] getOrderDetail id={}", id);
-//        return ApiResult.success(findUseCase.findById(id));
-//    }
+    @Operation(summary = "取得訂單明細（依 UUID）")
+    @GetMapping("/{id}")
+    public ApiResult<TomOrderResp> findById(@PathVariable("id") UUID id) {
+        return ApiResult.success(mapper.toResp(findTomOrderUseCase.findById(id)));
+    }
 
+    /**
+     * 訂單列表 / 調度看板（keyset 游標分頁，createdTime DESC）
+     * GET /api/tom/orders?customerUuid=...&orderNoLike=TOM-20260106&size=50&cursor=...
+     * <p>
+     * - Projection 查詢（tom_order join order_core 狀態），不載入 Entity
+     * - query 來源：request params（Spring 會自動綁定到 TomOrderQuery）
+     * - cursor：上一次回傳的 nextCursor / prevCursor；不帶 = 第一頁
+     */
+    @Operation(summary = "訂單列表（keyset 游標分頁，Projection DTO）")
+    @GetMapping
+    public ApiResult<KeysetPage<TomOrderListResp>> pageForList(
+            @ParameterObject @ModelAttribute TomOrderQuery query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        var qry = mapper.toQry(query);
+        var page = findTomOrderUseCase.pageForList(qry, cursor, size);
+        return ApiResult.success(page.map(mapper::toListResp));
+    }
 
     /**
-     * 訂單列表（同時回傳 import/export 需要的欄位）
-     * GET /api/tom/orders?page=0&size=20&sort=createdTime,desc
+     * 調度員 type-ahead 搜尋（部分訂單編號 / 客戶參考號 / 客戶名稱 / 地址）
+     * GET /api/tom/orders/search?q=00000123&limit=10
      * <p>
-     * - 使用 Projection DTO（Row/Projection）避免 JPA N+1 / lazy 踩坑
-     * - query 來源：request params（Spring 會自動綁定到 OrderQuery）
-     * - pageable 來源：?page=0&size=20&sort=createdTime,desc
+     * - 記憶體索引（最近 tom.search.window 的訂單），不查 DB
+     * - q 以空白分隔多個詞（AND）；短於 3 字的詞只比對開頭
      */
-//    @Operation(summary = "訂單列表（同時回 import/export，Projection DTO）")
-//    @GetMapping
-//    public ApiResult<Page<TomOrderResp>> pageForList(
-//            @ParameterObject @ModelAttribute TomOrderQuery query,
-//            @ParameterObject @PageableDefault(size = 20, sort = "createdTime") Pageable pageable
-//    ) {
-//        var qry = mapper.toQry(query);
-//        var result = findUseCase.pageForList(qry, pageable);
-//        return ApiResult.success(result);
-//    }
+    @Operation(summary = "訂單 type-ahead 搜尋（記憶體索引）")
+    @GetMapping("/search")
+    public ApiResult<List<TomOrderSearchHit>> search(
+            @RequestParam("q") String q,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ApiResult.success(searchTomOrderUseCase.search(q, limit));
+    }
 
     // ===============================================================
     // Dispatch / Assignment
@@ -0,0 +1,47 @@
+package com.xk.truck.tom.controller.api.dto.req;
+
+import com.xk.truck.fms.domain.model.DispatchStatus;
+import com.xk.truck.ordercore.domain.model.OrderCoreStatus;
+import com.xk.truck.tom.domain.model.TomOrderStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Controller Class : TomOrderBoardQuery
+ * Layer            : Interface Adapters (Request) 看板查詢參數（request params 綁定）
+ * Purpose          : GET /api/tom/board 篩選條件
+ * ===============================================================
+ */
+@Data
+public class TomOrderBoardQuery {
+
+    @Schema(description = "客戶 UUID")
+    private UUID customerUuid;
+
+    @Schema(description = "TOM 流程狀態")
+    private TomOrderStatus tomStatus;
+
+    @Schema(description = "命運層狀態（OPEN/CANCELLED/CLOSED）")
+    private OrderCoreStatus orderCoreStatus;
+
+    @Schema(description = "目前派工狀態")
+    private DispatchStatus dispatchStatus;
+
+    @Schema(description = "車牌（完全相符）", example = "KLA-1234")
+    private String vehiclePlateNo;
+
+    @Schema(description = "建立時間起（含）", example = "2026-01-06T00:00:00+08:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime createdFrom;
+
+    @Schema(description = "建立時間迄（不含）", example = "2026-01-07T00:00:00+08:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime createdTo;
+}
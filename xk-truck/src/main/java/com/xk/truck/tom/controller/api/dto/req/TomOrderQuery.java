@@ -1 +1,37 @@
-package com.xk.truck.tom.controller.api.dto.req;public class TomOrderQuery {}
\ No newline at end of file
+package com.xk.truck.tom.controller.api.dto.req;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Controller Class : TomOrderQuery
+ * Layer            : Interface Adapters (Request) 列表查詢參數（request params 綁定）
+ * Purpose          : GET /api/tom/orders 篩選條件
+ * ===============================================================
+ */
+@Data
+public class TomOrderQuery {
+
+    @Schema(description = "客戶 UUID")
+    private UUID customerUuid;
+
+    @Schema(description = "訂單編號（前綴）", example = "TOM-20260106")
+    private String orderNoLike;
+
+    @Schema(description = "貨櫃號碼（尚未支援）")
+    private String containerNoLike;
+
+    @Schema(description = "建立時間起（含）", example = "2026-01-06T00:00:00+08:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime createdFrom;
+
+    @Schema(description = "建立時間迄（不含）", example = "2026-01-07T00:00:00+08:00")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private ZonedDateTime createdTo;
+}
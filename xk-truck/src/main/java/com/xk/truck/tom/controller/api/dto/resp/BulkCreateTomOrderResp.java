@@ -0,0 +1,36 @@
+package com.xk.truck.tom.controller.api.dto.resp;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ===============================================================
+ * Controller Class : BulkCreateTomOrderResp
+ * Layer            : Interface Adapters (Response) API 輸出格式
+ * Purpose          : 批次建立訂單的逐筆結果（index 對應請求陣列位置）
+ * ===============================================================
+ */
+@Data
+public class BulkCreateTomOrderResp {
+
+    int total;
+    int succeeded;
+    int failed;
+
+    List<Row> rows;
+
+    @Data
+    public static class Row {
+
+        int index;
+        boolean success;
+
+        TomOrderResp order;
+
+        String errorCode;
+        String message;
+        Map<String, String> details;
+    }
+}
@@ -0,0 +1,34 @@
+package com.xk.truck.tom.controller.api.dto.resp;
+
+import lombok.Data;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Controller Class : TomOrderListResp
+ * Layer            : Interface Adapters (Response) API 輸出格式
+ * Purpose          : 訂單列表 / 調度看板的一列
+ * ===============================================================
+ */
+@Data
+public class TomOrderListResp {
+    UUID id;
+    String orderNo;
+
+    String orderType;
+    String tomStatus;
+    String orderCoreStatus;
+
+    UUID customerUuid;
+    String customerName;
+
+    String pickupAddress;
+    String deliveryAddress;
+
+    ZonedDateTime scheduledAt;
+    String customerRefNo;
+
+    ZonedDateTime createdTime;
+}
@@ -1,19 +1,28 @@
 package com.xk.truck.tom.controller.api.mapper;
 
 import com.xk.base.util.XkBeanUtils;
+import com.xk.truck.tom.application.dto.BulkCreateTomOrderResult;
+import com.xk.truck.tom.application.dto.TomOrderListItem;
 import com.xk.truck.tom.application.dto.TomOrderResult;
 import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
 
+import com.xk.truck.tom.application.dto.qry.FindTomOrderBoardQry;
 import com.xk.truck.tom.application.dto.qry.FindTomOrderQry;
 import com.xk.truck.tom.controller.api.dto.req.CreateTomOrderReq;
 
+import com.xk.truck.tom.controller.api.dto.req.TomOrderBoardQuery;
 import com.xk.truck.tom.controller.api.dto.req.TomOrderQuery;
+import com.xk.truck.tom.controller.api.dto.resp.BulkCreateTomOrderResp;
+import com.xk.truck.tom.controller.api.dto.resp.TomOrderListResp;
 import com.xk.truck.tom.controller.api.dto.resp.TomOrderResp;
 
 import jakarta.validation.Valid;
 
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * ===============================================================
  * Controller Class : TomOrderApiMapper
@@ -25,14 +34,93 @@ import org.springframework.stereotype.Component;
 public class TomOrderApiMapper {
 
     public TomOrderResp toResp(TomOrderResult result) {
-        return XkBeanUtils.copyProperties(result, TomOrderResp::new);
+        TomOrderResp resp = new TomOrderResp();
+        resp.setId(result.getOrderUuid());
+        resp.setOrderNo(result.getOrderNo());
+        resp.setOrderType(result.getOrderType());
+        resp.setTomStatus(result.getTomStatus());
+        resp.setCustomerUuid(result.getCustomerUuid());
+        resp.setCustomerName(result.getCustomerName());
+        resp.setPickupAddress(result.getPickupAddress());
+        resp.setDeliveryAddress(result.getDeliveryAddress());
+        resp.setScheduledAt(result.getScheduledAt());
+        resp.setCustomerRefNo(result.getCustomerRefNo());
+        resp.setNote(result.getRemark());
+        resp.setAvailableActions(result.getAvailableActions());
+        return resp;
     }
 
     public CreateTomOrderCommand toCreateCmd(@Valid CreateTomOrderReq input) {
         return XkBeanUtils.copyProperties(input, CreateTomOrderCommand::new);
     }
 
+    public List<CreateTomOrderCommand> toCreateCmds(List<CreateTomOrderReq> inputs) {
+        List<CreateTomOrderCommand> cmds = new ArrayList<>(inputs.size());
+        for (CreateTomOrderReq input : inputs) {
+            cmds.add(input == null ? null : toCreateCmd(input));
+        }
+        return cmds;
+    }
+
+    public BulkCreateTomOrderResp toBulkResp(BulkCreateTomOrderResult result) {
+        List<BulkCreateTomOrderResp.Row> rows = new ArrayList<>(result.getRows().size());
+        for (BulkCreateTomOrderResult.Row r : result.getRows()) {
+            BulkCreateTomOrderResp.Row row = new BulkCreateTomOrderResp.Row();
+            row.setIndex(r.getIndex());
+            row.setSuccess(r.isSuccess());
+            row.setOrder(r.getOrder() == null ? null : toResp(r.getOrder()));
+            row.setErrorCode(r.getErrorCode());
+            row.setMessage(r.getMessage());
+            row.setDetails(r.getDetails());
+            rows.add(row);
+        }
+
+        BulkCreateTomOrderResp resp = new BulkCreateTomOrderResp();
+        resp.setTotal(result.getTotal());
+        resp.setSucceeded(result.getSucceeded());
+        resp.setFailed(result.getFailed());
+        resp.setRows(rows);
+        return resp;
+    }
+
+    public TomOrderListResp toListResp(TomOrderListItem item) {
+        TomOrderListResp resp = new TomOrderListResp();
+        resp.setId(item.getOrderUuid());
+        resp.setOrderNo(item.getOrderNo());
+        resp.setOrderType(item.getOrderType());
+        resp.setTomStatus(item.getTomStatus());
+        resp.setOrderCoreStatus(item.getOrderCoreStatus());
+        resp.setCustomerUuid(item.getCustomerUuid());
+        resp.setCustomerName(item.getCustomerName());
+        resp.setPickupAddress(item.getPickupAddress());
+        resp.setDeliveryAddress(item.getDeliveryAddress());
+        resp.setScheduledAt(item.getScheduledAt());
+        resp.setCustomerRefNo(item.getCustomerRefNo());
+        resp.setCreatedTime(item.getCreatedTime());
+        return resp;
+    }
+
     public FindTomOrderQry toQry(TomOrderQuery query) {
-        return XkBeanUtils.copyProperties(query, FindTomOrderQry::new);
+        if (query == null) return new FindTomOrderQry();
+        return FindTomOrderQry.builder()
+                .customerUuid(query.getCustomerUuid())
+                .orderNoLike(query.getOrderNoLike())
+                .containerNoLike(query.getContainerNoLike())
+                .createdFrom(query.getCreatedFrom())
+                .createdTo(query.getCreatedTo())
+                .build();
+    }
+
+    public FindTomOrderBoardQry toBoardQry(TomOrderBoardQuery query) {
+        if (query == null) return new FindTomOrderBoardQry();
+        return FindTomOrderBoardQry.builder()
+                .customerUuid(query.getCustomerUuid())
+                .tomStatus(query.getTomStatus())
+                .orderCoreStatus(query.getOrderCoreStatus())
+                .dispatchStatus(query.getDispatchStatus())
+                .vehiclePlateNo(query.getVehiclePlateNo())
+                .createdFrom(query.getCreatedFrom())
+                .createdTo(query.getCreatedTo())
+                .build();
     }
 }
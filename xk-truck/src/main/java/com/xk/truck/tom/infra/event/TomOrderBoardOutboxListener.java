@@ -0,0 +1,53 @@
+package com.xk.truck.tom.infra.event;
+
+import com.xk.base.infra.outbox.OutboxEvent;
+import com.xk.base.infra.outbox.OutboxListener;
+import com.xk.base.infra.outbox.OutboxPayloadCodec;
+import com.xk.truck.fms.domain.event.DispatchTaskStatusChangedEvent;
+import com.xk.truck.tom.application.dto.event.TomOrderCreatedEvent;
+import com.xk.truck.tom.application.port.in.ProjectTomOrderBoardUseCase;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Listener: TomOrderBoardOutboxListener
+ * Layer   : Infrastructure (Inbound Adapter：outbox → use case)
+ * Purpose : 訂單建立 / 派工狀態變更 → 重新投影調度看板的該張訂單
+ * ===============================================================
+ * Notes:
+ * - 只取事件中的訂單 id，整列由來源表重組：重送、亂序皆冪等
+ * - 新增會影響看板的事件（例：order-core 取消 / 結案、TOM 狀態流轉）時加到 supports
+ */
+@Component
+@RequiredArgsConstructor
+public class TomOrderBoardOutboxListener implements OutboxListener {
+
+    private final ProjectTomOrderBoardUseCase projectTomOrderBoardUseCase;
+    private final OutboxPayloadCodec codec;
+
+    @Override
+    public boolean supports(String eventType) {
+        return TomOrderCreatedEvent.TYPE.equals(eventType)
+                || DispatchTaskStatusChangedEvent.TYPE.equals(eventType);
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        UUID orderUuid = switch (event.eventType()) {
+            case TomOrderCreatedEvent.TYPE ->
+                    codec.decode(event.payload(), TomOrderCreatedEvent.class).orderUuid();
+            case DispatchTaskStatusChangedEvent.TYPE ->
+                    codec.decode(event.payload(), DispatchTaskStatusChangedEvent.class).orderId();
+            default -> null;
+        };
+        if (orderUuid != null) {
+            projectTomOrderBoardUseCase.refresh(List.of(orderUuid));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.xk.truck.tom.infra.event;
+
+import com.xk.base.infra.outbox.OutboxPublisher;
+import com.xk.truck.tom.application.dto.event.TomOrderCreatedEvent;
+import com.xk.truck.tom.application.port.out.TomOrderEventPort;
+import com.xk.truck.tom.domain.model.TomOrder;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * ===============================================================
+ * Adapter: TomOrderOutboxAdapter
+ * Layer  : Infrastructure
+ * Purpose: TomOrderEventPort → xk-base transactional outbox（xk_outbox_event）
+ * ===============================================================
+ */
+@Component
+@RequiredArgsConstructor
+public class TomOrderOutboxAdapter implements TomOrderEventPort {
+
+    private final OutboxPublisher outboxPublisher;
+
+    @Override
+    public void created(List<TomOrder> orders) {
+        outboxPublisher.publishAll(
+                TomOrderCreatedEvent.AGGREGATE_TYPE,
+                TomOrderCreatedEvent.TYPE,
+                orders.stream().map(TomOrderCreatedEvent::from).toList(),
+                e -> e.orderUuid().toString()
+        );
+    }
+}
@@ -0,0 +1,200 @@
+package com.xk.truck.tom.infra.persistence.adapter;
+
+import com.xk.base.domain.jpa.spec.KeysetCursor;
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.domain.jpa.spec.KeysetPager;
+import com.xk.truck.fms.domain.model.DispatchStatus;
+import com.xk.truck.tom.application.dto.TomOrderBoardItem;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderBoardQry;
+import com.xk.truck.tom.application.port.out.TomOrderBoardRepository;
+import com.xk.truck.tom.infra.persistence.entity.TomOrderBoardEntity;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderBoardRepository;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderBoardRepository.DispatchSource;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderBoardRepository.OrderSource;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+/**
+ * ===============================================================
+ * Adapter: TomOrderBoardJpaAdapter
+ * Layer   : Infrastructure / Persistence
+ * Purpose :
+ * - 實作 TomOrderBoardRepository（調度看板讀取模型）
+ * - 查詢：tom_order_board 單表 keyset（游標格式同 TomOrderQueryJpaAdapter）
+ * - 投影：兩個來源查詢（訂單 + 命運層、派工 + 車輛 + 司機）→ 整列覆寫
+ * ===============================================================
+ * Notes:
+ * - 目前派工：最新一筆未取消（依 assignedTime）；全部取消 / 尚未派工 → 派工欄位清空
+ * - 既有列先以 PESSIMISTIC_WRITE 鎖定（lockAllById）再讀來源，之後 dirty checking 更新（jdbc batch）；
+ *   並行投影同一張訂單時依序執行，先讀到舊來源的交易不會較晚 commit 而覆寫較新的結果
+ * - 新列以 markNew 直接 INSERT；兩個節點同時投影同一張新訂單 → 其一主鍵衝突失敗，
+ *   由 outbox 重試時改走「鎖定 + 更新」
+ */
+@Repository
+@RequiredArgsConstructor
+public class TomOrderBoardJpaAdapter implements TomOrderBoardRepository {
+
+    private static final Comparator<DispatchSource> LATEST_ASSIGNED = Comparator.comparing(
+            DispatchSource::getAssignedTime, Comparator.nullsFirst(Comparator.<ZonedDateTime>naturalOrder()));
+
+    private final JpaTomOrderBoardRepository jpa;
+    private final Clock clock;
+
+    // ===============================================================
+    // Query
+    // ===============================================================
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TomOrderBoardItem> findByOrderUuid(UUID orderUuid) {
+        return jpa.findById(orderUuid).map(TomOrderBoardJpaAdapter::toItem);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<TomOrderBoardItem> page(FindTomOrderBoardQry qry, String cursor, Integer size) {
+        final int pageSize = KeysetPager.normalizeSize(size);
+        final KeysetCursor current = KeysetCursor.decode(cursor);
+
+        ZonedDateTime seekTime = null;
+        UUID seekId = null;
+        if (current != null) {
+            try {
+                seekTime = ZonedDateTime.parse(current.sortValue());
+                seekId = UUID.fromString(current.idValue());
+            } catch (DateTimeException | IllegalArgumentException e) {
+                throw KeysetCursor.invalid();
+            }
+        }
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<TomOrderBoardEntity> rows = current != null && current.backward()
+                ? jpa.findBoardAfter(qry.getCustomerUuid(), qry.getTomStatus(), qry.getOrderCoreStatus(),
+                qry.getDispatchStatus(), qry.getVehiclePlateNo(), qry.getCreatedFrom(), qry.getCreatedTo(),
+                seekTime, seekId, limit)
+                : jpa.findBoardBefore(qry.getCustomerUuid(), qry.getTomStatus(), qry.getOrderCoreStatus(),
+                qry.getDispatchStatus(), qry.getVehiclePlateNo(), qry.getCreatedFrom(), qry.getCreatedTo(),
+                seekTime, seekId, limit);
+
+        return KeysetPager.toPage(rows, pageSize, current, TomOrderBoardJpaAdapter::cursorOf)
+                .map(TomOrderBoardJpaAdapter::toItem);
+    }
+
+    // ===============================================================
+    // Projection
+    // ===============================================================
+
+    @Override
+    @Transactional
+    public int refresh(Collection<UUID> orderUuids) {
+        Set<UUID> ids = new LinkedHashSet<>(orderUuids);
+
+        // 先鎖看板列再讀來源：並行投影同一張訂單時，後到者等鎖後讀到的是最新來源
+        Map<UUID, TomOrderBoardEntity> existing = new HashMap<>();
+        for (TomOrderBoardEntity e : jpa.lockAllById(ids)) {
+            existing.put(e.getOrderUuid(), e);
+        }
+
+        Map<UUID, OrderSource> orders = new HashMap<>();
+        for (OrderSource o : jpa.findOrderSources(ids)) {
+            orders.put(o.getOrderUuid(), o);
+        }
+
+        Map<UUID, DispatchSource> dispatches = new HashMap<>();
+        for (DispatchSource d : jpa.findDispatchSources(ids)) {
+            if (d.getStatus() == DispatchStatus.CANCELLED) continue;
+            dispatches.merge(d.getOrderId(), d, (a, b) -> LATEST_ASSIGNED.compare(a, b) >= 0 ? a : b);
+        }
+
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        List<TomOrderBoardEntity> inserts = new ArrayList<>();
+        for (UUID id : ids) {
+            OrderSource order = orders.get(id);
+            TomOrderBoardEntity row = existing.get(id);
+
+            if (order == null) {
+                if (row != null) jpa.delete(row);
+                continue;
+            }
+            if (row == null) {
+                row = TomOrderBoardEntity.builder().orderUuid(id).build().markNew();
+                inserts.add(row);
+            }
+            apply(row, order, dispatches.get(id), now);
+        }
+        jpa.saveAll(inserts);
+        return orders.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> nextOrderUuids(UUID after, int limit) {
+        return jpa.findOrderUuidsAfter(after, Limit.of(limit));
+    }
+
+    // ===============================================================
+    // Internals
+    // ===============================================================
+
+    private static void apply(TomOrderBoardEntity row, OrderSource o, DispatchSource d, ZonedDateTime now) {
+        row.setOrderNo(o.getOrderNo());
+        row.setOrderType(o.getOrderType());
+        row.setTomStatus(o.getTomStatus());
+        row.setOrderCoreStatus(o.getOrderCoreStatus());
+        row.setCustomerUuid(o.getCustomerUuid());
+        row.setCustomerName(o.getCustomerName());
+        row.setCustomerRefNo(o.getCustomerRefNo());
+        row.setPickupAddress(o.getPickupAddress());
+        row.setDeliveryAddress(o.getDeliveryAddress());
+        row.setScheduledAt(o.getScheduledAt());
+        row.setOrderCreatedTime(o.getCreatedTime());
+
+        row.setDispatchTaskId(d == null ? null : d.getTaskId());
+        row.setDispatchStatus(d == null ? null : d.getStatus());
+        row.setDispatchAssignedTime(d == null ? null : d.getAssignedTime());
+        row.setVehicleId(d == null ? null : d.getVehicleId());
+        row.setVehiclePlateNo(d == null ? null : d.getPlateNo());
+        row.setDriverId(d == null ? null : d.getDriverId());
+        row.setDriverName(d == null ? null : d.getDriverName());
+
+        row.setProjectedTime(now);
+    }
+
+    private static KeysetCursor cursorOf(TomOrderBoardEntity row, boolean backward) {
+        return new KeysetCursor(backward, row.getOrderCreatedTime().toString(), row.getOrderUuid().toString());
+    }
+
+    private static TomOrderBoardItem toItem(TomOrderBoardEntity e) {
+        TomOrderBoardItem item = new TomOrderBoardItem();
+        item.setOrderUuid(e.getOrderUuid());
+        item.setOrderNo(e.getOrderNo());
+        item.setOrderType(e.getOrderType() == null ? null : e.getOrderType().name());
+        item.setTomStatus(e.getTomStatus() == null ? null : e.getTomStatus().name());
+        item.setOrderCoreStatus(e.getOrderCoreStatus() == null ? null : e.getOrderCoreStatus().name());
+        item.setCustomerUuid(e.getCustomerUuid());
+        item.setCustomerName(e.getCustomerName());
+        item.setCustomerRefNo(e.getCustomerRefNo());
+        item.setPickupAddress(e.getPickupAddress());
+        item.setDeliveryAddress(e.getDeliveryAddress());
+        item.setScheduledAt(e.getScheduledAt());
+        item.setCreatedTime(e.getOrderCreatedTime());
+        item.setDispatchTaskId(e.getDispatchTaskId());
+        item.setDispatchStatus(e.getDispatchStatus() == null ? null : e.getDispatchStatus().name());
+        item.setDispatchAssignedTime(e.getDispatchAssignedTime());
+        item.setVehicleId(e.getVehicleId());
+        item.setVehiclePlateNo(e.getVehiclePlateNo());
+        item.setDriverId(e.getDriverId());
+        item.setDriverName(e.getDriverName());
+        item.setProjectedTime(e.getProjectedTime());
+        return item;
+    }
+}
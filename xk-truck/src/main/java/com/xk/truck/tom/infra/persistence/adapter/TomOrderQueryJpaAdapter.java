@@ -0,0 +1,95 @@
+package com.xk.truck.tom.infra.persistence.adapter;
+
+import com.xk.base.domain.jpa.spec.KeysetCursor;
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.domain.jpa.spec.KeysetPager;
+import com.xk.base.domain.jpa.spec.KeywordSpec;
+import com.xk.truck.tom.application.dto.TomOrderListItem;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderQry;
+import com.xk.truck.tom.application.port.out.TomOrderQueryRepository;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderRepository;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.DateTimeException;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Adapter: TomOrderQueryJpaAdapter
+ * Layer   : Infrastructure / Persistence
+ * Purpose :
+ * - 實作 TomOrderQueryRepository（列表 / 調度看板）
+ * - JPQL projection（JpaTomOrderRepository.ListRow）：不載入 TomOrderEntity、不經 TomOrderPersistenceMapper
+ * ===============================================================
+ * Notes:
+ * - keyset：(createdTime, orderUuid) DESC，多抓 1 筆判斷是否有下一頁，不跑 count
+ * - 游標格式沿用 KeysetCursor（sortValue = createdTime ISO 字串，idValue = orderUuid）
+ */
+@Repository
+@RequiredArgsConstructor
+public class TomOrderQueryJpaAdapter implements TomOrderQueryRepository {
+
+    private final JpaTomOrderRepository jpa;
+
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetPage<TomOrderListItem> pageForList(FindTomOrderQry qry, String cursor, Integer size) {
+        final int pageSize = KeysetPager.normalizeSize(size);
+        final KeysetCursor current = KeysetCursor.decode(cursor);
+
+        ZonedDateTime seekTime = null;
+        UUID seekId = null;
+        if (current != null) {
+            try {
+                seekTime = ZonedDateTime.parse(current.sortValue());
+                seekId = UUID.fromString(current.idValue());
+            } catch (DateTimeException | IllegalArgumentException e) {
+                throw KeysetCursor.invalid();
+            }
+        }
+
+        String orderNo = StringUtils.hasText(qry.getOrderNoLike())
+                ? KeywordSpec.likePattern(qry.getOrderNoLike().trim().toUpperCase(Locale.ROOT))
+                : null;
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<JpaTomOrderRepository.ListRow> rows = current != null && current.backward()
+                ? jpa.findListRowsAfter(qry.getCustomerUuid(), orderNo, qry.getCreatedFrom(), qry.getCreatedTo(),
+                seekTime, seekId, limit)
+                : jpa.findListRowsBefore(qry.getCustomerUuid(), orderNo, qry.getCreatedFrom(), qry.getCreatedTo(),
+                seekTime, seekId, limit);
+
+        return KeysetPager.toPage(rows, pageSize, current, TomOrderQueryJpaAdapter::cursorOf)
+                .map(TomOrderQueryJpaAdapter::toItem);
+    }
+
+    private static KeysetCursor cursorOf(JpaTomOrderRepository.ListRow row, boolean backward) {
+        return new KeysetCursor(backward, row.getCreatedTime().toString(), row.getOrderUuid().toString());
+    }
+
+    private static TomOrderListItem toItem(JpaTomOrderRepository.ListRow row) {
+        TomOrderListItem item = new TomOrderListItem();
+        item.setOrderUuid(row.getOrderUuid());
+        item.setOrderNo(row.getOrderNo());
+        item.setOrderType(row.getOrderType() == null ? null : row.getOrderType().name());
+        item.setTomStatus(row.getTomStatus() == null ? null : row.getTomStatus().name());
+        item.setOrderCoreStatus(row.getOrderCoreStatus() == null ? null : row.getOrderCoreStatus().name());
+        item.setCustomerUuid(row.getCustomerUuid());
+        item.setCustomerName(row.getCustomerName());
+        item.setPickupAddress(row.getPickupAddress());
+        item.setDeliveryAddress(row.getDeliveryAddress());
+        item.setScheduledAt(row.getScheduledAt());
+        item.setCustomerRefNo(row.getCustomerRefNo());
+        item.setCreatedTime(row.getCreatedTime());
+        return item;
+    }
+}
@@ -10,6 +10,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,6 +30,28 @@ public class TomOrderRepositoryJpaAdapter implements TomOrderRepository {
 
     private final JpaTomOrderRepository jpa;
 
+    /**
+     * markNew → save() 走 persist，不做 merge 的 SELECT
+     * - 回傳原 aggregate：INSERT 不改變任何欄位，不必再 toDomain
+     */
+    @Override
+    @Transactional
+    public TomOrder insert(TomOrder aggregate) {
+        jpa.save(TomOrderPersistenceMapper.toEntity(aggregate).markNew());
+        return aggregate;
+    }
+
+    @Override
+    @Transactional
+    public List<TomOrder> insertAll(List<TomOrder> aggregates) {
+        List<TomOrderEntity> entities = new ArrayList<>(aggregates.size());
+        for (TomOrder aggregate : aggregates) {
+            entities.add(TomOrderPersistenceMapper.toEntity(aggregate).markNew());
+        }
+        jpa.saveAll(entities);
+        return aggregates;
+    }
+
     @Override
     @Transactional
     public TomOrder save(TomOrder aggregate) {
@@ -0,0 +1,164 @@
+package com.xk.truck.tom.infra.persistence.entity;
+
+import com.xk.truck.fms.domain.model.DispatchStatus;
+import com.xk.truck.ordercore.domain.model.OrderCoreStatus;
+import com.xk.truck.tom.domain.model.TomOrderStatus;
+import com.xk.truck.tom.domain.model.TomOrderType;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import org.hibernate.annotations.Comment;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Entity : TomOrderBoardEntity
+ * Layer  : Infrastructure / Persistence (TOM Read Model)
+ * Purpose: 調度看板讀取模型（CQRS）：一列 = 一張訂單的看板所需全部欄位
+ * ===============================================================
+ * <p>
+ * Design Notes:
+ * - 由 outbox 事件非同步維護（TomOrderBoardOutboxListener），寫入仍在既有 Aggregate；此表只讀
+ * - 每次更新都由來源表重新組出整列（不套用差異）：重送、亂序都不影響結果
+ * - 來源：tom_order + order_core（命運層）+ 目前派工（dispatch_task）+ fms_vehicle 車牌 + fms_driver 姓名
+ * - 不繼承 BaseEntity：不需要稽核欄位，projectedTime 記錄最後一次投影時間
+ * - 主鍵即 orderUuid（指定值）→ 實作 Persistable，新建直接 INSERT 不走 merge SELECT
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "tom_order_board",
+        indexes = {
+                @Index(name = "idx_tom_order_board_created_time", columnList = "order_created_time, order_uuid"),
+                @Index(name = "idx_tom_order_board_customer_uuid", columnList = "customer_uuid"),
+                @Index(name = "idx_tom_order_board_tom_status", columnList = "tom_status"),
+                @Index(name = "idx_tom_order_board_core_status", columnList = "order_core_status"),
+                @Index(name = "idx_tom_order_board_dispatch_status", columnList = "dispatch_status"),
+                @Index(name = "idx_tom_order_board_plate_no", columnList = "vehicle_plate_no")
+        }
+)
+public class TomOrderBoardEntity implements Persistable<UUID> {
+
+    // ===============================================================
+    // Order（tom_order + order_core）
+    // ===============================================================
+
+    @Id
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "order_uuid", length = 36, nullable = false, updatable = false)
+    private UUID orderUuid;
+
+    @Column(name = "order_no", length = 32, nullable = false, unique = true)
+    private String orderNo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_type", length = 16)
+    private TomOrderType orderType;
+
+    @Comment("TOM 流程狀態")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tom_status", length = 16)
+    private TomOrderStatus tomStatus;
+
+    @Comment("order-core 命運層狀態（OPEN/CANCELLED/CLOSED）")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_core_status", length = 16)
+    private OrderCoreStatus orderCoreStatus;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "customer_uuid", length = 36)
+    private UUID customerUuid;
+
+    @Column(name = "customer_name", length = 200)
+    private String customerName;
+
+    @Column(name = "customer_ref_no", length = 64)
+    private String customerRefNo;
+
+    @Column(name = "pickup_address", length = 255)
+    private String pickupAddress;
+
+    @Column(name = "delivery_address", length = 255)
+    private String deliveryAddress;
+
+    @Column(name = "scheduled_at")
+    private ZonedDateTime scheduledAt;
+
+    @Comment("訂單建立時間（tom_order.created_time；列表排序 / keyset）")
+    @Column(name = "order_created_time", nullable = false)
+    private ZonedDateTime orderCreatedTime;
+
+    // ===============================================================
+    // Current dispatch（dispatch_task + fms_vehicle + fms_driver）
+    // ===============================================================
+
+    @Comment("目前派工（最新一筆未取消）；無則為 null")
+    @Column(name = "dispatch_task_id", columnDefinition = "BINARY(16)")
+    private UUID dispatchTaskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dispatch_status", length = 16)
+    private DispatchStatus dispatchStatus;
+
+    @Column(name = "dispatch_assigned_time")
+    private ZonedDateTime dispatchAssignedTime;
+
+    @Column(name = "vehicle_id", columnDefinition = "BINARY(16)")
+    private UUID vehicleId;
+
+    @Comment("車牌快照（投影時）")
+    @Column(name = "vehicle_plate_no", length = 16)
+    private String vehiclePlateNo;
+
+    @Column(name = "driver_id", columnDefinition = "BINARY(16)")
+    private UUID driverId;
+
+    @Comment("司機姓名快照（投影時）")
+    @Column(name = "driver_name", length = 50)
+    private String driverName;
+
+    // ===============================================================
+    // Projection
+    // ===============================================================
+
+    @Comment("最後一次投影時間")
+    @Column(name = "projected_time", nullable = false)
+    private ZonedDateTime projectedTime;
+
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = false;
+
+    @Override
+    public UUID getId() {
+        return orderUuid;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    public TomOrderBoardEntity markNew() {
+        this.newEntity = true;
+        return this;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
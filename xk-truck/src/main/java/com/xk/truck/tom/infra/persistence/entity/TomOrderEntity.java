@@ -12,6 +12,7 @@ import lombok.*;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
@@ -28,6 +29,9 @@ import java.util.UUID;
  * - TOM 只描述運輸訂單流程（NEW/ACCEPTED/ASSIGNED）
  * - customerName 為快照，避免跨域 join，確保歷史不漂移
  * - note 為業務備註（BaseEntity.remark 保留做系統備註）
+ * - idx_tom_order_created_time 為 (created_time, order_uuid)：列表 keyset 分頁的排序 + seek 索引
+ * - 主鍵由 order-core 指定（非產生）→ 實作 Persistable：
+ *   新建時 markNew() 讓 save() 直接 persist（INSERT），不走 merge（先 SELECT 再 INSERT）
  */
 @Getter
 @Setter
@@ -41,11 +45,11 @@ import java.util.UUID;
                 @Index(name = "idx_tom_order_order_no", columnList = "order_no", unique = true),
                 @Index(name = "idx_tom_order_tom_status", columnList = "tom_status"),
                 @Index(name = "idx_tom_order_customer_uuid", columnList = "customer_uuid"),
-                @Index(name = "idx_tom_order_created_time", columnList = "created_time")
+                @Index(name = "idx_tom_order_created_time", columnList = "created_time, order_uuid")
         }
 )
 @Schema(description = "TOM 訂單主表（流程層）")
-public class TomOrderEntity extends BaseEntity {
+public class TomOrderEntity extends BaseEntity implements Persistable<UUID> {
 
     // ===============================================================
     // Shared Primary Key (same as order-core.order_uuid)
@@ -119,4 +123,38 @@ public class TomOrderEntity extends BaseEntity {
     @Comment("備註（可空）")
     @Column(name = "remark", length = 500)
     private String remark;
+
+    // ===============================================================
+    // Persistable（共享主鍵：由呼叫端標記新建）
+    // ===============================================================
+
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean newEntity = false;
+
+    @Override
+    public UUID getId() {
+        return orderUuid;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    /**
+     * 標記為新建（save() → persist，不做 merge SELECT）
+     */
+    public TomOrderEntity markNew() {
+        this.newEntity = true;
+        return this;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 }
@@ -0,0 +1,216 @@
+package com.xk.truck.tom.infra.persistence.jpa;
+
+import com.xk.truck.fms.domain.model.DispatchStatus;
+import com.xk.truck.ordercore.domain.model.OrderCoreStatus;
+import com.xk.truck.tom.domain.model.TomOrderStatus;
+import com.xk.truck.tom.domain.model.TomOrderType;
+import com.xk.truck.tom.infra.persistence.entity.TomOrderBoardEntity;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ===============================================================
+ * Repository: JpaTomOrderBoardRepository
+ * Layer    : Infrastructure / Persistence (Spring Data JPA)
+ * Purpose  : 調度看板讀取模型（tom_order_board）查詢 + 投影來源查詢
+ * ===============================================================
+ * Notes:
+ * - 看板查詢只讀 tom_order_board 單表（索引見 TomOrderBoardEntity）
+ * - 來源查詢（findOrderSources / findDispatchSources）只在投影 / 重建時使用
+ */
+public interface JpaTomOrderBoardRepository extends JpaRepository<TomOrderBoardEntity, UUID> {
+
+    // ===============================================================
+    // Board（單表、keyset：orderCreatedTime DESC, orderUuid DESC）
+    // ===============================================================
+
+    String BOARD_SELECT = """
+            select b from TomOrderBoardEntity b
+            where (:customerUuid is null or b.customerUuid = :customerUuid)
+              and (:tomStatus is null or b.tomStatus = :tomStatus)
+              and (:orderCoreStatus is null or b.orderCoreStatus = :orderCoreStatus)
+              and (:dispatchStatus is null or b.dispatchStatus = :dispatchStatus)
+              and (:plateNo is null or b.vehiclePlateNo = :plateNo)
+              and (:createdFrom is null or b.orderCreatedTime >= :createdFrom)
+              and (:createdTo is null or b.orderCreatedTime < :createdTo)
+            """;
+
+    /**
+     * 往後翻頁：seekTime 為 null = 第一頁
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(BOARD_SELECT + """
+              and (:seekTime is null
+                   or b.orderCreatedTime < :seekTime
+                   or (b.orderCreatedTime = :seekTime and b.orderUuid < :seekId))
+            order by b.orderCreatedTime desc, b.orderUuid desc
+            """)
+    List<TomOrderBoardEntity> findBoardBefore(
+            @Param("customerUuid") UUID customerUuid,
+            @Param("tomStatus") TomOrderStatus tomStatus,
+            @Param("orderCoreStatus") OrderCoreStatus orderCoreStatus,
+            @Param("dispatchStatus") DispatchStatus dispatchStatus,
+            @Param("plateNo") String plateNo,
+            @Param("createdFrom") ZonedDateTime createdFrom,
+            @Param("createdTo") ZonedDateTime createdTo,
+            @Param("seekTime") ZonedDateTime seekTime,
+            @Param("seekId") UUID seekId,
+            Limit limit
+    );
+
+    /**
+     * 往前翻頁（反向排序，由呼叫端反轉回 DESC）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(BOARD_SELECT + """
+              and (b.orderCreatedTime > :seekTime
+                   or (b.orderCreatedTime = :seekTime and b.orderUuid > :seekId))
+            order by b.orderCreatedTime asc, b.orderUuid asc
+            """)
+    List<TomOrderBoardEntity> findBoardAfter(
+            @Param("customerUuid") UUID customerUuid,
+            @Param("tomStatus") TomOrderStatus tomStatus,
+            @Param("orderCoreStatus") OrderCoreStatus orderCoreStatus,
+            @Param("dispatchStatus") DispatchStatus dispatchStatus,
+            @Param("plateNo") String plateNo,
+            @Param("createdFrom") ZonedDateTime createdFrom,
+            @Param("createdTo") ZonedDateTime createdTo,
+            @Param("seekTime") ZonedDateTime seekTime,
+            @Param("seekId") UUID seekId,
+            Limit limit
+    );
+
+    // ===============================================================
+    // Projection sources（投影 / 重建）
+    // ===============================================================
+
+    /**
+     * 投影前先鎖住既有看板列（SELECT ... FOR UPDATE，依主鍵排序避免死結）
+     * - 同一張訂單的投影因此序列化；後到者在鎖釋放後才讀來源，不會以舊資料覆寫新資料
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select b from TomOrderBoardEntity b
+            where b.orderUuid in :orderUuids
+            order by b.orderUuid
+            """)
+    List<TomOrderBoardEntity> lockAllById(@Param("orderUuids") Collection<UUID> orderUuids);
+
+    interface OrderSource {
+        UUID getOrderUuid();
+
+        String getOrderNo();
+
+        TomOrderType getOrderType();
+
+        TomOrderStatus getTomStatus();
+
+        OrderCoreStatus getOrderCoreStatus();
+
+        UUID getCustomerUuid();
+
+        String getCustomerName();
+
+        String getCustomerRefNo();
+
+        String getPickupAddress();
+
+        String getDeliveryAddress();
+
+        ZonedDateTime getScheduledAt();
+
+        ZonedDateTime getCreatedTime();
+    }
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select
+                o.orderUuid as orderUuid,
+                o.orderNo as orderNo,
+                o.orderType as orderType,
+                o.tomStatus as tomStatus,
+                c.orderCoreStatus as orderCoreStatus,
+                o.customerUuid as customerUuid,
+                o.customerName as customerName,
+                o.customerRefNo as customerRefNo,
+                o.pickupAddress as pickupAddress,
+                o.deliveryAddress as deliveryAddress,
+                o.scheduledAt as scheduledAt,
+                o.createdTime as createdTime
+            from TomOrderEntity o
+            join OrderCoreEntity c on c.orderUuid = o.orderUuid
+            where o.orderUuid in :orderUuids
+            """)
+    List<OrderSource> findOrderSources(@Param("orderUuids") Collection<UUID> orderUuids);
+
+    interface DispatchSource {
+        UUID getOrderId();
+
+        UUID getTaskId();
+
+        DispatchStatus getStatus();
+
+        ZonedDateTime getAssignedTime();
+
+        UUID getVehicleId();
+
+        String getPlateNo();
+
+        UUID getDriverId();
+
+        String getDriverName();
+    }
+
+    /**
+     * 訂單的全部派工（一張訂單通常只有幾筆；由呼叫端挑出目前派工）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select
+                d.orderId as orderId,
+                d.id as taskId,
+                d.status as status,
+                d.assignedTime as assignedTime,
+                d.vehicleId as vehicleId,
+                v.plateNo as plateNo,
+                d.driverId as driverId,
+                r.name as driverName
+            from DispatchTask d
+            left join Vehicle v on v.id = d.vehicleId
+            left join Driver r on r.id = d.driverId
+            where d.orderId in :orderUuids
+            """)
+    List<DispatchSource> findDispatchSources(@Param("orderUuids") Collection<UUID> orderUuids);
+
+    /**
+     * 重建用：依 orderUuid 分段走訪全部訂單（主鍵範圍掃描）
+     */
+    @Query("""
+            select o.orderUuid from TomOrderEntity o
+            where (:after is null or o.orderUuid > :after)
+            order by o.orderUuid
+            """)
+    List<UUID> findOrderUuidsAfter(@Param("after") UUID after, Limit limit);
+}
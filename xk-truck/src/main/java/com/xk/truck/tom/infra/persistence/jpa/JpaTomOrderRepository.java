@@ -1,10 +1,24 @@
 package com.xk.truck.tom.infra.persistence.jpa;
 
+import com.xk.truck.ordercore.domain.model.OrderCoreStatus;
+import com.xk.truck.tom.domain.model.TomOrderStatus;
+import com.xk.truck.tom.domain.model.TomOrderType;
 import com.xk.truck.tom.infra.persistence.entity.TomOrderEntity;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * ===============================================================
@@ -22,6 +36,160 @@ public interface JpaTomOrderRepository extends JpaRepository<TomOrderEntity, UUI
 
     Optional<TomOrderEntity> findByOrderNo(String orderNo);
 
+    /**
+     * 指定前綴的最大訂單編號（order_no 唯一索引上的範圍查詢）
+     * - 用途：TomOrderNoGenerator 還原當日計數器
+     */
+    @Query("select max(o.orderNo) from TomOrderEntity o where o.orderNo like :prefix")
+    String findMaxOrderNoLike(@Param("prefix") String prefix);
+
+    // ===============================================================
+    // DTO Query（訂單列表 / 調度看板：keyset 分頁，不載入 entity）
+    // ===============================================================
+
+    interface ListRow {
+        UUID getOrderUuid();
+
+        String getOrderNo();
+
+        TomOrderType getOrderType();
+
+        TomOrderStatus getTomStatus();
+
+        OrderCoreStatus getOrderCoreStatus();
+
+        UUID getCustomerUuid();
+
+        String getCustomerName();
+
+        String getPickupAddress();
+
+        String getDeliveryAddress();
+
+        ZonedDateTime getScheduledAt();
+
+        String getCustomerRefNo();
+
+        ZonedDateTime getCreatedTime();
+    }
+
+    /**
+     * 列表共用 select + 篩選（往後 / 往前兩個查詢共用，避免條件不一致）
+     * - order_core 以共享主鍵 join 取命運層狀態（主鍵查找，不需關聯欄位）
+     * - orderNo 為已 escape 的 LIKE pattern（見 KeywordSpec.likePattern），prefix 可走 unique index
+     * - 排序 / seek 固定為 (createdTime, orderUuid) → idx_tom_order_created_time
+     */
+    String LIST_SELECT = """
+            select
+                o.orderUuid as orderUuid,
+                o.orderNo as orderNo,
+                o.orderType as orderType,
+                o.tomStatus as tomStatus,
+                c.orderCoreStatus as orderCoreStatus,
+                o.customerUuid as customerUuid,
+                o.customerName as customerName,
+                o.pickupAddress as pickupAddress,
+                o.deliveryAddress as deliveryAddress,
+                o.scheduledAt as scheduledAt,
+                o.customerRefNo as customerRefNo,
+                o.createdTime as createdTime
+            from TomOrderEntity o
+            join OrderCoreEntity c on c.orderUuid = o.orderUuid
+            where (:customerUuid is null or o.customerUuid = :customerUuid)
+              and (:orderNo is null or o.orderNo like :orderNo escape '\\')
+              and (:createdFrom is null or o.createdTime >= :createdFrom)
+              and (:createdTo is null or o.createdTime < :createdTo)
+            """;
+
+    /**
+     * 往後翻頁（createdTime DESC, orderUuid DESC）：seekTime 為 null = 第一頁
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(LIST_SELECT + """
+              and (:seekTime is null
+                   or o.createdTime < :seekTime
+                   or (o.createdTime = :seekTime and o.orderUuid < :seekId))
+            order by o.createdTime desc, o.orderUuid desc
+            """)
+    List<ListRow> findListRowsBefore(
+            @Param("customerUuid") UUID customerUuid,
+            @Param("orderNo") String orderNo,
+            @Param("createdFrom") ZonedDateTime createdFrom,
+            @Param("createdTo") ZonedDateTime createdTo,
+            @Param("seekTime") ZonedDateTime seekTime,
+            @Param("seekId") UUID seekId,
+            Limit limit
+    );
+
+    /**
+     * 往前翻頁（反向排序，由呼叫端反轉回 DESC）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(LIST_SELECT + """
+              and (o.createdTime > :seekTime
+                   or (o.createdTime = :seekTime and o.orderUuid > :seekId))
+            order by o.createdTime asc, o.orderUuid asc
+            """)
+    List<ListRow> findListRowsAfter(
+            @Param("customerUuid") UUID customerUuid,
+            @Param("orderNo") String orderNo,
+            @Param("createdFrom") ZonedDateTime createdFrom,
+            @Param("createdTo") ZonedDateTime createdTo,
+            @Param("seekTime") ZonedDateTime seekTime,
+            @Param("seekId") UUID seekId,
+            Limit limit
+    );
+
+    // ===============================================================
+    // Stream Query（type-ahead 記憶體索引重建：只取可搜尋欄位）
+    // ===============================================================
+
+    interface SearchRow {
+        UUID getOrderUuid();
+
+        String getOrderNo();
+
+        String getCustomerName();
+
+        String getCustomerRefNo();
+
+        String getPickupAddress();
+
+        String getDeliveryAddress();
+
+        ZonedDateTime getCreatedTime();
+    }
+
+    /**
+     * 建立時間 >= since 的訂單（createdTime ASC → 索引內 doc 順序即新舊順序）
+     * - 串流讀取（fetch size），須在交易內消費並關閉 Stream
+     * - MySQL 需 useCursorFetch=true（已加在 application-dev / prod 的 datasource url），fetch size 才會生效（否則 driver 仍一次讀完結果集）
+     * - useCursorFetch 會讓 driver 對「所有」statement 開啟 useServerPrepStmts（不只這支查詢）；
+     *   url 同時開啟 cachePrepStmts，伺服器端 prepare 每條連線只做一次
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000")
+    })
+    @Query("""
+            select
+                o.orderUuid as orderUuid,
+                o.orderNo as orderNo,
+                o.customerName as customerName,
+                o.customerRefNo as customerRefNo,
+                o.pickupAddress as pickupAddress,
+                o.deliveryAddress as deliveryAddress,
+                o.createdTime as createdTime
+            from TomOrderEntity o
+            where o.createdTime >= :since
+            order by o.createdTime asc, o.orderUuid asc
+            """)
+    Stream<SearchRow> streamSearchRows(@Param("since") ZonedDateTime since);
+
     // 主鍵就是 orderUuid，所以 findById 即可
     // Optional<TomOrderEntity> findById(UUID orderUuid);
 }
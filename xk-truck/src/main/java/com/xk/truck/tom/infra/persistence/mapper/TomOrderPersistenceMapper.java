@@ -1,21 +1,35 @@
 package com.xk.truck.tom.infra.persistence.mapper;
 
-import com.xk.base.util.XkBeanUtils;
 import com.xk.truck.tom.domain.model.TomOrder;
 import com.xk.truck.tom.infra.persistence.entity.TomOrderEntity;
 
 /**
  * ===============================================================
- * Mapper: OrderCorePersistenceMapper
+ * Mapper: TomOrderPersistenceMapper
  * Layer : Infrastructure / Persistence
  * Purpose:
- * - OrderCore (Domain Aggregate) <-> OrderCoreEntity (JPA Entity)
+ * - TomOrder (Domain Aggregate) <-> TomOrderEntity (JPA Entity)
+ * <p>
+ * Design Notes:
+ * - 逐欄位明確 mapping（建立訂單熱路徑，不走反射 copyProperties）
  * ===============================================================
  */
 public final class TomOrderPersistenceMapper {
 
     public static TomOrderEntity toEntity(TomOrder aggregate) {
-        return XkBeanUtils.copyProperties(aggregate, TomOrderEntity::new);
+        return TomOrderEntity.builder()
+                .orderUuid(aggregate.getOrderUuid())
+                .orderNo(aggregate.getOrderNo())
+                .orderType(aggregate.getOrderType())
+                .tomStatus(aggregate.getTomStatus())
+                .customerUuid(aggregate.getCustomerUuid())
+                .customerName(aggregate.getCustomerName())
+                .pickupAddress(aggregate.getPickupAddress())
+                .deliveryAddress(aggregate.getDeliveryAddress())
+                .scheduledAt(aggregate.getScheduledAt())
+                .customerRefNo(aggregate.getCustomerRefNo())
+                .remark(aggregate.getRemark())
+                .build();
     }
 
     public static TomOrder toDomain(TomOrderEntity entity) {
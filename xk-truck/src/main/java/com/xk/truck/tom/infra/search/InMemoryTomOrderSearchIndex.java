@@ -0,0 +1,205 @@
+package com.xk.truck.tom.infra.search;
+
+import com.xk.base.util.TypeAheadIndex;
+import com.xk.truck.tom.application.dto.TomOrderSearchHit;
+import com.xk.truck.tom.application.port.out.TomOrderSearchIndex;
+import com.xk.truck.tom.domain.model.TomOrder;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * ===============================================================
+ * Adapter: InMemoryTomOrderSearchIndex
+ * Layer  : Infrastructure
+ * Purpose: 訂單 type-ahead 記憶體索引（TypeAheadIndex：前綴 trie + trigram）
+ * ===============================================================
+ * <p>
+ * Lifecycle
+ * - 啟動完成後於背景串流掃描最近 window 的訂單建立索引（不延遲啟動；建立完成前查詢結果不完整）
+ * - 每 refresh-interval 整份重建後以 volatile 參考替換：淘汰超出 window 的訂單、回收被取代的資料
+ * - 建立訂單 commit 後增量加入（CreateTomOrderService / CreateTomOrdersService）
+ * <p>
+ * Consistency
+ * - 重建掃描期間的增量先記在 pendingDuringRebuild，替換前補進新索引（不遺漏掃描後才 commit 的訂單）
+ * - 只索引不變欄位；多節點部署時其他節點建立的訂單要到下一次重建才看得到
+ * <p>
+ * Notes
+ * - tom_order 尚未保存貨櫃號碼：櫃號末碼只能經 customerRefNo 命中（客戶常以櫃號作為參考號）
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class InMemoryTomOrderSearchIndex implements TomOrderSearchIndex {
+
+    private final JpaTomOrderRepository jpaTomOrderRepository;
+    private final TomOrderSearchProps props;
+    private final Clock clock;
+    private final TransactionTemplate readOnlyTx;
+
+    private final Object writeLock = new Object();
+
+    private volatile TypeAheadIndex<TomOrderSearchHit> index = newIndex();
+
+    /**
+     * 重建中才不為 null（受 writeLock 保護）
+     */
+    private List<TomOrderSearchHit> pendingDuringRebuild;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "xk-tom-search-index");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public InMemoryTomOrderSearchIndex(JpaTomOrderRepository jpaTomOrderRepository,
+                                       TomOrderSearchProps props,
+                                       Clock clock,
+                                       PlatformTransactionManager transactionManager) {
+        this.jpaTomOrderRepository = jpaTomOrderRepository;
+        this.props = props;
+        this.clock = clock;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    // ===============================================================
+    // Lifecycle
+    // ===============================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        long refresh = props.getRefreshInterval() == null ? 0 : props.getRefreshInterval().toMillis();
+        long initialDelay = props.isRebuildOnStartup() ? 0 : refresh;
+        try {
+            if (refresh > 0) {
+                executor.scheduleWithFixedDelay(this::rebuildQuietly, initialDelay, refresh, TimeUnit.MILLISECONDS);
+            } else if (props.isRebuildOnStartup()) {
+                executor.execute(this::rebuildQuietly);
+            }
+        } catch (RejectedExecutionException ignored) {
+            // shutting down
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ===============================================================
+    // Port
+    // ===============================================================
+
+    @Override
+    public void indexAfterCommit(List<TomOrder> orders) {
+        if (orders == null || orders.isEmpty()) return;
+
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        List<TomOrderSearchHit> hits = new ArrayList<>(orders.size());
+        for (TomOrder o : orders) {
+            hits.add(new TomOrderSearchHit(o.getOrderUuid(), o.getOrderNo(), o.getCustomerName(),
+                    o.getCustomerRefNo(), o.getPickupAddress(), o.getDeliveryAddress(), now));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(hits);
+                }
+            });
+        } else {
+            add(hits);
+        }
+    }
+
+    @Override
+    public List<TomOrderSearchHit> search(String keyword, int limit) {
+        return index.search(keyword, limit);
+    }
+
+    // ===============================================================
+    // Build
+    // ===============================================================
+
+    /**
+     * 整份重建（串流掃描最近 window 的訂單），完成後替換
+     */
+    void rebuild() {
+        synchronized (writeLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        TypeAheadIndex<TomOrderSearchHit> next = newIndex();
+        try {
+            ZonedDateTime since = ZonedDateTime.now(clock).minus(props.getWindow());
+            readOnlyTx.executeWithoutResult(status -> {
+                try (Stream<JpaTomOrderRepository.SearchRow> rows = jpaTomOrderRepository.streamSearchRows(since)) {
+                    rows.forEach(r -> next.add(new TomOrderSearchHit(r.getOrderUuid(), r.getOrderNo(),
+                            r.getCustomerName(), r.getCustomerRefNo(), r.getPickupAddress(),
+                            r.getDeliveryAddress(), r.getCreatedTime())));
+                }
+            });
+        } catch (RuntimeException ex) {
+            synchronized (writeLock) {
+                pendingDuringRebuild = null;
+            }
+            throw ex;
+        }
+
+        synchronized (writeLock) {
+            // 掃描期間 commit 的訂單可能已在掃描結果內：同 orderUuid 取代，不重複
+            pendingDuringRebuild.forEach(next::add);
+            pendingDuringRebuild = null;
+            index = next;
+        }
+        log.info("[TomOrderSearchIndex] rebuilt, orders={}, window={}", next.size(), props.getWindow());
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.warn("[TomOrderSearchIndex] rebuild failed, keep current index: {}", ex.getMessage());
+        }
+    }
+
+    private void add(List<TomOrderSearchHit> hits) {
+        synchronized (writeLock) {
+            TypeAheadIndex<TomOrderSearchHit> current = index;
+            hits.forEach(current::add);
+            if (pendingDuringRebuild != null) pendingDuringRebuild.addAll(hits);
+        }
+    }
+
+    private static TypeAheadIndex<TomOrderSearchHit> newIndex() {
+        return new TypeAheadIndex<>(TomOrderSearchHit::getOrderUuid, h -> Arrays.asList(
+                h.getOrderNo(),
+                h.getCustomerRefNo(),
+                h.getCustomerName(),
+                h.getPickupAddress(),
+                h.getDeliveryAddress()
+        ));
+    }
+}
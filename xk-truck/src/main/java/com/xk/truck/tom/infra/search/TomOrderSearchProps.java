@@ -0,0 +1,38 @@
+package com.xk.truck.tom.infra.search;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * ===============================================================
+ * Properties : TomOrderSearchProps
+ * Prefix     : tom.search
+ * Purpose    : TOM 訂單 type-ahead 記憶體索引設定
+ * <p>
+ * Example
+ * tom:
+ *   search:
+ *     window: 183d
+ *     refresh-interval: 24h
+ * <p>
+ * Notes
+ * - window：索引涵蓋的訂單建立時間範圍（啟動 / 定期重建時只掃描此範圍）
+ * - rebuild-on-startup：啟動完成後於背景建立索引（測試環境關閉，避免背景查詢干擾 SQL 計數）
+ * - refresh-interval：整份重建間隔（淘汰超出 window 的訂單、回收被取代的資料）；0 = 不定期重建
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tom.search")
+public class TomOrderSearchProps {
+
+    private Duration window = Duration.ofDays(183);
+
+    private boolean rebuildOnStartup = true;
+
+    private Duration refreshInterval = Duration.ofHours(24);
+}
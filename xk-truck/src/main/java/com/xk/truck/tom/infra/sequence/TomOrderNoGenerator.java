@@ -1,39 +1,152 @@
 package com.xk.truck.tom.infra.sequence;
 
-import com.xk.base.infra.sequence.SequenceRepository;
+import com.xk.base.exception.BusinessException;
 import com.xk.truck.tom.application.port.out.OrderNoGeneratorPort;
-import lombok.RequiredArgsConstructor;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * ===============================================================
  * Adapter: TomOrderNoGenerator
  * Layer  : Infrastructure
- * Purpose: 產生 TOM 訂單編號（使用 DB Sequence）
+ * Purpose: 產生 TOM 訂單編號（節點 id + 每日記憶體計數器，不需跨節點協調）
  * ===============================================================
+ * <p>
+ * Format
+ * - TOM-{yyyyMMdd}-{nodeId:2}-{seq:8}，例：TOM-20260106-01-00000123（24 字元）
+ * <p>
+ * Design
+ * - 由建構保證不撞號：不同節點 nodeId 不同；同節點同一天計數器單調遞增
+ * - 計數器每天歸零；每個日期第一次使用時（含啟動）以當日本節點最大 order_no 還原
+ *   （order_no 唯一索引上的前綴範圍查詢，一天一次）
+ * - 時鐘回撥跨日時沿用上一個日期，不回頭使用已過的日期
+ * - 以預先配置的 char[] 寫入數字（不經 String.format）；每次只配置回傳的 String
+ * - 批次建立以 nextTomOrderNos(n) 一次保留連續 n 個號碼（同一天、同一段）
+ * - 交易 rollback 的號碼不回收（跳號）
  */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class TomOrderNoGenerator implements OrderNoGeneratorPort {
 
-    private static final DateTimeFormatter DATE_FMT =
-            DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final String PREFIX = "TOM-";
+
+    private static final int DATE_OFFSET = PREFIX.length();          // yyyyMMdd
+    private static final int NODE_OFFSET = DATE_OFFSET + 8 + 1;      // nodeId
+    private static final int SEQ_OFFSET = NODE_OFFSET + 2 + 1;       // seq
+    private static final int SEQ_DIGITS = 8;
+    private static final int LENGTH = SEQ_OFFSET + SEQ_DIGITS;
+
+    private static final long MAX_SEQ = 99_999_999L;
+
+    private final JpaTomOrderRepository jpaTomOrderRepository;
+    private final Clock clock;
+
+    /**
+     * 編號緩衝區（PREFIX / 日期 / nodeId 只在換日時寫入）
+     */
+    private final char[] buffer = new char[LENGTH];
+
+    private LocalDate day;
+    private long seq;
 
-    private static final String SEQ_KEY = "TOM_ORDER_NO";
+    public TomOrderNoGenerator(JpaTomOrderRepository jpaTomOrderRepository,
+                               TomOrderNoProps props,
+                               Clock clock) {
+        int nodeId = props.getNodeId();
+        if (nodeId < 0 || nodeId > 99) {
+            throw new IllegalStateException("tom.order-no.node-id must be 0 ~ 99: " + nodeId);
+        }
 
-    private final SequenceRepository sequenceRepository;
+        this.jpaTomOrderRepository = jpaTomOrderRepository;
+        this.clock = clock;
+
+        PREFIX.getChars(0, PREFIX.length(), buffer, 0);
+        buffer[NODE_OFFSET - 1] = '-';
+        buffer[SEQ_OFFSET - 1] = '-';
+        writeDigits(nodeId, NODE_OFFSET, 2);
+    }
+
+    /**
+     * 啟動完成時先還原當日計數器（之後建立訂單不需等第一次查詢）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    synchronized void recover() {
+        rollTo(LocalDate.now(clock));
+    }
 
     @Override
-    public String nextTomOrderNo() {
+    public synchronized String nextTomOrderNo() {
+        reserve(1);
+        writeDigits(++seq, SEQ_OFFSET, SEQ_DIGITS);
+        return new String(buffer);
+    }
 
-        long seq = sequenceRepository.nextVal(SEQ_KEY);
+    @Override
+    public synchronized List<String> nextTomOrderNos(int count) {
+        if (count < 0) throw new IllegalArgumentException("count < 0: " + count);
 
-        String date = LocalDate.now().format(DATE_FMT);
+        List<String> orderNos = new ArrayList<>(count);
+        if (count == 0) return orderNos;
+
+        reserve(count);
+        for (int i = 0; i < count; i++) {
+            writeDigits(++seq, SEQ_OFFSET, SEQ_DIGITS);
+            orderNos.add(new String(buffer));
+        }
+        return orderNos;
+    }
+
+    // ===============================================================
+    // Internals
+    // ===============================================================
+
+    /**
+     * 確認當日還有 count 個號碼（必要時先換日）；不足則整批拒絕，不發出半段
+     */
+    private void reserve(int count) {
+        LocalDate today = LocalDate.now(clock);
+        if (day == null || today.isAfter(day)) {
+            rollTo(today);
+        }
+
+        if (seq > MAX_SEQ - count) {
+            throw new BusinessException("ORDER_NO_EXHAUSTED", "本日訂單編號已用盡");
+        }
+    }
+
+    /**
+     * 換日：寫入日期並以當日本節點最大 order_no 還原計數器
+     */
+    private void rollTo(LocalDate date) {
+        if (day != null && !date.isAfter(day)) return;
+
+        writeDigits(date.getYear(), DATE_OFFSET, 4);
+        writeDigits(date.getMonthValue(), DATE_OFFSET + 4, 2);
+        writeDigits(date.getDayOfMonth(), DATE_OFFSET + 6, 2);
+
+        String prefix = new String(buffer, 0, SEQ_OFFSET);
+        String max = jpaTomOrderRepository.findMaxOrderNoLike(prefix + "%");
+
+        seq = max == null || max.length() != LENGTH ? 0 : Long.parseLong(max, SEQ_OFFSET, LENGTH, 10);
+        day = date;
+
+        log.info("[TomOrderNoGenerator] day={}, prefix={}, recoveredSeq={}", date, prefix, seq);
+    }
 
-        // 範例格式：TOM-20260106-00000123
-        return String.format("TOM-%s-%08d", date, seq);
+    private void writeDigits(long value, int offset, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
     }
 }
@@ -0,0 +1,29 @@
+package com.xk.truck.tom.infra.sequence;
+
+import lombok.Data;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * ===============================================================
+ * Properties : TomOrderNoProps
+ * Prefix     : tom.order-no
+ * Purpose    : TOM 訂單編號產生設定
+ * <p>
+ * Example
+ * tom:
+ *   order-no:
+ *     node-id: ${TOM_ORDER_NO_NODE_ID:0}
+ * <p>
+ * Notes
+ * - node-id（0 ~ 99）嵌入訂單編號；同時運行的每個節點必須不同，否則可能撞號
+ * ===============================================================
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tom.order-no")
+public class TomOrderNoProps {
+
+    private int nodeId = 0;
+}
@@ -1,19 +1,16 @@
 package com.xk.truck.upms.application;
 
 import com.xk.base.exception.BusinessException;
+import com.xk.base.security.JwtPermissionClaims;
 import com.xk.base.security.JwtService;
-import com.xk.base.security.JwtUtils;
 import com.xk.truck.upms.controller.api.dto.auth.LoginRequest;
 import com.xk.truck.upms.controller.api.dto.auth.LoginResponse;
 import com.xk.truck.upms.controller.api.dto.auth.MeResponse;
 import com.xk.truck.upms.controller.api.dto.auth.RefreshTokenResponse;
 import com.xk.truck.upms.domain.model.*;
 
-import com.xk.truck.upms.domain.repository.UpmsRolePermissionRepository;
 import com.xk.truck.upms.domain.repository.UpmsUserRepository;
 
-import com.xk.truck.upms.domain.repository.UpmsUserRoleRepository;
-
 import lombok.RequiredArgsConstructor;
 
 import lombok.extern.slf4j.Slf4j;
@@ -28,7 +25,6 @@ import org.springframework.util.StringUtils;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * ===============================================================
@@ -40,13 +36,13 @@ import java.util.stream.Collectors;
  * 1) Repository 只做資料存取；Service 管流程、例外一致性、狀態更新
  * 2) Guard method 集中：避免 everywhere findByUsername + throw
  * 3) 登入失敗/成功狀態更新：優先用 repository bulk update（少一次 save、避免 entity 髒檢查副作用）
- * 4) 權限計算：一次拿 userRoles，再拿 rolePermissions（避免多次查 DB）
+ * 4) 權限計算：走 UpmsAuthSnapshotCache（一次拿 userRoles，再拿 rolePermissions；命中快取則不查 DB）
  * <p>
  * 排雷重點
  * - username 必須 normalize（避免 Admin/admin）
  * - 密碼錯誤要更新 failCount（可搭配鎖定策略）
  * - SecurityContext 可能是 anonymousUser
- * - refresh token：要處理 roles claim 不存在 / 格式不一
+ * - refresh token：roles 以 DB（快照快取）為準，不信任舊 token 的 roles claim
  * ===============================================================
  */
 @Slf4j
@@ -76,11 +72,11 @@ public class AuthService {
     // Dependencies
     // ===============================================================
     private final UpmsUserRepository userRepository;
-    private final UpmsUserRoleRepository userRoleRepository;
-    private final UpmsRolePermissionRepository rolePermissionRepository;
+    private final UpmsAuthSnapshotCache authSnapshotCache;
 
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final JwtPermissionClaims permissionClaims;
 
     /**
      * 若希望 TTL 走全域設定，這裡可改成 null 讓 JwtService 使用預設配置
@@ -164,15 +160,15 @@ public class AuthService {
         userRepository.updateLastLoginAt(user.getUuid(), LocalDateTime.now());
 
         // ---- 5) roles / permissions
-        AuthSnapshot snapshot = loadAuthSnapshot(user.getUuid());
+        UpmsAuthSnapshot snapshot = loadAuthSnapshot(user.getUuid());
         Set<String> roleCodes = snapshot.roleCodes();
         Set<String> permissionCodes = snapshot.permissionCodes();
 
-        // ---- 6) generate JWT
+        // ---- 6) generate JWT（含精簡權限 claim：perms + pv）
         String token = jwtService.generate(
                 user.getUsername(),
                 roleCodes.toArray(String[]::new),
-                null,
+                permissionClaims.issue(roleCodes),
                 LOGIN_TTL
         );
 
@@ -203,7 +199,7 @@ public class AuthService {
         UpmsUser user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new BusinessException(ERR_USER_NOT_FOUND, MSG_USER_NOT_FOUND));
 
-        AuthSnapshot snapshot = loadAuthSnapshot(user.getUuid());
+        UpmsAuthSnapshot snapshot = loadAuthSnapshot(user.getUuid());
         return buildMeResponse(user, snapshot.roleCodes(), snapshot.permissionCodes());
     }
 
@@ -215,8 +211,10 @@ public class AuthService {
      * Refresh token：
      * - 讀取 Bearer token
      * - parse 舊 token
-     * - 取 subject/roles
-     * - generate 新 token
+     * - 取 subject，重新載入 roles（走 UpmsAuthSnapshotCache，不沿用舊 token 的 roles）
+     * - generate 新 token（perms / pv 依目前權限表重新簽發）
+     * <p>
+     * JwtAuthFilter 發現 token 的 pv 已過期時會回 X-Token-Refresh: true，前端據此呼叫本方法
      * <p>
      * ⚠ 注意：
      * - 你現在的設計是「同一顆 access token refresh」，
@@ -234,11 +232,19 @@ public class AuthService {
                 throw new BusinessException(ERR_AUTH_TOKEN_INVALID, MSG_TOKEN_INVALID);
             }
 
-            String[] roles = JwtUtils.normalizeRoles(claims.get("roles"));
-            // roles 可能為 null/空，normalizeRoles 應能處理；若不能，這裡要保護
-            if (roles == null) roles = new String[0];
+            UpmsUser user = userRepository.findByUsername(UpmsUser.normalizeUsername(username))
+                    .orElseThrow(() -> new BusinessException(ERR_AUTH_TOKEN_INVALID, MSG_TOKEN_INVALID));
+            if (Boolean.FALSE.equals(user.getEnabled()) || Boolean.TRUE.equals(user.getLocked())) {
+                throw new BusinessException(ERR_AUTH_TOKEN_INVALID, MSG_TOKEN_INVALID);
+            }
 
-            String newToken = jwtService.generate(username, roles, null, LOGIN_TTL);
+            Set<String> roleCodes = loadAuthSnapshot(user.getUuid()).roleCodes();
+            String newToken = jwtService.generate(
+                    user.getUsername(),
+                    roleCodes.toArray(String[]::new),
+                    permissionClaims.issue(roleCodes),
+                    LOGIN_TTL
+            );
 
             RefreshTokenResponse resp = new RefreshTokenResponse();
             resp.setToken(newToken);
@@ -257,57 +263,15 @@ public class AuthService {
     // ===============================================================
 
     /**
-     * 一次載入「角色 + 權限」快照
+     * 取得「角色 + 權限」快照
      * <p>
      * ✅ 好處：
      * - login() / me() 都能共用
-     * - DB 查詢次數固定且可控
-     * <p>
-     * 預設查詢策略：
-     * 1) userRoleRepository.findByUserUuid(userUuid)
-     * 2) 從 userRoles 抽出 roleUuid
-     * 3) rolePermissionRepository.findAllByRoleUuidIn(roleUuids)
-     */
-    @Transactional(readOnly = true)
-    protected AuthSnapshot loadAuthSnapshot(UUID userUuid) {
-        List<UpmsUserRole> userRoles = userRoleRepository.findByUserUuid(userUuid);
-
-        // roles
-        LinkedHashSet<String> roleCodes = userRoles.stream()
-                .map(UpmsUserRole::getRole)
-                .filter(Objects::nonNull)
-                .map(UpmsRole::getCode) // ✅ 修正：不要用 UpmsSeedProps.Role
-                .filter(StringUtils::hasText)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        // roleUuid set（避免 entity equals/hashCode 不穩定，用 uuid 最穩）
-        Set<UUID> roleUuids = userRoles.stream()
-                .map(UpmsUserRole::getRole)
-                .filter(Objects::nonNull)
-                .map(UpmsRole::getUuid)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toSet());
-
-        if (roleUuids.isEmpty()) {
-            return new AuthSnapshot(roleCodes, Collections.emptySet());
-        }
-
-        List<UpmsRolePermission> rolePermissions = rolePermissionRepository.findAllByRoleUuidIn(roleUuids);
-
-        LinkedHashSet<String> permissionCodes = rolePermissions.stream()
-                .map(UpmsRolePermission::getPermission)
-                .filter(Objects::nonNull)
-                .map(UpmsPermission::getCode)
-                .filter(StringUtils::hasText)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        return new AuthSnapshot(roleCodes, permissionCodes);
-    }
-
-    /**
-     * AuthSnapshot：避免方法回傳兩個 Set 用 Pair/Map 造成可讀性下降
+     * - 走 UpmsAuthSnapshotCache：前端每次切換路由 poll /auth/me 也不會重查 DB
+     * - 角色/權限異動時由 UpmsUserRoleService / UpmsRolePermissionService 精準失效
      */
-    protected record AuthSnapshot(Set<String> roleCodes, Set<String> permissionCodes) {
+    protected UpmsAuthSnapshot loadAuthSnapshot(UUID userUuid) {
+        return authSnapshotCache.get(userUuid);
     }
 
     // ===============================================================
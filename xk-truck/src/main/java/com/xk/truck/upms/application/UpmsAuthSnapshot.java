@@ -0,0 +1,44 @@
+package com.xk.truck.upms.application;
+
+import com.xk.truck.upms.domain.repository.UpmsRolePermissionRepository.RolePermissionCodeRow;
+
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * ===============================================================
+ * Value Object : UpmsAuthSnapshot
+ * Layer        : Application (UPMS)
+ * Purpose      : 使用者授權快照（角色代碼 + 權限代碼）
+ * <p>
+ * Notes
+ * - 不可變：由 UpmsAuthSnapshotCache 建立並在多執行緒間共享
+ * - 避免方法回傳兩個 Set 用 Pair/Map 造成可讀性下降
+ * ===============================================================
+ */
+public record UpmsAuthSnapshot(Set<String> roleCodes, Set<String> permissionCodes) {
+
+    public static final UpmsAuthSnapshot EMPTY = new UpmsAuthSnapshot(Set.of(), Set.of());
+
+    public UpmsAuthSnapshot {
+        roleCodes = roleCodes == null ? Set.of() : Collections.unmodifiableSet(roleCodes);
+        permissionCodes = permissionCodes == null ? Set.of() : Collections.unmodifiableSet(permissionCodes);
+    }
+
+    /**
+     * 由「角色碼 ↔ 權限碼」投影列組出快照（null / 空白碼略過，保留查詢順序）
+     */
+    public static UpmsAuthSnapshot of(Collection<? extends RolePermissionCodeRow> rows) {
+        LinkedHashSet<String> roleCodes = new LinkedHashSet<>();
+        LinkedHashSet<String> permissionCodes = new LinkedHashSet<>();
+        for (RolePermissionCodeRow row : rows) {
+            if (StringUtils.hasText(row.getRoleCode())) roleCodes.add(row.getRoleCode());
+            if (StringUtils.hasText(row.getPermissionCode())) permissionCodes.add(row.getPermissionCode());
+        }
+        return new UpmsAuthSnapshot(roleCodes, permissionCodes);
+    }
+}
@@ -0,0 +1,154 @@
+package com.xk.truck.upms.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.xk.truck.upms.domain.repository.UpmsUserRoleRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ===============================================================
+ * Component : UpmsAuthSnapshotCache
+ * Layer     : Application (UPMS)
+ * Purpose   : 以 userUuid 為 key 的授權快照快取（Caffeine）
+ * <p>
+ * 失效策略（精準 + 免掃描）
+ * 1) 使用者 ↔ 角色異動（UpmsUserRoleService）→ evictUser(userUuid)：只清該使用者
+ * 2) 角色 ↔ 權限異動（UpmsRolePermissionService）→ bumpVersion()：全域 RBAC 版本 +1
+ * - 權限本身 / 角色代碼 / 角色啟用狀態異動也走 bumpVersion()（UpmsPermissionCatalog 同時依此版本重建權限表）
+ * - 每筆快取記錄建立時的版本；讀取時版本不符即視為過期並重建
+ * - 因此一次角色權限調整，不需掃描「哪些使用者擁有此角色」即可讓所有受影響者失效
+ * <p>
+ * 交易一致性
+ * - 失效動作於交易 commit 後執行（afterCommit），避免其他執行緒在 commit 前重建出舊資料
+ * - 無交易時立即執行
+ * - expireAfterWrite 作為多節點部署時的最終一致保險
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class UpmsAuthSnapshotCache {
+
+    private static final long MAX_SIZE = 10_000;
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private final UpmsUserRoleRepository userRoleRepository;
+
+    /**
+     * 全域 RBAC 版本（角色權限異動時遞增）
+     */
+    private final AtomicLong rbacVersion = new AtomicLong();
+
+    /**
+     * evictUser 次數（讓鎖外載入得知期間是否有使用者被清除）
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final Cache<UUID, Entry> cache = Caffeine.newBuilder()
+            .maximumSize(MAX_SIZE)
+            .expireAfterWrite(TTL)
+            .build();
+
+    public UpmsAuthSnapshotCache(UpmsUserRoleRepository userRoleRepository) {
+        this.userRoleRepository = userRoleRepository;
+    }
+
+    // ===============================================================
+    // Read
+    // ===============================================================
+
+    /**
+     * 取得使用者授權快照（命中且版本一致直接回傳，否則重建）
+     * - DB 查詢在 map 鎖外執行：慢查詢不會卡住同一個 bin 的其他 key
+     * - 同一使用者併發 miss 可能各查一次（查詢很輕），以版本較新者寫回
+     * - 載入期間發生 evictUser → 本次結果只回傳不寫回，避免把異動前的資料放回快取
+     */
+    public UpmsAuthSnapshot get(UUID userUuid) {
+        if (userUuid == null) return UpmsAuthSnapshot.EMPTY;
+
+        long version = rbacVersion.get();
+        Entry cached = cache.getIfPresent(userUuid);
+        if (cached != null && cached.version() == version) return cached.snapshot();
+
+        long evictionStamp = evictions.get();
+        Entry loaded = new Entry(version, load(userUuid));
+        if (evictions.get() == evictionStamp) {
+            cache.asMap().merge(userUuid, loaded, (old, fresh) -> old.version() > fresh.version() ? old : fresh);
+            // 寫回與 evictUser 交錯：撤回本次寫入（evictUser 先遞增再 invalidate，兩者必有一方清掉）
+            if (evictions.get() != evictionStamp) {
+                cache.asMap().remove(userUuid, loaded);
+            }
+        }
+        return loaded.snapshot();
+    }
+
+    /**
+     * 目前 RBAC 版本（供其他元件判斷授權資料是否已變動）
+     */
+    public long version() {
+        return rbacVersion.get();
+    }
+
+    // ===============================================================
+    // Invalidation
+    // ===============================================================
+
+    /**
+     * 使用者 ↔ 角色 關聯異動：只清該使用者
+     */
+    public void evictUser(UUID userUuid) {
+        if (userUuid == null) return;
+        afterCommit(() -> {
+            evictions.incrementAndGet();
+            cache.invalidate(userUuid);
+            log.debug("[UpmsAuthSnapshotCache] evict user={}", userUuid);
+        });
+    }
+
+    /**
+     * 角色 ↔ 權限 關聯異動：全域版本 +1（所有舊快照讀取時自動重建）
+     */
+    public void bumpVersion() {
+        afterCommit(() -> {
+            long v = rbacVersion.incrementAndGet();
+            log.debug("[UpmsAuthSnapshotCache] rbac version -> {}", v);
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ===============================================================
+    // Loader
+    // ===============================================================
+
+    /**
+     * 載入「角色 + 權限」快照
+     * - userRoleRepository.findRolePermissionCodesByUserUuid(userUuid)：一次查詢取回角色碼 ↔ 權限碼
+     * - 不經 UpmsUserRole.getRole() / UpmsRolePermission.getPermission()，角色再多也只有一個 select
+     */
+    private UpmsAuthSnapshot load(UUID userUuid) {
+        return UpmsAuthSnapshot.of(userRoleRepository.findRolePermissionCodesByUserUuid(userUuid));
+    }
+
+    private record Entry(long version, UpmsAuthSnapshot snapshot) {
+    }
+}
@@ -1,7 +1,11 @@
 package com.xk.truck.upms.application;
 
+import com.xk.base.domain.jpa.spec.KeywordSpec;
+import com.xk.base.domain.jpa.spec.PageTotalEstimator;
+import com.xk.base.domain.jpa.spec.SpecPager;
 import com.xk.base.exception.BusinessException;
 import com.xk.base.util.XkBeanUtils;
+import com.xk.base.web.PageMode;
 import com.xk.truck.upms.controller.api.dto.permission.*;
 import com.xk.truck.upms.domain.model.UpmsPermission;
 
@@ -67,6 +71,8 @@ public class UpmsPermissionService {
     // Repository / Collaborators
     // ===============================================================
     private final UpmsPermissionRepository permissionRepository;
+    private final UpmsAuthSnapshotCache authSnapshotCache;
+    private final SpecPager specPager;
 
     // ===============================================================
     // Create
@@ -112,12 +118,16 @@ public class UpmsPermissionService {
         permission.setEnabled(req.getEnabled() != null ? req.getEnabled() : Boolean.TRUE);
         permission.setSortOrder(req.getSortOrder() != null ? req.getSortOrder() : 0);
 
+        // JWT perms claim 的 bit 位置（建立後不可變）
+        permission.setBitIndex(permissionRepository.nextBitIndex());
+
         // UI helper（若你的 entity create() 已經設定 groupKey，可移除）
         if (!StringUtils.hasText(permission.getGroupKey())) {
             permission.setGroupKey(systemCode + "_" + resourceCode);
         }
 
         UpmsPermission saved = permissionRepository.save(permission);
+        authSnapshotCache.bumpVersion();
 
         log.info("[UpmsPermissionService] 權限建立完成: {} ({})", saved.getCode(), saved.getUuid());
         return XkBeanUtils.copyProperties(saved, UpmsPermissionResp::new);
@@ -143,9 +153,20 @@ public class UpmsPermissionService {
      */
     @Transactional(readOnly = true)
     public Page<UpmsPermissionListResp> pageForList(UpmsPermissionQuery query, Pageable pageable) {
+        return pageForList(query, pageable, PageMode.EXACT);
+    }
+
+    /**
+     * 後台列表分頁（指定 total 計算方式：EXACT / SLICE / ESTIMATE）
+     */
+    @Transactional(readOnly = true)
+    public Page<UpmsPermissionListResp> pageForList(UpmsPermissionQuery query, Pageable pageable, PageMode mode) {
         Specification<UpmsPermission> spec = buildPermissionSpec(query);
+        String totalKey = query == null
+                ? PageTotalEstimator.key("upms_permission")
+                : PageTotalEstimator.key("upms_permission", query.getKeyword(), query.getEnabled(), query.getSystemCode());
 
-        return permissionRepository.findAll(spec, pageable)
+        return specPager.findAll(permissionRepository, UpmsPermission.class, spec, pageable, mode, totalKey)
                 .map(p -> {
                     UpmsPermissionListResp dto = XkBeanUtils.copyProperties(p, UpmsPermissionListResp::new);
                     dto.setId(p.getUuid());
@@ -188,6 +209,7 @@ public class UpmsPermissionService {
         XkBeanUtils.copyNonNullProperties(req, permission);
 
         UpmsPermission saved = permissionRepository.save(permission);
+        authSnapshotCache.bumpVersion();
         log.info("[UpmsPermissionService] 權限更新完成: {} ({})", saved.getCode(), saved.getUuid());
 
         return XkBeanUtils.copyProperties(saved, UpmsPermissionResp::new);
@@ -208,6 +230,7 @@ public class UpmsPermissionService {
 
         p.setDeletedAt(Instant.now());
         permissionRepository.save(p);
+        authSnapshotCache.bumpVersion();
 
         log.info("🗑️ [UpmsPermissionService] 權限已刪除: {} ({})", p.getCode(), p.getUuid());
     }
@@ -227,16 +250,10 @@ public class UpmsPermissionService {
                 return cb.and(predicates.toArray(new Predicate[0]));
             }
 
-            // keyword (code/name)
-            String kw = query.getKeyword();
-            if (StringUtils.hasText(kw)) {
-                String like = "%" + kw.trim().toLowerCase(Locale.ROOT) + "%";
-                predicates.add(
-                        cb.or(
-                                cb.like(cb.lower(root.get("code")), like),
-                                cb.like(cb.lower(root.get("name")), like)
-                        )
-                );
+            // keyword (code/name)：交給 KeywordSpec（FULLTEXT / prefix，可走 index）
+            Specification<UpmsPermission> keyword = KeywordSpec.codeOrName(query.getKeyword());
+            if (keyword != null) {
+                predicates.add(keyword.toPredicate(root, cq, cb));
             }
 
             // enabled
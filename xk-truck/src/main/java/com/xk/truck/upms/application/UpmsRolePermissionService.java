@@ -1,6 +1,9 @@
 package com.xk.truck.upms.application;
 
 import com.xk.base.exception.BusinessException;
+import com.xk.base.infra.jdbc.LinkDiff;
+import com.xk.base.infra.jdbc.LinkTable;
+import com.xk.base.infra.jdbc.LinkTableWriter;
 import com.xk.truck.upms.domain.model.UpmsPermission;
 import com.xk.truck.upms.domain.model.UpmsRole;
 import com.xk.truck.upms.domain.model.UpmsRolePermission;
@@ -36,6 +39,7 @@ import java.util.stream.Collectors;
  * 3) 覆蓋式指派採「差集同步」：只新增缺的、只刪除多的，減少 DB churn
  * 4) code 一律 normalize（trim + upper/lower 規範），避免大小寫造成重複資料/查不到
  * 5) DB Unique Constraint 必須存在（role_uuid + permission_uuid），Service 檢查只是提升體驗
+ * 6) 關聯有異動即遞增全域 RBAC 版本（UpmsAuthSnapshotCache），擁有該角色的使用者快照自動失效
  * <p>
  * ===============================================================
  */
@@ -62,12 +66,21 @@ public class UpmsRolePermissionService {
     private static final String MSG_PERMISSION_CODES_EMPTY = "權限代碼集合不得為空";
     private static final String MSG_PERMISSION_CODE_EMPTY = "權限代碼不能為空";
 
+    /**
+     * upms_role_permission 批次寫入定義（對應 UpmsRolePermission 欄位）
+     */
+    private static final LinkTable ROLE_PERMISSION_LINK =
+            LinkTable.of("upms_role_permission", "role_uuid", "permission_uuid")
+                    .withConstant("enabled", true);
+
     // ===============================================================
     // Repository / Collaborators
     // ===============================================================
     private final UpmsRolePermissionRepository rolePermissionRepository;
     private final UpmsRoleRepository roleRepository;
     private final UpmsPermissionRepository permissionRepository;
+    private final UpmsAuthSnapshotCache authSnapshotCache;
+    private final LinkTableWriter linkTableWriter;
 
     // ===============================================================
     // Public APIs
@@ -102,17 +115,17 @@ public class UpmsRolePermissionService {
             );
         }
 
-        // 2) 先清掉舊關聯（用 roleUuid）
-        rolePermissionRepository.deleteByRoleUuid(roleUuid);
-
-        // 3) 建新關聯（重點：用 of(roleUuid, permUuid)）
-        List<UpmsRolePermission> links = permUuids.stream()
-                .distinct()
-                .map(pid -> UpmsRolePermission.of(roleUuid, pid))
-                .toList();
-
+        // 2) 差集同步（只刪多的、只補缺的；JDBC batch，不逐筆 save）
+        Set<UUID> current = rolePermissionRepository.findPermissionUuidsByRoleUuid(role.getUuid());
+        LinkDiff<UUID> diff = linkTableWriter.sync(ROLE_PERMISSION_LINK, role.getUuid(), current, permUuids);
+        if (diff.isEmpty()) {
+            log.info("[replacePermissions] 權限未變更，role={}", role.getCode());
+            return;
+        }
 
-        rolePermissionRepository.saveAll(links);
+        authSnapshotCache.bumpVersion();
+        log.info("[replacePermissions] role={}, added={}, removed={}",
+                role.getCode(), diff.toAdd().size(), diff.toRemove().size());
     }
 //    public void replacePermissions(UUID roleUuid, Collection<String> targetCodes) {
 //        UpmsRole role = loadRoleOrThrow(roleUuid);
@@ -222,6 +235,7 @@ public class UpmsRolePermissionService {
         rp.setRole(role);
         rp.setPermission(permission);
         rolePermissionRepository.save(rp);
+        authSnapshotCache.bumpVersion();
 
         log.info("➕ [UpmsRolePermissionService] addPermission: role={}, perm={}", role.getCode(), permission.getCode());
     }
@@ -237,6 +251,7 @@ public class UpmsRolePermissionService {
         }
 
         int affected = rolePermissionRepository.deleteByRoleUuidAndPermissionUuid(role.getUuid(), permissionUuid);
+        if (affected > 0) authSnapshotCache.bumpVersion();
         log.info(
                 "➖ [UpmsRolePermissionService] removePermission: role={}, permUuid={}, affected={}",
                 role.getCode(), permissionUuid, affected
@@ -249,6 +264,7 @@ public class UpmsRolePermissionService {
     public int clearPermissions(UUID roleUuid) {
         UpmsRole role = loadRoleOrThrow(roleUuid);
         int removed = rolePermissionRepository.deleteByRoleUuid(role.getUuid());
+        if (removed > 0) authSnapshotCache.bumpVersion();
         log.info("🧹 [UpmsRolePermissionService] clearPermissions: role={}, removed={}", role.getCode(), removed);
         return removed;
     }
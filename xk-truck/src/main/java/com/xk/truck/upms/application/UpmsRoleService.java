@@ -73,6 +73,11 @@ public class UpmsRoleService {
      */
     private final UpmsRolePermissionService rolePermissionService;
 
+    /**
+     * 角色代碼 / 啟用狀態異動時遞增 RBAC 版本（授權快照與權限表隨之重建）
+     */
+    private final UpmsAuthSnapshotCache authSnapshotCache;
+
     // ===============================================================
     // Normalize utilities（關鍵：避免 code 重複 / 大小寫不一致）
     // ===============================================================
@@ -243,6 +248,7 @@ public class UpmsRoleService {
                     throw new BusinessException(ERR_ROLE_EXISTS, MSG_ROLE_EXISTS);
                 }
                 role.setCode(newCode);
+                authSnapshotCache.bumpVersion();
             }
         }
 
@@ -287,6 +293,7 @@ public class UpmsRoleService {
     public void updateEnabled(UUID id, boolean enabled) {
         UpmsRole role = loadRoleOrThrow(id);
         role.setEnabled(enabled);
+        authSnapshotCache.bumpVersion();
 
         log.info("🔄 [UpmsRoleService] 角色狀態更新: {} -> {}", role.getCode(), enabled ? "啟用" : "停用");
     }
@@ -328,6 +335,8 @@ public class UpmsRoleService {
         rolePermissionService.clearPermissions(id);
 
         roleRepository.deleteById(id);
+        // 無論是否清到 role-permission，角色本身消失也要讓快照與權限表重建（clearPermissions 只在 removed > 0 時遞增）
+        authSnapshotCache.bumpVersion();
         log.info("🗑️ [UpmsRoleService] 角色已刪除: {} ({})", role.getCode(), role.getUuid());
     }
 
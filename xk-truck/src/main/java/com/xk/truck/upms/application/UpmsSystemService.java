@@ -2,9 +2,12 @@ package com.xk.truck.upms.application;
 
 import com.xk.base.domain.jpa.spec.EnabledSpec;
 import com.xk.base.domain.jpa.spec.KeywordSpec;
+import com.xk.base.domain.jpa.spec.PageTotalEstimator;
+import com.xk.base.domain.jpa.spec.SpecPager;
 import com.xk.base.domain.jpa.spec.SpecUtils;
 import com.xk.base.exception.BusinessException;
 import com.xk.base.util.XkBeanUtils;
+import com.xk.base.web.PageMode;
 import com.xk.truck.upms.controller.api.dto.system.UpmsSystemCreateReq;
 import com.xk.truck.upms.controller.api.dto.system.UpmsSystemListResp;
 import com.xk.truck.upms.controller.api.dto.system.UpmsSystemQuery;
@@ -82,6 +85,7 @@ public class UpmsSystemService {
     // Repository
     // ===============================================================
     private final UpmsSystemRepository systemRepository;
+    private final SpecPager specPager;
 
     // ===============================================================
     // Create
@@ -161,12 +165,22 @@ public class UpmsSystemService {
      */
     @Transactional(readOnly = true)
     public Page<UpmsSystemListResp> pageForList(UpmsSystemQuery query, Pageable pageable) {
+        return pageForList(query, pageable, PageMode.EXACT);
+    }
+
+    /**
+     * 後台列表分頁查詢（指定 total 計算方式：EXACT / SLICE / ESTIMATE）
+     */
+    @Transactional(readOnly = true)
+    public Page<UpmsSystemListResp> pageForList(UpmsSystemQuery query, Pageable pageable, PageMode mode) {
         Specification<UpmsSystem> spec = null;
 
         spec = SpecUtils.and(spec, KeywordSpec.codeOrName(query.getKeyword()));
         spec = SpecUtils.and(spec, EnabledSpec.eq(query.getEnabled()));
 
-        return systemRepository.findAll(spec, pageable)
+        String totalKey = PageTotalEstimator.key("upms_system", query.getKeyword(), query.getEnabled());
+
+        return specPager.findAll(systemRepository, UpmsSystem.class, spec, pageable, mode, totalKey)
                 .map(system -> {
                     UpmsSystemListResp dto = XkBeanUtils.copyProperties(system, UpmsSystemListResp::new);
                     dto.setId(system.getUuid());
@@ -1,6 +1,9 @@
 package com.xk.truck.upms.application;
 
 import com.xk.base.exception.BusinessException;
+import com.xk.base.infra.jdbc.LinkDiff;
+import com.xk.base.infra.jdbc.LinkTable;
+import com.xk.base.infra.jdbc.LinkTableWriter;
 import com.xk.truck.upms.domain.model.UpmsRole;
 import com.xk.truck.upms.domain.model.UpmsUser;
 import com.xk.truck.upms.domain.model.UpmsUserRole;
@@ -43,6 +46,7 @@ import java.util.*;
  * 2) 所有寫入操作都要 Transaction，避免 delete + insert 半套狀態
  * 3) Repository 僅資料存取；Service 統一例外、驗證、資料一致性
  * 4) 不走「直接操作 entity collection」來同步關聯（避免 orphanRemoval、equals/hashCode、lazy 觸發）
+ * 5) 關聯有異動即 evict 該使用者的授權快照（UpmsAuthSnapshotCache，commit 後生效）
  * ===============================================================
  */
 @Slf4j
@@ -64,12 +68,19 @@ public class UpmsUserRoleService {
     private static final String MSG_ROLE_CODE_EMPTY = "角色代碼不能為空";
     private static final String MSG_USER_ID_EMPTY = "使用者 ID 不得為空";
 
+    /**
+     * upms_user_role 批次寫入定義（對應 UpmsUserRole 欄位）
+     */
+    private static final LinkTable USER_ROLE_LINK = LinkTable.of("upms_user_role", "user_uuid", "role_uuid");
+
     // ===============================================================
     // Collaborators
     // ===============================================================
     private final UpmsUserRoleRepository userRoleRepository;
     private final UpmsUserRepository userRepository;
     private final UpmsRoleRepository roleRepository;
+    private final UpmsAuthSnapshotCache authSnapshotCache;
+    private final LinkTableWriter linkTableWriter;
 
     // ===============================================================
     // Public APIs
@@ -107,6 +118,7 @@ public class UpmsUserRoleService {
             // 同一組 (user_uuid, role_uuid) 已存在 → 當作成功
             log.info("ℹ️ assignRole ignored duplicate: user={}, role={}", user.getUuid(), role.getUuid());
         }
+        authSnapshotCache.evictUser(user.getUuid());
 
         log.info(
                 "[UpmsUserRoleService] assignRole ok: user={}({}), role={}({})",
@@ -127,6 +139,7 @@ public class UpmsUserRoleService {
         UpmsRole role = loadRoleByCodeOrThrow(normalizedRoleCode);
 
         int affected = userRoleRepository.deleteByUserUuidAndRoleUuid(user.getUuid(), role.getUuid());
+        authSnapshotCache.evictUser(user.getUuid());
         log.info(
                 "🧹 [UpmsUserRoleService] removeRole: user={}({}), role={}({}), affected={}",
                 user.getUsername(), user.getUuid(), role.getCode(), role.getUuid(), affected
@@ -144,6 +157,7 @@ public class UpmsUserRoleService {
         UpmsUser user = loadUserOrThrow(userId);
 
         int affected = userRoleRepository.deleteByUserUuid(user.getUuid());
+        authSnapshotCache.evictUser(user.getUuid());
         log.info(
                 "🧹 [UpmsUserRoleService] clearRoles: user={}({}), affected={}",
                 user.getUsername(), user.getUuid(), affected
@@ -162,7 +176,7 @@ public class UpmsUserRoleService {
      * - 先 normalize + 去重（LinkedHashSet 保序）
      * - 一次查出所有 roles（findAllByCodeIn）
      * - 若有不存在的 roleCode → 丟錯（避免靜默漏指派）
-     * - 以「差集」方式：刪除不在目標集合的關聯、補上缺少的關聯
+     * - 以「差集」方式：刪除不在目標集合的關聯、補上缺少的關聯（LinkTableWriter：JDBC batch）
      * <p>
      * 這樣做的好處：
      * - 不必「先全刪再全建」(但你也可以全刪全建，這版是更穩的差集策略)
@@ -211,40 +225,16 @@ public class UpmsUserRoleService {
         Set<UUID> targetRoleUuids = new LinkedHashSet<>();
         for (UpmsRole r : roles) targetRoleUuids.add(r.getUuid());
 
-        // 6) 刪除：存在於 current，但不在 target
-        Set<UUID> toRemove = new HashSet<>(currentRoleUuids);
-        toRemove.removeAll(targetRoleUuids);
-        if (!toRemove.isEmpty()) {
-            int removed = userRoleRepository.deleteByUserUuidAndRoleUuidIn(user.getUuid(), toRemove);
+        // 6) 差集同步：刪除 current - target、新增 target - current（JDBC batch，不逐筆 save）
+        LinkDiff<UUID> diff = linkTableWriter.sync(USER_ROLE_LINK, user.getUuid(), currentRoleUuids, targetRoleUuids);
+        if (!diff.isEmpty()) {
             log.info(
-                    "🧹 [UpmsUserRoleService] replaceRoles remove: user={}({}), removed={}",
-                    user.getUsername(), user.getUuid(), removed
+                    "[UpmsUserRoleService] replaceRoles sync: user={}({}), added={}, removed={}",
+                    user.getUsername(), user.getUuid(), diff.toAdd().size(), diff.toRemove().size()
             );
         }
 
-        // 7) 新增：存在於 target，但不在 current
-        Set<UUID> toAdd = new LinkedHashSet<>(targetRoleUuids);
-        toAdd.removeAll(currentRoleUuids);
-
-        if (!toAdd.isEmpty()) {
-            // 為避免再查一次 role，可用 roles list 做 mapping
-            Map<UUID, UpmsRole> roleMap = new HashMap<>();
-            for (UpmsRole r : roles) roleMap.put(r.getUuid(), r);
-
-            List<UpmsUserRole> links = new ArrayList<>(toAdd.size());
-            for (UUID roleUuid : toAdd) {
-                UpmsRole role = roleMap.get(roleUuid);
-                UpmsUserRole link = new UpmsUserRole(user, role);
-                // link.setEffectiveFrom(LocalDateTime.now()); // 若你想預設生效時間
-                links.add(link);
-            }
-
-            userRoleRepository.saveAll(links);
-            log.info(
-                    "[UpmsUserRoleService] replaceRoles add: user={}({}), added={}",
-                    user.getUsername(), user.getUuid(), links.size()
-            );
-        }
+        authSnapshotCache.evictUser(user.getUuid());
 
         log.info(
                 "✅ [UpmsUserRoleService] replaceRoles done: user={}({}), targetCodes={}",
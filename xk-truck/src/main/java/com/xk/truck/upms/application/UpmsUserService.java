@@ -1,18 +1,22 @@
 package com.xk.truck.upms.application;
 
+import com.xk.base.domain.jpa.spec.KeywordSpec;
+import com.xk.base.domain.jpa.spec.PageTotalEstimator;
+import com.xk.base.domain.jpa.spec.SpecPager;
 import com.xk.base.exception.BusinessException;
 import com.xk.base.util.XkBeanUtils;
+import com.xk.base.web.PageMode;
 import com.xk.truck.upms.controller.api.dto.user.*;
 import com.xk.truck.upms.domain.model.UpmsUser;
 import com.xk.truck.upms.domain.repository.UpmsUserRepository;
+import com.xk.truck.upms.domain.repository.UpmsUserRoleRepository;
 
-import jakarta.persistence.criteria.JoinType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -55,8 +59,8 @@ import java.util.*;
  * - 寫入：預設 @Transactional（class-level），確保 dirty checking 生效、關聯寫入一致
  * <p>
  * ⚠ 注意：
- * - pageForList() 若你要避免 profile N+1，建議配合 repository 的 EntityGraph/DTO query
- * - roleCodesSnapshot 可能觸發 Lazy（看你 UpmsUserRole/UpmsRole 的 fetch 策略）
+ * - pageForList() 走 DTO projection + 批次角色查詢，不使用 entity 的 lazy 關聯
+ * - 其他回傳 UpmsUserResp 的方法若讀 roleCodesSnapshot 仍可能觸發 Lazy
  * ===============================================================
  */
 @Slf4j
@@ -77,8 +81,10 @@ public class UpmsUserService {
     // Repository / Collaborators
     // ===============================================================
     private final UpmsUserRepository userRepository;
+    private final UpmsUserRoleRepository userRoleRepository;
     private final UpmsUserRoleService userRoleService;
     private final PasswordEncoder passwordEncoder;
+    private final PageTotalEstimator totalEstimator;
 
     // ===============================================================
     // Create
@@ -159,93 +165,85 @@ public class UpmsUserService {
     /**
      * 分頁查詢（後台列表）
      * <p>
-     * ⚠ 注意：此方法目前使用 findAll(spec, pageable) + map
-     * - 如果你 profile 是 LAZY，這裡會有 N+1 風險
-     * - 你可改用：
-     * A) Repository: findAllWithProfile(spec, pageable) + @EntityGraph
-     * B) DTO Query: 直接 select new UpmsUserListResp(...)
-     * <p>
-     * 你目前先做 MVP，我保留現況，但把 mapping 區塊整理得更一致。
+     * 固定兩個查詢（不隨頁大小增加）：
+     * 1) userRepository.pageUserListRows：user + profile 欄位投影（roleCode 篩選走 exists，不需 distinct）
+     * 2) userRoleRepository.findRoleCodeRowsByUserUuidIn：本頁 userId 的角色碼（批次 IN）
+     * 於記憶體依 userId 組裝，不碰 UpmsUser.profile / userRoles 的 lazy 關聯
      */
     @Transactional(readOnly = true)
     public Page<UpmsUserListResp> pageForList(UpmsUserQuery query, Pageable pageable) {
-        Specification<UpmsUser> spec = buildUserSpec(query);
-
-        return userRepository.findAll(spec, pageable)
-//                .map(u -> XkBeanUtils.copyProperties(u, UserResp::new));
-                .map(user -> {
-                    UpmsUserListResp dto = new UpmsUserListResp();
-                    dto.setId(user.getUuid());
-                    dto.setUsername(user.getUsername());
-
-                    if (user.getProfile() != null) {
-                        dto.setName(user.getProfile().getName());
-                        dto.setEmail(user.getProfile().getEmail());
-                        dto.setAvatarUrl(user.getProfile().getAvatarUrl());
-                    } else {
-                        dto.setName(user.getUsername());
-                    }
-
-                    dto.setEnabled(user.getEnabled());
-                    dto.setLocked(user.getLocked());
-                    dto.setLastLoginAt(user.getLastLoginAt());
-                    dto.setJoinedAt(user.getCreatedTime());
-
-                    // Role codes snapshot：可能觸發 lazy（你已在 UpmsUser 做 snapshot，OK）
-                    dto.setRoleCodes(user.getRoleCodesSnapshot());
-
-                    dto.setTwoStepsEnabled(false); // 預留（未來接 MFA 設定）
-                    return dto;
-                });
+        return pageForList(query, pageable, PageMode.EXACT);
     }
 
     /**
-     * 動態組合 User 查詢條件（Specification）
-     * <p>
-     * 原則：
-     * - query==null → 全查（cb.conjunction）
-     * - username → like（lower + %keyword%）
-     * - enabled/locked → equal
-     * - roleCode → join userRoles.role，並 cq.distinct(true) 避免重複 row
-     * <p>
-     * ⚠ roleCode 查詢地雷：
-     * - join 會讓 count query 變複雜
-     * - 必須 distinct
-     * - 若資料量大，可能改用子查詢或先查 userId 再查 users（視效能需求）
+     * 分頁查詢（後台列表，指定 total 計算方式）
+     * - EXACT：page + count
+     * - SLICE / ESTIMATE：sliceUserListRows 只查 size + 1 筆；ESTIMATE 的 total 由 PageTotalEstimator 背景 count
      */
-    private Specification<UpmsUser> buildUserSpec(UpmsUserQuery query) {
-        return (root, cq, cb) -> {
-            if (query == null) return cb.conjunction();
-
-            List<jakarta.persistence.criteria.Predicate> predicates = new ArrayList<>();
-
-            if (StringUtils.hasText(query.getUsername())) {
-                predicates.add(
-                        cb.like(
-                                cb.lower(root.get("username")),
-                                "%" + query.getUsername().toLowerCase() + "%"
-                        )
-                );
-            }
+    @Transactional(readOnly = true)
+    public Page<UpmsUserListResp> pageForList(UpmsUserQuery query, Pageable pageable, PageMode mode) {
+        UpmsUserQuery q = query == null ? new UpmsUserQuery() : query;
+        // username 入庫時已 normalize（小寫），直接以 pattern 比對欄位本身，避免 lower(username) 全表掃描
+        final String username = KeywordSpec.likePattern(UpmsUser.normalizeUsername(trimToNull(q.getUsername())));
+        final String roleCode = trimToNull(q.getRoleCode());
+
+        Page<UpmsUserRepository.UserListRow> rows;
+        if (mode == null || mode == PageMode.EXACT || pageable.isUnpaged()) {
+            rows = userRepository.pageUserListRows(username, q.getEnabled(), q.getLocked(), roleCode, pageable);
+        } else {
+            Slice<UpmsUserRepository.UserListRow> slice =
+                    userRepository.sliceUserListRows(username, q.getEnabled(), q.getLocked(), roleCode, pageable);
+            long estimate = mode == PageMode.ESTIMATE && slice.hasNext()
+                    ? totalEstimator.estimate(
+                            PageTotalEstimator.key("upms_user", username, q.getEnabled(), q.getLocked(), roleCode),
+                            () -> userRepository.countUserListRows(username, q.getEnabled(), q.getLocked(), roleCode),
+                            SpecPager.lowerBound(slice))
+                    : 0;
+            rows = SpecPager.toPage(slice, estimate);
+        }
 
-            if (query.getEnabled() != null) {
-                predicates.add(cb.equal(root.get("enabled"), query.getEnabled()));
-            }
+        Map<UUID, Set<String>> roleCodesByUser = loadRoleCodes(rows.getContent());
 
-            if (query.getLocked() != null) {
-                predicates.add(cb.equal(root.get("locked"), query.getLocked()));
-            }
+        return rows.map(row -> {
+            UpmsUserListResp dto = new UpmsUserListResp();
+            dto.setId(row.getId());
+            dto.setUsername(row.getUsername());
 
-            if (StringUtils.hasText(query.getRoleCode())) {
-                var userRoleJoin = root.join("userRoles", JoinType.LEFT);
-                var roleJoin = userRoleJoin.join("role", JoinType.LEFT);
+            // profile 不存在時 name/email/avatarUrl 皆為 null（left join）
+            dto.setName(row.getName() != null ? row.getName() : row.getUsername());
+            dto.setEmail(row.getEmail());
+            dto.setAvatarUrl(row.getAvatarUrl());
 
-                predicates.add(cb.equal(roleJoin.get("code"), query.getRoleCode()));
-                cq.distinct(true);
-            }
+            dto.setEnabled(row.getEnabled());
+            dto.setLocked(row.getLocked());
+            dto.setLastLoginAt(row.getLastLoginAt());
+            dto.setJoinedAt(row.getJoinedAt());
+
+            dto.setRoleCodes(roleCodesByUser.getOrDefault(row.getId(), Set.of()));
+
+            dto.setTwoStepsEnabled(false); // 預留（未來接 MFA 設定）
+            return dto;
+        });
+    }
+
+    /**
+     * 本頁使用者的角色碼（一次 IN 查詢；空頁不查）
+     */
+    private Map<UUID, Set<String>> loadRoleCodes(List<UpmsUserRepository.UserListRow> rows) {
+        if (rows.isEmpty()) return Map.of();
+
+        List<UUID> userUuids = rows.stream().map(UpmsUserRepository.UserListRow::getId).toList();
+
+        Map<UUID, Set<String>> result = new HashMap<>();
+        for (var row : userRoleRepository.findRoleCodeRowsByUserUuidIn(userUuids)) {
+            if (!StringUtils.hasText(row.getRoleCode())) continue;
+            result.computeIfAbsent(row.getUserId(), k -> new LinkedHashSet<>()).add(row.getRoleCode());
+        }
+        return result;
+    }
 
-            return cb.and(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
-        };
+    private static String trimToNull(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
     }
 
     // ===============================================================
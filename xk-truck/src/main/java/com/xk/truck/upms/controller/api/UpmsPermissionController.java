@@ -1,6 +1,7 @@
 package com.xk.truck.upms.controller.api;
 
 import com.xk.base.web.ApiResult;
+import com.xk.base.web.PageMode;
 import com.xk.truck.upms.application.UpmsPermissionService;
 import com.xk.truck.upms.controller.api.dto.permission.*;
 
@@ -67,9 +68,10 @@ public class UpmsPermissionController {
     @GetMapping
     public ApiResult<Page<UpmsPermissionListResp>> pageForList(
             @ParameterObject @ModelAttribute UpmsPermissionQuery query,
-            @ParameterObject @PageableDefault(size = 20, sort = "createdTime") Pageable pageable
+            @ParameterObject @PageableDefault(size = 20, sort = "createdTime") Pageable pageable,
+            @RequestParam(name = PageMode.PARAM, required = false) String pageMode
     ) {
-        return ApiResult.success(permissionService.pageForList(query, pageable));
+        return ApiResult.success(permissionService.pageForList(query, pageable, PageMode.from(pageMode)));
     }
 
     // ===============================================================
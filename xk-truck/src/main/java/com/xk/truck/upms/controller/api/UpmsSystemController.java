@@ -1,6 +1,7 @@
 package com.xk.truck.upms.controller.api;
 
 import com.xk.base.web.ApiResult;
+import com.xk.base.web.PageMode;
 import com.xk.truck.upms.application.UpmsSystemService;
 import com.xk.truck.upms.controller.api.dto.system.*;
 
@@ -84,9 +85,10 @@ public class UpmsSystemController {
     @GetMapping
     public ApiResult<Page<UpmsSystemListResp>> pageForList(
             @ParameterObject @ModelAttribute UpmsSystemQuery query,
-            @ParameterObject @PageableDefault(size = 20, sort = "createdTime") Pageable pageable
+            @ParameterObject @PageableDefault(size = 20, sort = "createdTime") Pageable pageable,
+            @RequestParam(name = PageMode.PARAM, required = false) String pageMode
     ) {
-        return ApiResult.success(systemService.pageForList(query, pageable));
+        return ApiResult.success(systemService.pageForList(query, pageable, PageMode.from(pageMode)));
     }
 
     // ===============================================================
@@ -1,6 +1,7 @@
 package com.xk.truck.upms.controller.api;
 
 import com.xk.base.web.ApiResult;
+import com.xk.base.web.PageMode;
 import com.xk.truck.upms.application.UpmsUserService;
 import com.xk.truck.upms.controller.api.dto.user.*;
 
@@ -80,9 +81,10 @@ public class UpmsUserController {
     @GetMapping
     public ApiResult<Page<UpmsUserListResp>> pageForList(
             @ParameterObject @ModelAttribute UpmsUserQuery query,
-            @ParameterObject @PageableDefault(size = 20, sort = "createdTime") Pageable pageable
+            @ParameterObject @PageableDefault(size = 20, sort = "createdTime") Pageable pageable,
+            @RequestParam(name = PageMode.PARAM, required = false) String pageMode
     ) {
-        return ApiResult.success(userService.pageForList(query, pageable));
+        return ApiResult.success(userService.pageForList(query, pageable, PageMode.from(pageMode)));
     }
 
     // ===============================================================
@@ -10,15 +10,15 @@ import lombok.*;
  * Purpose:
  * - 後台使用者列表查詢條件（搭配 Pageable）
  * <p>
- * 對應 Service buildUserSpec() 的查詢欄位：
- * - username：like 查詢（%keyword%）
+ * 對應 UpmsUserRepository.pageUserListRows() 的查詢欄位：
+ * - username：前綴查詢（keyword%，可走 index；search.keyword-mode=like 時為 %keyword%）
  * - enabled：狀態篩選
  * - locked：鎖定篩選
- * - roleCode：以角色 code 篩選（join userRoles.role.code）
+ * - roleCode：以角色 code 篩選（exists 子查詢 userRoles.role.code）
  * <p>
  * Notes:
  * - 這是 Query DTO，不建議放太多業務邏輯與轉換。
- * - 參數清洗（trim/lower）你已在 service spec 中處理。
+ * - 參數清洗（trim / 空字串轉 null）於 UpmsUserService.pageForList 處理。
  * ===============================================================
  */
 @Getter
@@ -33,7 +33,7 @@ public class UpmsUserQuery {
     // Keyword / Filters
     // ------------------------------------------------------------
     @Schema(
-            description = "帳號關鍵字（like 查詢，忽略大小寫）",
+            description = "帳號關鍵字（前綴查詢，忽略大小寫）",
             example = "admin"
     )
     private String username;
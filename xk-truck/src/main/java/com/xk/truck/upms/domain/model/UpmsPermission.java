@@ -1,6 +1,7 @@
 package com.xk.truck.upms.domain.model;
 
 import com.xk.base.domain.model.BaseEntity;
+import com.xk.base.domain.model.KeywordSearchable;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -8,6 +9,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
@@ -50,6 +53,8 @@ import java.util.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UpmsPermission.CACHE_REGION)
 @Table(
         name = "upms_permission",
         indexes = {
@@ -57,10 +62,18 @@ import java.util.*;
                 @Index(name = "idx_upms_permission_system", columnList = "system_code"),
                 @Index(name = "idx_upms_permission_enabled", columnList = "enabled")
         },
-        uniqueConstraints = @UniqueConstraint(name = "uk_upms_permission_code", columnNames = "code")
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_upms_permission_code", columnNames = "code"),
+                @UniqueConstraint(name = "uk_upms_permission_bit_index", columnNames = "bit_index")
+        }
 )
 @Schema(description = "UPMS 權限主實體（資源/能力定義）")
-public class UpmsPermission extends BaseEntity {
+public class UpmsPermission extends BaseEntity implements KeywordSearchable {
+
+    /**
+     * Hibernate 二級快取 region（容量 / TTL 見 l2cache.regions）
+     */
+    public static final String CACHE_REGION = "upms.permission";
 
     // ===============================================================
     // Primary Key
@@ -81,6 +94,16 @@ public class UpmsPermission extends BaseEntity {
     @Comment("權限代碼（唯一）例如：TOM_ORDER_READ")
     private String code;
 
+    /**
+     * JWT perms claim / PermissionTable 的 bit 位置
+     * - 建立時指派（目前最大值 + 1，含已刪除列），之後不可變、不重用
+     * - 新增權限不會位移既有權限的 bit，已簽發 token 不因此失效
+     */
+    @Column(name = "bit_index", nullable = false, updatable = false)
+    @Comment("權限 bit 位置（建立時指派，不可變、不重用）")
+    @Schema(hidden = true)
+    private Integer bitIndex;
+
     // ===============================================================
     // Domain Classification
     // ===============================================================
@@ -154,6 +177,22 @@ public class UpmsPermission extends BaseEntity {
     @Column
     private Instant deletedAt;
 
+    // ===============================================================
+    // Keyword search (search_text 影子欄位，見 KeywordSearchable)
+    // ===============================================================
+    @Setter(AccessLevel.NONE)
+    @Column(name = KeywordSearchable.SEARCH_TEXT_COLUMN, length = KeywordSearchable.SEARCH_TEXT_LENGTH)
+    @Comment("關鍵字搜尋用（code/name/description 正規化串接；MySQL 建 FULLTEXT ngram index）")
+    @Schema(hidden = true)
+    private String searchText;
+
+    @Override
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchText() {
+        this.searchText = KeywordSearchable.normalize(code, name, description);
+    }
+
     // ===============================================================
     // Factory
     // ===============================================================
@@ -1,6 +1,7 @@
 package com.xk.truck.upms.domain.model;
 
 import com.xk.base.domain.model.BaseEntity;
+import com.xk.base.domain.model.KeywordSearchable;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
@@ -8,6 +9,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Comment;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
@@ -45,6 +48,8 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UpmsRole.CACHE_REGION)
 @Table(
         name = "upms_role",
         indexes = {
@@ -55,7 +60,12 @@ import java.util.UUID;
         uniqueConstraints = @UniqueConstraint(name = "uk_upms_role_code", columnNames = "code")
 )
 @Schema(description = "UPMS 角色主實體（授權單元）")
-public class UpmsRole extends BaseEntity {
+public class UpmsRole extends BaseEntity implements KeywordSearchable {
+
+    /**
+     * Hibernate 二級快取 region（容量 / TTL 見 l2cache.regions）
+     */
+    public static final String CACHE_REGION = "upms.role";
 
     // ===============================================================
     // Primary Key
@@ -137,6 +147,22 @@ public class UpmsRole extends BaseEntity {
      */
 
 
+    // ===============================================================
+    // Keyword search (search_text 影子欄位，見 KeywordSearchable)
+    // ===============================================================
+    @Setter(AccessLevel.NONE)
+    @Column(name = KeywordSearchable.SEARCH_TEXT_COLUMN, length = KeywordSearchable.SEARCH_TEXT_LENGTH)
+    @Comment("關鍵字搜尋用（code/name/description 正規化串接；MySQL 建 FULLTEXT ngram index）")
+    @Schema(hidden = true)
+    private String searchText;
+
+    @Override
+    @PrePersist
+    @PreUpdate
+    public void refreshSearchText() {
+        this.searchText = KeywordSearchable.normalize(code, name, description);
+    }
+
     // ===============================================================
     // Constructors (安全建構)
     // ===============================================================
@@ -57,6 +57,9 @@ public interface UpmsPermissionRepository
     /**
      * 以 code 代碼查詢 Permission（通常用於後端校驗 / 建立關聯前查）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     Optional<UpmsPermission> findByCode(String code);
 
     /**
@@ -389,6 +392,34 @@ public interface UpmsPermissionRepository
     """)
     List<UUID> findUuidsByCodes(@Param("codes") Collection<String> codes);
 
+    interface PermissionBitRow {
+        String getCode();
+
+        Integer getBitIndex();
+    }
+
+    /**
+     * 所有生效中的權限碼 + bit 位置（啟用且未刪除）
+     * - 用途：UpmsPermissionCatalog 建立 PermissionTable（id = bit_index）
+     */
+    @Query("""
+        select p.code as code, p.bitIndex as bitIndex
+        from UpmsPermission p
+        where p.enabled = true
+          and p.deletedAt is null
+    """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<PermissionBitRow> findActiveBitIndexes();
+
+    /**
+     * 下一個可用的 bit 位置（含已刪除列，確保 bit 不被重用）
+     * - 併發建立撞號時由 uk_upms_permission_bit_index 擋下
+     */
+    @Query("select coalesce(max(p.bitIndex), -1) + 1 from UpmsPermission p")
+    int nextBitIndex();
+
 
     boolean existsByCodeAndDeletedAtIsNull(String code);
 }
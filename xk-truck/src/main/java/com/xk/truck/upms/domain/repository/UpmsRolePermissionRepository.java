@@ -250,6 +250,32 @@ public interface UpmsRolePermissionRepository
             Pageable pageable
     );
 
+    interface RolePermissionCodeRow {
+        String getRoleCode();
+
+        String getPermissionCode();
+    }
+
+    /**
+     * 全部「角色碼 ↔ 權限碼」（僅啟用角色 + 生效權限）
+     * - 用途：UpmsPermissionCatalog 一次建出所有角色的 PermissionBits
+     */
+    @Query("""
+                select
+                    r.code as roleCode,
+                    p.code as permissionCode
+                from UpmsRolePermission rp
+                join rp.role r
+                join rp.permission p
+                where r.enabled = true
+                  and p.enabled = true
+                  and p.deletedAt is null
+            """)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<RolePermissionCodeRow> findActiveRolePermissionCodes();
+
     // ===============================================================
     // Admin / Ops convenience（寫操作 / bulk）
     // ===============================================================
@@ -58,8 +58,11 @@ public interface UpmsRoleRepository
     // - 回 Optional / boolean / count
 
     /**
-     * 依 角色代碼（唯一） 查詢
+     * 依 角色代碼（唯一） 查詢（query cache + 二級快取）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     Optional<UpmsRole> findByCode(String code);
 
     /**
@@ -57,6 +57,9 @@ public interface UpmsSystemRepository
     /**
      * 以 code 查詢 System（建立關聯/校驗時常用）
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     Optional<UpmsSystem> findByCode(String code);
 
     /**
@@ -7,12 +7,15 @@ import jakarta.persistence.QueryHint;
 import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -79,6 +82,159 @@ public interface UpmsUserRepository
     )
     Page<UpmsUser> findAllWithProfile(Pageable pageable);
 
+    // ===============================================================
+    // DTO Query（後台使用者列表：user + profile 欄位，一次分頁查詢）
+    // ===============================================================
+
+    interface UserListRow {
+        UUID getId();
+
+        String getUsername();
+
+        Boolean getEnabled();
+
+        Boolean getLocked();
+
+        LocalDateTime getLastLoginAt();
+
+        ZonedDateTime getJoinedAt();
+
+        String getName();
+
+        String getEmail();
+
+        String getAvatarUrl();
+    }
+
+    /**
+     * 使用者列表共用篩選（page / slice / count 三個查詢共用，避免條件不一致）
+     * - username 為已 escape 的 LIKE pattern（見 KeywordSpec.likePattern），欄位不包 lower()，prefix 可走 unique index
+     * - roleCode 篩選用 exists 子查詢，不需 distinct、count query 也不必 join
+     */
+    String USER_LIST_WHERE = """
+            where (:username is null or u.username like :username escape '\\')
+              and (:enabled is null or u.enabled = :enabled)
+              and (:locked is null or u.locked = :locked)
+              and (:roleCode is null or exists (
+                    select 1
+                    from UpmsUserRole ur
+                    join ur.role r
+                    where ur.userUuid = u.uuid
+                      and r.code = :roleCode))
+            """;
+
+    String USER_LIST_SELECT = """
+            select
+                u.uuid as id,
+                u.username as username,
+                u.enabled as enabled,
+                u.locked as locked,
+                u.lastLoginAt as lastLoginAt,
+                u.createdTime as joinedAt,
+                p.name as name,
+                p.email as email,
+                p.avatarUrl as avatarUrl
+            from UpmsUser u
+            left join u.profile p
+            """ + USER_LIST_WHERE;
+
+    String USER_LIST_COUNT = """
+            select count(u)
+            from UpmsUser u
+            """ + USER_LIST_WHERE;
+
+    /**
+     * 使用者列表（projection）
+     * - profile 以 left join 取欄位，不載入 entity（無 lazy N+1）
+     * - 角色碼另由 UpmsUserRoleRepository.findRoleCodeRowsByUserUuidIn 依本頁 userId 批次取回
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = USER_LIST_SELECT, countQuery = USER_LIST_COUNT)
+    Page<UserListRow> pageUserListRows(
+            @Param("username") String username,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("roleCode") String roleCode,
+            Pageable pageable
+    );
+
+    /**
+     * 使用者列表（Slice：多抓 1 筆判斷 hasNext，不跑 count）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(USER_LIST_SELECT)
+    Slice<UserListRow> sliceUserListRows(
+            @Param("username") String username,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("roleCode") String roleCode,
+            Pageable pageable
+    );
+
+    /**
+     * 使用者列表筆數（PageMode.ESTIMATE 背景刷新 total 用）
+     */
+    @Query(USER_LIST_COUNT)
+    long countUserListRows(
+            @Param("username") String username,
+            @Param("enabled") Boolean enabled,
+            @Param("locked") Boolean locked,
+            @Param("roleCode") String roleCode
+    );
+
+    // ===============================================================
+    // Authentication（單一查詢載入帳號 + 角色碼 + 權限碼）
+    // ===============================================================
+
+    /**
+     * 認證用投影列：一列 = 使用者 × 角色 × 權限
+     * - 使用者欄位在每列重複；roleCode / permissionCode 可能為 null（left join）
+     */
+    interface AuthRow extends UpmsRolePermissionRepository.RolePermissionCodeRow {
+        UUID getUserId();
+
+        String getUsername();
+
+        String getPassword();
+
+        Boolean getEnabled();
+
+        Boolean getLocked();
+    }
+
+    /**
+     * 以帳號一次取回「帳號狀態 + 角色碼 + 權限碼」
+     * - 用途：DbUserDetailsService.loadUserByUsername（一次 round trip，不走 lazy）
+     * - 查無使用者 → 空 List；使用者無角色 → 一列且 roleCode = null
+     * - 只帶啟用角色 + 生效權限（停用 / 軟刪除者以 join 條件濾掉，帳號列仍會回傳；條件同
+     *   UpmsRolePermissionRepository.findActiveRolePermissionCodes）
+     * - rp 的 join 條件需再帶 r.enabled：r.uuid 會被 Hibernate 換成 ur.role_uuid，不受 r 的 join 條件影響
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                select
+                    u.uuid as userId,
+                    u.username as username,
+                    u.password as password,
+                    u.enabled as enabled,
+                    u.locked as locked,
+                    r.code as roleCode,
+                    p.code as permissionCode
+                from UpmsUser u
+                left join UpmsUserRole ur on ur.userUuid = u.uuid
+                left join ur.role r on r.enabled = true
+                left join UpmsRolePermission rp on rp.roleUuid = r.uuid and r.enabled = true
+                left join rp.permission p on p.enabled = true and p.deletedAt is null
+                where u.username = :username
+            """)
+    List<AuthRow> findAuthRowsByUsername(@Param("username") String username);
+
     // ===============================================================
     // Admin / Ops convenience
     // ===============================================================
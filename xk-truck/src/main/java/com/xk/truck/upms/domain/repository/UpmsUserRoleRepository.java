@@ -99,6 +99,56 @@ public interface UpmsUserRoleRepository
             """)
     Set<UUID> findRoleUuidsByUserUuid(@Param("userUuid") UUID userUuid);
 
+    /**
+     * 某使用者的「角色碼 ↔ 權限碼」（一次查詢，投影）
+     * - 用途：UpmsAuthSnapshotCache 載入授權快照
+     * - 角色無任何權限時 permissionCode 為 null（left join），角色碼仍會回傳
+     * - 只帶啟用角色 + 生效權限（與 UpmsUserRepository.findAuthRowsByUsername 相同條件）
+     * - 不載入 UpmsRole / UpmsPermission Entity，避免逐筆 lazy 造成 N+1
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                select
+                    r.code as roleCode,
+                    p.code as permissionCode
+                from UpmsUserRole ur
+                join ur.role r
+                left join UpmsRolePermission rp on rp.roleUuid = r.uuid
+                left join rp.permission p on p.enabled = true and p.deletedAt is null
+                where ur.userUuid = :userUuid
+                  and r.enabled = true
+            """)
+    List<UpmsRolePermissionRepository.RolePermissionCodeRow> findRolePermissionCodesByUserUuid(
+            @Param("userUuid") UUID userUuid
+    );
+
+    interface UserRoleCodeRow {
+        UUID getUserId();
+
+        String getRoleCode();
+    }
+
+    /**
+     * 多位使用者的角色碼（批次 IN 查詢，投影）
+     * - 用途：使用者列表一頁只查一次角色，於記憶體依 userId 組裝
+     * - 依角色 sortOrder / code 排序，讓每位使用者的角色碼順序穩定
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                select
+                    ur.userUuid as userId,
+                    r.code as roleCode
+                from UpmsUserRole ur
+                join ur.role r
+                where ur.userUuid in :userUuids
+                order by r.sortOrder, r.code
+            """)
+    List<UserRoleCodeRow> findRoleCodeRowsByUserUuidIn(@Param("userUuids") Collection<UUID> userUuids);
+
     // ===============================================================
     // Bulk operations（效能關鍵）
     // ===============================================================
@@ -0,0 +1,175 @@
+package com.xk.truck.upms.infra.security;
+
+import com.xk.base.security.PermissionCatalog;
+import com.xk.base.security.PermissionTable;
+import com.xk.truck.upms.application.UpmsAuthSnapshotCache;
+import com.xk.truck.upms.domain.repository.UpmsPermissionRepository;
+import com.xk.truck.upms.domain.repository.UpmsRolePermissionRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ===============================================================
+ * Component : UpmsPermissionCatalog
+ * Layer     : Infra / Security (UPMS)
+ * Purpose   : 由 UPMS 資料建立 PermissionTable（權限碼 → bit_index、角色 → PermissionBits）
+ * <p>
+ * 載入（兩個查詢，不碰 entity）
+ * 1) upms_permission：生效中的權限碼 + bit_index（持久化 id，新增權限不位移既有 bit）
+ * 2) upms_role_permission join role / permission：角色碼 ↔ 權限碼
+ * <p>
+ * 重建時機
+ * - 啟動完成（ApplicationReadyEvent）先載入一次
+ * - 本機 RBAC 版本（UpmsAuthSnapshotCache.version）變動 → 呼叫端同步重建（同時只有一個執行緒載入，
+ *   其餘等待後直接取新表）：撤銷權限後的下一個 request 即以新表判斷，不會再放行一次
+ * - 只超過 TTL（多節點時其他節點的異動）→ current() 照樣回傳舊表，並排程背景重建（同時最多一個）
+ * - 重建失敗 → 沿用舊表並記錄 warn，下個 TTL 再試
+ * - 尚未載入過（啟動完成前的 request）→ 同步載入
+ * ===============================================================
+ */
+@Slf4j
+@Component
+public class UpmsPermissionCatalog implements PermissionCatalog {
+
+    private static final long TTL_NANOS = Duration.ofSeconds(60).toNanos();
+
+    private final UpmsPermissionRepository permissionRepository;
+    private final UpmsRolePermissionRepository rolePermissionRepository;
+    private final UpmsAuthSnapshotCache authSnapshotCache;
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "xk-permission-catalog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile Loaded loaded;
+
+    public UpmsPermissionCatalog(UpmsPermissionRepository permissionRepository,
+                                 UpmsRolePermissionRepository rolePermissionRepository,
+                                 UpmsAuthSnapshotCache authSnapshotCache) {
+        this.permissionRepository = permissionRepository;
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.authSnapshotCache = authSnapshotCache;
+    }
+
+    // ===============================================================
+    // Lifecycle
+    // ===============================================================
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("[UpmsPermissionCatalog] warm-up failed, load on first request: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ===============================================================
+    // Read
+    // ===============================================================
+
+    @Override
+    public PermissionTable current() {
+        Loaded l = loaded;
+        if (l == null || l.rbacVersion() != authSnapshotCache.version()) return reloadIfChanged();
+
+        if (l.isExpired()) {
+            scheduleReload();
+        }
+        return l.table();
+    }
+
+    /**
+     * 同步重建（double-check：等鎖期間已由其他執行緒重建 → 直接回傳）
+     */
+    private synchronized PermissionTable reloadIfChanged() {
+        Loaded l = loaded;
+        return l != null && l.rbacVersion() == authSnapshotCache.version() ? l.table() : reload();
+    }
+
+    // ===============================================================
+    // Reload
+    // ===============================================================
+
+    private void scheduleReload() {
+        if (!reloading.compareAndSet(false, true)) return;
+        try {
+            executor.execute(() -> {
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    // reload 已記錄並沿用舊表
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reloading.set(false);
+        }
+    }
+
+    /**
+     * 重建並換表（先取版本再載入：載入期間又有異動 → 版本不符，下次讀取再重建）
+     */
+    private synchronized PermissionTable reload() {
+        long rbacVersion = authSnapshotCache.version();
+        Loaded l = loaded;
+        try {
+            PermissionTable table = load();
+            loaded = new Loaded(table, rbacVersion, System.nanoTime());
+            if (l == null || l.table().version() != table.version()) {
+                log.info("[UpmsPermissionCatalog] permission table loaded: version={}, permissions={}",
+                        Long.toHexString(table.version()), table.size());
+            }
+            return table;
+        } catch (RuntimeException e) {
+            if (l == null) throw e;
+            log.warn("[UpmsPermissionCatalog] reload failed, keep version={}: {}",
+                    Long.toHexString(l.table().version()), e.getMessage());
+            loaded = new Loaded(l.table(), rbacVersion, System.nanoTime());
+            return l.table();
+        }
+    }
+
+    private PermissionTable load() {
+        Map<String, Integer> ids = new HashMap<>();
+        for (var row : permissionRepository.findActiveBitIndexes()) {
+            ids.put(row.getCode(), row.getBitIndex());
+        }
+
+        Map<String, List<String>> rolePermissionCodes = new HashMap<>();
+        for (var row : rolePermissionRepository.findActiveRolePermissionCodes()) {
+            rolePermissionCodes.computeIfAbsent(row.getRoleCode(), k -> new ArrayList<>()).add(row.getPermissionCode());
+        }
+
+        return PermissionTable.build(ids, rolePermissionCodes);
+    }
+
+    private record Loaded(PermissionTable table, long rbacVersion, long loadedAt) {
+
+        boolean isExpired() {
+            return System.nanoTime() - loadedAt >= TTL_NANOS;
+        }
+    }
+}
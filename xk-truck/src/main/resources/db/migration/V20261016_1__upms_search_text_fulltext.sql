@@ -0,0 +1,37 @@
+-- ===============================================================
+-- Keyword search（MySQL 8）：search_text 影子欄位 + FULLTEXT ngram index
+-- 見 KeywordSearchable / KeywordSearchConfigurer
+-- - search_text = lower(trim(code / name / description))，連續空白收斂為一個，以空白串接
+--   （與 KeywordSearchable.normalize 一致；新資料由 entity @PrePersist / @PreUpdate 維護）
+-- - ngram token size 需與 search.ngram-token-size 一致（MySQL 預設 ngram_token_size = 2）
+-- - 專案未導入 Flyway：部署前由 DBA 手動執行一次（見 README 7.4）
+-- ===============================================================
+
+ALTER TABLE upms_system ADD COLUMN search_text VARCHAR(512) NULL;
+ALTER TABLE upms_role ADD COLUMN search_text VARCHAR(512) NULL;
+ALTER TABLE upms_permission ADD COLUMN search_text VARCHAR(512) NULL;
+
+UPDATE upms_system
+SET search_text = LEFT(LOWER(CONCAT_WS(' ',
+        NULLIF(REGEXP_REPLACE(TRIM(code), '[[:space:]]+', ' '), ''),
+        NULLIF(REGEXP_REPLACE(TRIM(name), '[[:space:]]+', ' '), ''),
+        NULLIF(REGEXP_REPLACE(TRIM(description), '[[:space:]]+', ' '), ''))), 512)
+WHERE search_text IS NULL;
+
+UPDATE upms_role
+SET search_text = LEFT(LOWER(CONCAT_WS(' ',
+        NULLIF(REGEXP_REPLACE(TRIM(code), '[[:space:]]+', ' '), ''),
+        NULLIF(REGEXP_REPLACE(TRIM(name), '[[:space:]]+', ' '), ''),
+        NULLIF(REGEXP_REPLACE(TRIM(description), '[[:space:]]+', ' '), ''))), 512)
+WHERE search_text IS NULL;
+
+UPDATE upms_permission
+SET search_text = LEFT(LOWER(CONCAT_WS(' ',
+        NULLIF(REGEXP_REPLACE(TRIM(code), '[[:space:]]+', ' '), ''),
+        NULLIF(REGEXP_REPLACE(TRIM(name), '[[:space:]]+', ' '), ''),
+        NULLIF(REGEXP_REPLACE(TRIM(description), '[[:space:]]+', ' '), ''))), 512)
+WHERE search_text IS NULL;
+
+ALTER TABLE upms_system ADD FULLTEXT INDEX ft_upms_system_search_text (search_text) WITH PARSER ngram;
+ALTER TABLE upms_role ADD FULLTEXT INDEX ft_upms_role_search_text (search_text) WITH PARSER ngram;
+ALTER TABLE upms_permission ADD FULLTEXT INDEX ft_upms_permission_search_text (search_text) WITH PARSER ngram;
@@ -0,0 +1,17 @@
+-- ===============================================================
+-- UPMS 權限 bit 位置（MySQL 8）：upms_permission.bit_index
+-- 見 UpmsPermission.bitIndex / UpmsPermissionCatalog / PermissionTable
+-- - 既有資料依 code 排序回填 0..n-1（與舊版「排序後指派 id」一致）
+-- - 之後由 UpmsPermissionService.create 指派 max + 1，不可變、不重用
+-- - 專案未導入 Flyway：部署前由 DBA 手動執行一次（見 README 7.4）
+-- ===============================================================
+
+ALTER TABLE upms_permission ADD COLUMN bit_index INT NULL;
+
+UPDATE upms_permission p
+JOIN (SELECT uuid, ROW_NUMBER() OVER (ORDER BY code) - 1 AS rn FROM upms_permission) x ON x.uuid = p.uuid
+SET p.bit_index = x.rn
+WHERE p.bit_index IS NULL;
+
+ALTER TABLE upms_permission MODIFY COLUMN bit_index INT NOT NULL COMMENT '權限 bit 位置（建立時指派，不可變、不重用）';
+ALTER TABLE upms_permission ADD CONSTRAINT uk_upms_permission_bit_index UNIQUE (bit_index);
@@ -0,0 +1,44 @@
+package com.xk;
+
+import com.xk.base.infra.idempotency.entity.IdempotencyKeyEntity;
+import com.xk.base.security.PermitAllMatcher;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 整個 Application Context 可正常啟動（bean 建構、啟動時的 ApplicationReadyEvent 工作）
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class AppContextLoadTest {
+
+    @Autowired
+    private PermitAllMatcher permitAllMatcher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Context 啟動：PermitAllMatcher 由 security.permit-all 建立")
+    void contextLoads() {
+        assertThat(permitAllMatcher.getPatterns()).contains("/auth/login");
+        assertThat(permitAllMatcher.matches("/swagger-ui/index.html")).isTrue();
+        assertThat(permitAllMatcher.matches("/api/tom/orders")).isFalse();
+    }
+
+    @Test
+    @DisplayName("idempotency.store=memory：xk_idempotency_key 不納入 JPA（不建表、不驗證）")
+    void idempotencyEntityExcludedForMemoryStore() {
+        assertThat(entityManagerFactory.getMetamodel().getEntities())
+                .extracting(e -> e.getJavaType().getName())
+                .doesNotContain(IdempotencyKeyEntity.class.getName());
+    }
+}
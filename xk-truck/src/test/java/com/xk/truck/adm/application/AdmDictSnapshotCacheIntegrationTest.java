@@ -0,0 +1,144 @@
+package com.xk.truck.adm.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xk.App;
+import com.xk.truck.adm.application.mapper.AdmDictCategoryMapper;
+import com.xk.truck.adm.application.mapper.AdmDictItemMapper;
+import com.xk.truck.adm.domain.model.AdmDictCategory;
+import com.xk.truck.adm.domain.repository.AdmDictCategoryRepository;
+import com.xk.truck.adm.domain.repository.AdmDictItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AdmDictSnapshotCache：版本變動時先回傳舊快照、背景重建；重建失敗沿用舊快照
+ * - 測試自建一個 cache 實例，item repository 包一層可暫停 / 可切換失敗的 proxy（不影響共用 bean）
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class AdmDictSnapshotCacheIntegrationTest {
+
+    @Autowired
+    private AdmDictCategoryRepository categoryRepository;
+
+    @Autowired
+    private AdmDictItemRepository itemRepository;
+
+    @Autowired
+    private AdmDictCategoryMapper categoryMapper;
+
+    @Autowired
+    private AdmDictItemMapper itemMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicBoolean failing = new AtomicBoolean();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+
+    private AdmDictSnapshotCache cache;
+    private UUID created;
+
+    @BeforeEach
+    void setUp() {
+        AdmDictItemRepository flaky = (AdmDictItemRepository) Proxy.newProxyInstance(
+                AdmDictItemRepository.class.getClassLoader(),
+                new Class<?>[]{AdmDictItemRepository.class},
+                (proxy, method, args) -> {
+                    gate.await(5, TimeUnit.SECONDS);
+                    if (failing.get()) throw new DataAccessResourceFailureException("db down");
+                    try {
+                        return method.invoke(itemRepository, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+        cache = new AdmDictSnapshotCache(categoryRepository, flaky, categoryMapper, itemMapper,
+                objectMapper, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        cache.shutdown();
+        if (created != null) categoryRepository.deleteById(created);
+    }
+
+    @Test
+    @DisplayName("版本變動：讀取不等待重建，先回舊快照（ETag 照舊比對），背景重建後換新")
+    void staleWhileRevalidate() throws Exception {
+        AdmDictSnapshot first = cache.snapshot();
+        String code = createCategory();
+
+        gate = new CountDownLatch(1);
+        cache.invalidate();
+
+        // 背景重建卡在讀取 DB：讀取端照樣立即拿到舊快照
+        assertThat(cache.snapshot()).isSameAs(first);
+        assertThat(cache.all().toResponse(first.all().etag()).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        gate.countDown();
+        assertThat(await(() -> cache.snapshot().version() > first.version())).isTrue();
+        assertThat(cache.snapshot().byCode()).containsKey(code);
+        assertThat(cache.all().etag()).isNotEqualTo(first.all().etag());
+    }
+
+    @Test
+    @DisplayName("重建失敗：沿用舊快照，錯誤不傳到呼叫端")
+    void keepsStaleOnFailure() throws Exception {
+        AdmDictSnapshot first = cache.snapshot();
+        createCategory();
+
+        failing.set(true);
+        cache.invalidate();
+
+        assertThat(cache.snapshot()).isSameAs(first);
+        Thread.sleep(200);
+        assertThat(cache.snapshot()).isSameAs(first);
+        assertThat(cache.all().toResponse(null).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private String createCategory() {
+        String code = "T_SNAP_" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        AdmDictCategory category = new AdmDictCategory();
+        category.setCode(code);
+        category.setName("snapshot test");
+        category.setEnabled(true);
+        created = categoryRepository.save(category).getUuid();
+        return code;
+    }
+
+    private static boolean await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (condition.getAsBoolean()) return true;
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
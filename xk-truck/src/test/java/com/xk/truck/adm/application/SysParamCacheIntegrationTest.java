@@ -0,0 +1,88 @@
+package com.xk.truck.adm.application;
+
+import com.xk.App;
+import com.xk.truck.adm.domain.model.SysParam;
+import com.xk.truck.adm.domain.repository.SysParamRepository;
+import com.xk.truck.adm.domain.service.SysParamService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SysParamCache：型別化讀取、本機寫入 commit 後立即生效、輪詢偵測其他節點的異動
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class SysParamCacheIntegrationTest {
+
+    @Autowired
+    private SysParamCache cache;
+
+    @Autowired
+    private SysParamService service;
+
+    @Autowired
+    private SysParamRepository repository;
+
+    private static SysParam param(String key, String value) {
+        SysParam p = new SysParam();
+        p.setKey(key);
+        p.setValue(value);
+        return p;
+    }
+
+    @Test
+    @DisplayName("型別化讀取：解析成功回值，缺值或格式錯誤回預設值")
+    void typedGetters() {
+        service.upsert(param("test.typed.int", " 42 "));
+        service.upsert(param("test.typed.bool", "on"));
+        service.upsert(param("test.typed.duration", "90s"));
+        service.upsert(param("test.typed.iso", "PT5M"));
+        service.upsert(param("test.typed.enum", "minutes"));
+        service.upsert(param("test.typed.bad", "abc"));
+
+        assertThat(cache.getInt("test.typed.int", 0)).isEqualTo(42);
+        assertThat(cache.getBoolean("test.typed.bool", false)).isTrue();
+        assertThat(cache.getDuration("test.typed.duration", null)).isEqualTo(Duration.ofSeconds(90));
+        assertThat(cache.getDuration("test.typed.iso", null)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(cache.getEnum("test.typed.enum", ChronoUnit.class, null)).isEqualTo(ChronoUnit.MINUTES);
+
+        assertThat(cache.getInt("test.typed.bad", 7)).isEqualTo(7);
+        assertThat(cache.getBoolean("test.typed.bad", true)).isTrue();
+        assertThat(cache.getInt("test.typed.missing", 7)).isEqualTo(7);
+        assertThat(cache.getDuration("test.typed.duration", null))
+                .isSameAs(cache.getDuration("test.typed.duration", null));
+    }
+
+    @Test
+    @DisplayName("SysParamService 寫入：commit 後快取立即反映新值")
+    void upsert_reloadsAfterCommit() {
+        service.upsert(param("test.upsert.value", "1"));
+        assertThat(cache.getInt("test.upsert.value", 0)).isEqualTo(1);
+
+        service.upsert(param("test.upsert.value", "2"));
+        assertThat(cache.getInt("test.upsert.value", 0)).isEqualTo(2);
+        assertThat(service.getValue("test.upsert.value", null)).isEqualTo("2");
+    }
+
+    @Test
+    @DisplayName("繞過 Service 的異動（模擬其他節點）：輪詢偵測到變更標記後重載")
+    void poll_detectsExternalChange() {
+        cache.reload();
+        assertThat(cache.contains("test.poll.value")).isFalse();
+
+        repository.save(param("test.poll.value", "on"));
+        assertThat(cache.contains("test.poll.value")).isFalse();
+
+        cache.poll();
+        assertThat(cache.getBoolean("test.poll.value", false)).isTrue();
+    }
+}
@@ -0,0 +1,199 @@
+package com.xk.truck.adm.domain.service;
+
+import com.xk.App;
+import com.xk.base.exception.BusinessException;
+import com.xk.truck.adm.controller.api.dto.CreateDictCategoryReq;
+import com.xk.truck.adm.controller.api.dto.CreateDictItemReq;
+import com.xk.truck.adm.controller.api.dto.DictItemResp;
+import com.xk.truck.adm.controller.api.dto.MoveDictItemReq;
+import com.xk.truck.adm.controller.api.dto.SortPatchDictItemReq;
+import com.xk.truck.adm.domain.model.AdmDictItem;
+import com.xk.truck.adm.domain.repository.AdmDictItemRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AdmDictItemService 排序：新增位置、move（只改被移動的一筆）、批次排序（LIS 內的項目保留原排序鍵）
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class AdmDictItemServiceIntegrationTest {
+
+    @Autowired
+    private AdmDictCategoryService categoryService;
+
+    @Autowired
+    private AdmDictItemService itemService;
+
+    @Autowired
+    private AdmDictItemRepository itemRepository;
+
+    private final List<UUID> categories = new ArrayList<>();
+
+    /**
+     * itemCode → item UUID（A..E 依序加到最後）
+     */
+    private final Map<String, UUID> ids = new LinkedHashMap<>();
+
+    private UUID categoryId;
+
+    @BeforeEach
+    void setUp() {
+        categoryId = createCategory();
+        for (String code : List.of("A", "B", "C", "D", "E")) {
+            ids.put(code, itemService.create(categoryId, item(code, null)).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (UUID category : categories) {
+            itemService.findAllByCategoryId(category).forEach(i -> itemService.delete(i.getId()));
+            categoryService.delete(category);
+        }
+    }
+
+    @Test
+    @DisplayName("新增：未給位置加到最後、有給位置插入該處；舊 sortOrder 欄位寫入當下位置")
+    void create_setsPosition() {
+        assertThat(codes()).containsExactly("A", "B", "C", "D", "E");
+        assertThat(legacySortOrder("A")).isEqualTo(1);
+        assertThat(legacySortOrder("E")).isEqualTo(5);
+
+        DictItemResp inserted = itemService.create(categoryId, item("X", 2));
+
+        assertThat(inserted.getSortOrder()).isEqualTo(2);
+        assertThat(itemRepository.findById(inserted.getId()).orElseThrow().getSortOrder()).isEqualTo(2);
+        assertThat(codes()).containsExactly("A", "X", "B", "C", "D", "E");
+    }
+
+    @Test
+    @DisplayName("move：移到某項之後 / 最前，只更新被移動那一筆的排序鍵")
+    void move_updatesOnlyMovedItem() {
+        Map<String, String> before = ranks();
+
+        DictItemResp moved = itemService.move(ids.get("E"), moveAfter("A"));
+
+        assertThat(moved.getSortOrder()).isEqualTo(2);
+        assertThat(codes()).containsExactly("A", "E", "B", "C", "D");
+        assertThat(changed(before, ranks())).containsExactly("E");
+
+        itemService.move(ids.get("C"), moveAfter(null));
+
+        assertThat(codes()).containsExactly("C", "A", "E", "B", "D");
+        assertThat(legacySortOrder("C")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("move：已在目標位置不改排序鍵；移到自己之後或跨分類 → BusinessException")
+    void move_rejectsInvalidTargets() {
+        Map<String, String> before = ranks();
+
+        itemService.move(ids.get("B"), moveAfter("A"));
+        assertThat(ranks()).isEqualTo(before);
+
+        assertThatThrownBy(() -> itemService.move(ids.get("B"), moveAfter("B")))
+                .isInstanceOf(BusinessException.class);
+
+        UUID other = createCategory();
+        UUID foreign = itemService.create(other, item("Z", null)).getId();
+        MoveDictItemReq req = new MoveDictItemReq();
+        req.setAfterId(foreign);
+        assertThatThrownBy(() -> itemService.move(ids.get("B"), req))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    @DisplayName("批次排序：只把最後一筆移到最前 → LIS（A..D）保留原排序鍵，只改 E")
+    void updateItemSort_keepsLongestIncreasingRun() {
+        Map<String, String> before = ranks();
+
+        itemService.updateItemSort(sort(Map.of("E", 1)));
+
+        assertThat(codes()).containsExactly("E", "A", "B", "C", "D");
+        assertThat(changed(before, ranks())).containsExactly("E");
+    }
+
+    @Test
+    @DisplayName("批次排序：完整反轉 → 順序正確，LIS 長度 1，只保留一筆原排序鍵")
+    void updateItemSort_reverse() {
+        Map<String, String> before = ranks();
+
+        itemService.updateItemSort(sort(Map.of("E", 1, "D", 2, "C", 3, "B", 4, "A", 5)));
+
+        assertThat(codes()).containsExactly("E", "D", "C", "B", "A");
+        assertThat(changed(before, ranks())).hasSize(4);
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private UUID createCategory() {
+        CreateDictCategoryReq req = new CreateDictCategoryReq();
+        req.setCode("T_SORT_" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        req.setName("sort test");
+        UUID id = categoryService.create(req).getId();
+        categories.add(id);
+        return id;
+    }
+
+    private static CreateDictItemReq item(String code, Integer sortOrder) {
+        CreateDictItemReq req = new CreateDictItemReq();
+        req.setItemCode(code);
+        req.setItemLabel("item " + code);
+        req.setSortOrder(sortOrder);
+        return req;
+    }
+
+    private MoveDictItemReq moveAfter(String code) {
+        MoveDictItemReq req = new MoveDictItemReq();
+        req.setAfterId(code == null ? null : ids.get(code));
+        return req;
+    }
+
+    private SortPatchDictItemReq sort(Map<String, Integer> positions) {
+        SortPatchDictItemReq req = new SortPatchDictItemReq();
+        req.setCategoryId(categoryId);
+        req.setOrders(positions.entrySet().stream().map(e -> {
+            SortPatchDictItemReq.OrderPatch patch = new SortPatchDictItemReq.OrderPatch();
+            patch.setId(ids.get(e.getKey()));
+            patch.setSortOrder(e.getValue());
+            return patch;
+        }).toList());
+        return req;
+    }
+
+    private List<String> codes() {
+        return itemService.findAllByCategoryId(categoryId).stream().map(DictItemResp::getItemCode).toList();
+    }
+
+    private Map<String, String> ranks() {
+        Map<String, String> ranks = new LinkedHashMap<>();
+        ids.forEach((code, id) -> ranks.put(code, itemRepository.findById(id).map(AdmDictItem::getSortRank).orElseThrow()));
+        return ranks;
+    }
+
+    private Integer legacySortOrder(String code) {
+        return itemRepository.findById(ids.get(code)).map(AdmDictItem::getSortOrder).orElseThrow();
+    }
+
+    private static List<String> changed(Map<String, String> before, Map<String, String> after) {
+        return before.keySet().stream().filter(code -> !before.get(code).equals(after.get(code))).toList();
+    }
+}
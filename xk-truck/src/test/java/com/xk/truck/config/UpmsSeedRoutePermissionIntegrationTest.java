@@ -0,0 +1,178 @@
+package com.xk.truck.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xk.App;
+import com.xk.truck.fms.domain.model.DispatchTask;
+import com.xk.truck.fms.domain.service.DispatchService;
+import com.xk.truck.upms.application.UpmsPermissionService;
+import com.xk.truck.upms.application.UpmsRolePermissionService;
+import com.xk.truck.upms.application.UpmsRoleService;
+import com.xk.truck.upms.application.UpmsUserRoleService;
+import com.xk.truck.upms.application.UpmsUserService;
+import com.xk.truck.upms.controller.api.dto.permission.UpmsPermissionCreateReq;
+import com.xk.truck.upms.domain.repository.UpmsPermissionRepository;
+import com.xk.truck.upms.domain.repository.UpmsUserRoleRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 種子角色 → 權限 → route-permissions：非管理員角色可呼叫自己的路由，其他路由 403
+ */
+@SpringBootTest(classes = App.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UpmsSeedRoutePermissionIntegrationTest {
+
+    private static final String PASSWORD = "truck123456";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private CommandLineRunner seedUpmsData;
+
+    @Autowired
+    private UpmsUserService userService;
+
+    @Autowired
+    private UpmsUserRoleService userRoleService;
+
+    @Autowired
+    private UpmsRoleService roleService;
+
+    @Autowired
+    private UpmsRolePermissionService rolePermissionService;
+
+    @Autowired
+    private UpmsPermissionService permissionService;
+
+    @Autowired
+    private UpmsPermissionRepository permissionRepository;
+
+    @Autowired
+    private UpmsUserRoleRepository userRoleRepository;
+
+    private String login(String username) throws Exception {
+        String body = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode root = objectMapper.readTree(body);
+        return "Bearer " + root.path("data").path("accessToken").asText();
+    }
+
+    @Test
+    @DisplayName("DISPATCH（op001）：可建立訂單、查車輛 / 司機，不可刪除訂單")
+    void dispatcherRoutes() throws Exception {
+        String token = login("op001");
+
+        // 只驗授權（route-permissions 放行）：訂單端點本身的回應不在本測試範圍
+        mockMvc.perform(post("/api/tom/orders").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(result -> assertThat(result.getResponse().getStatus()).isNotIn(401, 403));
+        mockMvc.perform(get("/api/fms/vehicles").header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/fms/drivers").header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tom/orders/{id}", UUID.randomUUID()).header("Authorization", token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("DRIVER（dd001）：可流轉派工狀態，不可查訂單")
+    void driverRoutes() throws Exception {
+        String token = login("dd001");
+        DispatchTask task = dispatchService.assign(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        mockMvc.perform(post("/api/fms/dispatch/{id}/start", task.getId()).header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/fms/dispatch/{id}/sign", task.getId()).header("Authorization", token))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/tom/orders").header("Authorization", token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("USER（userA）：受保護路由一律 403")
+    void plainUserForbidden() throws Exception {
+        String token = login("userA");
+
+        mockMvc.perform(get("/api/tom/orders").header("Authorization", token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/fms/dispatch/{id}/start", UUID.randomUUID()).header("Authorization", token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("重跑 seed：管理者移除的使用者角色、清空的角色權限不會被補回")
+    void rerunKeepsAdminChanges() throws Exception {
+        UUID userB = userService.findByUsername("userB").getUuid();
+        UUID backOffice = roleService.findByCode("BACK_OFFICE").getUuid();
+        try {
+            userRoleService.removeRole(userB, "USER");
+            rolePermissionService.clearPermissions(backOffice);
+
+            seedUpmsData.run();
+
+            assertThat(userRoleRepository.findRoleCodeRowsByUserUuidIn(List.of(userB)))
+                    .extracting(UpmsUserRoleRepository.UserRoleCodeRow::getRoleCode)
+                    .doesNotContain("USER");
+            assertThat(rolePermissionService.findPermissionUuidsByRoleUuid(backOffice)).isEmpty();
+        } finally {
+            userRoleService.assignRole(userB, "USER");
+            roleService.replacePermissions(backOffice, List.of("TOM_ORDER_VIEW"));
+        }
+    }
+
+    @Test
+    @DisplayName("新增權限：bit_index 接在最大值之後，既有權限的 bit 不位移")
+    void newPermissionKeepsExistingBits() {
+        Map<String, Integer> before = bitIndexes();
+        int next = permissionRepository.nextBitIndex();
+        assertThat(before.values()).allMatch(i -> i < next);
+
+        var req = new UpmsPermissionCreateReq();
+        req.setSystemCode("ADM");
+        req.setResourceCode("BIT");
+        req.setActionCode("VIEW");
+        req.setName("bit-查詢");
+        permissionService.create(req);
+
+        Map<String, Integer> after = bitIndexes();
+        assertThat(after).containsAllEntriesOf(before);
+        assertThat(after.get("ADM_BIT_VIEW")).isEqualTo(next);
+    }
+
+    private Map<String, Integer> bitIndexes() {
+        return permissionRepository.findActiveBitIndexes().stream()
+                .collect(Collectors.toMap(UpmsPermissionRepository.PermissionBitRow::getCode,
+                        UpmsPermissionRepository.PermissionBitRow::getBitIndex));
+    }
+}
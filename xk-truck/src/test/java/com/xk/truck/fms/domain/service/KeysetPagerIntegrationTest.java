@@ -0,0 +1,184 @@
+package com.xk.truck.fms.domain.service;
+
+import com.xk.App;
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.domain.jpa.spec.KeysetPager;
+import com.xk.base.domain.jpa.spec.KeysetSort;
+import com.xk.truck.fms.domain.model.Vehicle;
+import com.xk.truck.fms.domain.model.VehicleStatus;
+import com.xk.truck.fms.domain.model.VehicleType;
+import com.xk.truck.fms.domain.repository.VehicleRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * KeysetPager.find：實際跑 seek 條件（fms_vehicle，createdTime DESC, id DESC）
+ * - 逐頁往後 / 往前翻，結果與一次排序查詢一致（不漏、不重複）
+ * - created_time 相同的資料跨頁時以 id 決勝
+ * - 頭尾兩端的 hasNext / hasPrevious 與游標
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class KeysetPagerIntegrationTest {
+
+    /**
+     * 與 VehicleService 列表相同的排序
+     */
+    private static final KeysetSort<Vehicle> SORT = KeysetSort.of(
+            "createdTime", Vehicle::getCreatedTime, "id", Vehicle::getId, Sort.Direction.DESC);
+
+    private static final OffsetDateTime T1 = OffsetDateTime.parse("2025-01-01T10:00:00+08:00");
+    private static final OffsetDateTime T2 = T1.plusMinutes(1);
+    private static final OffsetDateTime T3 = T1.plusMinutes(2);
+
+    @Autowired
+    private VehicleRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 每個測試自己的車牌前綴，查詢只看這一批
+     */
+    private final String prefix = "KS" + UUID.randomUUID().toString().substring(0, 6).toUpperCase() + "-";
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll(repository.findAll(ownRows()));
+    }
+
+    @Test
+    @DisplayName("往後翻到底再往前翻回第一頁：每頁內容與整體排序一致，created_time 相同者跨頁不漏不重")
+    void forwardThenBackward() {
+        // DESC：T3 ×2、T2 ×2、T1 ×3 → 每頁 3 筆時，T2 / T1 兩組都跨頁
+        insert(3, T1);
+        insert(2, T2);
+        insert(2, T3);
+        List<UUID> all = ids(repository.findAll(ownRows(), Sort.by(Sort.Direction.DESC, "createdTime", "id")));
+
+        KeysetPage<Vehicle> p1 = find(null);
+        KeysetPage<Vehicle> p2 = find(p1.nextCursor());
+        KeysetPage<Vehicle> p3 = find(p2.nextCursor());
+
+        assertThat(ids(p1.content())).isEqualTo(all.subList(0, 3));
+        assertThat(ids(p2.content())).isEqualTo(all.subList(3, 6));
+        assertThat(ids(p3.content())).isEqualTo(all.subList(6, 7));
+
+        assertFlags(p1, true, false);
+        assertFlags(p2, true, true);
+        assertFlags(p3, false, true);
+
+        KeysetPage<Vehicle> back2 = find(p3.prevCursor());
+        KeysetPage<Vehicle> back1 = find(back2.prevCursor());
+
+        assertThat(ids(back2.content())).isEqualTo(ids(p2.content()));
+        assertThat(ids(back1.content())).isEqualTo(ids(p1.content()));
+        assertFlags(back2, true, true);
+        assertFlags(back1, true, false);
+    }
+
+    @Test
+    @DisplayName("全部 created_time 相同：只靠 id 決勝仍可完整翻頁")
+    void allTies() {
+        insert(5, T1);
+        List<UUID> all = ids(repository.findAll(ownRows(), Sort.by(Sort.Direction.DESC, "createdTime", "id")));
+
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<Vehicle> page = KeysetPager.find(repository, ownRows(), SORT, cursor, 2);
+            seen.addAll(ids(page.content()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).isEqualTo(all);
+    }
+
+    @Test
+    @DisplayName("筆數剛好整除：最後一頁 hasNext = false；從最後一頁往前回到第一頁 hasPrevious = false")
+    void exactMultiple() {
+        insert(3, T1);
+        insert(3, T2);
+
+        KeysetPage<Vehicle> p1 = find(null);
+        KeysetPage<Vehicle> p2 = find(p1.nextCursor());
+
+        assertThat(p2.content()).hasSize(3);
+        assertFlags(p2, false, true);
+
+        KeysetPage<Vehicle> back = find(p2.prevCursor());
+        assertThat(ids(back.content())).isEqualTo(ids(p1.content()));
+        assertFlags(back, true, false);
+    }
+
+    @Test
+    @DisplayName("無資料：空頁、兩個方向都沒有游標")
+    void empty() {
+        KeysetPage<Vehicle> page = find(null);
+
+        assertThat(page.content()).isEmpty();
+        assertFlags(page, false, false);
+    }
+
+    @Test
+    @DisplayName("page size：預設 / 上限")
+    void normalizeSize() {
+        assertThat(KeysetPager.normalizeSize(null)).isEqualTo(KeysetPager.DEFAULT_SIZE);
+        assertThat(KeysetPager.normalizeSize(0)).isEqualTo(KeysetPager.DEFAULT_SIZE);
+        assertThat(KeysetPager.normalizeSize(50)).isEqualTo(50);
+        assertThat(KeysetPager.normalizeSize(10_000)).isEqualTo(KeysetPager.MAX_SIZE);
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private KeysetPage<Vehicle> find(String cursor) {
+        return KeysetPager.find(repository, ownRows(), SORT, cursor, 3);
+    }
+
+    private Specification<Vehicle> ownRows() {
+        return (root, query, cb) -> cb.like(root.get("plateNo"), prefix + "%");
+    }
+
+    /**
+     * 新增 count 筆車輛，並把 created_time 改成指定時間（@CreationTimestamp 會在 INSERT 時覆蓋）
+     */
+    private void insert(int count, OffsetDateTime createdTime) {
+        for (int i = 0; i < count; i++) {
+            Vehicle v = new Vehicle();
+            v.setPlateNo(prefix + UUID.randomUUID().toString().substring(0, 6));
+            v.setType(VehicleType.TRACTOR);
+            v.setStatus(VehicleStatus.AVAILABLE);
+            Vehicle saved = repository.save(v);
+            jdbcTemplate.update("update fms_vehicle set created_time = ? where plate_no = ?",
+                    createdTime, saved.getPlateNo());
+        }
+    }
+
+    private static void assertFlags(KeysetPage<Vehicle> page, boolean hasNext, boolean hasPrevious) {
+        assertThat(page.hasNext()).as("hasNext").isEqualTo(hasNext);
+        assertThat(page.hasPrevious()).as("hasPrevious").isEqualTo(hasPrevious);
+        assertThat(page.nextCursor() != null).as("nextCursor").isEqualTo(hasNext);
+        assertThat(page.prevCursor() != null).as("prevCursor").isEqualTo(hasPrevious);
+    }
+
+    private static List<UUID> ids(List<Vehicle> rows) {
+        return rows.stream().map(Vehicle::getId).toList();
+    }
+}
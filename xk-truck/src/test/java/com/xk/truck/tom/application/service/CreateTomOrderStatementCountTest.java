@@ -0,0 +1,88 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.App;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
+import com.xk.truck.tom.domain.model.TomOrderStatus;
+import com.xk.truck.tom.domain.model.TomOrderType;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 建立 TOM 訂單的 SQL 次數：order_core + tom_order + xk_outbox_event 三個 INSERT，沒有任何 SELECT
+ * - 無 existsByOrderNo 預查、tom_order（指定主鍵）不走 merge SELECT
+ * - Statistics 由 L2CacheConfig 開啟（l2cache.metrics 預設 true），只涵蓋 Hibernate 的兩個 INSERT
+ * - outbox 事件由 OutboxPublisher 以 JdbcTemplate 寫入（不在 Statistics 內），另以資料列數確認恰好一筆
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class CreateTomOrderStatementCountTest {
+
+    @Autowired
+    private CreateTomOrderUseCase createTomOrderUseCase;
+
+    @Autowired
+    private JpaTomOrderRepository jpaTomOrderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 先建一筆：讓編號產生器完成當日還原查詢（一天一次，不屬於建立訂單本身）
+        createTomOrderUseCase.execute(command());
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("建立訂單：恰好三個 INSERT（Hibernate 兩個 + outbox 一個），沒有任何 SELECT")
+    void create_onlyInserts() {
+        TomOrderResult result = createTomOrderUseCase.execute(command());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM xk_outbox_event WHERE aggregate_id = ?",
+                Long.class, result.getOrderUuid().toString())).isEqualTo(1L);
+
+        assertThat(result.getOrderUuid()).isNotNull();
+        assertThat(result.getTomStatus()).isEqualTo(TomOrderStatus.NEW.name());
+        assertThat(result.getOrderType()).isEqualTo(TomOrderType.LOCAL.name());
+        assertThat(jpaTomOrderRepository.findByOrderNo(result.getOrderNo())).isPresent();
+    }
+
+    private static CreateTomOrderCommand command() {
+        CreateTomOrderCommand cmd = new CreateTomOrderCommand();
+        cmd.setOrderType(TomOrderType.LOCAL);
+        cmd.setCustomerUuid(UUID.randomUUID());
+        cmd.setCustomerName("測試客戶");
+        cmd.setPickupAddress("台北市信義區");
+        cmd.setDeliveryAddress("新北市板橋區");
+        return cmd;
+    }
+}
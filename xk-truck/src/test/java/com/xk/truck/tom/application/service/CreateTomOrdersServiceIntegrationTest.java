@@ -0,0 +1,96 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.App;
+import com.xk.base.exception.BusinessException;
+import com.xk.truck.tom.application.dto.BulkCreateTomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.port.in.CreateTomOrdersUseCase;
+import com.xk.truck.tom.domain.model.TomOrderType;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 批次建立：逐筆驗證不擋整批、分段交易、逐筆結果與輸入順序一致
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class CreateTomOrdersServiceIntegrationTest {
+
+    @Autowired
+    private CreateTomOrdersUseCase createTomOrdersUseCase;
+
+    @Autowired
+    private JpaTomOrderRepository jpaTomOrderRepository;
+
+    @Test
+    @DisplayName("驗證失敗的列只影響自己；其餘跨段全部建立，編號連續")
+    void partialFailure() {
+        int size = CreateTomOrdersService.CHUNK_SIZE + 5;
+        List<CreateTomOrderCommand> cmds = new ArrayList<>();
+        for (int i = 0; i < size; i++) cmds.add(command("客戶-" + i));
+
+        cmds.get(1).setCustomerName(" ");
+        cmds.set(7, null);
+
+        BulkCreateTomOrderResult result = createTomOrdersUseCase.execute(cmds);
+
+        assertThat(result.getTotal()).isEqualTo(size);
+        assertThat(result.getSucceeded()).isEqualTo(size - 2);
+        assertThat(result.getFailed()).isEqualTo(2);
+
+        BulkCreateTomOrderResult.Row invalid = result.getRows().get(1);
+        assertThat(invalid.isSuccess()).isFalse();
+        assertThat(invalid.getErrorCode()).isEqualTo("VALIDATION_FAILED");
+        assertThat(invalid.getDetails()).containsKey("customerName");
+        assertThat(result.getRows().get(7).isSuccess()).isFalse();
+
+        List<String> orderNos = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            BulkCreateTomOrderResult.Row row = result.getRows().get(i);
+            assertThat(row.getIndex()).isEqualTo(i);
+            if (!row.isSuccess()) continue;
+
+            assertThat(row.getOrder().getCustomerName()).isEqualTo("客戶-" + i);
+            assertThat(jpaTomOrderRepository.findByOrderNo(row.getOrder().getOrderNo())).isPresent();
+            orderNos.add(row.getOrder().getOrderNo());
+        }
+
+        long first = Long.parseLong(orderNos.get(0).substring(16));
+        long last = Long.parseLong(orderNos.get(orderNos.size() - 1).substring(16));
+        assertThat(last - first).isEqualTo(orderNos.size() - 1);
+    }
+
+    @Test
+    @DisplayName("空清單 / 超過上限：整批拒絕")
+    void limits() {
+        assertThatThrownBy(() -> createTomOrdersUseCase.execute(List.of()))
+                .isInstanceOf(BusinessException.class);
+
+        List<CreateTomOrderCommand> tooMany = Collections.nCopies(CreateTomOrdersService.MAX_ROWS + 1, command("x"));
+        assertThatThrownBy(() -> createTomOrdersUseCase.execute(tooMany))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private static CreateTomOrderCommand command(String customerName) {
+        CreateTomOrderCommand cmd = new CreateTomOrderCommand();
+        cmd.setOrderType(TomOrderType.EXPORT);
+        cmd.setCustomerUuid(UUID.randomUUID());
+        cmd.setCustomerName(customerName);
+        cmd.setPickupAddress("台中港");
+        cmd.setDeliveryAddress("台中市");
+        return cmd;
+    }
+}
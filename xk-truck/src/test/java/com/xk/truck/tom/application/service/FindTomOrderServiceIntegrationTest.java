@@ -0,0 +1,142 @@
+package com.xk.truck.tom.application.service;
+
+import com.xk.App;
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.exception.BusinessException;
+import com.xk.truck.tom.application.dto.TomOrderListItem;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderQry;
+import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
+import com.xk.truck.tom.application.port.in.FindTomOrderUseCase;
+import com.xk.truck.tom.domain.model.TomOrderType;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 訂單列表：projection + keyset（createdTime DESC, orderUuid DESC）、篩選、不載入 entity
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class FindTomOrderServiceIntegrationTest {
+
+    @Autowired
+    private CreateTomOrderUseCase createTomOrderUseCase;
+
+    @Autowired
+    private FindTomOrderUseCase findTomOrderUseCase;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID customerUuid;
+    private List<String> created;
+
+    @BeforeEach
+    void setUp() {
+        customerUuid = UUID.randomUUID();
+        created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createTomOrderUseCase.execute(command(customerUuid)).getOrderNo());
+        }
+    }
+
+    private FindTomOrderQry byCustomer() {
+        return FindTomOrderQry.builder().customerUuid(customerUuid).build();
+    }
+
+    private static List<String> orderNos(KeysetPage<TomOrderListItem> page) {
+        return page.content().stream().map(TomOrderListItem::getOrderNo).toList();
+    }
+
+    @Test
+    @DisplayName("keyset：往後翻完全部、往前翻回第一頁，順序一致且不載入 entity")
+    void pages() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        KeysetPage<TomOrderListItem> p1 = findTomOrderUseCase.pageForList(byCustomer(), null, 2);
+        KeysetPage<TomOrderListItem> p2 = findTomOrderUseCase.pageForList(byCustomer(), p1.nextCursor(), 2);
+        KeysetPage<TomOrderListItem> p3 = findTomOrderUseCase.pageForList(byCustomer(), p2.nextCursor(), 2);
+
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        List<String> all = new ArrayList<>();
+        all.addAll(orderNos(p1));
+        all.addAll(orderNos(p2));
+        all.addAll(orderNos(p3));
+        assertThat(all).containsExactlyInAnyOrderElementsOf(created).doesNotHaveDuplicates();
+
+        assertThat(p1.hasPrevious()).isFalse();
+        assertThat(p1.hasNext()).isTrue();
+        assertThat(p3.content()).hasSize(1);
+        assertThat(p3.hasNext()).isFalse();
+
+        KeysetPage<TomOrderListItem> back = findTomOrderUseCase.pageForList(byCustomer(), p2.prevCursor(), 2);
+        assertThat(orderNos(back)).containsExactlyElementsOf(orderNos(p1));
+
+        TomOrderListItem row = p1.content().get(0);
+        assertThat(row.getOrderCoreStatus()).isEqualTo("OPEN");
+        assertThat(row.getTomStatus()).isEqualTo("NEW");
+        assertThat(row.getCreatedTime()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("篩選：orderNo 前綴、建立時間區間")
+    void filters() {
+        String orderNo = created.get(2);
+        FindTomOrderQry byNo = FindTomOrderQry.builder()
+                .customerUuid(customerUuid)
+                .orderNoLike(orderNo.toLowerCase())
+                .build();
+        assertThat(orderNos(findTomOrderUseCase.pageForList(byNo, null, 10))).containsExactly(orderNo);
+
+        TomOrderResult detail = findTomOrderUseCase.findById(
+                findTomOrderUseCase.pageForList(byNo, null, 10).content().get(0).getOrderUuid());
+        assertThat(detail.getOrderNo()).isEqualTo(orderNo);
+
+        TomOrderListItem any = findTomOrderUseCase.pageForList(byCustomer(), null, 1).content().get(0);
+        FindTomOrderQry future = FindTomOrderQry.builder()
+                .customerUuid(customerUuid)
+                .createdFrom(any.getCreatedTime().plusDays(1))
+                .build();
+        assertThat(findTomOrderUseCase.pageForList(future, null, 10).content()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("不支援的條件 / 無效游標：BusinessException")
+    void rejects() {
+        FindTomOrderQry byContainer = FindTomOrderQry.builder().containerNoLike("ABCU").build();
+        assertThatThrownBy(() -> findTomOrderUseCase.pageForList(byContainer, null, 10))
+                .isInstanceOf(BusinessException.class);
+
+        assertThatThrownBy(() -> findTomOrderUseCase.pageForList(byCustomer(), "not-a-cursor", 10))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private static CreateTomOrderCommand command(UUID customerUuid) {
+        CreateTomOrderCommand cmd = new CreateTomOrderCommand();
+        cmd.setOrderType(TomOrderType.IMPORT);
+        cmd.setCustomerUuid(customerUuid);
+        cmd.setCustomerName("看板客戶");
+        cmd.setPickupAddress("高雄港");
+        cmd.setDeliveryAddress("高雄市");
+        return cmd;
+    }
+}
@@ -0,0 +1,170 @@
+package com.xk.truck.tom.infra.event;
+
+import com.xk.App;
+import com.xk.base.domain.jpa.spec.KeysetPage;
+import com.xk.base.exception.BusinessException;
+import com.xk.base.infra.outbox.OutboxRelay;
+import com.xk.truck.fms.domain.model.DispatchStatus;
+import com.xk.truck.fms.domain.model.DispatchTask;
+import com.xk.truck.fms.domain.model.Driver;
+import com.xk.truck.fms.domain.model.DriverLicenseType;
+import com.xk.truck.fms.domain.model.DriverStatus;
+import com.xk.truck.fms.domain.model.Vehicle;
+import com.xk.truck.fms.domain.model.VehicleStatus;
+import com.xk.truck.fms.domain.model.VehicleType;
+import com.xk.truck.fms.domain.repository.DriverRepository;
+import com.xk.truck.fms.domain.repository.VehicleRepository;
+import com.xk.truck.fms.domain.service.DispatchService;
+import com.xk.truck.tom.application.dto.TomOrderBoardItem;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.dto.qry.FindTomOrderBoardQry;
+import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
+import com.xk.truck.tom.application.port.in.FindTomOrderBoardUseCase;
+import com.xk.truck.tom.application.port.in.ProjectTomOrderBoardUseCase;
+import com.xk.truck.tom.domain.model.TomOrderType;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 調度看板讀模型：outbox 事件非同步投影、派工異動覆寫、rebuild 補齊
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class TomOrderBoardProjectionIntegrationTest {
+
+    @Autowired
+    private CreateTomOrderUseCase createTomOrderUseCase;
+
+    @Autowired
+    private FindTomOrderBoardUseCase findTomOrderBoardUseCase;
+
+    @Autowired
+    private ProjectTomOrderBoardUseCase projectTomOrderBoardUseCase;
+
+    @Autowired
+    private DispatchService dispatchService;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TomOrderResult createOrder(UUID customerUuid) {
+        CreateTomOrderCommand cmd = new CreateTomOrderCommand();
+        cmd.setOrderType(TomOrderType.IMPORT);
+        cmd.setCustomerUuid(customerUuid);
+        cmd.setCustomerName("看板測試客戶");
+        cmd.setPickupAddress("基隆港");
+        cmd.setDeliveryAddress("桃園倉");
+        return createTomOrderUseCase.execute(cmd);
+    }
+
+    private void drain() {
+        outboxRelay.drain();
+    }
+
+    private Vehicle vehicle() {
+        String plate = "T-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return vehicleRepository.save(Vehicle.builder()
+                .plateNo(plate)
+                .type(VehicleType.TRACTOR)
+                .status(VehicleStatus.AVAILABLE)
+                .build());
+    }
+
+    private Driver driver() {
+        return driverRepository.save(Driver.builder()
+                .name("王小明")
+                .phone("09" + (10_000_000 + (int) (Math.random() * 89_999_999)))
+                .licenseType(DriverLicenseType.TRACTOR)
+                .status(DriverStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    @DisplayName("建立訂單：commit 後讀模型尚未更新，drain 後出現（含命運層狀態）")
+    void createdOrderProjected() {
+        TomOrderResult created = createOrder(UUID.randomUUID());
+        UUID orderUuid = created.getOrderUuid();
+
+        assertThatThrownBy(() -> findTomOrderBoardUseCase.findById(orderUuid))
+                .isInstanceOf(BusinessException.class);
+
+        drain();
+
+        TomOrderBoardItem item = findTomOrderBoardUseCase.findById(orderUuid);
+        assertThat(item.getOrderNo()).isEqualTo(created.getOrderNo());
+        assertThat(item.getCustomerName()).isEqualTo("看板測試客戶");
+        assertThat(item.getOrderCoreStatus()).isEqualTo("OPEN");
+        assertThat(item.getDispatchTaskId()).isNull();
+    }
+
+    @Test
+    @DisplayName("派工：投影目前派工、車牌、司機；取消後清空派工欄位")
+    void dispatchProjected() {
+        TomOrderResult created = createOrder(UUID.randomUUID());
+        UUID orderUuid = created.getOrderUuid();
+        Vehicle vehicle = vehicle();
+        Driver driver = driver();
+
+        DispatchTask task = dispatchService.assign(orderUuid, vehicle.getId(), driver.getId());
+        dispatchService.start(task.getId());
+        drain();
+
+        TomOrderBoardItem item = findTomOrderBoardUseCase.findById(orderUuid);
+        assertThat(item.getDispatchTaskId()).isEqualTo(task.getId());
+        assertThat(item.getDispatchStatus()).isEqualTo(DispatchStatus.IN_PROGRESS.name());
+        assertThat(item.getVehiclePlateNo()).isEqualTo(vehicle.getPlateNo());
+        assertThat(item.getDriverName()).isEqualTo("王小明");
+
+        KeysetPage<TomOrderBoardItem> byPlate = findTomOrderBoardUseCase.page(
+                FindTomOrderBoardQry.builder().vehiclePlateNo(" " + vehicle.getPlateNo() + " ").build(), null, 10);
+        assertThat(byPlate.content()).extracting(TomOrderBoardItem::getOrderUuid).containsExactly(orderUuid);
+
+        dispatchService.cancel(task.getId());
+        drain();
+
+        TomOrderBoardItem cancelled = findTomOrderBoardUseCase.findById(orderUuid);
+        assertThat(cancelled.getDispatchTaskId()).isNull();
+        assertThat(cancelled.getVehiclePlateNo()).isNull();
+        assertThat(cancelled.getDriverName()).isNull();
+    }
+
+    @Test
+    @DisplayName("rebuild：讀模型遺失的列由來源表補回")
+    void rebuildRestoresMissingRows() {
+        UUID customerUuid = UUID.randomUUID();
+        TomOrderResult first = createOrder(customerUuid);
+        TomOrderResult second = createOrder(customerUuid);
+        drain();
+
+        jdbcTemplate.update("DELETE FROM tom_order_board");
+
+        FindTomOrderBoardQry qry = FindTomOrderBoardQry.builder().customerUuid(customerUuid).build();
+        assertThat(findTomOrderBoardUseCase.page(qry, null, 10).content()).isEmpty();
+
+        assertThat(projectTomOrderBoardUseCase.rebuild()).isGreaterThanOrEqualTo(2);
+
+        assertThat(findTomOrderBoardUseCase.page(qry, null, 10).content())
+                .extracting(TomOrderBoardItem::getOrderUuid)
+                .containsExactlyInAnyOrder(first.getOrderUuid(), second.getOrderUuid());
+    }
+}
@@ -0,0 +1,187 @@
+package com.xk.truck.tom.infra.event;
+
+import com.xk.App;
+import com.xk.base.infra.outbox.OutboxEvent;
+import com.xk.base.infra.outbox.OutboxListener;
+import com.xk.base.infra.outbox.OutboxPayloadCodec;
+import com.xk.base.infra.outbox.OutboxProps;
+import com.xk.base.infra.outbox.OutboxPublisher;
+import com.xk.base.infra.outbox.OutboxRelay;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.dto.event.TomOrderCreatedEvent;
+import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
+import com.xk.truck.tom.domain.model.TomOrderType;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Transactional outbox：與訂單同交易寫入、relay 批次投遞、失敗重試與 dead letter
+ */
+@SpringBootTest(classes = App.class)
+@Import(TomOrderOutboxIntegrationTest.Listeners.class)
+@ActiveProfiles("test")
+class TomOrderOutboxIntegrationTest {
+
+    private static final String FAIL_TYPE = "test.always-fail";
+
+    @TestConfiguration
+    static class Listeners {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements OutboxListener {
+
+        final List<OutboxEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public boolean supports(String eventType) {
+            return true;
+        }
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (FAIL_TYPE.equals(event.eventType())) {
+                throw new IllegalStateException("boom");
+            }
+            received.add(event);
+        }
+
+        long count(String aggregateId) {
+            return received.stream().filter(e -> aggregateId.equals(e.aggregateId())).count();
+        }
+    }
+
+    @Autowired
+    private CreateTomOrderUseCase createTomOrderUseCase;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxPayloadCodec codec;
+
+    @Autowired
+    private OutboxProps props;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static CreateTomOrderCommand command() {
+        CreateTomOrderCommand cmd = new CreateTomOrderCommand();
+        cmd.setOrderType(TomOrderType.IMPORT);
+        cmd.setCustomerUuid(UUID.randomUUID());
+        cmd.setCustomerName("Outbox 測試客戶");
+        cmd.setPickupAddress("基隆港");
+        cmd.setDeliveryAddress("桃園倉");
+        return cmd;
+    }
+
+    private Map<String, Object> row(String aggregateId) {
+        return jdbcTemplate.queryForMap(
+                "SELECT status, attempts, last_error FROM xk_outbox_event WHERE aggregate_id = ?", aggregateId);
+    }
+
+    @Test
+    @DisplayName("建立訂單：同交易寫入 outbox，drain 後投遞一次並標記 PROCESSED")
+    void createdEventRelayed() {
+        TomOrderResult created = createTomOrderUseCase.execute(command());
+        String aggregateId = created.getOrderUuid().toString();
+
+        assertThat(row(aggregateId)).containsEntry("status", "PENDING");
+
+        outboxRelay.drain();
+        outboxRelay.drain();
+
+        assertThat(listener.count(aggregateId)).isEqualTo(1);
+        assertThat(row(aggregateId)).containsEntry("status", "PROCESSED");
+
+        OutboxEvent event = listener.received.stream()
+                .filter(e -> aggregateId.equals(e.aggregateId()))
+                .findFirst().orElseThrow();
+        assertThat(event.eventType()).isEqualTo(TomOrderCreatedEvent.TYPE);
+
+        TomOrderCreatedEvent payload = codec.decode(event.payload(), TomOrderCreatedEvent.class);
+        assertThat(payload.orderNo()).isEqualTo(created.getOrderNo());
+        assertThat(payload.customerName()).isEqualTo("Outbox 測試客戶");
+    }
+
+    @Test
+    @DisplayName("交易 rollback：outbox 事件一併消失")
+    void rollbackDiscardsEvent() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        UUID orderUuid = tx.execute(status -> {
+            UUID id = createTomOrderUseCase.execute(command()).getOrderUuid();
+            status.setRollbackOnly();
+            return id;
+        });
+
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM xk_outbox_event WHERE aggregate_id = ?", Long.class, orderUuid.toString());
+        assertThat(count).isZero();
+    }
+
+    @Test
+    @DisplayName("listener 失敗：退避後重試；達 maxAttempts 轉 FAILED")
+    void failureRetriedThenDeadLettered() {
+        String aggregateId = UUID.randomUUID().toString();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                outboxPublisher.publish("Test", aggregateId, FAIL_TYPE, Map.of("n", 1)));
+
+        outboxRelay.drain();
+
+        Map<String, Object> retry = row(aggregateId);
+        assertThat(retry).containsEntry("status", "PENDING");
+        assertThat(((Number) retry.get("attempts")).intValue()).isEqualTo(1);
+        assertThat((String) retry.get("last_error")).contains("boom");
+
+        // 退避期間不會再被認領
+        outboxRelay.drain();
+        assertThat(((Number) row(aggregateId).get("attempts")).intValue()).isEqualTo(1);
+
+        // 模擬已重試到最後一次
+        jdbcTemplate.update("UPDATE xk_outbox_event SET attempts = ?, available_at = ? WHERE aggregate_id = ?",
+                props.getMaxAttempts() - 1, java.sql.Timestamp.from(java.time.Instant.now().minusSeconds(1)), aggregateId);
+        outboxRelay.drain();
+
+        assertThat(row(aggregateId)).containsEntry("status", "FAILED");
+    }
+
+    @Test
+    @DisplayName("交易外發布：IllegalStateException")
+    void publishRequiresTransaction() {
+        assertThatThrownBy(() -> outboxPublisher.publish("Test", "x", "test.none", Map.of()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
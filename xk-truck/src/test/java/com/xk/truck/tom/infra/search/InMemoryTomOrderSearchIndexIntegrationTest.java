@@ -0,0 +1,129 @@
+package com.xk.truck.tom.infra.search;
+
+import com.xk.App;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.TomOrderSearchHit;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
+import com.xk.truck.tom.application.port.in.CreateTomOrdersUseCase;
+import com.xk.truck.tom.application.port.in.SearchTomOrderUseCase;
+import com.xk.truck.tom.domain.model.TomOrderType;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 訂單 type-ahead 索引：commit 後增量加入、rollback 不進索引、重建後結果一致
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class InMemoryTomOrderSearchIndexIntegrationTest {
+
+    @Autowired
+    private CreateTomOrderUseCase createTomOrderUseCase;
+
+    @Autowired
+    private CreateTomOrdersUseCase createTomOrdersUseCase;
+
+    @Autowired
+    private SearchTomOrderUseCase searchTomOrderUseCase;
+
+    @Autowired
+    private InMemoryTomOrderSearchIndex searchIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static CreateTomOrderCommand command(String customerName, String refNo) {
+        CreateTomOrderCommand cmd = new CreateTomOrderCommand();
+        cmd.setOrderType(TomOrderType.IMPORT);
+        cmd.setCustomerUuid(UUID.randomUUID());
+        cmd.setCustomerName(customerName);
+        cmd.setPickupAddress("基隆港西岸 16 號碼頭");
+        cmd.setDeliveryAddress("桃園市大園區貨運站");
+        cmd.setCustomerRefNo(refNo);
+        return cmd;
+    }
+
+    private static String uniqueRef() {
+        return "MSKU" + UUID.randomUUID().toString().replace("-", "").substring(0, 7).toUpperCase();
+    }
+
+    private List<String> search(String q) {
+        return searchTomOrderUseCase.search(q, 50).stream().map(TomOrderSearchHit::getOrderNo).toList();
+    }
+
+    @Test
+    @DisplayName("建立後可依訂單序號末碼、參考號末碼、客戶名稱前綴搜尋")
+    void indexedAfterCommit() {
+        String ref = uniqueRef();
+        TomOrderResult created = createTomOrderUseCase.execute(command("Type Ahead Logistics", ref));
+        String orderNo = created.getOrderNo();
+
+        assertThat(search(orderNo.substring(orderNo.length() - 6))).contains(orderNo);
+        assertThat(search(ref.substring(ref.length() - 5))).containsExactly(orderNo);
+        assertThat(search("type ahead " + ref.substring(4))).containsExactly(orderNo);
+        assertThat(search(orderNo.toLowerCase())).containsExactly(orderNo);
+    }
+
+    @Test
+    @DisplayName("中文客戶名稱：兩字詞中段命中（例如「海運」）")
+    void cjkInfix() {
+        String ref = uniqueRef();
+        String orderNo = createTomOrderUseCase.execute(command("長榮海運股份有限公司", ref)).getOrderNo();
+
+        assertThat(search("海運 " + ref)).containsExactly(orderNo);
+        assertThat(search("股份 " + ref)).containsExactly(orderNo);
+        assertThat(search("長榮 " + ref)).containsExactly(orderNo);
+    }
+
+    @Test
+    @DisplayName("批次建立：每段 commit 後加入索引")
+    void bulkIndexed() {
+        String ref = uniqueRef();
+        createTomOrdersUseCase.execute(List.of(command("Bulk Search A", ref + "1"), command("Bulk Search B", ref + "2")));
+
+        assertThat(search(ref)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("交易 rollback：不進索引")
+    void rollbackNotIndexed() {
+        String ref = uniqueRef();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            createTomOrderUseCase.execute(command("Rolled Back", ref));
+            status.setRollbackOnly();
+        });
+
+        assertThat(search(ref)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("重建：串流掃描 DB 後結果與增量一致")
+    void rebuild() {
+        String ref = uniqueRef();
+        String orderNo = createTomOrderUseCase.execute(command("Rebuild Check", ref)).getOrderNo();
+
+        searchIndex.rebuild();
+
+        assertThat(search(ref)).containsExactly(orderNo);
+        assertThat(search("rebuild chec")).contains(orderNo);
+    }
+
+    @Test
+    @DisplayName("空白關鍵字回傳空清單")
+    void blank() {
+        assertThat(searchTomOrderUseCase.search("  ", null)).isEmpty();
+    }
+}
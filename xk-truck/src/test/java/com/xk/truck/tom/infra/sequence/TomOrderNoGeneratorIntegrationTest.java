@@ -0,0 +1,107 @@
+package com.xk.truck.tom.infra.sequence;
+
+import com.xk.App;
+import com.xk.truck.tom.application.dto.TomOrderResult;
+import com.xk.truck.tom.application.dto.cmd.CreateTomOrderCommand;
+import com.xk.truck.tom.application.port.in.CreateTomOrderUseCase;
+import com.xk.truck.tom.domain.model.TomOrderType;
+import com.xk.truck.tom.infra.persistence.jpa.JpaTomOrderRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * TomOrderNoGenerator：格式、同日遞增、跨日歸零、重啟後由當日最大 order_no 還原
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class TomOrderNoGeneratorIntegrationTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Taipei");
+
+    @Autowired
+    private JpaTomOrderRepository jpaTomOrderRepository;
+
+    @Autowired
+    private CreateTomOrderUseCase createTomOrderUseCase;
+
+    @Autowired
+    private Clock clock;
+
+    private static Clock at(String date) {
+        return Clock.fixed(Instant.parse(date + "T02:00:00Z"), ZONE);
+    }
+
+    private TomOrderNoGenerator generator(int nodeId, Clock clock) {
+        TomOrderNoProps props = new TomOrderNoProps();
+        props.setNodeId(nodeId);
+        return new TomOrderNoGenerator(jpaTomOrderRepository, props, clock);
+    }
+
+    @Test
+    @DisplayName("格式 TOM-yyyyMMdd-NN-00000001，同日遞增，跨日歸零")
+    void formatAndDailyReset() {
+        Clock day1 = at("2030-01-02");
+        TomOrderNoGenerator gen = generator(7, day1);
+
+        assertThat(gen.nextTomOrderNo()).isEqualTo("TOM-20300102-07-00000001");
+        assertThat(gen.nextTomOrderNo()).isEqualTo("TOM-20300102-07-00000002");
+
+        TomOrderNoGenerator nextDay = generator(7, at("2030-01-03"));
+        assertThat(nextDay.nextTomOrderNo()).isEqualTo("TOM-20300103-07-00000001");
+    }
+
+    @Test
+    @DisplayName("一次取號：連續一段，之後的單筆取號接續")
+    void segment() {
+        TomOrderNoGenerator gen = generator(3, at("2030-03-01"));
+
+        assertThat(gen.nextTomOrderNos(3)).containsExactly(
+                "TOM-20300301-03-00000001",
+                "TOM-20300301-03-00000002",
+                "TOM-20300301-03-00000003");
+        assertThat(gen.nextTomOrderNo()).isEqualTo("TOM-20300301-03-00000004");
+        assertThat(gen.nextTomOrderNos(0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("不同 nodeId 產生的編號不會重疊")
+    void nodesDoNotCollide() {
+        Clock day = at("2030-02-01");
+
+        assertThat(generator(1, day).nextTomOrderNo())
+                .isNotEqualTo(generator(2, day).nextTomOrderNo());
+    }
+
+    @Test
+    @DisplayName("重啟：由當日最大 order_no 還原計數器")
+    void recoversFromMaxOrderNo() {
+        CreateTomOrderCommand cmd = new CreateTomOrderCommand();
+        cmd.setOrderType(TomOrderType.IMPORT);
+        cmd.setCustomerUuid(UUID.randomUUID());
+        cmd.setCustomerName("測試客戶");
+        cmd.setPickupAddress("基隆港");
+        cmd.setDeliveryAddress("台北市");
+
+        TomOrderResult created = createTomOrderUseCase.execute(cmd);
+
+        String today = LocalDate.now(clock).toString().replace("-", "");
+        assertThat(created.getOrderNo()).startsWith("TOM-" + today + "-00-");
+
+        long createdSeq = Long.parseLong(created.getOrderNo().substring(16));
+        String next = generator(0, clock).nextTomOrderNo();
+
+        assertThat(Long.parseLong(next.substring(16))).isEqualTo(createdSeq + 1);
+    }
+}
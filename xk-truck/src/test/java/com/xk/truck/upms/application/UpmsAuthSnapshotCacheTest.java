@@ -0,0 +1,126 @@
+package com.xk.truck.upms.application;
+
+import com.xk.truck.upms.domain.repository.UpmsRolePermissionRepository.RolePermissionCodeRow;
+import com.xk.truck.upms.domain.repository.UpmsUserRoleRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UpmsAuthSnapshotCache：載入進行中發生失效（evictUser / bumpVersion）→ 舊結果不留在快取
+ * - repository 以 proxy 取代，findRolePermissionCodesByUserUuid 可在讀到資料後暫停，模擬慢查詢與寫入交錯
+ */
+class UpmsAuthSnapshotCacheTest {
+
+    record Row(String roleCode, String permissionCode) implements RolePermissionCodeRow {
+
+        @Override
+        public String getRoleCode() {
+            return roleCode;
+        }
+
+        @Override
+        public String getPermissionCode() {
+            return permissionCode;
+        }
+    }
+
+    private final UUID userUuid = UUID.randomUUID();
+    private final AtomicReference<List<Row>> rows = new AtomicReference<>(List.of(new Row("DISPATCH", "TOM_ORDER_VIEW")));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private volatile CountDownLatch loading = new CountDownLatch(0);
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private ExecutorService executor;
+    private UpmsAuthSnapshotCache cache;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        UpmsUserRoleRepository repository = (UpmsUserRoleRepository) Proxy.newProxyInstance(
+                UpmsUserRoleRepository.class.getClassLoader(),
+                new Class<?>[]{UpmsUserRoleRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findRolePermissionCodesByUserUuid")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    loads.incrementAndGet();
+                    List<Row> snapshot = rows.get();
+                    loading.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return snapshot;
+                });
+        cache = new UpmsAuthSnapshotCache(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("命中：版本未變不重查")
+    void hit() {
+        assertThat(cache.get(userUuid).permissionCodes()).containsExactly("TOM_ORDER_VIEW");
+        assertThat(cache.get(userUuid).permissionCodes()).containsExactly("TOM_ORDER_VIEW");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("載入中 evictUser：呼叫端拿到本次結果，但不寫回快取，下次讀到新資料")
+    void evictDuringLoad() throws Exception {
+        Future<UpmsAuthSnapshot> inFlight = loadPaused();
+
+        rows.set(List.of(new Row("DISPATCH", "TOM_ORDER_VIEW"), new Row("DISPATCH", "TOM_ORDER_ASSIGN")));
+        cache.evictUser(userUuid);
+        release.countDown();
+
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).permissionCodes()).containsExactly("TOM_ORDER_VIEW");
+        assertThat(cache.get(userUuid).permissionCodes()).containsExactly("TOM_ORDER_VIEW", "TOM_ORDER_ASSIGN");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("載入中 bumpVersion：寫回的是舊版本，下次讀取版本不符即重建")
+    void bumpDuringLoad() throws Exception {
+        Future<UpmsAuthSnapshot> inFlight = loadPaused();
+
+        rows.set(List.of());
+        cache.bumpVersion();
+        release.countDown();
+
+        assertThat(inFlight.get(5, TimeUnit.SECONDS).permissionCodes()).containsExactly("TOM_ORDER_VIEW");
+        assertThat(cache.get(userUuid).permissionCodes()).isEmpty();
+        assertThat(cache.get(userUuid).roleCodes()).isEmpty();
+        assertThat(loads).hasValue(2);
+    }
+
+    /**
+     * 背景執行 get，等到 repository 已讀到資料（尚未回傳）才返回
+     * - 呼叫端 release.countDown() 後才放行；之後的 get 不再阻塞（latch 已歸零）
+     */
+    private Future<UpmsAuthSnapshot> loadPaused() throws InterruptedException {
+        loading = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        Future<UpmsAuthSnapshot> future = executor.submit(() -> cache.get(userUuid));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
+}
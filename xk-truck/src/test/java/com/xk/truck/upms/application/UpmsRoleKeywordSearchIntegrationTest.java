@@ -0,0 +1,54 @@
+package com.xk.truck.upms.application;
+
+import com.xk.App;
+import com.xk.base.domain.jpa.spec.KeywordSpec;
+import com.xk.base.infra.search.KeywordSearchMode;
+import com.xk.truck.upms.controller.api.dto.role.UpmsRoleListResp;
+import com.xk.truck.upms.controller.api.dto.role.UpmsRoleQuery;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 角色列表 keyword（H2 → PREFIX，KeywordSpec static API）
+ * - 種子資料：SYS_ADMIN（系統管理員）、COMPANY_ADMIN（公司管理員，description 含 UPMS）
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class UpmsRoleKeywordSearchIntegrationTest {
+
+    @Autowired
+    private UpmsRoleService roleService;
+
+    @Test
+    @DisplayName("PREFIX：大小寫不敏感（H2 區分大小寫的 collation 也能以小寫前綴找到）")
+    void prefixIgnoresCase() {
+        assertThat(KeywordSpec.mode()).isEqualTo(KeywordSearchMode.PREFIX);
+
+        assertThat(codes("sys_adm")).contains("SYS_ADMIN");
+        assertThat(codes("Sys_Adm")).contains("SYS_ADMIN");
+        assertThat(codes("系統")).contains("SYS_ADMIN");
+    }
+
+    @Test
+    @DisplayName("codeOrName：不比對 description")
+    void codeOrNameSkipsDescription() {
+        assertThat(codes("UPMS")).doesNotContain("COMPANY_ADMIN");
+    }
+
+    private List<String> codes(String keyword) {
+        UpmsRoleQuery query = new UpmsRoleQuery();
+        query.setKeyword(keyword);
+        return roleService.pageForList(query, Pageable.unpaged()).getContent().stream()
+                .map(UpmsRoleListResp::getCode)
+                .toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.xk.truck.upms.application;
+
+import com.xk.App;
+import com.xk.truck.upms.controller.api.dto.user.UpmsUserCreateReq;
+import com.xk.truck.upms.controller.api.dto.user.UpmsUserListResp;
+import com.xk.truck.upms.controller.api.dto.user.UpmsUserQuery;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 後台使用者列表（pageForList）：角色碼批次載入後對回正確的列，SQL 次數不隨頁大小增加
+ * - 以 Hibernate Statistics 計算 prepared statement 數（page + count + 角色 IN 查詢）
+ * - 種子資料：16 個使用者，各有一個角色（admin 為 SYS_ADMIN）
+ */
+@SpringBootTest(
+        classes = App.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
+@ActiveProfiles("test")
+class UpmsUserServiceIntegrationTest {
+
+    private static final String PREFIX = "ulist_";
+
+    @Autowired
+    private UpmsUserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<UUID> created = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        create("a", "DISPATCH", "DRIVER");
+        create("b", "USER");
+        create("c");
+    }
+
+    @AfterEach
+    void tearDown() {
+        created.forEach(userService::delete);
+    }
+
+    @Test
+    @DisplayName("角色碼對回各自的列：多角色、單一角色、無角色")
+    void roleCodesOnMatchingRows() {
+        Map<String, Set<String>> roles = roleCodesByUsername(query(null), 10);
+
+        assertThat(roles).containsOnlyKeys(PREFIX + "a", PREFIX + "b", PREFIX + "c");
+        assertThat(roles.get(PREFIX + "a")).containsExactlyInAnyOrder("DISPATCH", "DRIVER");
+        assertThat(roles.get(PREFIX + "b")).containsExactly("USER");
+        assertThat(roles.get(PREFIX + "c")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("roleCode 篩選：只回符合的使用者，但該使用者的角色碼完整帶出")
+    void roleCodeFilterKeepsAllRoles() {
+        Map<String, Set<String>> roles = roleCodesByUsername(query("DRIVER"), 10);
+
+        assertThat(roles).containsOnlyKeys(PREFIX + "a");
+        assertThat(roles.get(PREFIX + "a")).containsExactlyInAnyOrder("DISPATCH", "DRIVER");
+    }
+
+    @Test
+    @DisplayName("SQL 次數固定：頁大小 2 / 8 都是 page + count + 角色三個查詢")
+    void fixedStatementCount() {
+        for (int size : new int[]{2, 8}) {
+            statistics.clear();
+
+            Page<UpmsUserListResp> page = userService.pageForList(new UpmsUserQuery(),
+                    PageRequest.of(0, size, Sort.by("username")));
+
+            assertThat(page.getContent()).hasSize(size);
+            assertThat(page.hasNext()).isTrue();
+            assertThat(page.getContent()).allSatisfy(u -> assertThat(u.getRoleCodes()).isNotNull());
+            assertThat(statistics.getPrepareStatementCount()).as("size=%d", size).isEqualTo(3);
+        }
+    }
+
+    // ===============================================================
+    // Helpers
+    // ===============================================================
+
+    private void create(String suffix, String... roleCodes) {
+        UpmsUserCreateReq req = new UpmsUserCreateReq();
+        req.setUsername(PREFIX + suffix);
+        req.setPassword("Passw0rd!");
+        req.setName("list " + suffix);
+        req.setRoleCodes(Set.of(roleCodes));
+        created.add(userService.create(req).getUuid());
+    }
+
+    private static UpmsUserQuery query(String roleCode) {
+        UpmsUserQuery query = new UpmsUserQuery();
+        query.setUsername(PREFIX);
+        query.setRoleCode(roleCode);
+        return query;
+    }
+
+    private Map<String, Set<String>> roleCodesByUsername(UpmsUserQuery query, int size) {
+        return userService.pageForList(query, PageRequest.of(0, size, Sort.by("username"))).getContent().stream()
+                .collect(Collectors.toMap(UpmsUserListResp::getUsername, UpmsUserListResp::getRoleCodes));
+    }
+}
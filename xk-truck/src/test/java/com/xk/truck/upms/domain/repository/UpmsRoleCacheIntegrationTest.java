@@ -0,0 +1,85 @@
+package com.xk.truck.upms.domain.repository;
+
+import com.xk.App;
+import com.xk.truck.upms.domain.model.UpmsRole;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 二級快取 / query cache：findByCode 第二次不打 DB；@Modifying bulk update 後不讀到舊資料
+ * - 種子資料：SYS_ADMIN 角色
+ * - Statistics 由 L2CacheConfig 開啟（l2cache.metrics 預設 true）
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class UpmsRoleCacheIntegrationTest {
+
+    private static final String ROLE_CODE = "SYS_ADMIN";
+
+    @Autowired
+    private UpmsRoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        // entity / collection region 與 query cache region 都清掉（其他測試 / seed 可能已留下 findByCode 的結果）
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getCache().evictQueryRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("findByCode：第二次由 query cache 回應，不再打 DB、不再載入 entity")
+    void findByCode_cached() {
+        roleRepository.findByCode(ROLE_CODE).orElseThrow();
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+        long entityLoadsAfterFirst = statistics.getEntityLoadCount();
+        long queryHitsAfterFirst = statistics.getQueryCacheHitCount();
+        long queryPutsAfterFirst = statistics.getQueryCachePutCount();
+
+        UpmsRole role = roleRepository.findByCode(ROLE_CODE).orElseThrow();
+
+        assertThat(role.getCode()).isEqualTo(ROLE_CODE);
+        assertThat(queryPutsAfterFirst).as("first call populates the query cache").isPositive();
+        assertThat(queryHitsAfterFirst).as("first call goes to the DB").isZero();
+        assertThat(statistics.getQueryCacheHitCount() - queryHitsAfterFirst)
+                .as("second call answered by the query cache").isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirst);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(entityLoadsAfterFirst);
+    }
+
+    @Test
+    @DisplayName("@Modifying bulk update：region 與 query cache 一併失效")
+    void bulkUpdate_invalidates() {
+        UUID id = roleRepository.findByCode(ROLE_CODE).orElseThrow().getUuid();
+        roleRepository.findById(id).orElseThrow();
+
+        try {
+            roleRepository.updateEnabled(id, false);
+
+            assertThat(roleRepository.findByCode(ROLE_CODE).orElseThrow().getEnabled()).isFalse();
+            assertThat(roleRepository.findById(id).orElseThrow().getEnabled()).isFalse();
+        } finally {
+            roleRepository.updateEnabled(id, true);
+        }
+    }
+}
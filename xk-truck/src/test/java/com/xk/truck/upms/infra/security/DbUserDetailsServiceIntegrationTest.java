@@ -0,0 +1,179 @@
+package com.xk.truck.upms.infra.security;
+
+import com.xk.App;
+import com.xk.truck.upms.application.UpmsAuthSnapshot;
+import com.xk.truck.upms.application.UpmsAuthSnapshotCache;
+import com.xk.truck.upms.application.UpmsPermissionService;
+import com.xk.truck.upms.application.UpmsRoleService;
+import com.xk.truck.upms.application.UpmsUserRoleService;
+import com.xk.truck.upms.controller.api.dto.permission.UpmsPermissionCreateReq;
+import com.xk.truck.upms.controller.api.dto.permission.UpmsPermissionUpdateReq;
+import com.xk.truck.upms.controller.api.dto.role.UpmsRoleCreateReq;
+import com.xk.truck.upms.domain.repository.UpmsPermissionRepository;
+import com.xk.truck.upms.domain.repository.UpmsRoleRepository;
+import com.xk.truck.upms.domain.repository.UpmsUserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 認證載入的 SQL 次數：不論角色 / 權限數量，一律一個 select
+ * - 以 Hibernate Statistics 計算 prepared statement 數
+ * - 種子資料：admin 擁有 SYS_ADMIN，SYS_ADMIN 綁定全部權限
+ * - 停用角色、停用 / 軟刪除的權限不會成為 authority（登入與授權快照條件一致）
+ */
+@SpringBootTest(
+        classes = App.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true"
+)
+@ActiveProfiles("test")
+class DbUserDetailsServiceIntegrationTest {
+
+    @Autowired
+    private DbUserDetailsService userDetailsService;
+
+    @Autowired
+    private UpmsAuthSnapshotCache authSnapshotCache;
+
+    @Autowired
+    private UpmsUserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UpmsPermissionService permissionService;
+
+    @Autowired
+    private UpmsPermissionRepository permissionRepository;
+
+    @Autowired
+    private UpmsRoleService roleService;
+
+    @Autowired
+    private UpmsRoleRepository roleRepository;
+
+    @Autowired
+    private UpmsUserRoleService userRoleService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername：帳號 + 權限一次查詢")
+    void loadUserByUsername_singleStatement() {
+        UserDetails details = userDetailsService.loadUserByUsername("admin");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(details.getUsername()).isEqualTo("admin");
+        assertThat(details.isEnabled()).isTrue();
+        assertThat(details.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .isNotEmpty()
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername：查無帳號仍只有一次查詢")
+    void loadUserByUsername_notFound() {
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("no-such-user"))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("授權快照 cache miss：角色 + 權限一次查詢")
+    void authSnapshotLoad_singleStatement() {
+        UUID adminUuid = userRepository.findByUsername("admin").orElseThrow().getUuid();
+        authSnapshotCache.bumpVersion();
+        statistics.clear();
+
+        UpmsAuthSnapshot snapshot = authSnapshotCache.get(adminUuid);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(snapshot.roleCodes()).contains("SYS_ADMIN");
+        assertThat(snapshot.permissionCodes()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("停用角色、停用 / 刪除的權限：登入與授權快照都不帶")
+    void inactiveRolesAndPermissionsExcluded() {
+        UUID adminUuid = userRepository.findByUsername("admin").orElseThrow().getUuid();
+
+        var permReq = new UpmsPermissionCreateReq();
+        permReq.setSystemCode("ADM");
+        permReq.setResourceCode("AUTHROW");
+        permReq.setActionCode("VIEW");
+        permReq.setName("authrow-查詢");
+        permissionService.create(permReq);
+        UUID permissionUuid = permissionRepository.findByCode("ADM_AUTHROW_VIEW").orElseThrow().getUuid();
+
+        var roleReq = new UpmsRoleCreateReq();
+        roleReq.setCode("AUTHROW_TESTER");
+        roleReq.setName("authrow tester");
+        roleReq.setEnabled(true);
+        roleReq.setPermissionCodes(Set.of("ADM_AUTHROW_VIEW"));
+        roleService.create(roleReq);
+        UUID roleUuid = roleRepository.findByCode("AUTHROW_TESTER").orElseThrow().getUuid();
+        userRoleService.assignRole(adminUuid, "AUTHROW_TESTER");
+
+        try {
+            assertThat(authorities()).contains("ADM_AUTHROW_VIEW");
+            assertThat(authSnapshotCache.get(adminUuid).roleCodes()).contains("AUTHROW_TESTER");
+
+            roleService.updateEnabled(roleUuid, false);
+            assertThat(authorities()).doesNotContain("ADM_AUTHROW_VIEW").isNotEmpty();
+            assertThat(authSnapshotCache.get(adminUuid).roleCodes()).doesNotContain("AUTHROW_TESTER");
+            assertThat(authSnapshotCache.get(adminUuid).permissionCodes()).doesNotContain("ADM_AUTHROW_VIEW");
+
+            roleService.updateEnabled(roleUuid, true);
+            var disable = new UpmsPermissionUpdateReq();
+            disable.setEnabled(false);
+            permissionService.update(permissionUuid, disable);
+            assertThat(authorities()).doesNotContain("ADM_AUTHROW_VIEW");
+            assertThat(authSnapshotCache.get(adminUuid).permissionCodes()).doesNotContain("ADM_AUTHROW_VIEW");
+
+            var enable = new UpmsPermissionUpdateReq();
+            enable.setEnabled(true);
+            permissionService.update(permissionUuid, enable);
+            assertThat(authorities()).contains("ADM_AUTHROW_VIEW");
+
+            permissionService.delete(permissionUuid);
+            assertThat(authorities()).doesNotContain("ADM_AUTHROW_VIEW");
+            assertThat(authSnapshotCache.get(adminUuid).permissionCodes()).doesNotContain("ADM_AUTHROW_VIEW");
+        } finally {
+            userRoleService.removeRole(adminUuid, "AUTHROW_TESTER");
+            roleService.delete(roleUuid);
+        }
+    }
+
+    private List<String> authorities() {
+        return userDetailsService.loadUserByUsername("admin").getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+}
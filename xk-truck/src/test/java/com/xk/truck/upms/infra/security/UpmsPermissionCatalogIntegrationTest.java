@@ -0,0 +1,58 @@
+package com.xk.truck.upms.infra.security;
+
+import com.xk.App;
+import com.xk.base.security.PermissionTable;
+import com.xk.truck.upms.application.UpmsPermissionService;
+import com.xk.truck.upms.controller.api.dto.permission.UpmsPermissionCreateReq;
+import com.xk.truck.upms.domain.repository.UpmsPermissionRepository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UpmsPermissionCatalog：本機 RBAC 版本變動後，下一次 current() 同步回傳新表（不等背景重建）
+ */
+@SpringBootTest(classes = App.class)
+@ActiveProfiles("test")
+class UpmsPermissionCatalogIntegrationTest {
+
+    @Autowired
+    private UpmsPermissionCatalog catalog;
+
+    @Autowired
+    private UpmsPermissionService permissionService;
+
+    @Autowired
+    private UpmsPermissionRepository permissionRepository;
+
+    @Test
+    @DisplayName("新增 / 刪除權限：commit 後下一次讀取立即反映")
+    void versionChangeReloadsSynchronously() {
+        PermissionTable before = catalog.current();
+        assertThat(before.idOf("ADM_CATALOG_VIEW")).isEqualTo(-1);
+
+        var req = new UpmsPermissionCreateReq();
+        req.setSystemCode("ADM");
+        req.setResourceCode("CATALOG");
+        req.setActionCode("VIEW");
+        req.setName("catalog-查詢");
+        permissionService.create(req);
+        UUID id = permissionRepository.findByCode("ADM_CATALOG_VIEW").orElseThrow().getUuid();
+
+        PermissionTable created = catalog.current();
+        assertThat(created).isNotSameAs(before);
+        assertThat(created.idOf("ADM_CATALOG_VIEW")).isNotNegative();
+        assertThat(catalog.current()).isSameAs(created);
+
+        permissionService.delete(id);
+
+        assertThat(catalog.current().idOf("ADM_CATALOG_VIEW")).isEqualTo(-1);
+    }
+}